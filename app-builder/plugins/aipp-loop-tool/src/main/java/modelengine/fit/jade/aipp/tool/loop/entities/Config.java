@@ -19,4 +19,9 @@ import java.util.List;
 @Data
 public class Config {
     private List<String> loopKeys;
+
+    /**
+     * 循环体的并发度，为空或者不大于 1 时逐条执行。
+     */
+    private Integer concurrency;
 }
@@ -6,7 +6,8 @@
 
 package modelengine.fit.jade.aipp.tool.loop.impls;
 
-import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
@@ -17,11 +18,15 @@ import modelengine.fit.jade.aipp.tool.loop.entities.ToolInfo;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.genericable.AippRunTimeService;
+import modelengine.fit.jober.aipp.genericable.event.AippInstanceStatusChanged;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fitable;
 import modelengine.fitframework.annotation.Property;
 import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.event.EventHandler;
 import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
@@ -29,24 +34,49 @@ import modelengine.fel.tool.annotation.Attribute;
 import modelengine.fel.tool.annotation.Group;
 import modelengine.fel.tool.annotation.ToolMethod;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * 循环工具的实现
+ * <p>循环并发度大于 1 时，循环体在线程池中执行，同时执行的调用不超过并发度，结果按原始顺序返回。线程池的队列有界，
+ * 队列满时由调用线程执行；线程池中的循环体再调用循环工具时，嵌套的循环在当前线程中顺序执行，避免线程都在等待排队的任务。
+ * 带实例唯一标识的循环会按循环参数内容的摘要记录已经完成的结果，循环失败后重新执行时跳过已经完成的部分。</p>
+ * <p>循环订阅应用实例状态变化事件，实例在本节点停止运行时立即中断正在执行的循环；其他节点上的终止由循环过程中
+ * 定期的状态查询发现，该查询读取应用侧的内存状态表，不在本地缓存。</p>
  *
  * @author 夏斐
  * @since 2025/3/10
  */
 @Component
 @Group(name = "LoopToolImpl")
-public class LoopToolServiceImpl implements LoopToolService {
+public class LoopToolServiceImpl implements LoopToolService, EventHandler<AippInstanceStatusChanged> {
+    private static final Logger log = Logger.get(LoopToolServiceImpl.class);
+
     private static final String DEFAULT_OPERATOR = "Jade";
 
+    private static final long STATUS_CHECK_INTERVAL_MILLIS = 1000L;
+
+    private static final ThreadLocal<Boolean> IN_POOL = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     private static final OperationContext operationContext;
 
     static {
@@ -58,19 +88,39 @@ public class LoopToolServiceImpl implements LoopToolService {
 
     private final AippRunTimeService aippRunTimeService;
 
-    private final Cache<String, Boolean> aippInstanceStatusCache;
+    private final Map<String, List<StatusChecker>> runningLoops = new ConcurrentHashMap<>();
+
+    private final Cache<String, List<Object>> checkpoints;
+
+    private final int maxConcurrency;
+
+    private final ExecutorService executorService;
 
     public LoopToolServiceImpl(ToolCallService toolCallService, AippRunTimeService aippRunTimeService,
-            @Value("${loop-call.cache.duration}") Integer cacheDuration) {
+            @Value("${loop-call.max-concurrency}") Integer maxConcurrency,
+            @Value("${loop-call.thread-pool-size}") Integer threadPoolSize,
+            @Value("${loop-call.queue-capacity}") Integer queueCapacity) {
         this.toolCallService = toolCallService;
         this.aippRunTimeService = aippRunTimeService;
-        this.aippInstanceStatusCache = Caffeine.newBuilder()
-                .expireAfterAccess(Validation.between(cacheDuration,
+        this.checkpoints = Caffeine.newBuilder().expireAfterAccess(30, TimeUnit.MINUTES).maximumSize(1000).build();
+        this.maxConcurrency =
+                Validation.between(maxConcurrency, 1, 64, "The max concurrency must between 1 and 64.");
+        int poolSize = Validation.between(threadPoolSize, 1, 256, "The thread pool size must between 1 and 256.");
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize,
+                poolSize,
+                1L,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(Validation.between(queueCapacity,
                         1,
-                        300000,
-                        "The cache duration must between 1 and 300000."), TimeUnit.MILLISECONDS)
-                .maximumSize(1000)
-                .build();
+                        10000,
+                        "The queue capacity must between 1 and 10000.")),
+                new DefaultThreadFactory("loop-tool", false, (thread, throwable) -> {
+                    log.error("[loop-tool] Exception. [message={}]", throwable.getMessage());
+                    log.error("[loop-tool] Details:", throwable);
+                }),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
     }
 
     @Override
@@ -102,32 +152,238 @@ public class LoopToolServiceImpl implements LoopToolService {
         if (!(loopData instanceof List<?>)) {
             throw new IllegalArgumentException("input value of [" + loopKey + "] is not an array!");
         }
-        return this.loopCall(loopArgs, toolInfo, (List<?>) loopData, lastMap, lastKey, context);
-    }
-
-    private List<Object> loopCall(Map<String, Object> loopArgs, ToolInfo toolInfo, List<?> loopData,
-            Map<String, Object> lastMap, String lastKey, Map<String, Object> context) {
         String aippInstanceId = ObjectUtils.cast(ObjectUtils.nullIf(context, new HashMap<>())
                 .getOrDefault(AippConst.CONTEXT_INSTANCE_ID, StringUtils.EMPTY));
-        List<Object> list = new ArrayList<>();
-        for (Object loopDatum : loopData) {
-            lastMap.put(lastKey, loopDatum);
-            Map<String, Object> toolArgs = toolInfo.getParams()
-                    .stream()
-                    .collect(Collectors.toMap(ToolInfo.ParamInfo::getName, param -> loopArgs.get(param.getName())));
-            // 循环展开的参数，通过序列化的方式复制，防止同进程调用场景下，直接返回时，多条数据的覆盖污染问题
-            Map<String, Object> args = JSONObject.parseObject(JSONObject.toJSONString(toolArgs), toolArgs.getClass());
-            Object apply = this.toolCallService.call(toolInfo.getUniqueName(), args);
-            list.add(apply);
-            if (StringUtils.isNotEmpty(aippInstanceId) && !this.isInstanceRunning(aippInstanceId)) {
-                throw new IllegalStateException(StringUtils.format("Already terminated. [aippInstanceId={0}]", aippInstanceId));
+        String checkpointKey = StringUtils.isEmpty(aippInstanceId)
+                ? null
+                : StringUtils.format("{0}:{1}:{2}:{3}", aippInstanceId, toolInfo.getUniqueName(), loopKey,
+                        digest(loopArgs));
+        List<Object> list = this.restoreCheckpoint(checkpointKey, ((List<?>) loopData).size());
+        StatusChecker statusChecker = this.watch(aippInstanceId);
+        try {
+            if (this.getConcurrency(config) <= 1 || IN_POOL.get()) {
+                this.loopCall(loopArgs, toolInfo, (List<?>) loopData, lastMap, lastKey, statusChecker, list);
+            } else {
+                this.concurrentLoopCall(loopArgs, toolInfo, (List<?>) loopData, lastMap, lastKey, statusChecker, list,
+                        this.getConcurrency(config));
             }
+        } finally {
+            this.unwatch(statusChecker);
+        }
+        if (checkpointKey != null) {
+            this.checkpoints.invalidate(checkpointKey);
         }
         return list;
     }
 
-    private Boolean isInstanceRunning(String aippInstanceId) {
-        return aippInstanceStatusCache.get(aippInstanceId,
-                __ -> this.aippRunTimeService.isInstanceRunning(aippInstanceId, operationContext));
+    private void loopCall(Map<String, Object> loopArgs, ToolInfo toolInfo, List<?> loopData,
+            Map<String, Object> lastMap, String lastKey, StatusChecker statusChecker, List<Object> list) {
+        for (int i = list.size(); i < loopData.size(); i++) {
+            Map<String, Object> args = this.buildArgs(loopArgs, toolInfo, lastMap, lastKey, loopData.get(i));
+            Object result;
+            try {
+                result = this.toolCallService.call(toolInfo.getUniqueName(), args);
+            } catch (RuntimeException e) {
+                // 实例停止时中断了正在执行的调用，以实例终止作为失败原因
+                statusChecker.checkStopped();
+                throw e;
+            }
+            list.add(result);
+            statusChecker.check();
+        }
+    }
+
+    private void concurrentLoopCall(Map<String, Object> loopArgs, ToolInfo toolInfo, List<?> loopData,
+            Map<String, Object> lastMap, String lastKey, StatusChecker statusChecker, List<Object> list,
+            int concurrency) {
+        Deque<Future<Object>> running = new ArrayDeque<>(concurrency);
+        try {
+            for (int i = list.size(); i < loopData.size(); i++) {
+                Map<String, Object> args = this.buildArgs(loopArgs, toolInfo, lastMap, lastKey, loopData.get(i));
+                running.addLast(this.executorService.submit(() -> this.callInPool(toolInfo.getUniqueName(), args)));
+                if (running.size() >= concurrency) {
+                    list.add(this.await(running.pollFirst(), statusChecker));
+                    statusChecker.check();
+                }
+            }
+            while (!running.isEmpty()) {
+                list.add(this.await(running.pollFirst(), statusChecker));
+                statusChecker.check();
+            }
+        } finally {
+            running.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Object callInPool(String uniqueName, Map<String, Object> args) {
+        boolean isNested = IN_POOL.get();
+        IN_POOL.set(Boolean.TRUE);
+        try {
+            return this.toolCallService.call(uniqueName, args);
+        } finally {
+            if (!isNested) {
+                IN_POOL.remove();
+            }
+        }
+    }
+
+    private Object await(Future<Object> future, StatusChecker statusChecker) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            statusChecker.checkStopped();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The loop call is interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Map<String, Object> buildArgs(Map<String, Object> loopArgs, ToolInfo toolInfo,
+            Map<String, Object> lastMap, String lastKey, Object loopDatum) {
+        lastMap.put(lastKey, loopDatum);
+        // 循环展开的参数需要复制，防止同进程调用场景下，直接返回时，多条数据的覆盖污染问题
+        Map<String, Object> args = new HashMap<>();
+        toolInfo.getParams().forEach(param -> args.put(param.getName(), copy(loopArgs.get(param.getName()))));
+        return args;
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copied = new LinkedHashMap<>();
+            ObjectUtils.<Map<?, ?>>cast(value).forEach((key, item) -> copied.put(key, copy(item)));
+            return copied;
+        }
+        if (value instanceof List) {
+            List<?> origin = ObjectUtils.cast(value);
+            List<Object> copied = new ArrayList<>(origin.size());
+            origin.forEach(item -> copied.add(copy(item)));
+            return copied;
+        }
+        return value;
+    }
+
+    private static String digest(Map<String, Object> loopArgs) {
+        String content = JSON.toJSONString(loopArgs, SerializerFeature.MapSortField);
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The SHA-256 algorithm is not supported.", e);
+        }
+    }
+
+    private int getConcurrency(Config config) {
+        Integer concurrency = config.getConcurrency();
+        return concurrency == null ? 1 : Math.max(1, Math.min(concurrency, this.maxConcurrency));
+    }
+
+    private List<Object> restoreCheckpoint(String checkpointKey, int loopSize) {
+        if (checkpointKey == null) {
+            return new ArrayList<>(loopSize);
+        }
+        List<Object> checkpoint = this.checkpoints.getIfPresent(checkpointKey);
+        List<Object> list = Collections.synchronizedList(new ArrayList<>(loopSize));
+        if (checkpoint != null && checkpoint.size() <= loopSize) {
+            list.addAll(checkpoint);
+            log.info("Resume loop call from checkpoint. [key={}, completed={}, total={}]", checkpointKey,
+                    checkpoint.size(), loopSize);
+        }
+        this.checkpoints.put(checkpointKey, list);
+        return list;
+    }
+
+    @Override
+    public void handleEvent(AippInstanceStatusChanged event) {
+        if (event.isRunning()) {
+            return;
+        }
+        List<StatusChecker> checkers = this.runningLoops.get(event.getInstanceId());
+        if (checkers != null) {
+            checkers.forEach(StatusChecker::stop);
+        }
+    }
+
+    private StatusChecker watch(String aippInstanceId) {
+        StatusChecker statusChecker = new StatusChecker(aippInstanceId);
+        if (StringUtils.isNotEmpty(aippInstanceId)) {
+            this.runningLoops.computeIfAbsent(aippInstanceId, key -> new CopyOnWriteArrayList<>()).add(statusChecker);
+        }
+        return statusChecker;
+    }
+
+    private void unwatch(StatusChecker statusChecker) {
+        if (StringUtils.isNotEmpty(statusChecker.aippInstanceId)) {
+            this.runningLoops.computeIfPresent(statusChecker.aippInstanceId, (key, list) -> {
+                list.remove(statusChecker);
+                return list.isEmpty() ? null : list;
+            });
+        }
+        statusChecker.close();
+    }
+
+    private boolean isInstanceRunning(String aippInstanceId) {
+        return Boolean.TRUE.equals(this.aippRunTimeService.isInstanceRunning(aippInstanceId, operationContext));
+    }
+
+    /**
+     * 循环过程中的实例状态检查，两次查询之间至少间隔 {@link #STATUS_CHECK_INTERVAL_MILLIS}。
+     * <p>收到实例停止事件时中断执行循环的线程，循环结束时清除该中断标记，避免影响线程上的后续任务。</p>
+     */
+    private class StatusChecker {
+        private final String aippInstanceId;
+
+        private final Thread owner = Thread.currentThread();
+
+        private long nextCheckAt = 0L;
+
+        private boolean isStopped = false;
+
+        private boolean isClosed = false;
+
+        StatusChecker(String aippInstanceId) {
+            this.aippInstanceId = aippInstanceId;
+        }
+
+        void check() {
+            this.checkStopped();
+            long now = System.currentTimeMillis();
+            if (StringUtils.isEmpty(this.aippInstanceId) || now < this.nextCheckAt) {
+                return;
+            }
+            this.nextCheckAt = now + STATUS_CHECK_INTERVAL_MILLIS;
+            if (!LoopToolServiceImpl.this.isInstanceRunning(this.aippInstanceId)) {
+                throw this.terminated();
+            }
+        }
+
+        synchronized void checkStopped() {
+            if (this.isStopped) {
+                throw this.terminated();
+            }
+        }
+
+        synchronized void stop() {
+            if (this.isStopped || this.isClosed) {
+                return;
+            }
+            this.isStopped = true;
+            this.owner.interrupt();
+        }
+
+        synchronized void close() {
+            this.isClosed = true;
+            if (this.isStopped) {
+                Thread.interrupted();
+            }
+        }
+
+        private IllegalStateException terminated() {
+            return new IllegalStateException(StringUtils.format("Already terminated. [aippInstanceId={0}]",
+                    this.aippInstanceId));
+        }
     }
-}
\ No newline at end of file
+}
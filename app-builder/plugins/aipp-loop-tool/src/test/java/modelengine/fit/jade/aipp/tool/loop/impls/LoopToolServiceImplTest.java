@@ -24,6 +24,7 @@ import modelengine.fit.jade.aipp.tool.loop.entities.Config;
 import modelengine.fit.jade.aipp.tool.loop.entities.ToolInfo;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.genericable.AippRunTimeService;
+import modelengine.fit.jober.aipp.genericable.event.AippInstanceStatusChanged;
 import modelengine.fitframework.util.MapBuilder;
 import modelengine.fitframework.util.ObjectUtils;
 
@@ -33,10 +34,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.stubbing.Answer;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -55,7 +60,7 @@ class LoopToolServiceImplTest {
     void setUp() {
         this.toolCallService = mock(ToolCallService.class);
         this.aippRunTimeService = mock(AippRunTimeService.class);
-        this.loopToolService = new LoopToolServiceImpl(this.toolCallService, this.aippRunTimeService, 1);
+        this.loopToolService = new LoopToolServiceImpl(this.toolCallService, this.aippRunTimeService, 16, 16, 256);
     }
 
     @Test
@@ -104,6 +109,157 @@ class LoopToolServiceImplTest {
         verify(this.toolCallService, times(1)).call(anyString(), anyMap());
     }
 
+    @Test
+    void shouldInterruptLoopWhenCallLoopToolGivenInstanceStoppedEvent() throws InterruptedException {
+        LoopToolServiceImpl service = new LoopToolServiceImpl(this.toolCallService, this.aippRunTimeService, 16, 1, 1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(this.toolCallService.call(anyString(), anyMap())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                return 0;
+            }
+            secondStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("interrupted", e);
+            }
+            return calls.get();
+        });
+        when(this.aippRunTimeService.isInstanceRunning(eq("1"), any())).thenReturn(true);
+        Thread stopper = new Thread(() -> {
+            try {
+                secondStarted.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            service.handleEvent(new AippInstanceStatusChanged(this, "1", "TERMINATED"));
+        });
+        stopper.start();
+
+        Config config = new Config();
+        config.setLoopKeys(List.of("index"));
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> service.loopTool(this.buildLoopArgs(3), config, this.buildIndexToolInfo(),
+                        MapBuilder.<String, Object>get().put(AippConst.CONTEXT_INSTANCE_ID, "1").build()));
+
+        Assertions.assertEquals("Already terminated. [aippInstanceId=1]", exception.getMessage());
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+        stopper.join();
+    }
+
+    @Test
+    void shouldKeepOrderWhenCallLoopToolGivenConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(this.toolCallService.call(anyString(), anyMap())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            int index = ObjectUtils.<Integer>cast(ObjectUtils.<Map<String, Object>>cast(invocation.getArgument(1))
+                    .get("index"));
+            Thread.sleep(10 - index % 10);
+            running.decrementAndGet();
+            return index;
+        });
+        int size = 200;
+        Config config = new Config();
+        config.setLoopKeys(List.of("index"));
+        config.setConcurrency(8);
+
+        List<Object> result = this.loopToolService.loopTool(this.buildLoopArgs(size), config,
+                this.buildIndexToolInfo(), new HashMap<>());
+
+        Assertions.assertEquals(IntStream.range(0, size).boxed().collect(Collectors.toList()), result);
+        Assertions.assertTrue(maxRunning.get() <= 8);
+    }
+
+    @Test
+    void shouldCompleteWhenCallLoopToolGivenNestedConcurrentLoop() {
+        LoopToolService service =
+                new LoopToolServiceImpl(this.toolCallService, this.aippRunTimeService, 16, 1, 1);
+        Config config = new Config();
+        config.setLoopKeys(List.of("index"));
+        config.setConcurrency(4);
+        when(this.toolCallService.call(eq("outer"), anyMap())).thenAnswer(invocation -> service.loopTool(
+                this.buildLoopArgs(4), config, this.buildIndexToolInfo(), new HashMap<>()));
+        when(this.toolCallService.call(eq("index"), anyMap())).thenAnswer(invocation -> ObjectUtils.<Integer>cast(
+                ObjectUtils.<Map<String, Object>>cast(invocation.getArgument(1)).get("index")));
+        ToolInfo outer = this.buildIndexToolInfo();
+        outer.setUniqueName("outer");
+
+        List<Object> result = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> service.loopTool(this.buildLoopArgs(4), config, outer, new HashMap<>()));
+
+        Assertions.assertEquals(4, result.size());
+        Assertions.assertEquals(List.of(0, 1, 2, 3), result.get(0));
+    }
+
+    @Test
+    void shouldSkipCompletedItemsWhenCallLoopToolGivenCheckpoint() {
+        // 每次重新构造内容相同的循环参数，检查点按内容摘要匹配.
+        AtomicInteger calls = new AtomicInteger();
+        when(this.toolCallService.call(anyString(), anyMap())).thenAnswer(invocation -> {
+            int index = ObjectUtils.<Integer>cast(ObjectUtils.<Map<String, Object>>cast(invocation.getArgument(1))
+                    .get("index"));
+            if (calls.incrementAndGet() == 3) {
+                throw new IllegalStateException("tool failed");
+            }
+            return index;
+        });
+        when(this.aippRunTimeService.isInstanceRunning(eq("1"), any())).thenReturn(true);
+        Config config = new Config();
+        config.setLoopKeys(List.of("index"));
+        Map<String, Object> context = MapBuilder.<String, Object>get().put(AippConst.CONTEXT_INSTANCE_ID, "1").build();
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> this.loopToolService.loopTool(this.buildLoopArgs(5), config, this.buildIndexToolInfo(),
+                        context));
+        List<Object> result =
+                this.loopToolService.loopTool(this.buildLoopArgs(5), config, this.buildIndexToolInfo(), context);
+
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4), result);
+        verify(this.toolCallService, times(6)).call(anyString(), anyMap());
+    }
+
+    @Test
+    void shouldNotShareArgsWhenCallLoopToolGivenNestedArgs() {
+        List<Map<String, Object>> received = new ArrayList<>();
+        when(this.toolCallService.call(anyString(), anyMap())).thenAnswer(invocation -> {
+            received.add(ObjectUtils.cast(invocation.getArgument(1)));
+            return null;
+        });
+        Map<String, Object> args = new HashMap<>();
+        args.put("info", new HashMap<>(MapBuilder.<String, Object>get().put("age", List.of(1, 2)).build()));
+        Config config = new Config();
+        config.setLoopKeys(List.of("info.age"));
+        ToolInfo toolInfo = new ToolInfo();
+        toolInfo.setUniqueName("id");
+        ToolInfo.ParamInfo paramInfo = new ToolInfo.ParamInfo();
+        paramInfo.setName("info");
+        toolInfo.setParams(List.of(paramInfo));
+
+        this.loopToolService.loopTool(args, config, toolInfo, new HashMap<>());
+
+        Assertions.assertEquals(Map.of("age", 1), received.get(0).get("info"));
+        Assertions.assertEquals(Map.of("age", 2), received.get(1).get("info"));
+    }
+
+    private Map<String, Object> buildLoopArgs(int size) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("index", IntStream.range(0, size).boxed().collect(Collectors.toList()));
+        return args;
+    }
+
+    private ToolInfo buildIndexToolInfo() {
+        ToolInfo toolInfo = new ToolInfo();
+        toolInfo.setUniqueName("index");
+        ToolInfo.ParamInfo paramInfo = new ToolInfo.ParamInfo();
+        paramInfo.setName("index");
+        toolInfo.setParams(List.of(paramInfo));
+        return toolInfo;
+    }
+
     private void doTest(LoopToolTestCase testCase) {
         when(this.toolCallService.call(anyString(), anyMap())).then(testCase.getAnswer());
         String aippInstanceId = "1";
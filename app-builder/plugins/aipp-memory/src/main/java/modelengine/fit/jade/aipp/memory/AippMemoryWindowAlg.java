@@ -25,11 +25,17 @@ public enum AippMemoryWindowAlg {
     /**
      * 表示最大分词数为窗长的滑动窗口方式。
      */
-    TOKEN_WINDOW;
+    TOKEN_WINDOW,
+
+    /**
+     * 表示最大分词数为窗长，窗口外的对话只保留用户问题列表的滑动窗口方式。
+     */
+    QUESTION_WINDOW;
 
     private static final Map<String, AippMemoryWindowAlg> KEY_MAP = MapBuilder.<String, AippMemoryWindowAlg>get()
             .put("buffer_window", BUFFER_WINDOW)
             .put("token_window", TOKEN_WINDOW)
+            .put("question_window", QUESTION_WINDOW)
             .build();
 
     /**
@@ -9,6 +9,7 @@ package modelengine.fit.jade.aipp.memory;
 import static modelengine.fit.jade.aipp.memory.AippMemorySerializeAlg.FULL;
 import static modelengine.fit.jade.aipp.memory.AippMemorySerializeAlg.QUESTION_ONLY;
 import static modelengine.fit.jade.aipp.memory.AippMemoryWindowAlg.BUFFER_WINDOW;
+import static modelengine.fit.jade.aipp.memory.AippMemoryWindowAlg.QUESTION_WINDOW;
 import static modelengine.fit.jade.aipp.memory.AippMemoryWindowAlg.TOKEN_WINDOW;
 import static modelengine.fitframework.inspection.Validation.notNull;
 import static modelengine.fitframework.util.ObjectUtils.cast;
@@ -18,6 +19,8 @@ import modelengine.fel.core.template.BulkStringTemplate;
 import modelengine.fel.core.template.support.DefaultBulkStringTemplate;
 import modelengine.fel.core.tokenizer.Tokenizer;
 import modelengine.fit.jade.aipp.memory.support.AippBufferWindowMemory;
+import modelengine.fit.jade.aipp.memory.support.AippChatRoundTokenCounter;
+import modelengine.fit.jade.aipp.memory.support.AippQuestionWindowMemory;
 import modelengine.fit.jade.aipp.memory.support.AippTokenWindowMemory;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.util.MapBuilder;
@@ -48,11 +51,15 @@ public class DefaultAippMemoryFactory implements AippMemoryFactory {
                 .build();
         AippMemoryInitializer bufferWindowInitializer =
                 (rounds, property, template) -> new AippBufferWindowMemory(rounds, cast(property), template);
-        AippMemoryInitializer tokenWindowInitializer =
-                (rounds, property, template) -> new AippTokenWindowMemory(rounds, cast(property), template, tokenizer);
+        AippChatRoundTokenCounter tokenCounter = new AippChatRoundTokenCounter(tokenizer);
+        AippMemoryInitializer tokenWindowInitializer = (rounds, property, template) -> new AippTokenWindowMemory(
+                rounds, cast(property), template, tokenCounter);
+        AippMemoryInitializer questionWindowInitializer = (rounds, property, template) -> new AippQuestionWindowMemory(
+                rounds, cast(property), template, tokenCounter, tokenizer);
         this.initializerMap = MapBuilder.<AippMemoryWindowAlg, AippMemoryInitializer>get()
                 .put(BUFFER_WINDOW, bufferWindowInitializer)
                 .put(TOKEN_WINDOW, tokenWindowInitializer)
+                .put(QUESTION_WINDOW, questionWindowInitializer)
                 .build();
     }
 
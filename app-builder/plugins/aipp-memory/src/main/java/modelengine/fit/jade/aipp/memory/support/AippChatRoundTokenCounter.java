@@ -0,0 +1,73 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.memory.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.tokenizer.Tokenizer;
+import modelengine.fit.jade.aipp.memory.AippChatRound;
+
+import java.util.List;
+
+/**
+ * 历史记录的分词数统计。
+ * <p>每轮对话的分词数在写入对话记录时计算并随历史记录传入，统计时直接使用；没有分词数的历史对话（例如写入分词数之前的记录）
+ * 才调用分词器。窗口从最近的对话开始向前累加，超过上限即停止，不会统计窗口外的对话。统计不会修改传入的历史记录。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AippChatRoundTokenCounter {
+    private final Tokenizer tokenizer;
+
+    /**
+     * 构造分词数统计。
+     *
+     * @param tokenizer 表示分词器的 {@link Tokenizer}。
+     */
+    public AippChatRoundTokenCounter(Tokenizer tokenizer) {
+        this.tokenizer = notNull(tokenizer, "The tokenizer cannot be null.");
+    }
+
+    /**
+     * 获取一轮对话的分词数。
+     *
+     * @param chatRound 表示一轮对话的 {@link AippChatRound}。
+     * @return 表示分词数的 {@code int}。
+     */
+    public int count(AippChatRound chatRound) {
+        if (chatRound == null) {
+            return 0;
+        }
+        if (chatRound.getTokenCount() != null) {
+            return chatRound.getTokenCount();
+        }
+        return this.countToken(chatRound.getQuestion()) + this.countToken(chatRound.getAnswer());
+    }
+
+    /**
+     * 从指定位置向前累加分词数，获取总分词数不超过上限的最长连续对话的起始位置。
+     *
+     * @param histories 表示历史记录列表的 {@link List}{@code <}{@link AippChatRound}{@code >}。
+     * @param end 表示窗口结束位置（不包含）的 {@code int}。
+     * @param maxTokenCount 表示最大分词数的 {@code int}。
+     * @return 表示窗口起始位置的 {@code int}，没有满足条件的对话时返回 {@code end}。
+     */
+    public int windowStart(List<AippChatRound> histories, int end, int maxTokenCount) {
+        notNull(histories, "The histories cannot be null.");
+        long tokenCount = 0;
+        int index = end;
+        while (tokenCount <= maxTokenCount && --index >= 0) {
+            tokenCount += this.count(histories.get(index));
+        }
+        return tokenCount > maxTokenCount ? index + 1 : 0;
+    }
+
+    private int countToken(String text) {
+        return text == null ? 0 : this.tokenizer.countToken(text);
+    }
+}
@@ -0,0 +1,104 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.memory.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.template.BulkStringTemplate;
+import modelengine.fel.core.tokenizer.Tokenizer;
+import modelengine.fit.jade.aipp.memory.AippChatRound;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 用分词数设置滑动窗口大小，并保留窗口外更早对话中用户问题的历史记录。
+ * <p>最近的对话按分词数原样保留，占用最大分词数的 {@code 3/4}；窗口外的对话只保留用户问题，从最近的问题开始向前取，
+ * 按时间先后列在一轮对话中放在最前面，分词数不超过剩余的部分。更早对话的答案不保留，也不做摘要。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AippQuestionWindowMemory extends AbstractAippChatMemory {
+    /**
+     * 更早问题列表所在对话的问题。
+     */
+    public static final String EARLIER_QUESTIONS = "之前提过的问题";
+
+    private static final int QUESTION_RATIO = 4;
+    private static final String DELIMITER = "\n";
+
+    private final List<AippChatRound> histories;
+
+    /**
+     * 构造历史记录。
+     *
+     * @param histories 表示历史记录列表的 {@link List}{@code <}{@link AippChatRound}{@code >}。
+     * @param maxTokenCount 表示可记录的最大分词数的 {@code int}，包含更早的问题列表。
+     * @param template 表示模板的 {@link BulkStringTemplate}。
+     * @param tokenCounter 表示分词数统计的 {@link AippChatRoundTokenCounter}。
+     * @param tokenizer 表示分词器的 {@link Tokenizer}。
+     */
+    public AippQuestionWindowMemory(List<AippChatRound> histories, int maxTokenCount, BulkStringTemplate template,
+            AippChatRoundTokenCounter tokenCounter, Tokenizer tokenizer) {
+        super(template);
+        this.histories = compact(histories, maxTokenCount, tokenCounter, tokenizer);
+    }
+
+    private static List<AippChatRound> compact(List<AippChatRound> histories, int maxTokenCount,
+            AippChatRoundTokenCounter tokenCounter, Tokenizer tokenizer) {
+        notNull(histories, "The histories cannot be null.");
+        notNull(tokenCounter, "The token counter cannot be null.");
+        notNull(tokenizer, "The tokenizer cannot be null.");
+        int size = histories.size();
+        if (tokenCounter.windowStart(histories, size, maxTokenCount) == 0) {
+            return histories;
+        }
+        int questionTokenCount = maxTokenCount / QUESTION_RATIO;
+        int start = tokenCounter.windowStart(histories, size, maxTokenCount - questionTokenCount);
+        List<AippChatRound> recent = histories.subList(start, size);
+        String questions = listQuestions(histories.subList(0, start), questionTokenCount, tokenizer);
+        if (StringUtils.isBlank(questions)) {
+            return recent;
+        }
+        AippChatRound questionRound = new AippChatRound();
+        questionRound.setQuestion(EARLIER_QUESTIONS);
+        questionRound.setAnswer(questions);
+        List<AippChatRound> compacted = new ArrayList<>(recent.size() + 1);
+        compacted.add(questionRound);
+        compacted.addAll(recent);
+        return compacted;
+    }
+
+    private static String listQuestions(List<AippChatRound> rounds, int maxTokenCount, Tokenizer tokenizer) {
+        Deque<String> lines = new ArrayDeque<>();
+        int tokenCount = 0;
+        for (int i = rounds.size() - 1; i >= 0; i--) {
+            AippChatRound chatRound = rounds.get(i);
+            if (chatRound == null || StringUtils.isBlank(chatRound.getQuestion())) {
+                continue;
+            }
+            String line = "- " + chatRound.getQuestion().trim();
+            int lineTokenCount = tokenizer.countToken(line);
+            if (tokenCount + lineTokenCount > maxTokenCount) {
+                break;
+            }
+            tokenCount += lineTokenCount;
+            lines.addFirst(line);
+        }
+        return String.join(DELIMITER, lines);
+    }
+
+    @Override
+    protected List<AippChatRound> getAvailableHistories() {
+        return Collections.unmodifiableList(this.histories);
+    }
+}
@@ -34,24 +34,29 @@ public class AippTokenWindowMemory extends AbstractAippChatMemory {
      */
     public AippTokenWindowMemory(List<AippChatRound> histories, int maxTokenCount, BulkStringTemplate template,
             Tokenizer tokenizer) {
+        this(histories, maxTokenCount, template, new AippChatRoundTokenCounter(tokenizer));
+    }
+
+    /**
+     * 使用分词数统计构造历史记录，历史记录中已经带有分词数的对话不会重复分词。
+     *
+     * @param histories 表示历史记录列表的 {@link List}{@code <}{@link AippChatRound}{@code >}。
+     * @param maxTokenCount 表示可记录的最大分词数的 {@code int}。
+     * @param template 表示模板的 {@link BulkStringTemplate}。
+     * @param tokenCounter 表示分词数统计的 {@link AippChatRoundTokenCounter}。
+     */
+    public AippTokenWindowMemory(List<AippChatRound> histories, int maxTokenCount, BulkStringTemplate template,
+            AippChatRoundTokenCounter tokenCounter) {
         super(template);
-        this.histories = filterWithMaxTokenCount(histories, maxTokenCount, tokenizer);
+        this.histories = filterWithMaxTokenCount(histories, maxTokenCount, tokenCounter);
     }
 
     private static List<AippChatRound> filterWithMaxTokenCount(List<AippChatRound> histories, int maxTokenCount,
-            Tokenizer tokenizer) {
+            AippChatRoundTokenCounter tokenCounter) {
         notNull(histories, "The histories cannot be null.");
-        notNull(tokenizer, "The tokenizer cannot be null.");
-        int tokenCount = 0;
-        int index = histories.size();
-        while (tokenCount <= maxTokenCount && --index >= 0) {
-            AippChatRound chatRound = histories.get(index);
-            tokenCount += tokenizer.countToken(chatRound.getQuestion()) + tokenizer.countToken(chatRound.getAnswer());
-        }
-        if (index >= 0) {
-            return histories.subList(index + 1, histories.size());
-        }
-        return histories;
+        notNull(tokenCounter, "The token counter cannot be null.");
+        int start = tokenCounter.windowStart(histories, histories.size(), maxTokenCount);
+        return start > 0 ? histories.subList(start, histories.size()) : histories;
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.memory.support;
+
+import static modelengine.fit.jade.aipp.memory.util.TestUtils.genHistories;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.memory.Memory;
+import modelengine.fit.jade.aipp.memory.AippMemoryConfig;
+import modelengine.fit.jade.aipp.memory.AippMemoryFactory;
+import modelengine.fit.jade.aipp.memory.DefaultAippMemoryFactory;
+import modelengine.fit.jade.aipp.memory.util.SimpleTokenizer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 表示 {@link AippQuestionWindowMemory} 的测试用例。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AippQuestionWindowMemoryTest {
+    private final AippMemoryFactory factory = new DefaultAippMemoryFactory(new SimpleTokenizer());
+
+    @Test
+    @DisplayName("若分词数小于等于最大分词数，返回全部历史记录")
+    void shouldOkWhenTokenCountInsideLimit() {
+        AippMemoryConfig config = new AippMemoryConfig();
+        config.setWindowAlg("question_window");
+        config.setSerializeAlg("full");
+        config.setProperty(6);
+        Memory memory = factory.create(config, genHistories(3));
+        assertThat(memory).isInstanceOf(AippQuestionWindowMemory.class)
+                .extracting(Memory::text)
+                .isEqualTo("Q: 0\nA: 0\nQ: 1\nA: 1\nQ: 2\nA: 2");
+    }
+
+    @Test
+    @DisplayName("若分词数大于最大分词数，窗口外的对话只保留问题列表放在最前面")
+    void shouldListEarlierQuestionsWhenTokenCountOutOfLimit() {
+        AippMemoryConfig config = new AippMemoryConfig();
+        config.setWindowAlg("question_window");
+        config.setSerializeAlg("full");
+        config.setProperty(40);
+        Memory memory = factory.create(config, genHistories(20));
+        assertThat(memory).isInstanceOf(AippQuestionWindowMemory.class);
+        assertThat(memory.messages()).hasSize(16);
+        assertThat(memory.text()).startsWith("Q: " + AippQuestionWindowMemory.EARLIER_QUESTIONS
+                + "\nA: - 11\n- 12\nQ: 13\nA: 13");
+    }
+}
@@ -10,6 +10,8 @@ import static modelengine.fit.jade.aipp.memory.util.TestUtils.genHistories;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import modelengine.fel.core.memory.Memory;
+import modelengine.fel.core.template.support.DefaultBulkStringTemplate;
+import modelengine.fit.jade.aipp.memory.AippChatRound;
 import modelengine.fit.jade.aipp.memory.AippMemoryConfig;
 import modelengine.fit.jade.aipp.memory.AippMemoryFactory;
 import modelengine.fit.jade.aipp.memory.DefaultAippMemoryFactory;
@@ -18,6 +20,9 @@ import modelengine.fit.jade.aipp.memory.util.SimpleTokenizer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 表示 {@link AippTokenWindowMemory} 的测试用例。
  *
@@ -50,4 +55,42 @@ public class AippTokenWindowMemoryTest {
         assertThat(memory).isInstanceOf(AippTokenWindowMemory.class);
         assertThat(memory.messages().size()).isEqualTo(4);
     }
+
+    @Test
+    @DisplayName("从最近的对话向前累加分词数，超过最大分词数后不再统计更早的对话")
+    void shouldStopCountingWhenTokenCountOutOfLimit() {
+        AtomicInteger calls = new AtomicInteger();
+        AippChatRoundTokenCounter counter = new AippChatRoundTokenCounter(new SimpleTokenizer() {
+            @Override
+            public int countToken(String text) {
+                calls.incrementAndGet();
+                return super.countToken(text);
+            }
+        });
+        DefaultBulkStringTemplate template = new DefaultBulkStringTemplate("Q: {{question}}\nA: {{answer}}", "\n");
+        List<AippChatRound> histories = genHistories(20);
+        Memory memory = new AippTokenWindowMemory(histories, 40, template, counter);
+        assertThat(memory.messages()).hasSize(20);
+        assertThat(histories.get(19).getTokenCount()).isNull();
+        assertThat(calls.get()).isEqualTo(22);
+    }
+
+    @Test
+    @DisplayName("历史记录中已经带有分词数时直接使用")
+    void shouldUseProvidedTokenCount() {
+        AtomicInteger calls = new AtomicInteger();
+        AippChatRoundTokenCounter counter = new AippChatRoundTokenCounter(new SimpleTokenizer() {
+            @Override
+            public int countToken(String text) {
+                calls.incrementAndGet();
+                return super.countToken(text);
+            }
+        });
+        AippChatRound chatRound = new AippChatRound();
+        chatRound.setQuestion("question");
+        chatRound.setAnswer("answer");
+        chatRound.setTokenCount(7);
+        assertThat(counter.count(chatRound)).isEqualTo(7);
+        assertThat(calls.get()).isEqualTo(0);
+    }
 }
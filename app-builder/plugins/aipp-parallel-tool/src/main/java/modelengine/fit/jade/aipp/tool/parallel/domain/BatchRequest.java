@@ -7,8 +7,6 @@
 package modelengine.fit.jade.aipp.tool.parallel.domain;
 
 import com.alibaba.fastjson.JSONArray;
-import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.serializer.SerializerFeature;
 
 import lombok.Builder;
 import lombok.Data;
@@ -18,8 +16,11 @@ import modelengine.fit.jade.aipp.tool.parallel.entities.Config;
 import modelengine.fit.jade.aipp.tool.parallel.entities.ToolCall;
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolConcurrencyLimiter;
+import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.LinkedHashMap;
@@ -30,20 +31,28 @@ import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * 批量工具调用的请求。
+ * <p>调用线程在投递每个工具调用之前获取并发许可，执行线程不会阻塞在信号量上。任意一个工具调用失败或者实例不再运行时，
+ * 未开始的调用不再执行，正在执行的其他调用会被中断。等待期间监听实例状态，实例在本节点停止时立即取消，
+ * 其他节点上的停止由定期的状态检查发现。</p>
  *
  * @author 宋永坦
  * @since 2025-04-23
  */
 public class BatchRequest {
     private static final Logger LOG = Logger.get(BatchRequest.class);
+    private static final long STATUS_CHECK_INTERVAL_MILLIS = 1000L;
+    private static final long DISPATCH_WAIT_MILLIS = 100L;
 
     private final String id = UUID.randomUUID().toString();
     private final Queue<ToolCallTask> undoToolCallTasks = new LinkedList<>();
     private final Map<Integer, ToolCallTask> doingToolCallTasks = new ConcurrentHashMap<>();
+    private final Map<Integer, Thread> doingThreads = new LinkedHashMap<>();
     @Getter
     private final Map<String, Object> results = new LinkedHashMap<>();
     private final Config config;
@@ -51,7 +60,10 @@ public class BatchRequest {
     private final TaskExecutor taskExecutor;
     private final CountDownLatch countDownLatch = new CountDownLatch(1);
     private final AippInstanceStatus aippInstanceStatus;
+    private final ToolConcurrencyLimiter concurrencyLimiter;
+    private final Semaphore slots;
     private final Map<String, Object> context;
+    private final String appId;
 
     private volatile int waitOutputCount;
     private volatile Throwable exception = null;
@@ -65,14 +77,17 @@ public class BatchRequest {
      * @param toolExecuteService 表示工具执行服务的 {@link ToolExecuteService}。
      * @param taskExecutor 表示任务执行器的 {@link TaskExecutor}。
      * @param aippInstanceStatus 表示对话实例状态服务的 {@link AippInstanceStatus}。
+     * @param concurrencyLimiter 表示工具调用并发限制的 {@link ToolConcurrencyLimiter}。
      * @param context 表示对话执行上下文的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
      */
     public BatchRequest(List<ToolCall> toolCalls, Config config, ToolExecuteService toolExecuteService,
-            TaskExecutor taskExecutor, AippInstanceStatus aippInstanceStatus, Map<String, Object> context) {
+            TaskExecutor taskExecutor, AippInstanceStatus aippInstanceStatus, ToolConcurrencyLimiter concurrencyLimiter,
+            Map<String, Object> context) {
         Validation.notEmpty(toolCalls, "The tool call list should not be empty.");
         Validation.notNull(toolExecuteService, "The tool execute service should not be null.");
         Validation.notNull(taskExecutor, "The task executor should not be null.");
         Validation.notNull(aippInstanceStatus, "The instance status service should not be null.");
+        Validation.notNull(concurrencyLimiter, "The concurrency limiter should not be null.");
         Validation.notNull(context, "The context should not be null.");
         toolCalls.forEach(toolCall -> undoToolCallTasks.add(ToolCallTask.builder()
                 .index(this.undoToolCallTasks.size())
@@ -83,74 +98,144 @@ public class BatchRequest {
         this.config = config;
         this.taskExecutor = taskExecutor;
         this.aippInstanceStatus = aippInstanceStatus;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.slots = new Semaphore(config.getConcurrency());
         this.context = context;
+        this.appId = ObjectUtils.cast(context.get(AippConst.CONTEXT_APP_ID));
     }
 
     /**
-     * 开始该批工具的调用。
+     * 开始该批工具的调用，只投递无需等待许可的调用，其余调用在 {@link #await()} 中投递。
      */
     public void post() {
         LOG.info("Start calling the batch tools. [batchId={}, concurrency={}, toolUniqueNames={}]",
                 this.id,
                 this.config.getConcurrency(),
                 this.dumpyUndoToolUniqueNames());
-        for (int i = 0; i < this.config.getConcurrency(); ++i) {
-            if (!this.postUndoTask()) {
-                break;
-            }
+        try {
+            this.dispatch(0L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * 投递未执行的任务。
+     * 在调用线程上获取并发许可后投递未执行的任务。
      *
-     * @return 表示是否有任务投递的 {@code boolean}。
+     * @param waitMillis 表示每次等待许可的最长时间（毫秒）的 {@code long}。
+     * @return 表示是否还有未投递的任务的 {@code boolean}。
+     * @throws InterruptedException 当等待许可时线程被中断。
      */
-    private boolean postUndoTask() {
-        ToolCallTask task;
-        synchronized (this.undoToolCallTasks) {
-            if (this.undoToolCallTasks.isEmpty()) {
+    private boolean dispatch(long waitMillis) throws InterruptedException {
+        while (!this.hasException()) {
+            ToolCallTask task;
+            synchronized (this.undoToolCallTasks) {
+                task = this.undoToolCallTasks.peek();
+            }
+            if (task == null) {
                 return false;
             }
-            task = this.undoToolCallTasks.poll();
+            if (!this.slots.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            Runnable release = this.concurrencyLimiter.tryAcquire(task.getToolCall().getUniqueName(),
+                    this.appId,
+                    waitMillis,
+                    TimeUnit.MILLISECONDS);
+            if (release == null) {
+                this.slots.release();
+                return true;
+            }
+            synchronized (this.undoToolCallTasks) {
+                this.undoToolCallTasks.poll();
+            }
+            this.postTask(task, () -> {
+                release.run();
+                this.slots.release();
+            });
+        }
+        return false;
+    }
+
+    private void postTask(ToolCallTask task, Runnable release) {
+        try {
+            this.taskExecutor.post(() -> this.run(task, release));
+        } catch (RuntimeException ex) {
+            release.run();
+            this.setException(task, ex);
         }
-        this.taskExecutor.post(() -> {
+    }
+
+    private void run(ToolCallTask task, Runnable release) {
+        try {
             if (this.hasException()) {
                 LOG.warn("Ignore the tool call, because the batch request has exception. [batchId={}, "
                         + "toolUniqueName={}, index={}]", this.id, task.getToolCall().getUniqueName(), task.getIndex());
                 return;
             }
-            try {
-                if (!this.aippInstanceStatus.isRunning(this.context)) {
-                    LOG.warn("Ignore the tool call, because the batch request is not running. [batchId={}, "
-                                    + "toolUniqueName={}, index={}, context={}]",
-                            this.id,
-                            task.getToolCall().getUniqueName(),
-                            task.getIndex(),
-                            this.context.toString());
-                    this.setException(task,
-                            new IllegalStateException(StringUtils.format("The instance is not running. [context={0}]",
-                                    this.context.toString())));
-                    return;
-                }
-                LOG.info("Start calling the tool. [batchId={}, toolUniqueName={}, index={}]",
+            if (!this.aippInstanceStatus.isRunning(this.context)) {
+                LOG.warn("Ignore the tool call, because the batch request is not running. [batchId={}, "
+                                + "toolUniqueName={}, index={}, context={}]",
                         this.id,
                         task.getToolCall().getUniqueName(),
-                        task.getIndex());
-
-                this.doingToolCallTasks.put(task.getIndex(), task);
-                String jsonArgs = JSONObject.toJSONString(task.getToolCall().getArgs(),
-                        SerializerFeature.WriteMapNullValue);
-                this.complete(task,
-                        JSONArray.parse(this.toolExecuteService.execute(task.getToolCall().getUniqueName(), jsonArgs)));
-            } catch (Throwable ex) {
-                this.setException(task, ex);
-            } finally {
-                this.doingToolCallTasks.remove(task.getIndex());
+                        task.getIndex(),
+                        this.context.toString());
+                this.setException(task,
+                        new IllegalStateException(StringUtils.format("The instance is not running. [context={0}]",
+                                this.context.toString())));
+                return;
             }
+            LOG.info("Start calling the tool. [batchId={}, toolUniqueName={}, index={}]",
+                    this.id,
+                    task.getToolCall().getUniqueName(),
+                    task.getIndex());
 
-        });
-        return true;
+            this.doingToolCallTasks.put(task.getIndex(), task);
+            this.complete(task, this.execute(task));
+        } catch (Throwable ex) {
+            this.setException(task, ex);
+        } finally {
+            this.doingToolCallTasks.remove(task.getIndex());
+            release.run();
+        }
+    }
+
+    private Object execute(ToolCallTask task) {
+        if (!this.register(task)) {
+            throw new IllegalStateException("The batch request has been cancelled.");
+        }
+        try {
+            return JSONArray.parse(this.toolExecuteService.execute(task.getToolCall().getUniqueName(),
+                    task.getToolCall().getArgs()));
+        } finally {
+            this.unregister(task);
+        }
+    }
+
+    private boolean register(ToolCallTask task) {
+        synchronized (this.doingThreads) {
+            if (this.hasException()) {
+                return false;
+            }
+            this.doingThreads.put(task.getIndex(), Thread.currentThread());
+            return true;
+        }
+    }
+
+    private void unregister(ToolCallTask task) {
+        synchronized (this.doingThreads) {
+            this.doingThreads.remove(task.getIndex());
+            if (this.hasException()) {
+                // 清除取消时设置的中断标记，避免影响执行线程上的下一个任务。
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void cancelDoingTasks() {
+        synchronized (this.doingThreads) {
+            this.doingThreads.values().forEach(Thread::interrupt);
+        }
     }
 
     /**
@@ -160,11 +245,26 @@ public class BatchRequest {
      * @throws IllegalStateException 当有工具调用失败/中断时。
      */
     public Map<String, Object> await() {
+        Runnable unwatch = this.aippInstanceStatus.watch(this.context, this::stopNotRunning);
         try {
-            this.countDownLatch.await();
+            long nextCheckAt = System.currentTimeMillis() + STATUS_CHECK_INTERVAL_MILLIS;
+            while (this.countDownLatch.getCount() > 0) {
+                if (!this.dispatch(DISPATCH_WAIT_MILLIS)) {
+                    this.countDownLatch.await(Math.max(0L, nextCheckAt - System.currentTimeMillis()),
+                            TimeUnit.MILLISECONDS);
+                }
+                if (System.currentTimeMillis() >= nextCheckAt) {
+                    this.checkRunning();
+                    nextCheckAt = System.currentTimeMillis() + STATUS_CHECK_INTERVAL_MILLIS;
+                }
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException(this.exception.getMessage(), this.exception);
+            this.cancelDoingTasks();
+            throw new IllegalStateException(StringUtils.format("The batch request is interrupted. [batchId={0}]",
+                    this.id), e);
+        } finally {
+            unwatch.run();
         }
         if (this.hasException()) {
             throw new IllegalStateException(StringUtils.format(
@@ -177,6 +277,26 @@ public class BatchRequest {
         return this.results;
     }
 
+    private void checkRunning() {
+        if (!this.aippInstanceStatus.isRunning(this.context)) {
+            this.stopNotRunning();
+        }
+    }
+
+    private void stopNotRunning() {
+        ToolCallTask task = this.doingToolCallTasks.values().stream().findFirst().orElseGet(() -> {
+            synchronized (this.undoToolCallTasks) {
+                return this.undoToolCallTasks.peek();
+            }
+        });
+        if (task == null) {
+            return;
+        }
+        this.setException(task,
+                new IllegalStateException(StringUtils.format("The instance is not running. [context={0}]",
+                        this.context.toString())));
+    }
+
     private boolean hasException() {
         return this.exception != null;
     }
@@ -194,7 +314,6 @@ public class BatchRequest {
                 this.countDownLatch.countDown();
             }
         }
-        this.postUndoTask();
     }
 
     private void setException(ToolCallTask task, Throwable ex) {
@@ -212,6 +331,7 @@ public class BatchRequest {
             this.exception = ex;
             this.exceptionToolCallTask = task;
         }
+        this.cancelDoingTasks();
         this.countDownLatch.countDown();
     }
 
@@ -13,6 +13,7 @@ import modelengine.fit.jade.aipp.tool.parallel.entities.ToolCall;
 import modelengine.fit.jade.aipp.tool.parallel.service.ParallelToolService;
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolConcurrencyLimiter;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.annotation.Fitable;
@@ -47,9 +48,11 @@ public class ParallelToolServiceImpl implements ParallelToolService {
     private final TaskExecutor taskExecutor;
     private final Config defaultConfig;
     private final AippInstanceStatus aippInstanceStatus;
+    private final ToolConcurrencyLimiter concurrencyLimiter;
 
     public ParallelToolServiceImpl(@Fit ToolExecuteService toolExecuteService, TaskExecutor taskExecutor,
-            @Value("${parallel-tool.concurrency:8}") int defaultConcurrency, AippInstanceStatus aippInstanceStatus) {
+            @Value("${parallel-tool.concurrency:8}") int defaultConcurrency, AippInstanceStatus aippInstanceStatus,
+            ToolConcurrencyLimiter concurrencyLimiter) {
         this.toolExecuteService = toolExecuteService;
         this.taskExecutor = taskExecutor;
         this.defaultConfig = Config.builder()
@@ -61,6 +64,7 @@ public class ParallelToolServiceImpl implements ParallelToolService {
                                 MAX_CONCURRENCY)))
                 .build();
         this.aippInstanceStatus = aippInstanceStatus;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     @Override
@@ -78,6 +82,7 @@ public class ParallelToolServiceImpl implements ParallelToolService {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.concurrencyLimiter,
                 context);
         batchRequest.post();
         return batchRequest.await();
@@ -22,4 +22,13 @@ public interface AippInstanceStatus {
      * @return 表示是否正在运行状态的 {@code boolean}。
      */
     boolean isRunning(Map<String, Object> context);
+
+    /**
+     * 监听上下文中的实例停止运行，实例终止、异常或者结束时调用回调，上下文中没有实例唯一标识时不监听。
+     *
+     * @param context 表示上下文信息的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     * @param onStopped 表示实例停止运行时的回调的 {@link Runnable}。
+     * @return 表示取消监听的 {@link Runnable}。
+     */
+    Runnable watch(Map<String, Object> context, Runnable onStopped);
 }
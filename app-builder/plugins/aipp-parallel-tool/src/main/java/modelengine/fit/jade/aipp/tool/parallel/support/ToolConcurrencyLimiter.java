@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ * This file is a part of the ModelEngine Project.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package modelengine.fit.jade.aipp.tool.parallel.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工具调用并发限制的接口。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public interface ToolConcurrencyLimiter {
+    /**
+     * 在指定时间内获取一次工具调用的许可。
+     *
+     * @param toolUniqueName 表示工具唯一标识的 {@link String}。
+     * @param appId 表示发起调用的应用唯一标识的 {@link String}，为空时不限制应用维度的并发。
+     * @param timeout 表示最长等待时间的 {@code long}。
+     * @param unit 表示等待时间单位的 {@link TimeUnit}。
+     * @return 表示释放许可操作的 {@link Runnable}，调用结束后必须执行且只能执行一次；超时未获取到许可时为 {@code null}。
+     * @throws InterruptedException 当等待许可时线程被中断。
+     */
+    Runnable tryAcquire(String toolUniqueName, String appId, long timeout, TimeUnit unit) throws InterruptedException;
+}
@@ -6,34 +6,39 @@
 
 package modelengine.fit.jade.aipp.tool.parallel.support.impl;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.genericable.AippRunTimeService;
+import modelengine.fit.jober.aipp.genericable.event.AippInstanceStatusChanged;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.event.EventHandler;
+import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 查询实例状态的实现。
+ * <p>订阅应用实例状态变化事件，实例在本节点停止运行时立即通知监听者；其他节点上的终止由调用方定期调用
+ * {@link #isRunning(Map)} 发现，该查询读取应用侧的内存状态表，不在本地缓存。</p>
  *
  * @author 宋永坦
  * @since 2025-04-28
  */
 @Component
-public class AippInstanceStatusImpl implements AippInstanceStatus {
+public class AippInstanceStatusImpl implements AippInstanceStatus, EventHandler<AippInstanceStatusChanged> {
+    private static final Logger LOG = Logger.get(AippInstanceStatusImpl.class);
     private static final String DEFAULT_OPERATOR = "Jade";
     private static final OperationContext operationContext;
 
-    private final Cache<String, Boolean> statusCache;
+    private final Map<String, List<Runnable>> watchers = new ConcurrentHashMap<>();
     private final AippRunTimeService aippRunTimeService;
 
     static {
@@ -43,18 +48,52 @@ public class AippInstanceStatusImpl implements AippInstanceStatus {
 
     public AippInstanceStatusImpl(@Fit AippRunTimeService aippRunTimeService) {
         this.aippRunTimeService = aippRunTimeService;
-        this.statusCache = Caffeine.newBuilder().expireAfterAccess(30, TimeUnit.SECONDS).maximumSize(1000).build();
     }
 
     @Override
     public boolean isRunning(Map<String, Object> context) {
-        String aippInstanceId = ObjectUtils.cast(ObjectUtils.nullIf(context, new HashMap<>())
-                .getOrDefault(AippConst.CONTEXT_INSTANCE_ID, StringUtils.EMPTY));
+        String aippInstanceId = getInstanceId(context);
         if (StringUtils.isBlank(aippInstanceId)) {
             // 如果上下文中不传入该值，则认为不需要根据实例状态控制退出。
             return true;
         }
-        return Boolean.TRUE.equals(statusCache.get(aippInstanceId,
-                __ -> this.aippRunTimeService.isInstanceRunning(aippInstanceId, operationContext)));
+        return Boolean.TRUE.equals(this.aippRunTimeService.isInstanceRunning(aippInstanceId, operationContext));
+    }
+
+    @Override
+    public Runnable watch(Map<String, Object> context, Runnable onStopped) {
+        String aippInstanceId = getInstanceId(context);
+        if (StringUtils.isBlank(aippInstanceId)) {
+            return () -> {};
+        }
+        this.watchers.computeIfAbsent(aippInstanceId, key -> new CopyOnWriteArrayList<>()).add(onStopped);
+        return () -> this.watchers.computeIfPresent(aippInstanceId, (key, list) -> {
+            list.remove(onStopped);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    @Override
+    public void handleEvent(AippInstanceStatusChanged event) {
+        if (event.isRunning()) {
+            return;
+        }
+        List<Runnable> instanceWatchers = this.watchers.remove(event.getInstanceId());
+        if (instanceWatchers == null) {
+            return;
+        }
+        for (Runnable watcher : instanceWatchers) {
+            try {
+                watcher.run();
+            } catch (RuntimeException ex) {
+                LOG.warn("Failed to notify the instance stopped. [instanceId={}, status={}, error={}]",
+                        event.getInstanceId(), event.getStatus(), ex.getMessage());
+            }
+        }
+    }
+
+    private static String getInstanceId(Map<String, Object> context) {
+        return ObjectUtils.cast(ObjectUtils.nullIf(context, new HashMap<>())
+                .getOrDefault(AippConst.CONTEXT_INSTANCE_ID, StringUtils.EMPTY));
     }
 }
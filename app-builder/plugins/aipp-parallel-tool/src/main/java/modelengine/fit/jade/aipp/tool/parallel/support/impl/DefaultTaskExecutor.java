@@ -16,12 +16,14 @@ import modelengine.fitframework.thread.DefaultThreadFactory;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 任务执行器的实现。
+ * <p>线程数达到上限后任务在有界队列中排队，队列满时由投递任务的线程自己执行；空闲线程超时后回收。
+ * 执行线程上投递的任务（例如嵌套的并行工具调用）直接在当前线程执行，避免所有执行线程都在等待排队中的任务。</p>
  *
  * @author 宋永坦
  * @since 2025-04-24
@@ -31,38 +33,47 @@ public class DefaultTaskExecutor implements TaskExecutor {
     private static final Logger LOG = Logger.get(BatchRequest.class);
     private static final int MIN_THREAD_POOL_SIZE = 1;
     private static final int MAX_THREAD_POOL_SIZE = 128;
-    private static final int MIN_THREAD_CORE_SIZE = 0;
+    private static final ThreadLocal<Boolean> IN_POOL = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     private final ExecutorService executorService;
 
     public DefaultTaskExecutor(@Value("${parallel-tool.thread-pool-size:64}") int threadPoolSize,
-            @Value("${parallel-tool.thread-core-size:8}") int threadCoreSize) {
+            @Value("${parallel-tool.queue-capacity:256}") int queueCapacity) {
         Validation.between(threadPoolSize,
                 MIN_THREAD_POOL_SIZE,
                 MAX_THREAD_POOL_SIZE,
                 StringUtils.format("The parallel tool thread pool size should between {0} and {1}.",
                         MIN_THREAD_POOL_SIZE,
                         MAX_THREAD_POOL_SIZE));
-        Validation.between(threadCoreSize,
-                MIN_THREAD_CORE_SIZE,
-                threadPoolSize,
-                StringUtils.format("The parallel tool thread core size should between {0} and {1}.",
-                        MIN_THREAD_CORE_SIZE,
-                        threadPoolSize));
-        this.executorService = new ThreadPoolExecutor(threadCoreSize,
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadPoolSize,
                 threadPoolSize,
                 5L,
                 TimeUnit.MINUTES,
-                new SynchronousQueue<>(),
+                new LinkedBlockingQueue<>(Validation.greaterThanOrEquals(queueCapacity,
+                        1,
+                        "The parallel tool queue capacity should be positive.")),
                 new DefaultThreadFactory("parallel-tool", false, (thread, throwable) -> {
                     LOG.error("[parallel-tool] Exception. [message={}]", throwable.getMessage());
                     LOG.error("[parallel-tool] Details:", throwable);
                 }),
                 new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
     }
 
     @Override
     public void post(Runnable runnable) {
-        this.executorService.execute(runnable);
+        if (IN_POOL.get()) {
+            runnable.run();
+            return;
+        }
+        this.executorService.execute(() -> {
+            IN_POOL.set(Boolean.TRUE);
+            try {
+                runnable.run();
+            } finally {
+                IN_POOL.remove();
+            }
+        });
     }
 }
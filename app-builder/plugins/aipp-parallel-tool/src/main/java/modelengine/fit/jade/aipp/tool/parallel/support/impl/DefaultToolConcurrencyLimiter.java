@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ * This file is a part of the ModelEngine Project.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package modelengine.fit.jade.aipp.tool.parallel.support.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolConcurrencyLimiter;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工具调用并发限制的实现。
+ * <p>同一个工具、同一个应用分别使用独立的信号量，避免单个慢工具或单个应用占满执行线程。
+ * 许可在投递任务之前由投递线程获取，执行线程不会阻塞在信号量上。许可释放在获取时的信号量上，
+ * 信号量因长时间未使用被淘汰后不会影响正在执行的调用。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class DefaultToolConcurrencyLimiter implements ToolConcurrencyLimiter {
+    private static final int MIN_CONCURRENCY = 1;
+
+    private final int toolConcurrency;
+    private final int appConcurrency;
+    private final Cache<String, Semaphore> toolSemaphores;
+    private final Cache<String, Semaphore> appSemaphores;
+
+    public DefaultToolConcurrencyLimiter(@Value("${parallel-tool.tool-concurrency:16}") int toolConcurrency,
+            @Value("${parallel-tool.app-concurrency:64}") int appConcurrency) {
+        this.toolConcurrency = Validation.greaterThanOrEquals(toolConcurrency, MIN_CONCURRENCY,
+                "The parallel tool concurrency per tool should be positive.");
+        this.appConcurrency = Validation.greaterThanOrEquals(appConcurrency, MIN_CONCURRENCY,
+                "The parallel tool concurrency per app should be positive.");
+        this.toolSemaphores = Caffeine.newBuilder().expireAfterAccess(30, TimeUnit.MINUTES).build();
+        this.appSemaphores = Caffeine.newBuilder().expireAfterAccess(30, TimeUnit.MINUTES).build();
+    }
+
+    @Override
+    public Runnable tryAcquire(String toolUniqueName, String appId, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Semaphore appSemaphore = StringUtils.isBlank(appId)
+                ? null
+                : this.appSemaphores.get(appId, key -> new Semaphore(this.appConcurrency));
+        Semaphore toolSemaphore = this.toolSemaphores.get(toolUniqueName, key -> new Semaphore(this.toolConcurrency));
+        if (appSemaphore != null && !appSemaphore.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        boolean isAcquired = false;
+        try {
+            isAcquired = toolSemaphore.tryAcquire(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } finally {
+            if (!isAcquired && appSemaphore != null) {
+                appSemaphore.release();
+            }
+        }
+        if (!isAcquired) {
+            return null;
+        }
+        return () -> {
+            toolSemaphore.release();
+            if (appSemaphore != null) {
+                appSemaphore.release();
+            }
+        };
+    }
+}
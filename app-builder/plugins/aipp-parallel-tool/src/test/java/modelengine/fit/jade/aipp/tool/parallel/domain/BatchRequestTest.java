@@ -11,9 +11,13 @@ import modelengine.fit.jade.aipp.tool.parallel.entities.Config;
 import modelengine.fit.jade.aipp.tool.parallel.entities.ToolCall;
 import modelengine.fit.jade.aipp.tool.parallel.support.AippInstanceStatus;
 import modelengine.fit.jade.aipp.tool.parallel.support.TaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.ToolConcurrencyLimiter;
+import modelengine.fit.jade.aipp.tool.parallel.support.impl.DefaultTaskExecutor;
+import modelengine.fit.jade.aipp.tool.parallel.support.impl.DefaultToolConcurrencyLimiter;
 import modelengine.fitframework.util.MapBuilder;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -21,10 +25,15 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@link BatchRequest} 的测试类。
@@ -43,6 +52,18 @@ class BatchRequestTest {
     @Mock
     private AippInstanceStatus aippInstanceStatus;
 
+    private final ToolConcurrencyLimiter concurrencyLimiter = new DefaultToolConcurrencyLimiter(32, 64);
+
+    private final AtomicReference<Runnable> onStopped = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(this.aippInstanceStatus.watch(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            this.onStopped.set(invocation.getArgument(1));
+            return (Runnable) () -> this.onStopped.set(null);
+        });
+    }
+
     @Test
     void shouldCallExecutorByConcurrencyWhenPostGivenToolCall() {
         List<ToolCall> toolCalls = Arrays.asList(ToolCall.builder().uniqueName("u1").args(new HashMap<>()).build(),
@@ -56,6 +77,7 @@ class BatchRequestTest {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.concurrencyLimiter,
                 new HashMap<>());
         batchRequest.post();
 
@@ -79,15 +101,16 @@ class BatchRequestTest {
         }).when(this.taskExecutor).post(Mockito.any());
         Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
         Mockito.when(this.toolExecuteService.execute(Mockito.eq(toolCalls.get(0).getUniqueName()),
-                Mockito.eq("{}"))).thenReturn("1");
+                Mockito.eq(toolCalls.get(0).getArgs()))).thenReturn("1");
         Mockito.when(this.toolExecuteService.execute(Mockito.eq(toolCalls.get(1).getUniqueName()),
-                Mockito.eq("{\"a\":1}"))).thenReturn("\"2\"");
+                Mockito.eq(toolCalls.get(1).getArgs()))).thenReturn("\"2\"");
 
         BatchRequest batchRequest = new BatchRequest(toolCalls,
                 config,
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.concurrencyLimiter,
                 new HashMap<>());
         batchRequest.post();
         Map<String, Object> result = batchRequest.await();
@@ -111,14 +134,15 @@ class BatchRequestTest {
             return null;
         }).when(this.taskExecutor).post(Mockito.any());
         Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
-        Mockito.when(this.toolExecuteService.execute(Mockito.eq(toolCalls.get(0).getUniqueName()), Mockito.eq("{}")))
-                .thenThrow(new IllegalArgumentException("wrong argument"));
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq(toolCalls.get(0).getUniqueName()),
+                Mockito.eq(toolCalls.get(0).getArgs()))).thenThrow(new IllegalArgumentException("wrong argument"));
 
         BatchRequest batchRequest = new BatchRequest(toolCalls,
                 config,
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.concurrencyLimiter,
                 new HashMap<>());
         batchRequest.post();
         IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
@@ -136,8 +160,7 @@ class BatchRequestTest {
             runnable.run();
             return null;
         }).when(this.taskExecutor).post(Mockito.any());
-        Mockito.when(this.toolExecuteService.execute(Mockito.any(String.class), Mockito.any(String.class)))
-                .thenReturn("1");
+        Mockito.when(this.toolExecuteService.execute(Mockito.any(String.class), Mockito.anyMap())).thenReturn("1");
         Map<String, Object> context = MapBuilder.<String, Object>get().put("instanceId", "1").build();
         Mockito.when(this.aippInstanceStatus.isRunning(Mockito.same(context))).thenReturn(true).thenReturn(false);
 
@@ -146,14 +169,167 @@ class BatchRequestTest {
                 this.toolExecuteService,
                 this.taskExecutor,
                 this.aippInstanceStatus,
+                this.concurrencyLimiter,
                 context);
         batchRequest.post();
         IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
 
         Mockito.verify(this.taskExecutor, Mockito.times(2)).post(Mockito.any());
         Mockito.verify(this.toolExecuteService, Mockito.times(1))
-                .execute(Mockito.any(String.class), Mockito.any(String.class));
+                .execute(Mockito.any(String.class), Mockito.anyMap());
         Assertions.assertTrue(exception.getMessage()
                 .endsWith("errorMessage=The instance is not running. [context={instanceId=1}]]"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldInterruptRunningToolWhenAwaitGivenSiblingToolException() throws InterruptedException {
+        List<ToolCall> toolCalls =
+                Arrays.asList(ToolCall.builder().uniqueName("slow").args(new HashMap<>()).outputName("1").build(),
+                        ToolCall.builder().uniqueName("failed").args(new HashMap<>()).outputName("2").build());
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+        Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("slow"), Mockito.anyMap())).thenAnswer(invocation -> {
+            slowStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                slowInterrupted.countDown();
+                throw e;
+            }
+            return "1";
+        });
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("failed"), Mockito.anyMap())).thenAnswer(invocation -> {
+            slowStarted.await();
+            throw new IllegalArgumentException("wrong argument");
+        });
+
+        BatchRequest batchRequest = new BatchRequest(toolCalls,
+                Config.builder().concurrency(2).build(),
+                this.toolExecuteService,
+                new DefaultTaskExecutor(2, 16),
+                this.aippInstanceStatus,
+                this.concurrencyLimiter,
+                new HashMap<>());
+        batchRequest.post();
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
+
+        Assertions.assertTrue(exception.getMessage().endsWith("errorMessage=wrong argument]"));
+        Assertions.assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldInterruptRunningToolWhenAwaitGivenInstanceStoppedEvent() throws InterruptedException {
+        List<ToolCall> toolCalls =
+                Arrays.asList(ToolCall.builder().uniqueName("slow").args(new HashMap<>()).outputName("1").build());
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+        Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("slow"), Mockito.anyMap())).thenAnswer(invocation -> {
+            slowStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                slowInterrupted.countDown();
+                throw e;
+            }
+            return "1";
+        });
+        Map<String, Object> context = MapBuilder.<String, Object>get().put("instanceId", "1").build();
+        Thread stopper = new Thread(() -> {
+            try {
+                slowStarted.await();
+                while (this.onStopped.get() == null) {
+                    Thread.sleep(10);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            this.onStopped.get().run();
+        });
+        stopper.start();
+
+        BatchRequest batchRequest = new BatchRequest(toolCalls,
+                Config.builder().concurrency(1).build(),
+                this.toolExecuteService,
+                new DefaultTaskExecutor(1, 16),
+                this.aippInstanceStatus,
+                this.concurrencyLimiter,
+                context);
+        batchRequest.post();
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, batchRequest::await);
+
+        Assertions.assertTrue(exception.getMessage()
+                .endsWith("errorMessage=The instance is not running. [context={instanceId=1}]]"));
+        Assertions.assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertNull(this.onStopped.get());
+    }
+
+    @Test
+    void shouldCompleteFanOutCallsWhenAwaitGivenLocalStubTool() {
+        int callCount = 1000;
+        List<ToolCall> toolCalls = new ArrayList<>(callCount);
+        for (int i = 0; i < callCount; i++) {
+            toolCalls.add(ToolCall.builder()
+                    .uniqueName("stub")
+                    .args(MapBuilder.<String, Object>get().put("index", i).build())
+                    .outputName(String.valueOf(i))
+                    .build());
+        }
+        AtomicBoolean callerRun = new AtomicBoolean(false);
+        Thread caller = Thread.currentThread();
+        Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("stub"), Mockito.anyMap())).thenAnswer(invocation -> {
+            if (Thread.currentThread() == caller) {
+                callerRun.set(true);
+            }
+            Thread.sleep(2);
+            Map<String, Object> args = invocation.getArgument(1);
+            return String.valueOf(args.get("index"));
+        });
+
+        BatchRequest batchRequest = new BatchRequest(toolCalls,
+                Config.builder().concurrency(32).build(),
+                this.toolExecuteService,
+                new DefaultTaskExecutor(64, 256),
+                this.aippInstanceStatus,
+                this.concurrencyLimiter,
+                new HashMap<>());
+        batchRequest.post();
+        Map<String, Object> result = batchRequest.await();
+
+        Assertions.assertEquals(callCount, result.size());
+        Assertions.assertEquals(999, result.get("999"));
+        Assertions.assertFalse(callerRun.get());
+    }
+
+    @Test
+    void shouldPostToolCallAfterPermitReleasedWhenAwaitGivenToolPermitsExhausted() throws InterruptedException {
+        List<ToolCall> toolCalls =
+                List.of(ToolCall.builder().uniqueName("u1").args(new HashMap<>()).outputName("1").build());
+        ToolConcurrencyLimiter limiter = new DefaultToolConcurrencyLimiter(1, 64);
+        Runnable release = limiter.tryAcquire("u1", null, 0L, TimeUnit.MILLISECONDS);
+        Mockito.doAnswer((Answer<Void>) invocation -> {
+            Runnable runnable = invocation.getArgument(0);
+            runnable.run();
+            return null;
+        }).when(this.taskExecutor).post(Mockito.any());
+        Mockito.when(this.aippInstanceStatus.isRunning(Mockito.any())).thenReturn(true);
+        Mockito.when(this.toolExecuteService.execute(Mockito.eq("u1"), Mockito.anyMap())).thenReturn("1");
+
+        BatchRequest batchRequest = new BatchRequest(toolCalls,
+                Config.builder().concurrency(1).build(),
+                this.toolExecuteService,
+                this.taskExecutor,
+                this.aippInstanceStatus,
+                limiter,
+                new HashMap<>());
+        batchRequest.post();
+        Mockito.verify(this.taskExecutor, Mockito.never()).post(Mockito.any());
+        release.run();
+        Map<String, Object> result = batchRequest.await();
+
+        Assertions.assertEquals(1, result.get("1"));
+        Assertions.assertNotNull(limiter.tryAcquire("u1", null, 0L, TimeUnit.MILLISECONDS));
+    }
+}
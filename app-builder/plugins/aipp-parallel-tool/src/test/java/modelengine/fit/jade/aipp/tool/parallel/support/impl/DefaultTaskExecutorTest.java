@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ * This file is a part of the ModelEngine Project.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package modelengine.fit.jade.aipp.tool.parallel.support.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link DefaultTaskExecutor} 的测试类。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class DefaultTaskExecutorTest {
+    @Test
+    void shouldRunInCurrentThreadWhenPostGivenNestedTask() throws InterruptedException {
+        DefaultTaskExecutor executor = new DefaultTaskExecutor(1, 1);
+        AtomicReference<Thread> outer = new AtomicReference<>();
+        AtomicReference<Thread> inner = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.post(() -> {
+            outer.set(Thread.currentThread());
+            executor.post(() -> inner.set(Thread.currentThread()));
+            done.countDown();
+        });
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertSame(outer.get(), inner.get());
+    }
+
+    @Test
+    void shouldRunInCallerThreadWhenPostGivenQueueFull() throws InterruptedException {
+        DefaultTaskExecutor executor = new DefaultTaskExecutor(1, 1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.post(() -> {
+            started.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.post(() -> {});
+        AtomicReference<Thread> runner = new AtomicReference<>();
+
+        executor.post(() -> runner.set(Thread.currentThread()));
+
+        Assertions.assertSame(Thread.currentThread(), runner.get());
+        blocked.countDown();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ * This file is a part of the ModelEngine Project.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package modelengine.fit.jade.aipp.tool.parallel.support.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultToolConcurrencyLimiter} 的测试类。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class DefaultToolConcurrencyLimiterTest {
+    @Test
+    void shouldReturnNullWhenTryAcquireGivenToolPermitsExhausted() throws InterruptedException {
+        DefaultToolConcurrencyLimiter limiter = new DefaultToolConcurrencyLimiter(1, 8);
+        Runnable release = limiter.tryAcquire("tool", "app", 0L, TimeUnit.MILLISECONDS);
+        Assertions.assertNotNull(release);
+
+        Assertions.assertNull(limiter.tryAcquire("tool", "app", 50L, TimeUnit.MILLISECONDS));
+        limiter.tryAcquire("other", "app", 0L, TimeUnit.MILLISECONDS).run();
+        release.run();
+        Assertions.assertNotNull(limiter.tryAcquire("tool", "app", 0L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldReleaseAppPermitWhenTryAcquireGivenToolPermitsExhausted() throws InterruptedException {
+        DefaultToolConcurrencyLimiter limiter = new DefaultToolConcurrencyLimiter(1, 1);
+        Runnable release = limiter.tryAcquire("tool1", null, 0L, TimeUnit.MILLISECONDS);
+
+        Assertions.assertNull(limiter.tryAcquire("tool1", "app", 0L, TimeUnit.MILLISECONDS));
+        Runnable appRelease = limiter.tryAcquire("tool2", "app", 0L, TimeUnit.MILLISECONDS);
+        Assertions.assertNotNull(appRelease);
+        Assertions.assertNull(limiter.tryAcquire("tool3", "app", 0L, TimeUnit.MILLISECONDS));
+        appRelease.run();
+        release.run();
+    }
+}
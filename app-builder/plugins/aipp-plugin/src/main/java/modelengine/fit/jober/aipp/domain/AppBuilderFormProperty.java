@@ -19,6 +19,8 @@ import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -108,6 +110,31 @@ public class AppBuilderFormProperty {
         }
     }
 
+    /**
+     * 复制一个表单属性，默认值中的 {@link Map} 与 {@link List} 逐层复制，所属表单在使用时重新加载.
+     *
+     * @return {@link AppBuilderFormProperty} 对象.
+     */
+    public AppBuilderFormProperty copy() {
+        return new AppBuilderFormProperty(this.id, this.formId, this.name, this.dataType,
+                copyValue(this.defaultValue), this.from, this.group, this.description, this.index, this.appId, null,
+                this.formRepository);
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copied = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> copied.put(key, copyValue(item)));
+            return copied;
+        }
+        if (value instanceof List) {
+            List<Object> copied = new ArrayList<>();
+            ((List<?>) value).forEach(item -> copied.add(copyValue(item)));
+            return copied;
+        }
+        return value;
+    }
+
     private AppBuilderForm loadForm() {
         return this.formRepository.selectWithId(this.formId);
     }
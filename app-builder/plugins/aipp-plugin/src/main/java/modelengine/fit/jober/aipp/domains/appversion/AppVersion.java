@@ -194,6 +194,9 @@ public class AppVersion {
     private AppBuilderConfig config;
     private AppBuilderFlowGraph flowGraph;
     private LocalDateTime baselineCreateTime;
+
+    // 从已发布应用快照恢复时预先设置的已发布任务.
+    private List<AppTask> publishedTasks;
     private final AippFlowDefinitionService aippFlowDefinitionService;
     private final FlowDefinitionService flowDefinitionService;
     private final KnowledgeCenterService knowledgeCenterService;
@@ -566,12 +569,25 @@ public class AppVersion {
      * @return {@link List}{@code <}{@link AppTask}{@code >} 任务对象.
      */
     public List<AppTask> getPublishedTasks(OperationContext ctx) {
+        if (this.publishedTasks != null) {
+            return this.publishedTasks;
+        }
         return this.appTaskService.getTaskList(this.data.getAppSuiteId(), NORMAL.name(), ACTIVE.getCode(), ctx)
                 .stream()
                 .peek(t -> t.setAppVersion(this))
                 .toList();
     }
 
+    /**
+     * 设置预先加载的已发布任务集合，之后获取已发布任务时不再查询.
+     *
+     * @param tasks {@link List}{@code <}{@link AppTask}{@code >} 任务对象.
+     */
+    void setPublishedTasks(List<AppTask> tasks) {
+        tasks.forEach(t -> t.setAppVersion(this));
+        this.publishedTasks = tasks;
+    }
+
     /**
      * 通过指定任务id，以及任务实例id的方式，重新启动流程.
      *
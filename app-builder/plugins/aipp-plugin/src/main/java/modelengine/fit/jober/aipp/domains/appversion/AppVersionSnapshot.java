@@ -0,0 +1,151 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.appversion;
+
+import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
+import modelengine.fit.jober.aipp.domains.task.AppTask;
+import modelengine.fit.jober.aipp.po.AppBuilderAppPo;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * 已发布应用版本的只读快照.
+ * <p>快照只保存应用数据与已发布任务的副本，每次使用时通过 {@link #toAppVersion(AppVersionFactory, AppVersionRepository)}
+ * 创建新的 {@link AppVersion}，请求之间不共享可变的对象.</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AppVersionSnapshot {
+    private static final int OBJECT_OVERHEAD_BYTES = 512;
+    private static final int TASK_OVERHEAD_BYTES = 2048;
+    private static final int FORM_PROPERTY_BYTES = 512;
+
+    private final AppBuilderAppPo data;
+    private final List<AppTask> publishedTasks;
+    private final String revision;
+    private final long createAt;
+    private final long estimatedBytes;
+
+    AppVersionSnapshot(AppBuilderAppPo data, List<AppTask> publishedTasks, String revision) {
+        this.data = copy(data);
+        this.publishedTasks = publishedTasks.stream().map(AppTask::copy).toList();
+        this.revision = revision;
+        this.createAt = System.currentTimeMillis();
+        this.estimatedBytes = estimate(this.data, this.publishedTasks);
+    }
+
+    /**
+     * 通过快照创建一个新的 {@link AppVersion} 对象.
+     *
+     * @param factory {@link AppVersionFactory} 对象.
+     * @param repository {@link AppVersionRepository} 对象.
+     * @return {@link AppVersion} 对象.
+     */
+    public AppVersion toAppVersion(AppVersionFactory factory, AppVersionRepository repository) {
+        AppVersion appVersion = factory.create(copy(this.data), repository);
+        appVersion.setPublishedTasks(this.publishedTasks.stream().map(AppTask::copy).toList());
+        return appVersion;
+    }
+
+    /**
+     * 获取应用唯一标识.
+     *
+     * @return 应用唯一标识.
+     */
+    public String getAppId() {
+        return this.data.getAppId();
+    }
+
+    /**
+     * 获取应用版本.
+     *
+     * @return 应用版本.
+     */
+    public String getVersion() {
+        return this.data.getVersion();
+    }
+
+    /**
+     * 获取应用所属的应用集唯一标识.
+     *
+     * @return 应用集唯一标识.
+     */
+    public String getAppSuiteId() {
+        return this.data.getAppSuiteId();
+    }
+
+    /**
+     * 获取创建快照时应用集的修订号.
+     *
+     * @return 应用集修订号.
+     */
+    public String getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * 获取快照的创建时间.
+     *
+     * @return 快照创建时间（毫秒）.
+     */
+    public long getCreateAt() {
+        return this.createAt;
+    }
+
+    /**
+     * 获取快照估算的内存占用.
+     *
+     * @return 估算的内存占用（字节）.
+     */
+    public long getEstimatedBytes() {
+        return this.estimatedBytes;
+    }
+
+    private static long estimate(AppBuilderAppPo data, List<AppTask> tasks) {
+        long bytes = OBJECT_OVERHEAD_BYTES + 2L * (length(data.getAttributes()) + length(data.getName())
+                + length(data.getPath()) + length(data.getUniqueName()));
+        for (AppTask task : tasks) {
+            bytes += TASK_OVERHEAD_BYTES + 2L * length(task.getEntity().getDescription());
+            bytes += (long) FORM_PROPERTY_BYTES * task.getFormProperties().size();
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return StringUtils.isBlank(value) ? 0 : value.length();
+    }
+
+    private static AppBuilderAppPo copy(AppBuilderAppPo data) {
+        return AppBuilderAppPo.builder()
+                .id(data.getId())
+                .name(data.getName())
+                .tenantId(data.getTenantId())
+                .configId(data.getConfigId())
+                .flowGraphId(data.getFlowGraphId())
+                .type(data.getType())
+                .createBy(data.getCreateBy())
+                .updateBy(data.getUpdateBy())
+                .version(data.getVersion())
+                .createAt(data.getCreateAt())
+                .updateAt(data.getUpdateAt())
+                .attributes(data.getAttributes())
+                .path(data.getPath())
+                .state(data.getState())
+                .appBuiltType(data.getAppBuiltType())
+                .appCategory(data.getAppCategory())
+                .appType(data.getAppType())
+                .appId(data.getAppId())
+                .appSuiteId(data.getAppSuiteId())
+                .isActive(data.getIsActive())
+                .status(data.getStatus())
+                .uniqueName(data.getUniqueName())
+                .publishAt(data.getPublishAt())
+                .build();
+    }
+}
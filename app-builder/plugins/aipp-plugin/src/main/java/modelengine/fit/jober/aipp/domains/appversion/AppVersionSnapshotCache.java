@@ -0,0 +1,203 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.appversion;
+
+import modelengine.fit.jober.aipp.domains.task.AppTask;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.CollectionUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 已发布应用版本的快照缓存.
+ * <p>按应用唯一标识与语言缓存 {@link AppVersionSnapshot}，按估算的内存占用淘汰最久未使用的快照。每个快照记录创建时应用集的修订号，
+ * 获取时传入当前的修订号，不一致的快照不再使用，因此其他节点上的更新、发布或者删除在下一次获取时即可生效。本节点上的更新
+ * 同时直接使同一应用集下的快照失效，尽早释放内存。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class AppVersionSnapshotCache {
+    private static final Logger LOGGER = Logger.get(AppVersionSnapshotCache.class);
+
+    private final long maxBytes;
+    private final long ttl;
+    private final Map<String, AppVersionSnapshot> snapshots = new LinkedHashMap<>(16, 0.75F, true);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private long totalBytes;
+
+    /**
+     * 快照缓存的构造方法.
+     *
+     * @param maxBytes 表示缓存估算内存占用上限（字节）的 {@code long}.
+     * @param ttl 表示快照过期时间（毫秒）的 {@code long}.
+     */
+    public AppVersionSnapshotCache(@Value("${app-engine.app-version.snapshot-cache.max-bytes}") long maxBytes,
+            @Value("${app-engine.app-version.snapshot-cache.ttl}") long ttl) {
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+    }
+
+    /**
+     * 获取快照.
+     *
+     * @param appId 应用唯一标识.
+     * @param locale 应用数据国际化使用的语言.
+     * @param revision 应用集当前的修订号，与快照的修订号不一致时快照失效.
+     * @return {@link Optional}{@code <}{@link AppVersionSnapshot}{@code >} 对象.
+     */
+    public Optional<AppVersionSnapshot> get(String appId, Locale locale, String revision) {
+        String key = key(appId, locale);
+        synchronized (this.snapshots) {
+            AppVersionSnapshot snapshot = this.snapshots.get(key);
+            if (snapshot != null && (!Objects.equals(snapshot.getRevision(), revision)
+                    || System.currentTimeMillis() - snapshot.getCreateAt() > this.ttl)) {
+                this.remove(key);
+                snapshot = null;
+            }
+            if (snapshot == null) {
+                this.missCount.incrementAndGet();
+            } else {
+                this.hitCount.incrementAndGet();
+            }
+            return Optional.ofNullable(snapshot);
+        }
+    }
+
+    /**
+     * 创建并写入已发布应用的快照，应用未发布或者没有已发布任务时不创建.
+     *
+     * @param appId 应用唯一标识.
+     * @param revision 加载应用数据前获取的应用集修订号.
+     * @param appVersion {@link AppVersion} 对象.
+     * @param publishedTasks 已发布任务集合，按创建时间降序排列.
+     * @param locale 应用数据国际化使用的语言.
+     * @return 创建的 {@link Optional}{@code <}{@link AppVersionSnapshot}{@code >} 对象.
+     */
+    public Optional<AppVersionSnapshot> put(String appId, String revision, AppVersion appVersion,
+            List<AppTask> publishedTasks, Locale locale) {
+        if (!appVersion.isPublished() || CollectionUtils.isEmpty(publishedTasks)) {
+            return Optional.empty();
+        }
+        AppVersionSnapshot snapshot = new AppVersionSnapshot(appVersion.getData(), publishedTasks, revision);
+        if (snapshot.getEstimatedBytes() > this.maxBytes) {
+            return Optional.of(snapshot);
+        }
+        synchronized (this.snapshots) {
+            String key = key(appId, locale);
+            this.remove(key);
+            this.snapshots.put(key, snapshot);
+            this.totalBytes += snapshot.getEstimatedBytes();
+            Iterator<Map.Entry<String, AppVersionSnapshot>> iterator = this.snapshots.entrySet().iterator();
+            while (this.totalBytes > this.maxBytes && iterator.hasNext()) {
+                this.totalBytes -= iterator.next().getValue().getEstimatedBytes();
+                iterator.remove();
+            }
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * 使应用及同一应用集下的快照失效.
+     *
+     * @param appId 应用唯一标识.
+     * @param appSuiteId 应用集唯一标识，为空时只使指定应用的快照失效.
+     */
+    public void invalidate(String appId, String appSuiteId) {
+        synchronized (this.snapshots) {
+            this.removeIf(s -> StringUtils.equals(s.getAppId(), appId)
+                    || (StringUtils.isNotBlank(appSuiteId) && StringUtils.equals(s.getAppSuiteId(), appSuiteId)));
+        }
+        LOGGER.debug("App version snapshots invalidated. [appId={}, appSuiteId={}]", appId, appSuiteId);
+    }
+
+    /**
+     * 使指定应用的快照失效.
+     *
+     * @param appIds 应用唯一标识集合.
+     */
+    public void invalidate(List<String> appIds) {
+        synchronized (this.snapshots) {
+            this.removeIf(s -> appIds.contains(s.getAppId()));
+        }
+    }
+
+    /**
+     * 获取缓存的快照数量.
+     *
+     * @return 快照数量.
+     */
+    public int size() {
+        synchronized (this.snapshots) {
+            return this.snapshots.size();
+        }
+    }
+
+    /**
+     * 获取缓存快照估算的内存占用.
+     *
+     * @return 估算的内存占用（字节）.
+     */
+    public long getTotalBytes() {
+        synchronized (this.snapshots) {
+            return this.totalBytes;
+        }
+    }
+
+    /**
+     * 获取命中次数.
+     *
+     * @return 命中次数.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * 获取未命中次数.
+     *
+     * @return 未命中次数.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    private void remove(String key) {
+        AppVersionSnapshot removed = this.snapshots.remove(key);
+        if (removed != null) {
+            this.totalBytes -= removed.getEstimatedBytes();
+        }
+    }
+
+    private void removeIf(Predicate<AppVersionSnapshot> predicate) {
+        Iterator<AppVersionSnapshot> iterator = this.snapshots.values().iterator();
+        while (iterator.hasNext()) {
+            AppVersionSnapshot snapshot = iterator.next();
+            if (predicate.test(snapshot)) {
+                this.totalBytes -= snapshot.getEstimatedBytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String key(String appId, Locale locale) {
+        return appId + "|" + (locale == null ? "" : locale.toLanguageTag());
+    }
+}
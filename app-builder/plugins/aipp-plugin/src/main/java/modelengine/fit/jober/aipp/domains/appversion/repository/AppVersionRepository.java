@@ -115,4 +115,12 @@ public interface AppVersionRepository {
      * @return appSuiteId，应用唯一id.
      */
     String getAppSuiteIdByAppId(String appId);
+
+    /**
+     * 通过appId获取所在应用集的修订号，应用集下任一版本新增、更新、发布或者删除后修订号都会变化.
+     *
+     * @param appId app版本id.
+     * @return 应用集修订号，app不存在时为 {@code null}.
+     */
+    String getAppSuiteRevision(String appId);
 }
@@ -11,6 +11,7 @@ import modelengine.fit.jober.aipp.condition.AppQueryCondition;
 import modelengine.fit.jober.aipp.converters.IconConverter;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersionFactory;
+import modelengine.fit.jober.aipp.domains.appversion.AppVersionSnapshotCache;
 import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
 import modelengine.fit.jober.aipp.domains.appversion.serializer.AppVersionSerializer;
 import modelengine.fit.jober.aipp.enums.AippSortKeyEnum;
@@ -32,10 +33,12 @@ import java.util.stream.Collectors;
 public class AppVersionRepositoryImpl implements AppVersionRepository {
     private final AppBuilderAppMapper mapper;
     private final AppVersionSerializer serializer;
+    private final AppVersionSnapshotCache snapshotCache;
 
     public AppVersionRepositoryImpl(AppBuilderAppMapper mapper, AppVersionFactory appVersionFactory,
-            IconConverter iconConverter) {
+            IconConverter iconConverter, AppVersionSnapshotCache snapshotCache) {
         this.mapper = mapper;
+        this.snapshotCache = snapshotCache;
         this.serializer = new AppVersionSerializer(appVersionFactory, this, iconConverter);
     }
 
@@ -47,6 +50,7 @@ public class AppVersionRepositoryImpl implements AppVersionRepository {
     @Override
     public void update(AppVersion appVersion) {
         this.mapper.updateOne(this.serializer.serialize(appVersion));
+        this.invalidateSnapshots(appVersion);
         Optional.ofNullable(appVersion).ifPresent(AppVersion::processIconPath);
     }
 
@@ -63,6 +67,7 @@ public class AppVersionRepositoryImpl implements AppVersionRepository {
     @Override
     public void save(AppVersion appVersion) {
         this.mapper.insertOne(this.serializer.serialize(appVersion));
+        this.invalidateSnapshots(appVersion);
         Optional.ofNullable(appVersion).ifPresent(AppVersion::processIconPath);
     }
 
@@ -112,10 +117,23 @@ public class AppVersionRepositoryImpl implements AppVersionRepository {
     @Override
     public void deleteByIds(List<String> appIds) {
         this.mapper.delete(appIds);
+        this.snapshotCache.invalidate(appIds);
     }
 
     @Override
     public String getAppSuiteIdByAppId(String appId) {
         return this.selectById(appId).map(av -> av.getData().getAppSuiteId()).orElse(null);
     }
+
+    @Override
+    public String getAppSuiteRevision(String appId) {
+        return this.mapper.selectSuiteRevision(appId);
+    }
+
+    private void invalidateSnapshots(AppVersion appVersion) {
+        // 发布新版本时，同一应用集下已发布应用的最新任务会变化.
+        Optional.ofNullable(appVersion)
+                .map(AppVersion::getData)
+                .ifPresent(data -> this.snapshotCache.invalidate(data.getAppId(), data.getAppSuiteId()));
+    }
 }
@@ -20,6 +20,7 @@ import modelengine.fit.jober.aipp.domain.AppTemplate;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersionDecorator;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersionFactory;
+import modelengine.fit.jober.aipp.domains.appversion.AppVersionSnapshotCache;
 import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
 import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
 import modelengine.fit.jober.aipp.domains.business.RunContext;
@@ -90,6 +91,7 @@ public class AppVersionServiceImpl implements AppVersionService {
     private final AppBuilderConfigPropertyRepository configPropertyRepository;
     private final AppTaskService appTaskService;
     private final AppVersionFactory appVersionFactory;
+    private final AppVersionSnapshotCache snapshotCache;
     private final int nameLengthMaximum;
 
     public AppVersionServiceImpl(AppVersionRepository repository, AppChatRepository appChatRepository,
@@ -97,7 +99,7 @@ public class AppVersionServiceImpl implements AppVersionService {
             AppBuilderConfigRepository configRepository, AppBuilderFlowGraphRepository flowGraphRepository,
             AppBuilderFormPropertyRepository formPropertyRepository,
             AppBuilderConfigPropertyRepository configPropertyRepository, AppTaskService appTaskService,
-            AppVersionFactory appVersionFactory,
+            AppVersionFactory appVersionFactory, AppVersionSnapshotCache snapshotCache,
             @Value("${validation.task.name.length.maximum:64}") int nameLengthMaximum) {
         this.repository = repository;
         this.appChatRepository = appChatRepository;
@@ -109,6 +111,7 @@ public class AppVersionServiceImpl implements AppVersionService {
         this.configPropertyRepository = configPropertyRepository;
         this.appTaskService = appTaskService;
         this.appVersionFactory = appVersionFactory;
+        this.snapshotCache = snapshotCache;
         this.nameLengthMaximum = nameLengthMaximum;
     }
 
@@ -130,6 +133,23 @@ public class AppVersionServiceImpl implements AppVersionService {
         });
     }
 
+    private AppVersion retrievalPublished(String appId, Locale locale, OperationContext context) {
+        // 修订号在加载应用数据之前获取，加载期间其他节点的更新会使修订号变化，下次获取时不会命中旧的快照.
+        String revision = this.repository.getAppSuiteRevision(appId);
+        Optional<AppVersion> cached = this.snapshotCache.get(appId, locale, revision)
+                .map(snapshot -> snapshot.toAppVersion(this.appVersionFactory, this.repository));
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        AppVersion appVersion = this.retrieval(appId);
+        if (!appVersion.isPublished() || revision == null) {
+            return appVersion;
+        }
+        return this.snapshotCache.put(appId, revision, appVersion, appVersion.getPublishedTasks(context), locale)
+                .map(snapshot -> snapshot.toAppVersion(this.appVersionFactory, this.repository))
+                .orElse(appVersion);
+    }
+
     @Override
     public List<AppVersion> getByAppSuiteId(String appSuiteId) {
         return this.repository.selectByAppSuiteId(appSuiteId);
@@ -138,10 +158,10 @@ public class AppVersionServiceImpl implements AppVersionService {
     @Override
     @Transactional
     public Choir<Object> run(CreateAppChatRequest request, OperationContext context) {
-        AppVersion appVersion = this.retrieval(request.getAppId());
+        Locale locale = LocaleUtil.getLocale();
+        AppVersion appVersion = this.retrievalPublished(request.getAppId(), locale, context);
         RunContext runContext = RunContext.from(request, context);
         appVersion.validate(runContext, false);
-        Locale locale = LocaleUtil.getLocale();
         return Choir.create(emitter -> {
             ChatSession<Object> session = new ChatSession<>(emitter, request.getAppId(), false, locale);
             AppVersionDecorator.decorate(appVersion, this.appChatRepository).run(runContext, session);
@@ -0,0 +1,385 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.log;
+
+import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
+import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+import modelengine.fit.jober.aipp.po.AippInstanceLogPo;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * aipp 实例历史记录的写入器。
+ * <p>开启异步写入时，历史记录在调用线程上分配 log id 后进入有界队列，由后台线程按批次使用一条多行插入语句写入数据库；
+ * 队列写满时由调用线程直接写入，写入失败时抛出异常。log id 按块从数据库序列中预取，未用完的块在短时间后丢弃，
+ * 避免多个节点写入同一实例时 log id 的顺序与写入顺序相差太远。</p>
+ * <p>后台写入失败的记录重新进入队列，重试多次仍失败时记录错误日志后丢弃。读取、修改历史记录前调用
+ * {@link #flushInstances(Collection)} 等方法，只写入与本次读写相关的记录，保证能读到之前写入的记录。</p>
+ * <p>记录的 create_at 取自调用线程进入队列的时间，而不是写入数据库的时间，因此按 create_at 排序得到的是记录产生的顺序；
+ * 但在记录写入数据库之前，其他节点可能已经读到 create_at 更晚的记录，按 create_at 增量读取的调用方需要先调用
+ * {@link #flushInstances(Collection)}，或者为增量读取的起点留出一个写入间隔的余量。</p>
+ * <p>组件销毁时停止后台写入，并在有限时间内将队列中剩余的记录写入数据库，超时未写入的记录记录错误日志后丢弃。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class AippLogWriter {
+    private static final Logger log = Logger.get(AippLogWriter.class);
+    private static final int MAX_CACHED_PATHS = 4096;
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+    private static final long ID_BLOCK_TTL_MILLIS = 1000L;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    private final AippLogMapper aippLogMapper;
+    private final boolean isAsync;
+    private final int batchSize;
+    private final boolean isFlushOnComplete;
+    private final int idBlockSize;
+    private final BlockingQueue<AippInstanceLogPo> queue;
+    private final ScheduledExecutorService flushExecutor;
+    private final Object flushLock = new Object();
+    private final Map<String, String> paths = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return this.size() > MAX_CACHED_PATHS;
+        }
+    });
+
+    /**
+     * 已经分配 log id 但还没有写入数据库的记录，包括队列中和正在写入的记录。
+     */
+    private final Map<Long, AippInstanceLogPo> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+    private final Deque<Long> logIds = new ArrayDeque<>();
+    private long logIdsExpireAt;
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong lastFlushLatencyNanos = new AtomicLong();
+    private final AtomicLong maxFlushLatencyNanos = new AtomicLong();
+
+    /**
+     * 历史记录写入器的构造方法。
+     *
+     * @param aippLogMapper 表示历史记录数据库接口的 {@link AippLogMapper}。
+     * @param isAsync 表示是否开启异步批量写入的 {@code boolean}。
+     * @param queueCapacity 表示待写入队列容量的 {@code int}。
+     * @param batchSize 表示一条插入语句最多写入的记录数的 {@code int}。
+     * @param flushInterval 表示后台写入间隔（毫秒）的 {@code long}。
+     * @param isFlushOnComplete 表示实例结束时是否立即写入的 {@code boolean}。
+     * @param idBlockSize 表示一次从数据库序列预取的 log id 数量的 {@code int}。
+     */
+    public AippLogWriter(AippLogMapper aippLogMapper, @Value("${app-engine.log.writer.async}") boolean isAsync,
+            @Value("${app-engine.log.writer.queue-capacity}") int queueCapacity,
+            @Value("${app-engine.log.writer.batch-size}") int batchSize,
+            @Value("${app-engine.log.writer.flush-interval}") long flushInterval,
+            @Value("${app-engine.log.writer.flush-on-complete}") boolean isFlushOnComplete,
+            @Value("${app-engine.log.writer.id-block-size:100}") int idBlockSize) {
+        this.aippLogMapper = Validation.notNull(aippLogMapper, "The aipp log mapper cannot be null.");
+        this.isAsync = isAsync;
+        this.batchSize = Validation.greaterThan(batchSize, 0, "The batch size must be positive.");
+        this.isFlushOnComplete = isFlushOnComplete;
+        this.idBlockSize = Validation.greaterThan(idBlockSize, 0, "The id block size must be positive.");
+        this.queue = new ArrayBlockingQueue<>(Validation.greaterThan(queueCapacity, 0,
+                "The queue capacity must be positive."));
+        if (isAsync) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AippLogWriter-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flushExecutor = null;
+        }
+    }
+
+    /**
+     * 停止后台写入，在有限时间内将队列中剩余的历史记录写入数据库。
+     */
+    @Destroy
+    public void close() {
+        if (this.flushExecutor == null) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        this.flushExecutor.shutdown();
+        try {
+            if (!this.flushExecutor.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("Aipp log flush thread did not stop in time. [timeout={}ms]", CLOSE_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.drain(deadline);
+    }
+
+    /**
+     * 写入一条历史记录，返回时已经设置好 log id。
+     *
+     * @param logDto 表示历史记录的 {@link AippLogCreateDto}。
+     */
+    public void write(AippLogCreateDto logDto) {
+        this.paths.put(logDto.getInstanceId(), logDto.getPath());
+        if (!this.isAsync) {
+            this.aippLogMapper.insertOne(logDto);
+            return;
+        }
+        long logId = this.nextLogId();
+        logDto.setLogId(String.valueOf(logId));
+        AippInstanceLogPo logPo = AippInstanceLogPo.builder()
+                .logId(logId)
+                .aippId(logDto.getAippId())
+                .version(logDto.getVersion())
+                .aippType(logDto.getAippType())
+                .instanceId(logDto.getInstanceId())
+                .logData(logDto.getLogData())
+                .logType(logDto.getLogType())
+                .createBy(logDto.getCreateUserAccount())
+                .path(logDto.getPath())
+                .createAt(LocalDateTime.now())
+                .build();
+        this.pending.put(logId, logPo);
+        if (this.queue.offer(logPo)) {
+            return;
+        }
+        log.warn("Aipp log queue is full, write in caller thread. [queueDepth={}]", this.queue.size());
+        try {
+            this.insertBatch(Collections.singletonList(logPo));
+        } finally {
+            this.pending.remove(logId);
+        }
+    }
+
+    /**
+     * 将队列中的历史记录全部写入数据库，返回时此前写入的历史记录均已提交。
+     */
+    public void flush() {
+        this.flush(logPo -> true);
+    }
+
+    /**
+     * 将指定实例在队列中的历史记录写入数据库，没有待写入的记录时直接返回。
+     *
+     * @param instanceIds 表示实例 id 列表的 {@link Collection}{@code <}{@link String}{@code >}。
+     */
+    public void flushInstances(Collection<String> instanceIds) {
+        this.flush(logPo -> instanceIds.contains(logPo.getInstanceId()));
+    }
+
+    /**
+     * 将指定应用在队列中的历史记录写入数据库，没有待写入的记录时直接返回。
+     *
+     * @param aippIds 表示应用 id 列表的 {@link Collection}{@code <}{@link String}{@code >}。
+     */
+    public void flushAipps(Collection<String> aippIds) {
+        this.flush(logPo -> aippIds.contains(logPo.getAippId()));
+    }
+
+    /**
+     * 将指定 log id 在队列中的历史记录写入数据库，没有待写入的记录时直接返回。
+     *
+     * @param logIds 表示 log id 列表的 {@link Collection}{@code <}{@link Long}{@code >}。
+     */
+    public void flushLogs(Collection<Long> logIds) {
+        if (logIds.stream().anyMatch(this.pending::containsKey)) {
+            this.flush(logPo -> logIds.contains(logPo.getLogId()));
+        }
+    }
+
+    /**
+     * 实例结束时调用，配置了实例结束时写入时将该实例在队列中的历史记录写入数据库。
+     *
+     * @param instanceId 表示结束的实例 id 的 {@link String}。
+     */
+    public void onInstanceCompleted(String instanceId) {
+        if (this.isFlushOnComplete && instanceId != null) {
+            this.flushInstances(Collections.singleton(instanceId));
+        }
+    }
+
+    /**
+     * 获取最近写入的实例的历史记录路径，用于子实例构造路径时避免查询尚未写入数据库的父实例记录。
+     *
+     * @param instanceId 表示实例 id 的 {@link String}。
+     * @return 表示实例历史记录路径的 {@link String}，没有缓存时返回 {@code null}。
+     */
+    public String getPath(String instanceId) {
+        return instanceId == null ? null : this.paths.get(instanceId);
+    }
+
+    /**
+     * 获取待写入队列的长度。
+     *
+     * @return 表示待写入队列长度的 {@code int}。
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * 获取已经写入数据库的历史记录数量。
+     *
+     * @return 表示已经写入数据库的历史记录数量的 {@code long}。
+     */
+    public long getFlushedCount() {
+        return this.flushedCount.get();
+    }
+
+    /**
+     * 获取重试多次仍写入失败而被丢弃的历史记录数量。
+     *
+     * @return 表示被丢弃的历史记录数量的 {@code long}。
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * 获取最近一次批量写入的耗时。
+     *
+     * @return 表示最近一次批量写入耗时（毫秒）的 {@code double}。
+     */
+    public double getLastFlushLatencyMillis() {
+        return this.lastFlushLatencyNanos.get() / 1e6;
+    }
+
+    /**
+     * 获取批量写入的最大耗时。
+     *
+     * @return 表示批量写入最大耗时（毫秒）的 {@code double}。
+     */
+    public double getMaxFlushLatencyMillis() {
+        return this.maxFlushLatencyNanos.get() / 1e6;
+    }
+
+    private void flush(Predicate<AippInstanceLogPo> filter) {
+        if (!this.isAsync || this.pending.values().stream().noneMatch(filter)) {
+            return;
+        }
+        // 后台写入持有同一把锁，拿到锁时正在写入的记录已经提交
+        synchronized (this.flushLock) {
+            List<AippInstanceLogPo> matched = new ArrayList<>();
+            this.queue.removeIf(logPo -> filter.test(logPo) && matched.add(logPo));
+            for (int from = 0; from < matched.size(); from += this.batchSize) {
+                this.insert(matched.subList(from, Math.min(from + this.batchSize, matched.size())));
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush aipp logs. [queueDepth={}, error={}]", this.queue.size(), ex.getMessage());
+        }
+    }
+
+    private void drain(long deadline) {
+        synchronized (this.flushLock) {
+            List<AippInstanceLogPo> batch = new ArrayList<>();
+            while (!this.queue.isEmpty() && System.currentTimeMillis() < deadline) {
+                batch.clear();
+                this.queue.drainTo(batch, this.batchSize);
+                try {
+                    this.insert(batch);
+                } catch (RuntimeException ex) {
+                    log.error("Failed to drain aipp logs. [count={}, error={}]", batch.size(), ex.getMessage());
+                }
+            }
+        }
+        int remaining = this.queue.size();
+        if (remaining > 0) {
+            this.queue.clear();
+            this.pending.clear();
+            this.attempts.clear();
+            this.droppedCount.addAndGet(remaining);
+            log.error("Aipp logs are not written before shutdown, drop them. [count={}]", remaining);
+        }
+    }
+
+    private synchronized long nextLogId() {
+        long now = System.currentTimeMillis();
+        if (this.logIds.isEmpty() || now > this.logIdsExpireAt) {
+            this.logIds.clear();
+            if (this.idBlockSize == 1) {
+                this.logIds.add(this.aippLogMapper.nextLogId());
+            } else {
+                this.logIds.addAll(this.aippLogMapper.nextLogIds(this.idBlockSize));
+            }
+            this.logIdsExpireAt = now + ID_BLOCK_TTL_MILLIS;
+        }
+        return this.logIds.pollFirst();
+    }
+
+    private void insert(List<AippInstanceLogPo> logs) {
+        try {
+            this.insertBatch(logs);
+        } catch (RuntimeException ex) {
+            if (logs.size() == 1) {
+                this.retryLater(logs.get(0), ex);
+                return;
+            }
+            // 单条记录的错误不影响同批次的其他记录
+            log.warn("Failed to insert aipp logs in batch, retry one by one. [count={}, error={}]", logs.size(),
+                    ex.getMessage());
+            logs.forEach(logPo -> this.insert(Collections.singletonList(logPo)));
+            return;
+        }
+        logs.forEach(logPo -> {
+            this.pending.remove(logPo.getLogId());
+            this.attempts.remove(logPo.getLogId());
+        });
+    }
+
+    private void insertBatch(List<AippInstanceLogPo> logs) {
+        long start = System.nanoTime();
+        this.aippLogMapper.insertBatch(logs);
+        long latency = System.nanoTime() - start;
+        this.flushedCount.addAndGet(logs.size());
+        this.lastFlushLatencyNanos.set(latency);
+        this.maxFlushLatencyNanos.accumulateAndGet(latency, Math::max);
+        log.debug("Flushed aipp logs. [count={}, latency={}ms, queueDepth={}]", logs.size(), latency / 1_000_000,
+                this.queue.size());
+    }
+
+    private void retryLater(AippInstanceLogPo logPo, RuntimeException cause) {
+        int attempt = this.attempts.merge(logPo.getLogId(), 1, Integer::sum);
+        if (attempt < MAX_INSERT_ATTEMPTS && this.queue.offer(logPo)) {
+            log.warn("Failed to insert aipp log, retry later. [logId={}, instanceId={}, attempt={}, error={}]",
+                    logPo.getLogId(), logPo.getInstanceId(), attempt, cause.getMessage());
+            return;
+        }
+        this.pending.remove(logPo.getLogId());
+        this.attempts.remove(logPo.getLogId());
+        this.droppedCount.incrementAndGet();
+        log.error("Failed to insert aipp log, drop it. [logId={}, instanceId={}, logType={}, attempt={}, error={}]",
+                logPo.getLogId(), logPo.getInstanceId(), logPo.getLogType(), attempt, cause.getMessage());
+    }
+}
@@ -9,6 +9,7 @@ package modelengine.fit.jober.aipp.domains.log.repository.impl;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriter;
 import modelengine.fit.jober.aipp.domains.log.AppLog;
 import modelengine.fit.jober.aipp.domains.log.AppLogFactory;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
@@ -37,9 +38,11 @@ public class AippLogRepositoryImpl implements AippLogRepository {
 
     private final AippLogMapper aippLogMapper;
     private final AppLogFactory appLogFactory;
+    private final AippLogWriter aippLogWriter;
 
     @Override
     public List<AppLog> selectAllLogsByInstanceId(String instanceId) {
+        this.aippLogWriter.flushInstances(Collections.singletonList(instanceId));
         return this.aippLogMapper.getFullLogsByInstanceIds(Collections.singletonList(instanceId))
                 .stream()
                 .map(this.appLogFactory::create)
@@ -48,6 +51,10 @@ public class AippLogRepositoryImpl implements AippLogRepository {
 
     @Override
     public String getParentPath(String parentInstId) {
+        String path = this.aippLogWriter.getPath(parentInstId);
+        if (path != null) {
+            return path;
+        }
         return Optional.ofNullable(parentInstId).map(this.aippLogMapper::getParentPath).orElse(StringUtils.EMPTY);
     }
 
@@ -57,6 +64,7 @@ public class AippLogRepositoryImpl implements AippLogRepository {
             log.error("When queryLogsByInstanceIdAndLogTypes input instance id is empty.");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogWriter.flushInstances(Collections.singletonList(instanceId));
         return this.aippLogMapper.getLogsByInstanceIdAndLogTypes(instanceId, logTypes)
                 .stream()
                 .map(this.appLogFactory::create)
@@ -69,16 +77,19 @@ public class AippLogRepositoryImpl implements AippLogRepository {
             log.error("Instance id is null or empty.");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogWriter.flushInstances(Collections.singletonList(instanceId));
         this.aippLogMapper.deleteInstanceLog(instanceId);
     }
 
     @Override
     public void deleteAippPreviewLog(String previewAippId, OperationContext context) {
+        this.aippLogWriter.flushAipps(Collections.singletonList(previewAippId));
         this.aippLogMapper.deleteByType(previewAippId, AippTypeEnum.PREVIEW.name(), context.getAccount(), null);
     }
 
     @Override
     public void updateDataAndType(Long logId, String newLogType, String newLogData) {
+        this.aippLogWriter.flushLogs(Collections.singletonList(logId));
         this.aippLogMapper.updateDataAndType(logId, newLogType, newLogData);
     }
 }
@@ -176,6 +176,24 @@ public class AppTask implements AppTaskRunnable {
         return ObjectUtils.cast(this.entity);
     }
 
+    /**
+     * 复制一个任务对象，复制任务数据与已加载的表单配置项，不共享实例等运行时数据.
+     *
+     * @return {@link AppTask} 对象.
+     */
+    public AppTask copy() {
+        AppTask task = new AppTask(this.aippLogRepository, this.appTaskInstanceService, this.flowsService,
+                this.appChatSessionService, this.flowInstanceService, this.appTaskService,
+                this.formPropertyRepository, this.aopAippLogService, this.appChatSseService);
+        task.entity.copyFrom(this.entity);
+        if (this.formProperties != null) {
+            task.formProperties = this.formProperties.stream()
+                    .map(AppBuilderFormProperty::copy)
+                    .collect(Collectors.toList());
+        }
+        return task;
+    }
+
     @Override
     public void run(RunContext runContext) {
         this.run(runContext, null);
@@ -423,6 +423,26 @@ public abstract class TaskEntity<T extends TaskEntity<T>> {
         this.attributes = meta.getAttributes();
     }
 
+    /**
+     * 从另一个 {@link TaskEntity} 中复制数据，属性与属性列表复制为新的集合.
+     *
+     * @param other 被复制的 {@link TaskEntity} 对象.
+     */
+    void copyFrom(TaskEntity<?> other) {
+        this.appSuiteId = other.appSuiteId;
+        this.taskId = other.taskId;
+        this.name = other.name;
+        this.category = other.category;
+        this.creator = other.creator;
+        this.lastModifier = other.lastModifier;
+        this.tenant = other.tenant;
+        this.version = other.version;
+        this.creationTime = other.creationTime;
+        this.lastModificationTime = other.lastModificationTime;
+        this.properties = other.properties == null ? new ArrayList<>() : new ArrayList<>(other.properties);
+        this.attributes = other.attributes == null ? new HashMap<>() : new HashMap<>(other.attributes);
+    }
+
     @Override
     public TaskEntity clone() throws CloneNotSupportedException {
         return ObjectUtils.cast(super.clone());
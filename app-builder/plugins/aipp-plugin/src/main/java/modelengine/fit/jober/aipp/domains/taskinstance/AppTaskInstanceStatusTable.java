@@ -0,0 +1,159 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.taskinstance;
+
+import modelengine.fit.jober.aipp.enums.MetaInstStatusEnum;
+import modelengine.fit.jober.aipp.genericable.event.AippInstanceStatusChanged;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.runtime.FitRuntime;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 应用任务实例的状态表.
+ * <p>实例的状态变化（启动、终止、异常、结束）写入实例时同步更新状态表。流程引擎的结束、异常、终止回调同样通过实例服务
+ * 写入状态，因此也会更新状态表。终止、异常、结束等终态不会再变化，一直有效；运行中等非终态可能被其他节点修改，
+ * 只在更新后的有效期内有效，过期后由调用方回源查询并通过 {@link #refresh(String, String)} 刷新。</p>
+ * <p>状态发生变化时在运行时发布 {@link AippInstanceStatusChanged} 事件，循环、并行等工具插件订阅该事件监听实例状态。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class AppTaskInstanceStatusTable {
+    private static final Set<String> FINAL_STATUSES = Set.of(MetaInstStatusEnum.ARCHIVED.name(),
+            MetaInstStatusEnum.ERROR.name(), MetaInstStatusEnum.TERMINATED.name());
+
+    private final int maxEntries;
+    private final long activeTtl;
+    private final Map<String, Entry> entries;
+    private final FitRuntime fitRuntime;
+
+    /**
+     * 实例状态表的构造方法.
+     *
+     * @param fitRuntime 表示发布状态变化事件的运行时的 {@link FitRuntime}。
+     * @param maxEntries 表示状态表保存的实例数量上限的 {@code int}。
+     * @param activeTtl 表示非终态的有效期（毫秒）的 {@code long}。
+     */
+    public AppTaskInstanceStatusTable(FitRuntime fitRuntime,
+            @Value("${app-engine.instance-status.max-entries}") int maxEntries,
+            @Value("${app-engine.instance-status.active-ttl}") long activeTtl) {
+        this.fitRuntime = Validation.notNull(fitRuntime, "The fit runtime cannot be null.");
+        this.maxEntries = Validation.greaterThan(maxEntries, 0, "The max entries must be positive.");
+        this.activeTtl = activeTtl;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return this.size() > AppTaskInstanceStatusTable.this.maxEntries;
+            }
+        });
+    }
+
+    /**
+     * 记录实例的状态变化，状态与之前不同时发布状态变化事件.
+     *
+     * @param instanceId 表示实例唯一标识的 {@link String}。
+     * @param status 表示实例状态的 {@link String}。
+     */
+    public void update(String instanceId, String status) {
+        if (StringUtils.isBlank(instanceId) || StringUtils.isBlank(status)) {
+            return;
+        }
+        String normalized = status.toUpperCase(Locale.ROOT);
+        Entry previous = this.entries.put(instanceId, new Entry(normalized, System.currentTimeMillis()));
+        if (previous != null && StringUtils.equals(previous.status, normalized)) {
+            return;
+        }
+        this.fitRuntime.publisherOfEvents().publishEvent(new AippInstanceStatusChanged(this, instanceId, normalized));
+    }
+
+    /**
+     * 使用回源查询到的状态刷新状态表，已经记录为终态的实例不会被覆盖.
+     *
+     * @param instanceId 表示实例唯一标识的 {@link String}。
+     * @param status 表示回源查询到的实例状态的 {@link String}。
+     */
+    public void refresh(String instanceId, String status) {
+        Entry current = this.entries.get(instanceId);
+        if (current != null && current.isFinal()) {
+            return;
+        }
+        this.update(instanceId, status);
+    }
+
+    /**
+     * 获取实例的有效状态.
+     *
+     * @param instanceId 表示实例唯一标识的 {@link String}。
+     * @return 表示实例状态的 {@link Optional}{@code <}{@link String}{@code >}，没有记录或者已经过期时为空。
+     */
+    public Optional<String> getStatus(String instanceId) {
+        if (StringUtils.isBlank(instanceId)) {
+            return Optional.empty();
+        }
+        Entry entry = this.entries.get(instanceId);
+        if (entry == null || !entry.isValid(this.activeTtl)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.status);
+    }
+
+    /**
+     * 移除实例的状态.
+     *
+     * @param instanceId 表示实例唯一标识的 {@link String}。
+     */
+    public void remove(String instanceId) {
+        this.entries.remove(instanceId);
+    }
+
+    /**
+     * 获取状态表中记录的实例数量.
+     *
+     * @return 表示实例数量的 {@code int}。
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 判断状态是否为终态.
+     *
+     * @param status 表示实例状态的 {@link String}。
+     * @return 表示是否为终态的 {@code boolean}。
+     */
+    public static boolean isFinal(String status) {
+        return status != null && FINAL_STATUSES.contains(status.toUpperCase(Locale.ROOT));
+    }
+
+    private static class Entry {
+        private final String status;
+        private final long updateAt;
+
+        Entry(String status, long updateAt) {
+            this.status = status;
+            this.updateAt = updateAt;
+        }
+
+        boolean isFinal() {
+            return FINAL_STATUSES.contains(this.status);
+        }
+
+        boolean isValid(long activeTtl) {
+            return this.isFinal() || System.currentTimeMillis() - this.updateAt <= activeTtl;
+        }
+    }
+}
@@ -92,4 +92,13 @@ public interface AppTaskInstanceService {
      * @return {@link AppTaskInstance} 的 {@link Optional} 对象.
      */
     Optional<AppTaskInstance> getInstanceById(String taskInstanceId, OperationContext context);
+
+    /**
+     * 获取实例状态，优先使用内存中的实例状态表，状态表中没有有效记录时回源查询.
+     *
+     * @param taskInstanceId 实例id.
+     * @param context 操作人上下文.
+     * @return 实例状态的 {@link Optional} 对象.
+     */
+    Optional<String> getInstanceStatus(String taskInstanceId, OperationContext context);
 }
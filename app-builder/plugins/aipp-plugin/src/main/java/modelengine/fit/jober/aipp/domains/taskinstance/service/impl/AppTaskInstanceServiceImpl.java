@@ -13,6 +13,7 @@ import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
 import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstanceFactory;
+import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstanceStatusTable;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
 import modelengine.fit.jober.aipp.util.MetaUtils;
 
@@ -35,6 +36,7 @@ import java.util.stream.Stream;
 public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
     private final MetaInstanceService metaInstanceService;
     private final AppTaskInstanceFactory factory;
+    private final AppTaskInstanceStatusTable statusTable;
 
     @Override
     public Optional<AppTaskInstance> getInstance(String taskId, String taskInstanceId, OperationContext context) {
@@ -57,18 +59,22 @@ public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
     public void update(AppTaskInstance instance, OperationContext context) {
         InstanceDeclarationInfo declarationInfo = this.factory.toDeclarationInfo(instance);
         this.metaInstanceService.patchMetaInstance(instance.getTaskId(), instance.getId(), declarationInfo, context);
+        instance.getEntity().getStatus().ifPresent(status -> this.statusTable.update(instance.getId(), status));
     }
 
     @Override
     public AppTaskInstance createInstance(AppTaskInstance instance, OperationContext context) {
         InstanceDeclarationInfo declarationInfo = this.factory.toDeclarationInfo(instance);
         Instance metaInst = this.metaInstanceService.createMetaInstance(instance.getTaskId(), declarationInfo, context);
-        return this.factory.create(metaInst, instance.getTaskId(), this);
+        AppTaskInstance created = this.factory.create(metaInst, instance.getTaskId(), this);
+        created.getEntity().getStatus().ifPresent(status -> this.statusTable.update(created.getId(), status));
+        return created;
     }
 
     @Override
     public void delete(String taskId, String taskInstanceId, OperationContext context) {
         this.metaInstanceService.deleteMetaInstance(taskId, taskInstanceId, context);
+        this.statusTable.remove(taskInstanceId);
     }
 
     @Override
@@ -82,4 +88,16 @@ public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
         Instance metaInst = this.metaInstanceService.retrieveById(taskInstanceId, context);
         return Optional.ofNullable(metaInst).map(i -> this.factory.create(i, taskId, this));
     }
-}
\ No newline at end of file
+
+    @Override
+    public Optional<String> getInstanceStatus(String taskInstanceId, OperationContext context) {
+        Optional<String> status = this.statusTable.getStatus(taskInstanceId);
+        if (status.isPresent()) {
+            return status;
+        }
+        Optional<String> latest = this.getInstanceById(taskInstanceId, context)
+                .flatMap(instance -> instance.getEntity().getStatus());
+        latest.ifPresent(value -> this.statusTable.refresh(taskInstanceId, value));
+        return this.statusTable.getStatus(taskInstanceId).or(() -> latest);
+    }
+}
@@ -11,6 +11,7 @@ import modelengine.fit.jober.aipp.domains.log.AppLog;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
 import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.entity.AippLogData;
 import modelengine.fit.jober.aipp.enums.AippInstLogType;
 import modelengine.fit.jober.aipp.enums.MetaInstStatusEnum;
 import modelengine.fit.jober.common.ErrorCodes;
@@ -55,6 +56,7 @@ public class AippInstLogDataDto {
     private static final List<String> MEMORY_MSG_TYPE_WHITE_LIST = Arrays.asList(AippInstLogType.MSG.name(),
             AippInstLogType.FORM.name(),
             AippInstLogType.META_MSG.name());
+    private static final String TOKEN_COUNT_KEY = "token_count";
 
     private String aippId;
     private String version;
@@ -161,17 +163,62 @@ public class AippInstLogDataDto {
                 .stream()
                 .filter(l -> StringUtils.equals(l.getLogType(), AippInstLogType.FILE.name()))
                 .toList();
+        Integer tokenCount = getTokenCount(questionBody.getLogData());
         if (!answers.isEmpty()) {
             AippInstLogDataDto.AippInstanceLogBody logBody = answers.get(answers.size() - 1);
             logMap.put("answer", getLogData(logBody.getLogData(), logBody.getLogType()));
+            Integer answerTokenCount = getTokenCount(logBody.getLogData());
+            tokenCount = tokenCount == null || answerTokenCount == null ? null : tokenCount + answerTokenCount;
         }
         if (!files.isEmpty()) {
             AippInstLogDataDto.AippInstanceLogBody fileBody = files.get(0);
             logMap.put("fileDescription", getLogData(fileBody.getLogData(), fileBody.getLogType()));
         }
+        if (tokenCount != null) {
+            logMap.put("tokenCount", tokenCount);
+        }
         return Optional.of(logMap);
     }
 
+    /**
+     * 判断日志是否会作为问题或者回答写入历史记录。
+     *
+     * @param logType 表示日志类型的 {@link String}。
+     * @return 表示是否写入历史记录的 {@code boolean}。
+     */
+    public static boolean isMemoryLogType(String logType) {
+        return QUESTION_TYPE.contains(logType) || MEMORY_MSG_TYPE_WHITE_LIST.contains(StringUtils.toUpperCase(logType));
+    }
+
+    /**
+     * 获取日志写入历史记录的文本，与读取历史记录时使用的文本一致。
+     *
+     * @param logData 表示日志数据的 {@link AippLogData}。
+     * @param logType 表示日志类型的 {@link String}。
+     * @return 表示历史记录文本的 {@link String}。
+     */
+    public static String getMemoryText(AippLogData logData, String logType) {
+        if (!StringUtils.isEmpty(logData.getFormArgs())) {
+            return logData.getFormArgs();
+        }
+        String msg = logData.getMsg();
+        if (msg == null) {
+            return null;
+        }
+        if (Objects.equals(logType, AippInstLogType.META_MSG.name())) {
+            Map<String, Object> referenceMsg = ObjectUtils.cast(JSON.parse(msg));
+            return ObjectUtils.cast(referenceMsg.get("data"));
+        }
+        if (Objects.equals(logType, AippInstLogType.QUESTION_WITH_FILE.name())) {
+            return JSONObject.parseObject(msg).getString("question");
+        }
+        return msg;
+    }
+
+    private static Integer getTokenCount(String logData) {
+        return JSONObject.parseObject(logData).getInteger(TOKEN_COUNT_KEY);
+    }
+
     private static String getLogData(String logData, String logType) {
         Map<String, String> logInfo = ObjectUtils.cast(JSON.parse(logData));
         if (!StringUtils.isEmpty(logInfo.get("form_args"))) {
@@ -52,4 +52,8 @@ public class AippLogData {
 
     @Property(description = "日志额外信息")
     private Map<String, Object> infos;
+
+    @Property(description = "历史记录文本的分词数，问题和回答类日志写入时填充", name = "token_count")
+    @JsonProperty("token_count")
+    private Integer tokenCount;
 }
@@ -9,7 +9,6 @@ package modelengine.fit.jober.aipp.fel;
 import modelengine.fel.core.chat.ChatModel;
 import modelengine.fel.core.chat.Prompt;
 import modelengine.fel.engine.operators.patterns.AbstractAgent;
-import modelengine.fel.tool.mcp.client.McpClientFactory;
 import modelengine.fel.tool.service.ToolExecuteService;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fitframework.annotation.Bean;
@@ -29,12 +28,13 @@ public class FelComponentConfig {
      *
      * @param toolExecuteService 表示工具调用服务的 {@link ToolExecuteService}。
      * @param chatModel 表示模型流式服务的 {@link ChatModel}。
-     * @param mcpClientFactory 表示大模型上下文客户端工厂的 {@link McpClientFactory}。
+     * @param mcpClientPool 表示大模型上下文客户端池的 {@link McpClientPool}。
      * @return 返回 WaterFlow 场景的 Agent 服务的 {@link AbstractAgent}{@code <}{@link Prompt}{@code ,
      * }{@link Prompt}{@code >}。
      */
     @Bean(AippConst.WATER_FLOW_AGENT_BEAN)
-    public AbstractAgent getWaterFlowAgent(@Fit ToolExecuteService toolExecuteService, ChatModel chatModel, McpClientFactory mcpClientFactory) {
-        return new WaterFlowAgent(toolExecuteService, chatModel, mcpClientFactory);
+    public AbstractAgent getWaterFlowAgent(@Fit ToolExecuteService toolExecuteService, ChatModel chatModel,
+            McpClientPool mcpClientPool) {
+        return new WaterFlowAgent(toolExecuteService, chatModel, mcpClientPool);
     }
 }
\ No newline at end of file
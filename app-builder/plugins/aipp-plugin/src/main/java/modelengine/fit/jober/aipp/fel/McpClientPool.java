@@ -0,0 +1,298 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.fel;
+
+import modelengine.fel.tool.mcp.client.McpClient;
+import modelengine.fel.tool.mcp.client.McpClientFactory;
+import modelengine.fel.tool.mcp.entity.Tool;
+import modelengine.fit.jober.aipp.util.McpUtils;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 大模型上下文协议客户端池。
+ * <p>按服务地址保留已经完成初始化的客户端，空闲超过保活时间后关闭；同一个客户端同一时刻只借给一个调用方。
+ * 调用失败时关闭该客户端；只有幂等的操作（例如获取工具列表）在复用的客户端上失败时才使用新建的客户端重试一次，
+ * 工具调用请求可能已经发出，不重试。池关闭后归还的客户端直接关闭。
+ * 服务的工具列表按过期时间缓存，服务配置变化或者调用失败时失效。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class McpClientPool {
+    private static final Logger log = Logger.get(McpClientPool.class);
+    private static final long MIN_EVICT_PERIOD_MILLIS = 1000L;
+
+    private final McpClientFactory mcpClientFactory;
+    private final long idleTimeout;
+    private final int maxIdlePerServer;
+    private final long toolsCacheTtl;
+    private final Map<String, Deque<PooledClient>> idleClients = new ConcurrentHashMap<>();
+    private final Map<String, CachedTools> toolsCache = new ConcurrentHashMap<>();
+    private final ExecutorService initializeExecutor;
+    private final ScheduledExecutorService evictExecutor;
+    private volatile boolean isClosed;
+
+    /**
+     * 大模型上下文协议客户端池的构造方法。
+     *
+     * @param mcpClientFactory 表示大模型上下文客户端工厂的 {@link McpClientFactory}。
+     * @param idleTimeout 表示客户端空闲保活时间（毫秒）的 {@code long}。
+     * @param maxIdlePerServer 表示每个服务保留的空闲客户端数量上限的 {@code int}。
+     * @param toolsCacheTtl 表示工具列表缓存时间（毫秒）的 {@code long}。
+     */
+    public McpClientPool(McpClientFactory mcpClientFactory,
+            @Value("${app-engine.mcp.client.idle-timeout}") long idleTimeout,
+            @Value("${app-engine.mcp.client.max-idle-per-server}") int maxIdlePerServer,
+            @Value("${app-engine.mcp.tools-cache-ttl}") long toolsCacheTtl) {
+        this.mcpClientFactory = Validation.notNull(mcpClientFactory, "The mcp client factory cannot be null.");
+        this.idleTimeout = idleTimeout;
+        this.maxIdlePerServer = maxIdlePerServer;
+        this.toolsCacheTtl = toolsCacheTtl;
+        this.initializeExecutor = Executors.newCachedThreadPool(daemonThreadFactory("McpClientPool-initialize"));
+        if (idleTimeout > 0) {
+            long period = Math.max(MIN_EVICT_PERIOD_MILLIS, idleTimeout / 2);
+            this.evictExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("McpClientPool-evict"));
+            this.evictExecutor.scheduleWithFixedDelay(this::evictIdleClients, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictExecutor = null;
+        }
+    }
+
+    /**
+     * 借出一个已经初始化的客户端执行操作，执行成功后归还，失败时关闭该客户端，不重试。
+     *
+     * @param url 表示服务地址的 {@link String}。
+     * @param action 表示使用客户端执行的操作的 {@link McpAction}{@code <}{@link T}{@code >}。
+     * @param <T> 表示操作结果的类型。
+     * @return 表示操作结果的 {@link T}。
+     * @throws IOException 当创建、初始化客户端或者执行操作失败时。
+     */
+    public <T> T execute(String url, McpAction<T> action) throws IOException {
+        return this.executeOn(url, this.borrow(url), action);
+    }
+
+    /**
+     * 借出一个已经初始化的客户端执行幂等的操作，执行成功后归还，失败时关闭该客户端。
+     * <p>复用的空闲客户端执行失败时（通常是空闲期间连接已经断开），使用新建的客户端重试一次。</p>
+     *
+     * @param url 表示服务地址的 {@link String}。
+     * @param action 表示使用客户端执行的幂等操作的 {@link McpAction}{@code <}{@link T}{@code >}。
+     * @param <T> 表示操作结果的类型。
+     * @return 表示操作结果的 {@link T}。
+     * @throws IOException 当创建、初始化客户端或者执行操作失败时。
+     */
+    public <T> T executeIdempotent(String url, McpAction<T> action) throws IOException {
+        PooledClient pooled = this.borrow(url);
+        try {
+            return this.executeOn(url, pooled, action);
+        } catch (IOException | RuntimeException ex) {
+            if (!pooled.isReused) {
+                throw ex;
+            }
+            log.warn("Failed to execute on reused mcp client, retry with a new client. [url={}, error={}]", url,
+                    ex.getMessage());
+        }
+        return this.executeOn(url, this.create(url), action);
+    }
+
+    /**
+     * 关闭客户端池，关闭所有空闲的客户端并停止后台线程。
+     */
+    @Destroy
+    public void close() {
+        this.isClosed = true;
+        if (this.evictExecutor != null) {
+            this.evictExecutor.shutdownNow();
+        }
+        this.initializeExecutor.shutdownNow();
+        this.idleClients.forEach((url, idle) -> {
+            PooledClient pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                closeQuietly(url, pooled.client);
+            }
+        });
+        this.toolsCache.clear();
+    }
+
+    private <T> T executeOn(String url, PooledClient pooled, McpAction<T> action) throws IOException {
+        T result;
+        try {
+            result = action.apply(pooled.client);
+        } catch (IOException | RuntimeException ex) {
+            this.toolsCache.remove(url);
+            closeQuietly(url, pooled.client);
+            throw ex;
+        }
+        this.release(url, pooled);
+        return result;
+    }
+
+    /**
+     * 异步获取服务的工具列表，缓存未过期且服务配置与缓存时一致时直接返回缓存。
+     *
+     * @param url 表示服务地址的 {@link String}。
+     * @param serverConfig 表示服务配置的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}，
+     * 内容变化时缓存失效。
+     * @return 表示工具列表的 {@link CompletableFuture}{@code <}{@link List}{@code <}{@link Tool}{@code >>}。
+     */
+    public CompletableFuture<List<Tool>> getToolsAsync(String url, Map<String, Object> serverConfig) {
+        Map<String, Object> version = new HashMap<>(serverConfig);
+        CachedTools cached = this.toolsCache.get(url);
+        if (cached != null && Objects.equals(cached.version, version) && cached.expireAt > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(cached.tools);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<Tool> tools = Collections.unmodifiableList(
+                        new ArrayList<>(this.executeIdempotent(url, McpClient::getTools)));
+                if (this.toolsCacheTtl > 0) {
+                    this.toolsCache.put(url, new CachedTools(version, tools,
+                            System.currentTimeMillis() + this.toolsCacheTtl));
+                }
+                return tools;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, this.initializeExecutor);
+    }
+
+    private PooledClient borrow(String url) throws IOException {
+        Deque<PooledClient> idle = this.idleClients.get(url);
+        PooledClient pooled;
+        while (idle != null && (pooled = idle.pollFirst()) != null) {
+            if (!pooled.isExpired(this.idleTimeout)) {
+                return pooled;
+            }
+            closeQuietly(url, pooled.client);
+        }
+        return this.create(url);
+    }
+
+    private PooledClient create(String url) {
+        McpClient client = this.mcpClientFactory.create(McpUtils.getBaseUrl(url), McpUtils.getSseEndpoint(url));
+        try {
+            client.initialize();
+        } catch (RuntimeException ex) {
+            closeQuietly(url, client);
+            throw ex;
+        }
+        return new PooledClient(client);
+    }
+
+    private void release(String url, PooledClient pooled) {
+        if (this.isClosed) {
+            closeQuietly(url, pooled.client);
+            return;
+        }
+        Deque<PooledClient> idle = this.idleClients.computeIfAbsent(url, key -> new ConcurrentLinkedDeque<>());
+        if (this.idleTimeout <= 0 || idle.size() >= this.maxIdlePerServer) {
+            closeQuietly(url, pooled.client);
+            return;
+        }
+        pooled.lastUsedAt = System.currentTimeMillis();
+        pooled.isReused = true;
+        idle.offerFirst(pooled);
+        // 与关闭并发时，关闭可能已经清空了空闲队列，这里再清理一次
+        if (this.isClosed && idle.remove(pooled)) {
+            closeQuietly(url, pooled.client);
+        }
+    }
+
+    private void evictIdleClients() {
+        this.idleClients.forEach((url, idle) -> idle.removeIf(pooled -> {
+            if (!pooled.isExpired(this.idleTimeout)) {
+                return false;
+            }
+            closeQuietly(url, pooled.client);
+            return true;
+        }));
+    }
+
+    private static void closeQuietly(String url, McpClient client) {
+        try {
+            client.close();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to close mcp client. [url={}, error={}]", url, ex.getMessage());
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 使用客户端执行的操作。
+     *
+     * @param <T> 表示操作结果的类型。
+     */
+    @FunctionalInterface
+    public interface McpAction<T> {
+        /**
+         * 使用客户端执行操作。
+         *
+         * @param client 表示已经初始化的客户端的 {@link McpClient}。
+         * @return 表示操作结果的 {@link T}。
+         * @throws IOException 当执行操作失败时。
+         */
+        T apply(McpClient client) throws IOException;
+    }
+
+    private static class PooledClient {
+        private final McpClient client;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private volatile boolean isReused;
+
+        PooledClient(McpClient client) {
+            this.client = client;
+        }
+
+        boolean isExpired(long idleTimeout) {
+            return System.currentTimeMillis() - this.lastUsedAt > idleTimeout;
+        }
+    }
+
+    private static class CachedTools {
+        private final Map<String, Object> version;
+        private final List<Tool> tools;
+        private final long expireAt;
+
+        CachedTools(Map<String, Object> version, List<Tool> tools, long expireAt) {
+            this.version = version;
+            this.tools = tools;
+            this.expireAt = expireAt;
+        }
+    }
+}
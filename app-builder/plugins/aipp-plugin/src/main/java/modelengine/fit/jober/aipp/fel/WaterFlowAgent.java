@@ -22,13 +22,10 @@ import modelengine.fel.engine.flows.AiProcessFlow;
 import modelengine.fel.engine.operators.models.ChatChunk;
 import modelengine.fel.engine.operators.models.ChatFlowModel;
 import modelengine.fel.engine.operators.patterns.AbstractAgent;
-import modelengine.fel.tool.mcp.client.McpClient;
-import modelengine.fel.tool.mcp.client.McpClientFactory;
 import modelengine.fel.tool.service.ToolExecuteService;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.constants.AippConst;
-import modelengine.fit.jober.aipp.util.McpUtils;
 import modelengine.fit.waterflow.domain.context.StateContext;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.inspection.Validation;
@@ -54,20 +51,20 @@ public class WaterFlowAgent extends AbstractAgent {
 
     private final String agentMsgKey;
     private final ToolExecuteService toolExecuteService;
-    private final McpClientFactory mcpClientFactory;
+    private final McpClientPool mcpClientPool;
 
     /**
      * {@link WaterFlowAgent} 的构造方法。
      *
      * @param toolExecuteService 表示工具调用服务的 {@link ToolExecuteService}。
      * @param chatStreamModel 表示流式对话大模型的 {@link ChatModel}。
-     * @param mcpClientFactory 表示大模型上下文客户端工厂的 {@link McpClientFactory}。
+     * @param mcpClientPool 表示大模型上下文客户端池的 {@link McpClientPool}。
      */
     public WaterFlowAgent(@Fit ToolExecuteService toolExecuteService, ChatModel chatStreamModel,
-            McpClientFactory mcpClientFactory) {
+            McpClientPool mcpClientPool) {
         super(new ChatFlowModel(chatStreamModel, null));
         this.toolExecuteService = Validation.notNull(toolExecuteService, "The tool execute service cannot be null.");
-        this.mcpClientFactory = Validation.notNull(mcpClientFactory, "The mcp client factory cannot be null.");
+        this.mcpClientPool = Validation.notNull(mcpClientPool, "The mcp client pool cannot be null.");
         this.agentMsgKey = AGENT_MSG_KEY;
     }
 
@@ -136,10 +133,9 @@ public class WaterFlowAgent extends AbstractAgent {
         if (mcpServerConfig != null) {
             String url = Validation.notBlank(ObjectUtils.cast(mcpServerConfig.get(AippConst.MCP_SERVER_URL_KEY)),
                     "The mcp url should not be empty.");
-            try (McpClient mcpClient = this.mcpClientFactory.create(McpUtils.getBaseUrl(url),
-                    McpUtils.getSseEndpoint(url))) {
-                mcpClient.initialize();
-                Object result = mcpClient.callTool(toolRealName, JSONObject.parseObject(toolCall.arguments()));
+            try {
+                Object result = this.mcpClientPool.execute(url,
+                        mcpClient -> mcpClient.callTool(toolRealName, JSONObject.parseObject(toolCall.arguments())));
                 return new ToolMessage(toolCall.id(), JSON.toJSONString(result));
             } catch (IOException exception) {
                 throw new AippException(AippErrCode.CALL_MCP_SERVER_FAILED, exception.getMessage());
@@ -158,6 +158,7 @@ public class AippFlowEndCallback implements FlowCallbackService {
         } else {
             this.logFinalOutput(businessData, aippInstId);
         }
+        this.aippLogService.flushOnInstanceCompleted(aippInstId);
 
         // 子流程 callback 主流程
         String parentCallbackId = ObjectUtils.cast(businessData.get(AippConst.PARENT_CALLBACK_ID));
@@ -93,6 +93,7 @@ public class AippFlowExceptionHandle implements FlowExceptionService {
             }
         }
         this.aippLogService.insertErrorLog(msg, contexts);
+        this.aippLogService.flushOnInstanceCompleted(aippInstId);
     }
 
     /**
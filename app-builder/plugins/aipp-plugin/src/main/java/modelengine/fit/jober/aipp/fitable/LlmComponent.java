@@ -19,11 +19,8 @@ import modelengine.fel.engine.flows.AiFlows;
 import modelengine.fel.engine.flows.AiProcessFlow;
 import modelengine.fel.engine.operators.patterns.AbstractAgent;
 import modelengine.fel.engine.operators.prompts.Prompts;
-import modelengine.fel.tool.mcp.client.McpClient;
-import modelengine.fel.tool.mcp.client.McpClientFactory;
 import modelengine.fel.tool.mcp.entity.Tool;
 import modelengine.fel.tool.model.transfer.ToolData;
-import modelengine.fit.jober.aipp.util.McpUtils;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.jade.store.service.ToolService;
 import modelengine.fit.jade.aipp.formatter.OutputFormatterChain;
@@ -45,8 +42,10 @@ import modelengine.fit.jober.aipp.entity.AippLogData;
 import modelengine.fit.jober.aipp.enums.AippInstLogType;
 import modelengine.fit.jober.aipp.enums.ModelErrCode;
 import modelengine.fit.jober.aipp.enums.StreamMsgType;
+import modelengine.fit.jober.aipp.events.AippNodeEnd;
 import modelengine.fit.jober.aipp.fel.AippLlmMeta;
 import modelengine.fit.jober.aipp.fel.AippMemory;
+import modelengine.fit.jober.aipp.fel.McpClientPool;
 import modelengine.fit.jober.aipp.service.AippLogService;
 import modelengine.fit.jober.aipp.service.AippLogStreamService;
 import modelengine.fit.jober.aipp.util.DataUtils;
@@ -59,6 +58,7 @@ import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.annotation.Fitable;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.parameterization.StringFormatException;
+import modelengine.fitframework.runtime.FitRuntime;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.serialization.SerializationException;
 import modelengine.fitframework.util.MapBuilder;
@@ -67,15 +67,25 @@ import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.UuidUtils;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -97,6 +107,7 @@ public class LlmComponent implements FlowableService {
             "modelengine.fit.jober.aipp.fitable.LLMComponentException";
     private static final String TOOL_UNIQUE_NAME = "toolUniqueName";
     private static final String TOOL_NAME = "name";
+    private static final String NODE_TYPE = "llm";
 
     // 暂时使用ConcurrentHashMap存储父节点的元数据
     private final ConcurrentHashMap<String, AippLlmMeta> llmCache = new ConcurrentHashMap<>();
@@ -110,8 +121,9 @@ public class LlmComponent implements FlowableService {
     private final AippModelCenter aippModelCenter;
     private final PromptBuilderChain promptBuilderChain;
     private final AppTaskInstanceService appTaskInstanceService;
-    private final McpClientFactory mcpClientFactory;
+    private final McpClientPool mcpClientPool;
     private final OutputFormatterChain formatterChain;
+    private final FitRuntime fitRuntime;
 
     /**
      * 大模型节点构造器，内部通过提供的 agent 和 tool 构建智能体工作流。
@@ -125,7 +137,8 @@ public class LlmComponent implements FlowableService {
      * @param aippModelCenter 表示模型中心的 {@link AippModelCenter}。
      * @param promptBuilderChain 表示提示器构造器职责链的 {@link PromptBuilderChain}。
      * @param appTaskInstanceService 表示任务实例服务的 {@link AppTaskInstanceService}。
-     * @param mcpClientFactory 表示大模型上下文客户端工厂的 {@link McpClientFactory}。
+     * @param mcpClientPool 表示大模型上下文客户端池的 {@link McpClientPool}。
+     * @param fitRuntime 表示用于发布节点指标事件的 {@link FitRuntime}。
      */
     public LlmComponent(FlowInstanceService flowInstanceService,
             @Fit ToolService toolService,
@@ -137,7 +150,8 @@ public class LlmComponent implements FlowableService {
             PromptBuilderChain promptBuilderChain,
             AppTaskInstanceService appTaskInstanceService,
             OutputFormatterChain formatterChain,
-            McpClientFactory mcpClientFactory) {
+            McpClientPool mcpClientPool,
+            FitRuntime fitRuntime) {
         this.flowInstanceService = flowInstanceService;
         this.toolService = toolService;
         this.aippLogService = aippLogService;
@@ -153,8 +167,9 @@ public class LlmComponent implements FlowableService {
                 .close();
         this.promptBuilderChain = promptBuilderChain;
         this.appTaskInstanceService = appTaskInstanceService;
-        this.mcpClientFactory = notNull(mcpClientFactory, "The mcp client factory cannot be null.");
+        this.mcpClientPool = notNull(mcpClientPool, "The mcp client pool cannot be null.");
         this.formatterChain = formatterChain;
+        this.fitRuntime = fitRuntime;
     }
 
     /**
@@ -188,30 +203,26 @@ public class LlmComponent implements FlowableService {
         String systemPrompt = ObjectUtils.cast(businessData.get("systemPrompt"));
         String msgId = UuidUtils.randomUuidString();
         PromptMessage promptMessage = this.buildPromptMessage(systemPrompt, businessData);
-        final boolean[] firstTokenFlag = {true};
         llmMeta.setPromptMetadata(promptMessage.getMetadata());
         StreamMsgSender streamMsgSender =
                 new StreamMsgSender(this.aippLogStreamService, this.serializer, path, msgId, instId);
         streamMsgSender.sendKnowledge(promptMessage.getMetadata(), businessData);
         ChatOption chatOption = this.buildChatOptions(businessData);
         agentFlow.converse()
-                .bind((acc, chunk) -> {
-                    if (firstTokenFlag[0]) {
-                        log.info("[perf] [{}] converse sendLog start, instId={}, chunk={}", System.currentTimeMillis(),
-                                instId, chunk.text());
-                        firstTokenFlag[0] = false;
-                        streamMsgSender.sendMsg(chunk.text(), businessData);
-                        log.info("[perf] [{}] converse sendLog end, instId={}", System.currentTimeMillis(),
-                                instId);
-                        return;
-                    }
-                    streamMsgSender.sendMsg(chunk.text(), businessData);
-                })
+                .bind((acc, chunk) -> streamMsgSender.sendMsg(chunk.text(), businessData))
                 .bind(new AippMemory(this.getMemoriesByMaxRounds(businessData)))
                 .bind(AippConst.TOOL_CONTEXT_KEY, toolContext)
-                .doOnConsume(msg -> llmOutputConsumer(llmMeta, msg, promptMessage.getMetadata()))
-                .doOnError(throwable -> doOnAgentError(llmMeta,
-                        throwable.getCause() == null ? throwable.getMessage() : throwable.getCause().getMessage()))
+                .doOnConsume(msg -> {
+                    streamMsgSender.complete(businessData);
+                    this.publishNodeEnd(businessData, streamMsgSender);
+                    llmOutputConsumer(llmMeta, msg, promptMessage.getMetadata());
+                })
+                .doOnError(throwable -> {
+                    streamMsgSender.complete(businessData);
+                    this.publishNodeEnd(businessData, streamMsgSender);
+                    doOnAgentError(llmMeta,
+                            throwable.getCause() == null ? throwable.getMessage() : throwable.getCause().getMessage());
+                })
                 .bind(chatOption)
                 .bind(AippConst.TOOLS_KEY, chatOption.tools())
                 .offer(Tip.fromArray(promptMessage.getSystemMessage(), promptMessage.getHumanMessage()));
@@ -219,6 +230,18 @@ public class LlmComponent implements FlowableService {
         return flowData;
     }
 
+    private void publishNodeEnd(Map<String, Object> businessData, StreamMsgSender streamMsgSender) {
+        try {
+            this.fitRuntime.publisherOfEvents()
+                    .publishEvent(new AippNodeEnd(this.fitRuntime, DataUtils.getAppId(businessData), NODE_TYPE,
+                            streamMsgSender.getElapsedMillis(), streamMsgSender.getTimeToFirstTokenMillis(),
+                            streamMsgSender.getTokensPerSecond()));
+        } catch (RuntimeException ex) {
+            // 指标上报失败不影响大模型节点的执行结果。
+            log.warn("Failed to publish llm node metrics, error={}", ex.getMessage());
+        }
+    }
+
     private boolean checkModelAvailable(Map<String, Object> businessData) {
         boolean isDebug = ObjectUtils.cast(businessData.getOrDefault("isDebug", false));
         if (!isDebug) {
@@ -442,32 +465,50 @@ public class LlmComponent implements FlowableService {
         }
         Map<String, Object> mcpServersConfig = ObjectUtils.cast(businessData.get(AippConst.MCP_SERVERS_KEY));
 
-        return Stream.concat(this.buildToolInfos(skillNameList).stream(),
-                this.buildMcpToolInfos(mcpServersConfig).stream()).collect(Collectors.toList());
+        // 各个mcp服务的工具列表并行获取，同时查询商店中的工具
+        Map<String, CompletableFuture<List<ToolInfo>>> mcpToolInfos = this.buildMcpToolInfos(mcpServersConfig);
+        List<ToolInfo> storeToolInfos = this.buildToolInfos(skillNameList);
+        return Stream.concat(storeToolInfos.stream(),
+                mcpToolInfos.values().stream().flatMap(future -> joinMcpToolInfos(future).stream()))
+                .collect(Collectors.toList());
     }
 
-    private List<ToolInfo> buildMcpToolInfos(Map<String, Object> mcpServersConfig) {
-        List<ToolInfo> result = new ArrayList<>();
+    private Map<String, CompletableFuture<List<ToolInfo>>> buildMcpToolInfos(Map<String, Object> mcpServersConfig) {
+        Map<String, CompletableFuture<List<ToolInfo>>> result = new LinkedHashMap<>();
         ObjectUtils.nullIf(mcpServersConfig, new HashMap<String, Object>()).forEach((serverName, value) -> {
             Map<String, Object> serverConfig = ObjectUtils.cast(value);
             String url = Validation.notBlank(ObjectUtils.cast(serverConfig.get(AippConst.MCP_SERVER_URL_KEY)),
                     "The mcp url should not be empty.");
-
-            try (McpClient mcpClient = this.mcpClientFactory.create(McpUtils.getBaseUrl(url),
-                    McpUtils.getSseEndpoint(url))) {
-                mcpClient.initialize();
-                List<Tool> tools = mcpClient.getTools();
-                result.addAll(tools.stream().map(tool -> buildMcpToolInfo(serverName, tool, serverConfig)).toList());
-            } catch (IOException exception) {
-                throw new AippException(AippErrCode.CALL_MCP_SERVER_FAILED, exception.getMessage());
-            }
+            // 服务配置变化时（如应用发布了新版本）工具列表缓存失效
+            result.put(serverName, this.mcpClientPool.getToolsAsync(url, serverConfig)
+                    .thenApply(tools -> tools.stream()
+                            .map(tool -> buildMcpToolInfo(serverName, tool, serverConfig))
+                            .collect(Collectors.toList())));
         });
         return result;
     }
 
+    private static List<ToolInfo> joinMcpToolInfos(CompletableFuture<List<ToolInfo>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw new AippException(AippErrCode.CALL_MCP_SERVER_FAILED, cause.getCause().getMessage());
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AippException(AippErrCode.CALL_MCP_SERVER_FAILED, cause.getMessage());
+        }
+    }
+
     private List<ToolInfo> buildToolInfos(List<String> skillNameList) {
-        return skillNameList.stream()
-                .map(this.toolService::getTool)
+        if (skillNameList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return this.toolService.getToolsByUniqueNames(skillNameList)
+                .stream()
                 .filter(Objects::nonNull)
                 .map(this::buildToolInfo)
                 .collect(Collectors.toList());
@@ -516,24 +557,71 @@ public class LlmComponent implements FlowableService {
         return Boolean.parseBoolean(value.toString());
     }
 
+    /**
+     * 大模型流式输出的发送器，一次大模型调用对应一个发送器。
+     * <p>第一个片段立即推送以保证首字时延，之后的片段按时间或长度合并为一批后再推送。</p>
+     * <p>定时器线程只负责到期后把推送任务交给推送线程池，推送在发送器的推送锁内进行，不阻塞片段写入缓冲区。</p>
+     */
     static class StreamMsgSender {
+        private static final long FLUSH_INTERVAL_MILLIS = 50L;
+        private static final int MAX_BATCH_LENGTH = 256;
+        private static final ScheduledExecutorService FLUSH_TIMER =
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "LlmComponent-stream-flush-timer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        private static final ThreadPoolExecutor FLUSH_EXECUTOR = createFlushExecutor();
+
         private final AippLogStreamService aippLogStreamService;
         private final ObjectSerializer serializer;
         private final String path;
         private final String msgId;
         private final String instId;
+        private final long flushIntervalMillis;
+        private final int maxBatchLength;
+        private final long startNanos = System.nanoTime();
+        private final StringBuilder buffer = new StringBuilder();
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private boolean isChatResolved;
+        private String chatId;
+        private String atChatId;
+        private ScheduledFuture<?> scheduledFlush;
+        private long firstChunkNanos;
+        private long lastChunkNanos;
+        private int chunkCount;
+        private int batchCount;
 
         StreamMsgSender(AippLogStreamService aippLogStreamService, ObjectSerializer serializer,
                 String path, String msgId, String instId) {
+            this(aippLogStreamService, serializer, path, msgId, instId, FLUSH_INTERVAL_MILLIS, MAX_BATCH_LENGTH);
+        }
+
+        StreamMsgSender(AippLogStreamService aippLogStreamService, ObjectSerializer serializer, String path,
+                String msgId, String instId, long flushIntervalMillis, int maxBatchLength) {
             this.aippLogStreamService = aippLogStreamService;
             this.serializer = serializer;
             this.path = path;
             this.msgId = msgId;
             this.instId = instId;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.maxBatchLength = maxBatchLength;
+        }
+
+        private static ThreadPoolExecutor createFlushExecutor() {
+            int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "LlmComponent-stream-flush");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
         }
 
         /**
-         * 发送对话信息。
+         * 发送对话信息，第一个片段立即推送，之后的片段先进入缓冲区，达到长度上限或者等待超过合并间隔后推送。
          *
          * @param msg 表示流式响应片段的 {@link String}。
          * @param businessData 表示流程上下文的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
@@ -543,7 +631,26 @@ public class LlmComponent implements FlowableService {
             if (!enableLog || StringUtils.isEmpty(msg) || msg.contains("<tool_call>")) {
                 return;
             }
-            this.sendMsgHandle(msg, StreamMsgType.from(AippInstLogType.MSG), businessData);
+            boolean isFlushNow;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (this.chunkCount == 0) {
+                    this.firstChunkNanos = now;
+                }
+                this.chunkCount++;
+                this.lastChunkNanos = now;
+                this.buffer.append(msg);
+                isFlushNow = this.chunkCount == 1 || this.buffer.length() >= this.maxBatchLength
+                        || this.flushIntervalMillis <= 0;
+                if (!isFlushNow && this.scheduledFlush == null) {
+                    this.scheduledFlush = FLUSH_TIMER.schedule(
+                            () -> FLUSH_EXECUTOR.execute(() -> this.flushQuietly(businessData)),
+                            this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (isFlushNow) {
+                this.flush(businessData);
+            }
         }
 
         /**
@@ -557,13 +664,102 @@ public class LlmComponent implements FlowableService {
                 return;
             }
             String knowledgeData = this.serializer.serialize(promptMetadata.get(PROMPT_METADATA_KEY));
-            this.sendMsgHandle(knowledgeData, StreamMsgType.KNOWLEDGE, businessData);
+            this.sendLock.lock();
+            try {
+                this.flush(businessData);
+                this.sendMsgHandle(knowledgeData, StreamMsgType.KNOWLEDGE, businessData);
+            } finally {
+                this.sendLock.unlock();
+            }
+        }
+
+        /**
+         * 大模型输出结束，推送缓冲区中剩余的片段。
+         *
+         * @param businessData 表示流程上下文的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+         */
+        public void complete(Map<String, Object> businessData) {
+            this.flushQuietly(businessData);
+        }
+
+        /**
+         * 获取从创建发送器到当前的耗时。
+         *
+         * @return 表示耗时（毫秒）的 {@code long}。
+         */
+        long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startNanos);
+        }
+
+        /**
+         * 获取首字时延。
+         *
+         * @return 表示首字时延（毫秒）的 {@code long}，没有收到任何片段时返回 -1。
+         */
+        synchronized long getTimeToFirstTokenMillis() {
+            return this.chunkCount == 0 ? -1L : TimeUnit.NANOSECONDS.toMillis(this.firstChunkNanos - this.startNanos);
+        }
+
+        /**
+         * 获取从第一个片段到最后一个片段期间的输出速率。
+         *
+         * @return 表示每秒输出片段数的 {@code long}，没有收到任何片段时返回 -1。
+         */
+        synchronized long getTokensPerSecond() {
+            if (this.chunkCount <= 1) {
+                return this.chunkCount - 1L;
+            }
+            long elapsedNanos = Math.max(1L, this.lastChunkNanos - this.firstChunkNanos);
+            return (this.chunkCount - 1) * 1_000_000_000L / elapsedNanos;
+        }
+
+        /**
+         * 获取已推送的批次数量。
+         *
+         * @return 表示批次数量的 {@code int}。
+         */
+        synchronized int getBatchCount() {
+            return this.batchCount;
+        }
+
+        private void flushQuietly(Map<String, Object> businessData) {
+            try {
+                this.flush(businessData);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to send llm stream message, instId={}, error={}", this.instId, ex.getMessage());
+            }
+        }
+
+        private void flush(Map<String, Object> businessData) {
+            // 先获取推送锁再取出缓冲区，保证批次按写入顺序推送
+            this.sendLock.lock();
+            try {
+                String msg;
+                synchronized (this) {
+                    if (this.scheduledFlush != null) {
+                        this.scheduledFlush.cancel(false);
+                        this.scheduledFlush = null;
+                    }
+                    if (this.buffer.length() == 0) {
+                        return;
+                    }
+                    msg = this.buffer.toString();
+                    this.buffer.setLength(0);
+                    this.batchCount++;
+                }
+                this.sendMsgHandle(msg, StreamMsgType.from(AippInstLogType.MSG), businessData);
+            } finally {
+                this.sendLock.unlock();
+            }
         }
 
         private void sendMsgHandle(String msg, StreamMsgType logType, Map<String, Object> businessData) {
-            RunContext runContext = new RunContext(businessData, new OperationContext());
-            String chatId = runContext.getOriginChatId();
-            String atChatId = runContext.getAtChatId();
+            if (!this.isChatResolved) {
+                RunContext runContext = new RunContext(businessData, new OperationContext());
+                this.chatId = runContext.getOriginChatId();
+                this.atChatId = runContext.getAtChatId();
+                this.isChatResolved = true;
+            }
             AippLogData logData = AippLogData.builder().msg(msg).build();
             AippLogVO logVO = AippLogVO.builder()
                     .logData(JsonUtils.toJsonString(logData))
@@ -571,10 +767,10 @@ public class LlmComponent implements FlowableService {
                     .path(this.path)
                     .msgId(this.msgId)
                     .instanceId(this.instId)
-                    .chatId(chatId)
-                    .atChatId(atChatId)
+                    .chatId(this.chatId)
+                    .atChatId(this.atChatId)
                     .build();
             this.aippLogStreamService.send(logVO);
         }
     }
-}
\ No newline at end of file
+}
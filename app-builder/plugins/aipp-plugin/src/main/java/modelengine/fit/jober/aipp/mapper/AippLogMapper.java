@@ -9,6 +9,7 @@ package modelengine.fit.jober.aipp.mapper;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogQueryCondition;
 import modelengine.fit.jober.aipp.entity.AippInstLog;
+import modelengine.fit.jober.aipp.po.AippInstanceLogPo;
 
 import org.apache.ibatis.annotations.Param;
 
@@ -125,6 +126,28 @@ public interface AippLogMapper {
      */
     void insertOne(AippLogCreateDto data);
 
+    /**
+     * 分配一个历史记录 id。
+     *
+     * @return 表示分配的历史记录 id 的 {@link Long}。
+     */
+    Long nextLogId();
+
+    /**
+     * 分配一批连续递增的历史记录 id。
+     *
+     * @param count 表示分配数量的 {@code int}。
+     * @return 表示按升序排列的历史记录 id 列表的 {@link List}{@code <}{@link Long}{@code >}。
+     */
+    List<Long> nextLogIds(@Param("count") int count);
+
+    /**
+     * 使用一条语句批量插入已经分配 id 的历史记录。
+     *
+     * @param logs 表示历史记录列表的 {@link List}{@code <}{@link AippInstanceLogPo}{@code >}。
+     */
+    void insertBatch(@Param("logs") List<AippInstanceLogPo> logs);
+
     /**
      * 更新指定历史记录。
      *
@@ -136,4 +136,12 @@ public interface AppBuilderAppMapper {
      * @return 表示短链是否重复 {@link Boolean}。
      */
     boolean checkPathExists(String path);
+
+    /**
+     * 根据 app 标识获取其所在应用集的修订号，应用集下任一 app 新增、更新或者删除后修订号都会变化。
+     *
+     * @param id 表示 app 标识的 {@link String}。
+     * @return 表示应用集修订号的 {@link String}，app 不存在时为 {@code null}。
+     */
+    String selectSuiteRevision(String id);
 }
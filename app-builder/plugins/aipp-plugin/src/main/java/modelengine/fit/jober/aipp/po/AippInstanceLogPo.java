@@ -0,0 +1,37 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.po;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量写入的 aipp 实例历史记录结构体，写入前已经分配好 log id 与创建时间
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AippInstanceLogPo {
+    private Long logId;
+    private String aippId;
+    private String version;
+    private String aippType;
+    private String instanceId;
+    private String logData;
+    private String logType;
+    private String createBy;
+    private String path;
+    private LocalDateTime createAt;
+}
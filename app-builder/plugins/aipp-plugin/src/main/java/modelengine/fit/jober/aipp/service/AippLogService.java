@@ -194,4 +194,11 @@ public interface AippLogService {
      * @param businessData 表示业务数据的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
      */
     void insertLog(String logType, AippLogData logData, Map<String, Object> businessData);
+
+    /**
+     * 实例结束时调用，配置了实例结束时写入时，将该实例尚未写入数据库的历史记录写入数据库。
+     *
+     * @param instanceId 表示结束的实例 id 的 {@link String}。
+     */
+    void flushOnInstanceCompleted(String instanceId);
 }
@@ -11,6 +11,7 @@ import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.domains.business.RunContext;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriter;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.domains.task.service.AppTaskService;
@@ -35,6 +36,7 @@ import modelengine.fit.jober.aipp.util.JsonUtils;
 import modelengine.fit.jober.common.RangedResultSet;
 
 import lombok.AllArgsConstructor;
+import modelengine.fel.core.tokenizer.Tokenizer;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.CollectionUtils;
@@ -76,6 +78,8 @@ public class AippLogServiceImpl implements AippLogService {
     private final AppTaskInstanceService appTaskInstanceService;
     private final AppTaskService appTaskService;
     private final AippLogRepository aippLogRepository;
+    private final AippLogWriter aippLogWriter;
+    private final Tokenizer tokenizer;
 
     private AippInstLog completeFormDataJson(AippInstLog instanceLog, OperationContext context) {
         if (AippInstLogType.FORM.name().equals(instanceLog.getLogType())) {
@@ -138,6 +142,7 @@ public class AippLogServiceImpl implements AippLogService {
 
     private List<AippInstLogDataDto> queryAippRecentInstLog(List<String> aippIds, String aippType, Integer count,
             OperationContext context) {
+        this.aippLogWriter.flushAipps(aippIds);
         List<String> instanceIds =
                 this.aippLogMapper.selectRecentInstanceIdByAippIds(aippIds, aippType, count, context.getAccount());
         return this.queryAndSortLogs(instanceIds, context);
@@ -212,6 +217,7 @@ public class AippLogServiceImpl implements AippLogService {
     @Override
     public List<AippInstLogDataDto> queryRecentLogsSinceResume(String aippId, String aippType,
             OperationContext context) {
+        this.aippLogWriter.flushAipps(Collections.singletonList(aippId));
         List<String> instanceIds = aippLogMapper.selectRecentAfterResume(aippId, aippType, context.getAccount());
         // 该功能未上线，待测试
         return this.queryAndSortLogs(instanceIds, context);
@@ -263,6 +269,8 @@ public class AippLogServiceImpl implements AippLogService {
                 .instanceId(instanceId)
                 .afterAt(sinceTime)
                 .build();
+        // 读取前写入队列中的历史记录，保证能读到此前写入的记录
+        this.aippLogWriter.flushInstances(Collections.singletonList(instanceId));
         return aippLogMapper.selectWithCondition(sqlCondition)
                 .stream()
                 .filter(AippLogServiceImpl::isNeededLog)
@@ -313,6 +321,7 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("instanceId is null");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogWriter.flushInstances(Collections.singletonList(instanceId));
         return aippLogMapper.selectLastInstanceFormLog(instanceId);
     }
 
@@ -330,6 +339,7 @@ public class AippLogServiceImpl implements AippLogService {
         if (metaIds.isEmpty()) {
             return;
         }
+        this.aippLogWriter.flushAipps(metaIds);
         List<String> instanceIdList =
                 this.aippLogMapper.selectNormalInstanceIdOrderByTimeDesc(metaIds, aippType, context.getAccount());
         if (!instanceIdList.isEmpty()) {
@@ -382,6 +392,7 @@ public class AippLogServiceImpl implements AippLogService {
         if (!AippLogUtils.validFormMsg(logData, logType)) {
             return null;
         }
+        this.fillTokenCount(logType, logData);
         String path = this.buildPath(instId, parentInstId);
         String chatId = runContext.getOriginChatId();
         String atChatId = runContext.getAtChatId();
@@ -400,6 +411,14 @@ public class AippLogServiceImpl implements AippLogService {
                 .build();
     }
 
+    private void fillTokenCount(String logType, AippLogData logData) {
+        if (!AippInstLogDataDto.isMemoryLogType(logType)) {
+            return;
+        }
+        String text = AippInstLogDataDto.getMemoryText(logData, logType);
+        logData.setTokenCount(text == null ? 0 : this.tokenizer.countToken(text));
+    }
+
     private Boolean isEnableLog(Map<String, Object> businessData) {
         // 兼容老数据，老数据没有这个开关的时候（enableLog为null）默认返回true。
         // 有开关后（enableLog为null），返回enableLog的值
@@ -432,6 +451,7 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("logId is null");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogWriter.flushLogs(Collections.singletonList(logId));
         aippLogMapper.updateOne(logId, newLogData);
     }
 
@@ -441,6 +461,7 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("logId is null");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogWriter.flushLogs(Collections.singletonList(logId));
         this.aippLogMapper.updateLogType(logId, newLogType);
     }
 
@@ -478,6 +499,7 @@ public class AippLogServiceImpl implements AippLogService {
     @Override
     public List<AippInstLogDataDto> queryAippRecentInstLogAfterSplice(String aippId, String aippType, Integer count,
         OperationContext context) {
+        this.aippLogWriter.flushAipps(Collections.singletonList(aippId));
         List<String> instanceIds =
             aippLogMapper.selectRecentInstanceId(aippId, aippType, count, context.getAccount());
         // 该功能未上线，待测试
@@ -498,6 +520,7 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("Instance id list is null or empty.");
             throw new AippParamException(AippErrCode.INPUT_PARAM_IS_INVALID);
         }
+        this.aippLogWriter.flushInstances(instanceIds);
         return this.aippLogMapper.getFullLogsByInstanceIds(instanceIds)
                 .stream()
                 .filter(log -> !filterLogTypes.contains(log.getLogType()))
@@ -510,6 +533,7 @@ public class AippLogServiceImpl implements AippLogService {
             log.error("logIds is null or empty.");
             return;
         }
+        this.aippLogWriter.flushLogs(logIds);
         this.aippLogMapper.deleteInstanceLogs(logIds);
     }
 
@@ -519,6 +543,11 @@ public class AippLogServiceImpl implements AippLogService {
         if (logCreateDto == null) {
             return;
         }
-        this.aippLogMapper.insertOne(logCreateDto);
+        this.aippLogWriter.write(logCreateDto);
+    }
+
+    @Override
+    public void flushOnInstanceCompleted(String instanceId) {
+        this.aippLogWriter.onInstanceCompleted(instanceId);
     }
 }
@@ -6,7 +6,6 @@
 
 package modelengine.fit.jober.aipp.service.impl;
 
-import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.dto.chat.AppChatRsp;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
 import modelengine.fit.jober.aipp.enums.AippInstLogType;
@@ -60,27 +59,32 @@ public class AippLogStreamServiceImpl implements AippLogStreamService {
         if (!log.displayable()) {
             return;
         }
-        AppChatRsp appChatRsp = this.buildData(log);
-        if (!appChatRsp.getStatus().equalsIgnoreCase(FlowTraceStatus.RUNNING.name()) && !appChatRsp.getStatus()
-                .equalsIgnoreCase(FlowTraceStatus.READY.name())) {
+        // 在当前某些情况下，会出现插入log日志，但是不修改instance状态的情况.
+        // 参考modelengine.fit.jober.aipp.fitable.agent.AippFlowAgent.fetchAgentErrorMsgToMain
+        String status = log.getLogType().equals(AippInstLogType.ERROR.name())
+                ? FlowTraceStatus.ERROR.name()
+                : this.getInstanceStatus(log.getInstanceId());
+        AppChatRsp appChatRsp = this.buildData(log, status);
+        if (!isRunning(status)) {
             this.appChatSseService.sendLastData(log.getInstanceId(), appChatRsp);
         } else {
             this.appChatSseService.send(log.getInstanceId(), appChatRsp);
         }
     }
 
-    private AppChatRsp buildData(AippLogVO log) {
-        String instanceId = log.getInstanceId();
-        AppTaskInstance instance = this.appTaskInstanceService.getInstanceById(instanceId, null)
+    private String getInstanceStatus(String instanceId) {
+        return this.appTaskInstanceService.getInstanceStatus(instanceId, null)
                 .orElseThrow(() -> new JobberException(ErrorCodes.UN_EXCEPTED_ERROR,
                         StringUtils.format("App task instance[{0}] not found.", instanceId)));
+    }
 
-        // 在当前某些情况下，会出现插入log日志，但是不修改instance状态的情况.
-        // 参考modelengine.fit.jober.aipp.fitable.agent.AippFlowAgent.fetchAgentErrorMsgToMain
-        String status = log.getLogType().equals(AippInstLogType.ERROR.name())
-                ? FlowTraceStatus.ERROR.name()
-                : instance.getEntity().getStatus().orElse(null);
+    private static boolean isRunning(String status) {
+        return StringUtils.equalsIgnoreCase(status, FlowTraceStatus.RUNNING.name())
+                || StringUtils.equalsIgnoreCase(status, FlowTraceStatus.READY.name());
+    }
 
+    private AppChatRsp buildData(AippLogVO log, String status) {
+        String instanceId = log.getInstanceId();
         AppChatRsp.Answer answer = this.buildAnswer(log);
         Map<String, Object> extensionMap = new HashMap<>();
         extensionMap.put("isEnableLog", log.isEnableLog());
@@ -185,16 +185,9 @@ public class AippRunTimeServiceImpl
     @Override
     @Fitable("default")
     public Boolean isInstanceRunning(String instanceId, OperationContext context) {
-        Optional<AppTaskInstance> instanceOptional = appTaskInstanceService.getInstanceById(instanceId, context);
-        if (instanceOptional.isEmpty()) {
-            return false;
-        }
-        Map<String, Object> instInfo = instanceOptional.get().getEntity().getInfos();
-        if (!instInfo.containsKey(AippConst.INST_STATUS_KEY)) {
-            return false;
-        }
-        return MetaInstStatusEnum.getMetaInstStatus(ObjectUtils.cast(instInfo.get(AippConst.INST_STATUS_KEY)))
-                == MetaInstStatusEnum.RUNNING;
+        return this.appTaskInstanceService.getInstanceStatus(instanceId, context)
+                .map(status -> MetaInstStatusEnum.getMetaInstStatus(status) == MetaInstStatusEnum.RUNNING)
+                .orElse(false);
     }
 
     @Override
@@ -74,6 +74,7 @@ CREATE INDEX IF NOT EXISTS INDEX_FLOW_STREAM_ID ON flow_context (stream_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_ID ON flow_context (trace_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRANS_ID_POSITION_ID ON flow_context (trans_id, position_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_BATCH_ID ON flow_context (batch_id, from_batch, to_batch);
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_EDGE_PENDING ON flow_context (stream_id, position_id, status, sent, create_at, batch_id);
 
 CREATE TABLE IF NOT EXISTS flow_trace
 (
@@ -202,13 +203,16 @@ CREATE TABLE IF NOT EXISTS flow_lock
 (
     lock_key VARCHAR(100) NOT NULL PRIMARY KEY,
     expired_at timestamp without time zone,
-    locked_client VARCHAR(50)
+    locked_client VARCHAR(50),
+    fencing_token BIGINT NOT NULL DEFAULT 0
     );
+ALTER TABLE flow_lock ADD COLUMN IF NOT EXISTS fencing_token BIGINT NOT NULL DEFAULT 0;
 
 comment on table flow_lock is '流程锁';
 comment on column flow_lock.lock_key is '锁名称';
 comment on column flow_lock.expired_at is '锁过期时间';
 comment on column flow_lock.locked_client is '上锁的客户端IP';
+comment on column flow_lock.fencing_token is '每次获取锁时递增的fencing token';
 
 CREATE TABLE IF NOT EXISTS flow_graph
 (
@@ -103,6 +103,7 @@ public class AppVersionServiceTest {
     private AppVersionFactory appVersionFactory;
     private AppBuilderAppMapper appBuilderAppMapper;
     private IconConverter iconConverter;
+    private AppVersionSnapshotCache snapshotCache;
 
 
     @BeforeEach
@@ -110,8 +111,10 @@ public class AppVersionServiceTest {
         this.appVersionFactory = mock(AppVersionFactory.class);
         this.appBuilderAppMapper = mock(AppBuilderAppMapper.class);
         this.iconConverter = mock(IconConverter.class);
+        this.snapshotCache = new AppVersionSnapshotCache(1024 * 1024L, 60_000L);
         this.appVersionRepository =
-                new AppVersionRepositoryImpl(this.appBuilderAppMapper, this.appVersionFactory, this.iconConverter);
+                new AppVersionRepositoryImpl(this.appBuilderAppMapper, this.appVersionFactory, this.iconConverter,
+                        this.snapshotCache);
         this.appChatRepository = mock(AppChatRepository.class);
         this.appTaskInstanceService = mock(AppTaskInstanceService.class);
         this.uploadedFileManageService = mock(UploadedFileManageService.class);
@@ -123,7 +126,8 @@ public class AppVersionServiceTest {
         this.appVersionService = new AppVersionServiceImpl(this.appVersionRepository, this.appChatRepository,
                 this.appTaskInstanceService, this.uploadedFileManageService, this.configRepository,
                 this.flowGraphRepository, this.formPropertyRepository, this.configPropertyRepository,
-                this.appTaskService, this.appVersionFactory, AppVersionServiceTest.NAME_LENGTH_MAXIMUM);
+                this.appTaskService, this.appVersionFactory, this.snapshotCache,
+                AppVersionServiceTest.NAME_LENGTH_MAXIMUM);
     }
 
     @Test
@@ -0,0 +1,261 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.appversion;
+
+import static modelengine.fit.jober.aipp.enums.AippMetaStatusEnum.ACTIVE;
+import static modelengine.fit.jober.aipp.enums.AippTypeEnum.NORMAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jade.aipp.model.service.AippModelCenter;
+import modelengine.fit.jade.waterflow.AippFlowDefinitionService;
+import modelengine.fit.jade.waterflow.FlowInstanceService;
+import modelengine.fit.jade.waterflow.FlowsService;
+import modelengine.fit.jade.waterflow.service.FlowDefinitionService;
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jane.meta.multiversion.definition.Meta;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.converters.ConverterFactory;
+import modelengine.fit.jober.aipp.converters.IconConverter;
+import modelengine.fit.jober.aipp.domain.AppBuilderFormProperty;
+import modelengine.fit.jober.aipp.domains.appversion.repository.AppVersionRepository;
+import modelengine.fit.jober.aipp.domains.chat.repository.AppChatRepository;
+import modelengine.fit.jober.aipp.domains.definition.service.AppDefinitionService;
+import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
+import modelengine.fit.jober.aipp.domains.task.AppTask;
+import modelengine.fit.jober.aipp.domains.task.AppTaskFactory;
+import modelengine.fit.jober.aipp.domains.task.service.AppTaskService;
+import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
+import modelengine.fit.jober.aipp.enums.AppStatus;
+import modelengine.fit.jober.aipp.factory.AppTemplateFactory;
+import modelengine.fit.jober.aipp.po.AppBuilderAppPo;
+import modelengine.fit.jober.aipp.repository.AppBuilderConfigPropertyRepository;
+import modelengine.fit.jober.aipp.repository.AppBuilderConfigRepository;
+import modelengine.fit.jober.aipp.repository.AppBuilderFlowGraphRepository;
+import modelengine.fit.jober.aipp.repository.AppBuilderFormPropertyRepository;
+import modelengine.fit.jober.aipp.repository.AppBuilderFormRepository;
+import modelengine.fit.jober.aipp.service.AippLogService;
+import modelengine.fit.jober.aipp.service.AopAippLogService;
+import modelengine.fit.jober.aipp.service.AppChatSessionService;
+import modelengine.fit.jober.aipp.service.AppChatSseService;
+import modelengine.fit.jober.aipp.service.UploadedFileManageService;
+import modelengine.jade.common.globalization.LocaleService;
+import modelengine.jade.knowledge.KnowledgeCenterService;
+import modelengine.jade.store.service.AppService;
+import modelengine.jade.store.service.PluginService;
+import modelengine.jade.store.service.ToolService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link AppVersionSnapshotCache} 的测试类。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AppVersionSnapshotCacheTest {
+    private static final String REVISION = "1|2026-10-18 12:00:00";
+
+    private final Map<String, AppBuilderAppPo> rows = new ConcurrentHashMap<>();
+    private final Map<String, String> revisions = new ConcurrentHashMap<>();
+    private AppVersionFactory factory;
+    private AppVersionRepository repository;
+    private AppTaskFactory taskFactory;
+    private AppTaskService appTaskService;
+    private AppBuilderFormPropertyRepository formPropertyRepository;
+    private OperationContext context;
+
+    @BeforeEach
+    void setUp() {
+        this.appTaskService = mock(AppTaskService.class);
+        this.formPropertyRepository = mock(AppBuilderFormPropertyRepository.class);
+        this.repository = mock(AppVersionRepository.class);
+        this.context = new OperationContext();
+        IconConverter iconConverter = mock(IconConverter.class);
+        this.factory = new AppVersionFactory(this.formPropertyRepository, this.appTaskService,
+                mock(AppBuilderConfigRepository.class), mock(AppBuilderFormRepository.class),
+                mock(AppBuilderConfigPropertyRepository.class), mock(AppBuilderFlowGraphRepository.class),
+                mock(FlowsService.class), mock(AppService.class), mock(PluginService.class), mock(ToolService.class),
+                mock(AppChatRepository.class), mock(AppDefinitionService.class), mock(AippLogService.class),
+                mock(UploadedFileManageService.class), mock(AppTemplateFactory.class),
+                mock(AppTaskInstanceService.class), mock(LocaleService.class), mock(AippModelCenter.class),
+                mock(ConverterFactory.class), mock(AippFlowDefinitionService.class),
+                mock(FlowDefinitionService.class), 20000, 500, mock(KnowledgeCenterService.class), "/var/share",
+                iconConverter);
+        this.taskFactory = new AppTaskFactory(mock(AippLogRepository.class), mock(AppTaskInstanceService.class),
+                mock(FlowsService.class), mock(AppChatSessionService.class), mock(FlowInstanceService.class),
+                this.formPropertyRepository, mock(AopAippLogService.class), mock(AppChatSseService.class));
+        when(this.appTaskService.getTaskList(anyString(), eq(NORMAL.name()), eq(ACTIVE.getCode()), any()))
+                .thenAnswer(invocation -> {
+                    String appSuiteId = invocation.getArgument(0);
+                    return List.of(this.task(appSuiteId, "task_2"), this.task(appSuiteId, "task_1"));
+                });
+        when(this.formPropertyRepository.selectWithAppId(anyString())).thenAnswer(invocation -> List.of(
+                AppBuilderFormProperty.builder().id("p1").name("question").defaultValue("hello").build()));
+    }
+
+    @Test
+    @DisplayName("快照命中时每次创建新的应用版本与任务，不再查询已发布任务与表单配置项")
+    public void shouldCreateNewAppVersionFromSnapshot() {
+        AppVersionSnapshotCache cache = new AppVersionSnapshotCache(1024 * 1024L, 60_000L);
+        this.rows.put("app_1", this.row("app_1", "suite_1", AppStatus.PUBLISHED.getName()));
+
+        AppVersion cold = this.load(cache, "app_1", Locale.ROOT);
+        AppVersion first = this.load(cache, "app_1", Locale.ROOT);
+        AppVersion second = this.load(cache, "app_1", Locale.ROOT);
+
+        assertNotSame(first, second);
+        assertNotSame(first.getData(), second.getData());
+        AppTask firstTask = first.getLatestPublishedTask(this.context);
+        AppTask secondTask = second.getLatestPublishedTask(this.context);
+        assertNotSame(firstTask, secondTask);
+        assertEquals("task_2", firstTask.getEntity().getTaskId());
+        assertEquals("task_2", cold.getLatestPublishedTask(this.context).getEntity().getTaskId());
+        assertEquals(1, secondTask.getFormProperties().size());
+        verify(this.appTaskService, times(1)).getTaskList(anyString(), anyString(), anyString(), any());
+        verify(this.formPropertyRepository, times(2)).selectWithAppId(anyString());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("快照复制任务的表单配置项，修改一次请求的表单配置项不影响快照")
+    public void shouldCopyFormPropertiesOfTasks() {
+        AppVersionSnapshotCache cache = new AppVersionSnapshotCache(1024 * 1024L, 60_000L);
+        this.rows.put("app_1", this.row("app_1", "suite_1", AppStatus.PUBLISHED.getName()));
+        this.load(cache, "app_1", Locale.ROOT);
+
+        AppBuilderFormProperty first =
+                this.load(cache, "app_1", Locale.ROOT).getLatestPublishedTask(this.context).getFormProperties().get(0);
+        first.setDefaultValue("changed");
+        AppBuilderFormProperty second =
+                this.load(cache, "app_1", Locale.ROOT).getLatestPublishedTask(this.context).getFormProperties().get(0);
+
+        assertNotSame(first, second);
+        assertEquals("hello", second.getDefaultValue());
+    }
+
+    @Test
+    @DisplayName("更新应用时同一应用集下的快照全部失效")
+    public void shouldInvalidateSnapshotsOfSameAppSuite() {
+        AppVersionSnapshotCache cache = new AppVersionSnapshotCache(1024 * 1024L, 60_000L);
+        this.rows.put("app_1", this.row("app_1", "suite_1", AppStatus.PUBLISHED.getName()));
+        this.rows.put("app_2", this.row("app_2", "suite_1", AppStatus.PUBLISHED.getName()));
+        this.rows.put("app_3", this.row("app_3", "suite_2", AppStatus.PUBLISHED.getName()));
+        this.load(cache, "app_1", Locale.ROOT);
+        this.load(cache, "app_2", Locale.ROOT);
+        this.load(cache, "app_3", Locale.ROOT);
+        assertEquals(3, cache.size());
+
+        cache.invalidate("app_4", "suite_1");
+        assertEquals(1, cache.size());
+        assertTrue(cache.get("app_3", Locale.ROOT, REVISION).isPresent());
+
+        cache.invalidate(List.of("app_3"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    @DisplayName("应用集修订号变化时快照失效，未发布的应用不缓存")
+    public void shouldNotUseSnapshotOfOldRevisionOrCacheUnpublishedAppVersion() {
+        AppVersionSnapshotCache cache = new AppVersionSnapshotCache(1024 * 1024L, 60_000L);
+        this.rows.put("app_1", this.row("app_1", "suite_1", AppStatus.PUBLISHED.getName()));
+        this.load(cache, "app_1", Locale.ROOT);
+        assertTrue(cache.get("app_1", Locale.ROOT, REVISION).isPresent());
+
+        // 其他节点更新了同一应用集，本节点没有收到失效通知.
+        this.revisions.put("app_1", "2|2026-10-18 12:00:01");
+        this.load(cache, "app_1", Locale.ROOT);
+        verify(this.appTaskService, times(2)).getTaskList(anyString(), anyString(), anyString(), any());
+        assertFalse(cache.get("app_1", Locale.ROOT, REVISION).isPresent());
+        assertEquals(0, cache.size());
+
+        AppVersion draft = this.factory.create(this.row("app_2", "suite_2", AppStatus.DRAFT.getName()),
+                this.repository);
+        assertFalse(cache.put("app_2", REVISION, draft, Collections.emptyList(), Locale.ROOT).isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("按语言区分快照，超过内存上限时淘汰最久未使用的快照，过期的快照不再使用")
+    public void shouldEvictByEstimatedBytesAndExpire() {
+        AppVersion appVersion = this.factory.create(this.row("app_1", "suite_1", AppStatus.PUBLISHED.getName()),
+                this.repository);
+        List<AppTask> tasks = appVersion.getPublishedTasks(this.context);
+        long bytes = new AppVersionSnapshot(appVersion.getData(), tasks, REVISION).getEstimatedBytes();
+        AppVersionSnapshotCache cache = new AppVersionSnapshotCache(bytes * 2, 60_000L);
+        cache.put("app_1", REVISION, appVersion, tasks, Locale.CHINA);
+        cache.put("app_1", REVISION, appVersion, tasks, Locale.US);
+        assertTrue(cache.get("app_1", Locale.CHINA, REVISION).isPresent());
+        cache.put("app_1", REVISION, appVersion, tasks, Locale.ROOT);
+
+        assertEquals(2, cache.size());
+        assertEquals(bytes * 2, cache.getTotalBytes());
+        assertTrue(cache.get("app_1", Locale.CHINA, REVISION).isPresent());
+        assertFalse(cache.get("app_1", Locale.US, REVISION).isPresent());
+
+        AppVersionSnapshotCache expiredCache = new AppVersionSnapshotCache(bytes * 2, -1L);
+        expiredCache.put("app_1", REVISION, appVersion, tasks, Locale.ROOT);
+        assertFalse(expiredCache.get("app_1", Locale.ROOT, REVISION).isPresent());
+        assertEquals(0, expiredCache.size());
+    }
+
+    /**
+     * 与 AppVersionServiceImpl 对话时获取已发布应用的流程一致.
+     */
+    private AppVersion load(AppVersionSnapshotCache cache, String appId, Locale locale) {
+        String revision = this.revisions.getOrDefault(appId, REVISION);
+        Optional<AppVersion> cached = cache.get(appId, locale, revision)
+                .map(snapshot -> snapshot.toAppVersion(this.factory, this.repository));
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        AppVersion appVersion = this.factory.create(this.rows.get(appId), this.repository);
+        return cache.put(appId, revision, appVersion, appVersion.getPublishedTasks(this.context), locale)
+                .map(snapshot -> snapshot.toAppVersion(this.factory, this.repository))
+                .orElse(appVersion);
+    }
+
+    private AppTask task(String appSuiteId, String taskId) {
+        Meta meta = new Meta();
+        meta.setId(appSuiteId);
+        meta.setVersionId(taskId);
+        meta.setAttributes(Map.of(AippConst.ATTR_APP_ID_KEY, "app_1"));
+        return this.taskFactory.create(meta, this.appTaskService);
+    }
+
+    private AppBuilderAppPo row(String appId, String appSuiteId, String status) {
+        return AppBuilderAppPo.builder()
+                .id(appId)
+                .appId(appId)
+                .appSuiteId(appSuiteId)
+                .name("app")
+                .version("1.0.0")
+                .status(status)
+                .attributes("{\"description\":\"desc\"}")
+                .build();
+    }
+}
@@ -0,0 +1,262 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.log;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
+import modelengine.fit.jober.aipp.enums.AippInstLogType;
+import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+import modelengine.fit.jober.aipp.po.AippInstanceLogPo;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * {@link AippLogWriter} 的测试类。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AippLogWriterTest {
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> insertedIds = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong sequence = new AtomicLong();
+    private AippLogMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        this.mapper = mock(AippLogMapper.class);
+        when(this.mapper.nextLogId()).thenAnswer(invocation -> this.sequence.incrementAndGet());
+        when(this.mapper.nextLogIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            long start = this.sequence.getAndAdd(count);
+            return LongStream.rangeClosed(start + 1, start + count).boxed().collect(Collectors.toList());
+        });
+        doAnswer(invocation -> {
+            List<AippInstanceLogPo> logs = invocation.getArgument(0);
+            this.batchSizes.add(logs.size());
+            logs.forEach(log -> this.insertedIds.add(log.getLogId()));
+            return null;
+        }).when(this.mapper).insertBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("异步写入时立即分配log id，按批次使用多行插入写入")
+    public void shouldAssignLogIdAndInsertInBatches() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 3, 60_000L, true, 100);
+        List<AippLogCreateDto> logs = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            AippLogCreateDto logDto = mockLog("inst1");
+            writer.write(logDto);
+            logs.add(logDto);
+        }
+
+        Assertions.assertEquals("1", logs.get(0).getLogId());
+        Assertions.assertEquals("7", logs.get(6).getLogId());
+        Assertions.assertEquals(7, writer.getQueueDepth());
+        verify(this.mapper, never()).insertBatch(anyList());
+
+        writer.flush();
+        Assertions.assertEquals(Arrays.asList(3, 3, 1), this.batchSizes);
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), this.insertedIds);
+        Assertions.assertEquals(0, writer.getQueueDepth());
+        Assertions.assertEquals(7, writer.getFlushedCount());
+        verify(this.mapper, never()).insertOne(any());
+    }
+
+    @Test
+    @DisplayName("按块预取log id，每块只访问一次序列")
+    public void shouldAllocateLogIdsInBlocks() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 10, 60_000L, true, 4);
+        List<AippLogCreateDto> logs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            AippLogCreateDto logDto = mockLog("inst1");
+            writer.write(logDto);
+            logs.add(logDto);
+        }
+
+        Assertions.assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"),
+                logs.stream().map(AippLogCreateDto::getLogId).collect(Collectors.toList()));
+        verify(this.mapper, times(2)).nextLogIds(4);
+        verify(this.mapper, never()).nextLogId();
+    }
+
+    @Test
+    @DisplayName("只写入指定实例的历史记录，没有待写入记录时不访问数据库")
+    public void shouldFlushOnlyGivenInstance() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 10, 60_000L, true, 100);
+        writer.write(mockLog("inst1"));
+        writer.write(mockLog("inst2"));
+        writer.write(mockLog("inst1"));
+
+        writer.flushInstances(Collections.singletonList("inst1"));
+        Assertions.assertEquals(Arrays.asList(1L, 3L), this.insertedIds);
+        Assertions.assertEquals(1, writer.getQueueDepth());
+
+        writer.flushInstances(Collections.singletonList("inst3"));
+        writer.flushLogs(Collections.singletonList(1L));
+        verify(this.mapper, times(1)).insertBatch(anyList());
+
+        writer.flushLogs(Collections.singletonList(2L));
+        Assertions.assertEquals(Arrays.asList(1L, 3L, 2L), this.insertedIds);
+        Assertions.assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("后台线程按间隔写入队列中的历史记录")
+    public void shouldFlushInBackground() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 10, 10L, true, 100);
+        writer.write(mockLog("inst1"));
+
+        verify(this.mapper, timeout(2000)).insertBatch(anyList());
+        Assertions.assertEquals(Collections.singletonList(1L), this.insertedIds);
+    }
+
+    @Test
+    @DisplayName("队列写满时由调用线程直接写入")
+    public void shouldInsertInCallerThreadWhenQueueIsFull() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 2, 10, 60_000L, true, 100);
+        for (int i = 0; i < 3; i++) {
+            writer.write(mockLog("inst1"));
+        }
+
+        Assertions.assertEquals(Collections.singletonList(3L), this.insertedIds);
+        Assertions.assertEquals(2, writer.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("队列写满且调用线程写入失败时抛出异常")
+    public void shouldThrowWhenCallerThreadInsertFailed() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 1, 10, 60_000L, true, 100);
+        writer.write(mockLog("inst1"));
+        doThrow(new IllegalStateException("insert failed")).when(this.mapper).insertBatch(anyList());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> writer.write(mockLog("inst1")));
+        Assertions.assertEquals(1, writer.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("批量写入失败时逐条写入，失败的记录在下次写入时重试")
+    public void shouldRetryFailedLogOnNextFlush() {
+        AtomicLong failures = new AtomicLong();
+        doAnswer(invocation -> {
+            List<AippInstanceLogPo> logs = invocation.getArgument(0);
+            if (logs.size() > 1 || (logs.get(0).getLogId() == 2L && failures.getAndIncrement() == 0)) {
+                throw new IllegalStateException("insert failed");
+            }
+            this.insertedIds.add(logs.get(0).getLogId());
+            return null;
+        }).when(this.mapper).insertBatch(anyList());
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 10, 60_000L, true, 100);
+        for (int i = 0; i < 3; i++) {
+            writer.write(mockLog("inst1"));
+        }
+        writer.flush();
+        Assertions.assertEquals(Arrays.asList(1L, 3L), this.insertedIds);
+        Assertions.assertEquals(1, writer.getQueueDepth());
+
+        writer.flushInstances(Collections.singletonList("inst1"));
+        Assertions.assertEquals(Arrays.asList(1L, 3L, 2L), this.insertedIds);
+        Assertions.assertEquals(0, writer.getQueueDepth());
+        Assertions.assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("重试多次仍写入失败时丢弃并计数")
+    public void shouldDropLogAfterMaxAttempts() {
+        doThrow(new IllegalStateException("insert failed")).when(this.mapper).insertBatch(anyList());
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 10, 60_000L, true, 100);
+        writer.write(mockLog("inst1"));
+        for (int i = 0; i < 3; i++) {
+            writer.flush();
+        }
+
+        verify(this.mapper, times(3)).insertBatch(anyList());
+        Assertions.assertEquals(0, writer.getQueueDepth());
+        Assertions.assertEquals(1, writer.getDroppedCount());
+        writer.flush();
+        verify(this.mapper, times(3)).insertBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("根据配置决定实例结束时是否立即写入")
+    public void shouldFlushOnInstanceCompletedWhenConfigured() {
+        AippLogWriter lazyWriter = new AippLogWriter(this.mapper, true, 100, 10, 60_000L, false, 1);
+        lazyWriter.write(mockLog("inst1"));
+        lazyWriter.onInstanceCompleted("inst1");
+        Assertions.assertEquals(1, lazyWriter.getQueueDepth());
+
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 10, 60_000L, true, 1);
+        writer.write(mockLog("inst2"));
+        writer.write(mockLog("inst3"));
+        writer.onInstanceCompleted("inst2");
+        Assertions.assertEquals(1, writer.getQueueDepth());
+        Assertions.assertEquals(Collections.singletonList(2L), this.insertedIds);
+    }
+
+    @Test
+    @DisplayName("销毁时停止后台写入，并写入队列中剩余的记录")
+    public void shouldDrainQueueOnClose() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, true, 100, 2, 60_000L, false, 100);
+        for (int i = 0; i < 5; i++) {
+            writer.write(mockLog("inst1"));
+        }
+        writer.close();
+
+        Assertions.assertEquals(0, writer.getQueueDepth());
+        Assertions.assertEquals(Arrays.asList(2, 2, 1), this.batchSizes);
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), this.insertedIds);
+    }
+
+    @Test
+    @DisplayName("关闭异步写入时直接插入，并记录实例的路径")
+    public void shouldInsertDirectlyWhenNotAsync() {
+        AippLogWriter writer = new AippLogWriter(this.mapper, false, 100, 10, 60_000L, true, 100);
+        AippLogCreateDto logDto = mockLog("inst1");
+        writer.write(logDto);
+
+        verify(this.mapper, times(1)).insertOne(logDto);
+        verify(this.mapper, never()).nextLogId();
+        verify(this.mapper, never()).nextLogIds(anyInt());
+        Assertions.assertEquals("/inst1", writer.getPath("inst1"));
+        Assertions.assertNull(writer.getPath("inst2"));
+    }
+
+    private static AippLogCreateDto mockLog(String instanceId) {
+        return AippLogCreateDto.builder()
+                .aippId("aippId")
+                .version("1.0.0")
+                .aippType("NORMAL")
+                .instanceId(instanceId)
+                .logData("{\"msg\":\"hello\"}")
+                .logType(AippInstLogType.MSG.name())
+                .createUserAccount("account")
+                .path("/" + instanceId)
+                .build();
+    }
+}
@@ -13,6 +13,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,6 +28,7 @@ import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceSe
 import modelengine.fit.jober.aipp.domains.taskinstance.service.impl.AppTaskInstanceServiceImpl;
 import modelengine.fit.jober.common.RangedResultSet;
 import modelengine.fitframework.model.support.DefaultRange;
+import modelengine.fitframework.runtime.FitRuntime;
 import modelengine.fitframework.util.MapBuilder;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -54,7 +56,8 @@ public class AppTaskInstanceServiceTest {
     public void setUp() {
         this.metaInstanceService = mock(MetaInstanceService.class);
         AppTaskInstanceFactory factory = new AppTaskInstanceFactory(null, null, null, null, null);
-        this.appTaskInstanceService = new AppTaskInstanceServiceImpl(this.metaInstanceService, factory);
+        this.appTaskInstanceService = new AppTaskInstanceServiceImpl(this.metaInstanceService, factory,
+                new AppTaskInstanceStatusTable(mock(FitRuntime.class, RETURNS_DEEP_STUBS), 1000, 1000L));
     }
 
     @Test
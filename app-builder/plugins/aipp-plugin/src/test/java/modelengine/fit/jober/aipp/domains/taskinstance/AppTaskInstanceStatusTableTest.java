@@ -0,0 +1,123 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.taskinstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
+import modelengine.fit.jane.meta.multiversion.instance.Instance;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
+import modelengine.fit.jober.aipp.domains.taskinstance.service.impl.AppTaskInstanceServiceImpl;
+import modelengine.fit.jober.aipp.genericable.event.AippInstanceStatusChanged;
+import modelengine.fitframework.event.EventPublisher;
+import modelengine.fitframework.runtime.FitRuntime;
+import modelengine.fitframework.util.MapBuilder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+/**
+ * {@link AppTaskInstanceStatusTable} 的测试类。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AppTaskInstanceStatusTableTest {
+    private AppTaskInstanceStatusTable statusTable;
+    private FitRuntime fitRuntime;
+    private EventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        this.fitRuntime = mock(FitRuntime.class);
+        this.eventPublisher = mock(EventPublisher.class);
+        when(this.fitRuntime.publisherOfEvents()).thenReturn(this.eventPublisher);
+        this.statusTable = new AppTaskInstanceStatusTable(this.fitRuntime, 2, 60000L);
+    }
+
+    @Test
+    @DisplayName("测试终态不会被回源查询到的旧状态覆盖")
+    public void testFinalStatusShouldNotBeOverwrittenByRefresh() {
+        this.statusTable.update("instance_1", "running");
+        this.statusTable.update("instance_1", "TERMINATED");
+        this.statusTable.refresh("instance_1", "RUNNING");
+
+        assertEquals(Optional.of("TERMINATED"), this.statusTable.getStatus("instance_1"));
+    }
+
+    @Test
+    @DisplayName("测试非终态超过有效期后失效，终态一直有效")
+    public void testActiveStatusShouldExpire() {
+        AppTaskInstanceStatusTable table = new AppTaskInstanceStatusTable(this.fitRuntime, 10, -1L);
+        table.update("instance_1", "RUNNING");
+        table.update("instance_2", "ARCHIVED");
+
+        assertFalse(table.getStatus("instance_1").isPresent());
+        assertEquals(Optional.of("ARCHIVED"), table.getStatus("instance_2"));
+    }
+
+    @Test
+    @DisplayName("测试超过数量上限时淘汰最久未访问的实例")
+    public void testShouldEvictEldestInstance() {
+        this.statusTable.update("instance_1", "RUNNING");
+        this.statusTable.update("instance_2", "RUNNING");
+        this.statusTable.getStatus("instance_1");
+        this.statusTable.update("instance_3", "RUNNING");
+
+        assertEquals(2, this.statusTable.size());
+        assertTrue(this.statusTable.getStatus("instance_1").isPresent());
+        assertFalse(this.statusTable.getStatus("instance_2").isPresent());
+    }
+
+    @Test
+    @DisplayName("测试状态变化时发布事件，状态不变时不重复发布")
+    public void testShouldPublishEventWhenStatusChanged() {
+        this.statusTable.update("instance_1", "running");
+        this.statusTable.update("instance_1", "RUNNING");
+        this.statusTable.update("instance_1", "TERMINATED");
+
+        verify(this.eventPublisher, times(1)).publishEvent(argThat((AippInstanceStatusChanged event) ->
+                "instance_1".equals(event.getInstanceId()) && event.isRunning()));
+        verify(this.eventPublisher, times(1)).publishEvent(argThat((AippInstanceStatusChanged event) ->
+                "TERMINATED".equals(event.getStatus()) && !event.isRunning()));
+        verify(this.eventPublisher, times(2)).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("测试实例服务优先从状态表获取状态，状态表中没有记录时回源查询")
+    public void testServiceShouldReadStatusFromTable() {
+        MetaInstanceService metaInstanceService = mock(MetaInstanceService.class);
+        AppTaskInstanceFactory factory = new AppTaskInstanceFactory(null, null, null, null, null);
+        AppTaskInstanceService service =
+                new AppTaskInstanceServiceImpl(metaInstanceService, factory, this.statusTable);
+        Instance instance = new Instance();
+        instance.setId("instance_1");
+        instance.setInfo(MapBuilder.<String, String>get().put(AippConst.INST_STATUS_KEY, "RUNNING").build());
+        when(metaInstanceService.getMetaVersionId(anyString())).thenReturn("task_1");
+        when(metaInstanceService.retrieveById(anyString(), any())).thenReturn(instance);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of("RUNNING"), service.getInstanceStatus("instance_1", new OperationContext()));
+        }
+
+        verify(metaInstanceService, times(1)).retrieveById(anyString(), any());
+    }
+}
@@ -0,0 +1,212 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.fel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fel.tool.mcp.client.McpClient;
+import modelengine.fel.tool.mcp.client.McpClientFactory;
+import modelengine.fel.tool.mcp.entity.Tool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link McpClientPool} 的测试。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@DisplayName("测试 McpClientPool")
+class McpClientPoolTest {
+    private static final String URL = "http://localhost:8080/sse";
+
+    private final AtomicInteger createCount = new AtomicInteger();
+    private final List<McpClient> clients = Collections.synchronizedList(new ArrayList<>());
+    private McpClientFactory mcpClientFactory;
+
+    @BeforeEach
+    void setUp() {
+        this.mcpClientFactory = mock(McpClientFactory.class);
+        when(this.mcpClientFactory.create(any(), any())).thenAnswer(invocation -> this.createStubClient());
+    }
+
+    @Test
+    @DisplayName("同一服务的多次调用复用已经初始化的客户端")
+    void shouldReuseInitializedClient() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("result", pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap())));
+        }
+
+        assertEquals(1, this.createCount.get());
+        verify(this.mcpClientFactory, times(1)).create("http://localhost:8080", "/sse");
+        verify(this.clients.get(0), times(1)).initialize();
+        verify(this.clients.get(0), times(0)).close();
+    }
+
+    @Test
+    @DisplayName("调用失败时关闭客户端，下次调用重新创建")
+    void shouldCloseClientWhenActionFailed() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        assertThrows(IOException.class, () -> pool.execute(URL, client -> {
+            throw new IOException("broken");
+        }));
+        pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap()));
+
+        assertEquals(2, this.createCount.get());
+        verify(this.clients.get(0), times(1)).close();
+    }
+
+    @Test
+    @DisplayName("空闲超过保活时间的客户端被关闭")
+    void shouldCloseExpiredIdleClient() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 1L, 4, 60_000L);
+        pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap()));
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap()));
+
+        assertEquals(2, this.createCount.get());
+        verify(this.clients.get(0), times(1)).close();
+    }
+
+    @Test
+    @DisplayName("工具列表在缓存有效期内命中缓存，服务配置版本变化时重新获取")
+    void shouldCacheToolsUntilVersionChanged() {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        List<Tool> first = pool.getToolsAsync(URL, config("v1")).join();
+        List<Tool> second = pool.getToolsAsync(URL, config("v1")).join();
+        pool.getToolsAsync(URL, config("v2")).join();
+
+        assertSame(first, second);
+        assertEquals("tool1", first.get(0).getName());
+        verify(this.clients.get(0), times(2)).getTools();
+    }
+
+    @Test
+    @DisplayName("获取工具列表失败时返回异常结果")
+    void shouldCompleteExceptionallyWhenGetToolsFailed() {
+        when(this.mcpClientFactory.create(any(), any())).thenThrow(new IllegalStateException("unreachable"));
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        CompletableFuture<List<Tool>> future = pool.getToolsAsync(URL, config("v1"));
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    @DisplayName("复用的客户端执行幂等操作失败时使用新建的客户端重试一次")
+    void shouldRetryOnNewClientWhenReusedClientFailed() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap()));
+        McpClient stale = this.clients.get(0);
+
+        Object result = pool.executeIdempotent(URL, client -> {
+            if (client == stale) {
+                throw new IOException("connection reset");
+            }
+            return client.callTool("tool", Collections.emptyMap());
+        });
+
+        assertEquals("result", result);
+        assertEquals(2, this.createCount.get());
+        verify(stale, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("复用的客户端调用工具失败时不重试")
+    void shouldNotRetryToolCallOnReusedClient() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap()));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> pool.execute(URL, client -> {
+            calls.incrementAndGet();
+            throw new IOException("connection reset");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, this.createCount.get());
+        verify(this.clients.get(0), times(1)).close();
+    }
+
+    @Test
+    @DisplayName("池关闭后归还的客户端直接关闭")
+    void shouldCloseClientReleasedAfterPoolClosed() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        pool.execute(URL, client -> {
+            pool.close();
+            return client.callTool("tool", Collections.emptyMap());
+        });
+
+        verify(this.clients.get(0), times(1)).close();
+    }
+
+    @Test
+    @DisplayName("新建的客户端调用失败时不重试")
+    void shouldNotRetryWhenNewClientFailed() {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> pool.executeIdempotent(URL, client -> {
+            calls.incrementAndGet();
+            throw new IOException("broken");
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(1, this.createCount.get());
+    }
+
+    @Test
+    @DisplayName("关闭客户端池时关闭空闲的客户端")
+    void shouldCloseIdleClientsWhenPoolClosed() throws IOException {
+        McpClientPool pool = new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+        pool.execute(URL, client -> client.callTool("tool", Collections.emptyMap()));
+
+        pool.close();
+
+        verify(this.clients.get(0), times(1)).close();
+    }
+
+    private static Map<String, Object> config(String version) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("url", URL);
+        config.put("version", version);
+        return config;
+    }
+
+    private McpClient createStubClient() throws IOException {
+        this.createCount.incrementAndGet();
+        McpClient client = mock(McpClient.class);
+        Tool tool = new Tool();
+        tool.setName("tool1");
+        when(client.getTools()).thenReturn(Collections.singletonList(tool));
+        when(client.callTool(any(), any())).thenReturn("result");
+        this.clients.add(client);
+        return client;
+    }
+}
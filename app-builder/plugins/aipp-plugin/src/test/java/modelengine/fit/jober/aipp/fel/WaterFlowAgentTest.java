@@ -61,7 +61,8 @@ class WaterFlowAgentTest {
     @Test
     void shouldGetResultWhenRunFlowGivenNoToolCall() {
         WaterFlowAgent waterFlowAgent =
-                new WaterFlowAgent(this.toolExecuteService, this.chatModel, this.mcpClientFactory);
+                new WaterFlowAgent(this.toolExecuteService, this.chatModel,
+                new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L));
 
         String expectResult = "0123";
         doAnswer(invocation -> Choir.create(emitter -> {
@@ -81,7 +82,8 @@ class WaterFlowAgentTest {
 
     @Test
     void shouldGetResultWhenRunFlowGivenStoreToolCall() {
-        WaterFlowAgent waterFlowAgent = new WaterFlowAgent(this.toolExecuteService, this.chatModel, this.mcpClientFactory);
+        WaterFlowAgent waterFlowAgent = new WaterFlowAgent(this.toolExecuteService, this.chatModel,
+                new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L));
 
         String expectResult = "tool result:0123";
         String realName = "realName";
@@ -111,7 +113,8 @@ class WaterFlowAgentTest {
 
     @Test
     void shouldGetResultWhenRunFlowGivenMcpToolCall() {
-        WaterFlowAgent waterFlowAgent = new WaterFlowAgent(this.toolExecuteService, this.chatModel, this.mcpClientFactory);
+        WaterFlowAgent waterFlowAgent = new WaterFlowAgent(this.toolExecuteService, this.chatModel,
+                new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L));
 
         String expectResult = "\"tool result:\"0123";
         String realName = "realName";
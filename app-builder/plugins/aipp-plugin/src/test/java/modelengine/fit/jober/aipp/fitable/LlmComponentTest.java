@@ -36,10 +36,12 @@ import modelengine.fit.jade.waterflow.FlowInstanceService;
 import modelengine.fit.jober.aipp.TestUtils;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
+import modelengine.fit.jober.aipp.fel.McpClientPool;
 import modelengine.fit.jober.aipp.fel.WaterFlowAgent;
 import modelengine.fit.jober.aipp.service.AippLogService;
 import modelengine.fit.jober.aipp.service.AippLogStreamService;
 import modelengine.fit.jober.aipp.util.JsonUtils;
+import modelengine.fit.jober.aipp.vo.AippLogVO;
 import modelengine.fit.waterflow.domain.context.StateContext;
 
 import modelengine.fel.core.chat.ChatMessage;
@@ -55,6 +57,7 @@ import modelengine.fel.engine.operators.patterns.AbstractAgent;
 import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.runtime.FitRuntime;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.MapBuilder;
@@ -64,11 +67,13 @@ import modelengine.jade.store.service.ToolService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -76,7 +81,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * {@link LlmComponent}的测试集
@@ -107,6 +115,8 @@ public class LlmComponentTest {
     private McpClientFactory mcpClientFactory;
     @Mock
     private OutputFormatterChain formatterChain;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private FitRuntime fitRuntime;
 
     static class PromptBuilderStub implements PromptBuilder {
         @Override
@@ -168,7 +178,7 @@ public class LlmComponentTest {
     }
 
     private AbstractAgent getWaterFlowAgent(ChatModel model) {
-        return new WaterFlowAgent(this.toolExecuteService, model, this.mcpClientFactory);
+        return new WaterFlowAgent(this.toolExecuteService, model, this.getMcpClientPool());
     }
 
     private ChatModel buildChatStreamModel(String exceptionMsg) {
@@ -222,7 +232,7 @@ public class LlmComponentTest {
         // run
         llmComponent.handleTask(TestUtils.buildFlowDataWithExtraConfig(buildLlmTestData(), null));
         countDownLatch.await();
-        Mockito.verify(this.toolService, times(0)).getTool(any());
+        Mockito.verify(this.toolService, times(0)).getToolsByUniqueNames(any());
     }
 
     @Test
@@ -243,7 +253,8 @@ public class LlmComponentTest {
                 this.promptBuilderChain,
                 this.appTaskInstanceService,
                 this.formatterChain,
-                this.mcpClientFactory);
+                this.getMcpClientPool(),
+                this.fitRuntime);
 
         // mock
         CountDownLatch countDownLatch = mockFailAsyncJob(flowInstanceService);
@@ -330,7 +341,7 @@ public class LlmComponentTest {
         tool.setSchema(MapBuilder.<String, Object>get()
                 .put(ToolSchema.PARAMETERS, MapBuilder.get().put("name", toolUniqueName).build())
                 .build());
-        when(this.toolService.getTool(toolUniqueName)).thenReturn(tool);
+        when(this.toolService.getToolsByUniqueNames(Arrays.asList(toolUniqueName))).thenReturn(Arrays.asList(tool));
 
         // when
         llmComponent.handleTask(TestUtils.buildFlowDataWithExtraConfig(businessData, null));
@@ -398,6 +409,69 @@ public class LlmComponentTest {
         Assertions.assertEquals(mcpServerInfo, toolInfo.extensions().get(AippConst.MCP_SERVER_KEY));
     }
 
+    @Test
+    void shouldCoalesceStreamChunksBySize() {
+        List<AippLogVO> logs = new ArrayList<>();
+        doAnswer(invocation -> logs.add(invocation.getArgument(0))).when(this.aippLogStreamService).send(any());
+        LlmComponent.StreamMsgSender sender = new LlmComponent.StreamMsgSender(this.aippLogStreamService,
+                this.serializer, "/instId", "msgId", "instId", 60_000L, 10);
+        Map<String, Object> businessData = new HashMap<>();
+        for (int i = 0; i < 26; i++) {
+            sender.sendMsg("ab", businessData);
+        }
+        sender.complete(businessData);
+
+        Assertions.assertEquals(6, logs.size());
+        Assertions.assertEquals("ab".repeat(26), logs.stream()
+                .map(log -> ObjectUtils.<String>cast(JsonUtils.parseObject(log.getLogData()).get("msg")))
+                .collect(Collectors.joining()));
+    }
+
+    @Test
+    void shouldFlushFirstChunkImmediatelyAndLaterChunksAfterInterval() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        List<AippLogVO> logs = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            logs.add(invocation.getArgument(0));
+            latch.countDown();
+            return null;
+        }).when(this.aippLogStreamService).send(any());
+        LlmComponent.StreamMsgSender sender = new LlmComponent.StreamMsgSender(this.aippLogStreamService,
+                this.serializer, "/instId", "msgId", "instId", 20L, 1024);
+        Map<String, Object> businessData = new HashMap<>();
+        sender.sendMsg("a", businessData);
+        Assertions.assertEquals(1, logs.size());
+
+        sender.sendMsg("b", businessData);
+        sender.sendMsg("c", businessData);
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("a", JsonUtils.parseObject(logs.get(0).getLogData()).get("msg"));
+        Assertions.assertEquals("bc", JsonUtils.parseObject(logs.get(1).getLogData()).get("msg"));
+    }
+
+    @Test
+    void shouldSendFewerBatchesWhenCoalescing() {
+        Map<String, Object> businessData = new HashMap<>();
+        LlmComponent.StreamMsgSender perToken = new LlmComponent.StreamMsgSender(this.aippLogStreamService,
+                this.serializer, "/instId", "msgId", "instId", 0L, 1);
+        LlmComponent.StreamMsgSender coalesced = new LlmComponent.StreamMsgSender(this.aippLogStreamService,
+                this.serializer, "/instId", "msgId", "instId", 60_000L, 256);
+        for (int i = 0; i < 2_000; i++) {
+            perToken.sendMsg("token" + i % 10, businessData);
+            coalesced.sendMsg("token" + i % 10, businessData);
+        }
+        perToken.complete(businessData);
+        coalesced.complete(businessData);
+
+        Assertions.assertEquals(2_000, perToken.getBatchCount());
+        Assertions.assertTrue(coalesced.getBatchCount() * 10 < perToken.getBatchCount());
+    }
+
+    private McpClientPool getMcpClientPool() {
+        return new McpClientPool(this.mcpClientFactory, 60_000L, 4, 60_000L);
+    }
+
     private LlmComponent getLlmComponent(final AbstractAgent agent) {
         return new LlmComponent(this.flowInstanceService,
                 this.toolService,
@@ -409,11 +483,12 @@ public class LlmComponentTest {
                 this.promptBuilderChain,
                 this.appTaskInstanceService,
                 this.formatterChain,
-                this.mcpClientFactory);
+                this.getMcpClientPool(),
+                this.fitRuntime);
     }
 
     private void prepareModel() {
-        Mockito.lenient().when(this.toolService.getTool(any())).thenReturn(null);
+        Mockito.lenient().when(this.toolService.getToolsByUniqueNames(any())).thenReturn(Collections.emptyList());
         doAnswer(invocationOnMock -> {
             Object advice = invocationOnMock.getArgument(0);
             Object context = invocationOnMock.getArgument(1);
@@ -9,6 +9,7 @@ package modelengine.fit.jober.aipp.repository.impl;
 import modelengine.fit.jober.aipp.dto.aipplog.AippLogCreateDto;
 import modelengine.fit.jober.aipp.entity.AippInstLog;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+import modelengine.fit.jober.aipp.po.AippInstanceLogPo;
 import modelengine.fit.jober.aipp.repository.AippInstanceLogRepository;
 import modelengine.fit.jober.aipp.service.DatabaseBaseTest;
 
@@ -17,6 +18,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -87,4 +90,31 @@ public class AippInstanceLogRepositoryImplTest extends DatabaseBaseTest {
         Assertions.assertEquals(1, aippInstLogs.size());
         Assertions.assertEquals("3", aippInstLogs.get(0).getInstanceId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试使用一条语句批量写入已经分配 id 的历史记录")
+    void testInsertBatchSuccess() {
+        LocalDateTime createAt = LocalDateTime.of(2026, 10, 18, 12, 0);
+        List<AippInstanceLogPo> logs = Arrays.asList(buildLogPo(1001L, createAt), buildLogPo(1002L, createAt));
+        this.mapper.insertBatch(logs);
+        List<AippInstLog> aippInstLogs = this.repo.selectByLogIds(Arrays.asList(1001L, 1002L));
+        Assertions.assertEquals(2, aippInstLogs.size());
+        Assertions.assertEquals("/4", aippInstLogs.get(0).getPath());
+        Assertions.assertEquals(createAt, aippInstLogs.get(0).getCreateAt());
+    }
+
+    private static AippInstanceLogPo buildLogPo(Long logId, LocalDateTime createAt) {
+        return AippInstanceLogPo.builder()
+                .logId(logId)
+                .aippId("4")
+                .version("1.0.0")
+                .aippType("PREVIEW")
+                .instanceId("4")
+                .logData("{}")
+                .logType("MSG")
+                .createBy("yyy")
+                .path("/4")
+                .createAt(createAt)
+                .build();
+    }
+}
@@ -19,10 +19,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import modelengine.fel.core.tokenizer.Tokenizer;
 import modelengine.fit.dynamicform.DynamicFormService;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
 import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.domains.log.AippLogWriter;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
 import modelengine.fit.jober.aipp.domains.task.AppTask;
 import modelengine.fit.jober.aipp.domains.task.service.AppTaskService;
@@ -86,7 +88,6 @@ public class AippLogServiceTest {
 
     @InjectMocks
     private AippLogServiceImpl aippLogService;
-    @InjectMocks
     private AopAippLogServiceImpl aopAippLogService;
     @Mock
     private AippLogMapper aippLogMapperMock;
@@ -104,6 +105,10 @@ public class AippLogServiceTest {
     private AppTaskService appTaskService;
     @Mock
     private AippLogRepository aippLogRepository;
+    @Mock
+    private AippLogWriter aippLogWriter;
+    @Mock
+    private Tokenizer tokenizer;
 
     private AtomicLong logId;
     private Function<AippInstLogType, AippInstLog> generateAippInstLogFunc;
@@ -148,6 +153,8 @@ public class AippLogServiceTest {
 
     @BeforeEach
     void setUp() {
+        this.aopAippLogService = new AopAippLogServiceImpl(
+                new AippLogWriter(this.aippLogMapperMock, false, 16, 16, 50L, false, 100), this.sensitiveFilterTools);
         logId = new AtomicLong(1L);
         generateAippInstLogFunc = (AippInstLogType logType) -> {
             AippInstLog log = new AippInstLog();
@@ -436,6 +443,25 @@ public class AippLogServiceTest {
                 () -> this.aippLogService.insertLogWithInterception(AippInstLogType.MSG.name(), aippLogData, businessData));
     }
 
+    @Test
+    void shouldWriteTokenCountWhenCallInsertLogWithMsgData() {
+        when(this.tokenizer.countToken("你好")).thenReturn(2);
+        AippLogData aippLogData = AippLogData.builder().msg("你好").build();
+        Map<String, Object> businessData = MapBuilder.get(() -> new HashMap<String, Object>())
+                .put(AippConst.BS_HTTP_CONTEXT_KEY, "{\"account\":\"123\"}").build();
+        this.aippLogService.insertLog(AippInstLogType.MSG.name(), aippLogData, businessData);
+        verify(this.aippLogWriter).write(argThat(dto -> dto.getLogData().contains("\"token_count\":2")));
+    }
+
+    @Test
+    void shouldNotCountTokenWhenCallInsertLogWithErrorData() {
+        AippLogData aippLogData = AippLogData.builder().msg("error").build();
+        Map<String, Object> businessData = MapBuilder.get(() -> new HashMap<String, Object>())
+                .put(AippConst.BS_HTTP_CONTEXT_KEY, "{\"account\":\"123\"}").build();
+        this.aippLogService.insertLog(AippInstLogType.ERROR.name(), aippLogData, businessData);
+        verify(this.tokenizer, never()).countToken(anyString());
+    }
+
     @Test
     void testAppChatRsp() {
         AppChatRsp appChatRsp = AppChatRsp.builder().logId("123").build();
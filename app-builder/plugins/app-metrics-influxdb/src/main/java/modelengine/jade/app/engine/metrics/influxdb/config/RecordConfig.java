@@ -23,4 +23,41 @@ public class RecordConfig {
      */
     public static final List<Double> EXPLICIT_BUCKETS =
             Collections.unmodifiableList(Arrays.asList(4000.0, 8000.0, 12000.0));
-}
\ No newline at end of file
+
+    /**
+     * 首字时延分布桶（[0-1000], [1001-2000], [2001, 4000], [4001, inf]）。
+     */
+    public static final List<Double> FIRST_TOKEN_BUCKETS =
+            Collections.unmodifiableList(Arrays.asList(1000.0, 2000.0, 4000.0));
+
+    /**
+     * 输出速率分布桶（[0-10], [11-30], [31, 60], [61, inf]），单位为每秒输出片段数。
+     */
+    public static final List<Double> TOKEN_RATE_BUCKETS =
+            Collections.unmodifiableList(Arrays.asList(10.0, 30.0, 60.0));
+
+    /**
+     * 单个上报周期内允许的属性组合数量上限，超出后归入溢出桶。
+     */
+    public static final int MAX_ATTRIBUTE_SETS = 2000;
+
+    /**
+     * 单条数据允许携带的用户标签数量上限。
+     */
+    public static final int MAX_USER_TAGS = 4;
+
+    /**
+     * 属性值的长度上限。
+     */
+    public static final int MAX_ATTRIBUTE_VALUE_LENGTH = 64;
+
+    /**
+     * 应用唯一标识到 aipp 唯一标识映射的缓存时间（单位：毫秒）。
+     */
+    public static final long AIPP_ID_CACHE_TTL = 10 * 60 * 1000L;
+
+    /**
+     * 应用唯一标识到 aipp 唯一标识映射的缓存数量上限。
+     */
+    public static final int AIPP_ID_CACHE_SIZE = 10000;
+}
@@ -10,8 +10,8 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.jade.app.engine.metrics.influxdb.UserDepartmentInfo;
 import modelengine.jade.app.engine.metrics.influxdb.service.UserInfoService;
+import modelengine.jade.app.engine.metrics.influxdb.service.support.MetricsAttributesLimiter;
 
-import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
@@ -27,11 +27,19 @@ import org.influxdb.InfluxDBException;
 import org.influxdb.dto.BatchPoints;
 import org.influxdb.dto.Point;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * InfluxDb 指标上报。
+ * <p>每个指标写入同名的 measurement，数据点按批次写入；因连接、超时等可重试的原因写入失败的数据点保留在有界的待写队列中，
+ * 在下一次上报或者 {@link #flush()} 时重试，队列满时丢弃最早的数据点。字段类型冲突、数据库不存在等重试也无法成功的错误，
+ * 整批丢弃并记录错误日志，避免阻塞后续的数据点。</p>
  *
  * @author 高嘉乐
  * @since 2024-12-18
@@ -40,10 +48,15 @@ import java.util.stream.Collectors;
 public class InfluxMetricExporter implements MetricExporter {
     private static final Logger LOG = Logger.get(InfluxMetricExporter.class);
 
+    private static final int BATCH_SIZE = 5000;
+    private static final int MAX_PENDING_POINTS = 100000;
+
     private final InfluxDB influxdb;
 
     private final UserInfoService userInfoService;
 
+    private final Deque<Point> pendingPoints = new ArrayDeque<>();
+
     public InfluxMetricExporter(InfluxDB influxdb, UserInfoService userInfoService) {
         this.influxdb = influxdb;
         this.userInfoService = userInfoService;
@@ -51,34 +64,31 @@ public class InfluxMetricExporter implements MetricExporter {
 
     @Override
     public CompletableResultCode export(Collection<MetricData> metrics) {
-        BatchPoints batchPoints = metrics.stream()
-                .flatMap(metric -> metric.getHistogramData()
-                        .getPoints()
-                        .stream()
-                        .filter(data -> data.getCount() != 0)
-                        .map(this::getPoint))
-                .collect(Collectors.collectingAndThen(Collectors.toList(),
-                        (points -> BatchPoints.builder().points(points).build())));
-        if (batchPoints.getPoints().isEmpty()) {
-            return CompletableResultCode.ofSuccess();
+        Map<String, UserDepartmentInfo> userInfos = new HashMap<>();
+        List<Point> points = new ArrayList<>();
+        for (MetricData metric : metrics) {
+            for (HistogramPointData data : metric.getHistogramData().getPoints()) {
+                if (data.getCount() != 0) {
+                    points.add(this.getPoint(metric.getName(), data, userInfos));
+                }
+            }
         }
-        try {
-            this.influxdb.write(batchPoints);
-        } catch (InfluxDBException e) {
-            LOG.warn("Writing metrics to influxdb failed.", e);
-            return CompletableResultCode.ofFailure();
+        synchronized (this.pendingPoints) {
+            points.forEach(this::addPending);
+            return this.writePending();
         }
-        return CompletableResultCode.ofSuccess();
     }
 
     @Override
     public CompletableResultCode flush() {
-        return CompletableResultCode.ofSuccess();
+        synchronized (this.pendingPoints) {
+            return this.writePending();
+        }
     }
 
     @Override
     public CompletableResultCode shutdown() {
-        return CompletableResultCode.ofSuccess();
+        return this.flush();
     }
 
     @Override
@@ -86,21 +96,53 @@ public class InfluxMetricExporter implements MetricExporter {
         return AggregationTemporality.DELTA;
     }
 
-    private Point getPoint(HistogramPointData data) {
+    private void addPending(Point point) {
+        if (this.pendingPoints.size() >= MAX_PENDING_POINTS) {
+            this.pendingPoints.pollFirst();
+            LOG.warn("Too many metric points are waiting to be written, drop the oldest one. [max={}]",
+                    MAX_PENDING_POINTS);
+        }
+        this.pendingPoints.addLast(point);
+    }
+
+    private CompletableResultCode writePending() {
+        while (!this.pendingPoints.isEmpty()) {
+            List<Point> batch = new ArrayList<>(Math.min(BATCH_SIZE, this.pendingPoints.size()));
+            this.pendingPoints.stream().limit(BATCH_SIZE).forEach(batch::add);
+            try {
+                this.influxdb.write(BatchPoints.builder().points(batch).build());
+            } catch (InfluxDBException e) {
+                if (e.isRetryWorth()) {
+                    LOG.warn("Writing metrics to influxdb failed, retry later.", e);
+                    return CompletableResultCode.ofFailure();
+                }
+                LOG.error("Writing metrics to influxdb failed and cannot be retried, drop the batch. [count={}]",
+                        batch.size(), e);
+            }
+            batch.forEach(point -> this.pendingPoints.pollFirst());
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private Point getPoint(String measurement, HistogramPointData data, Map<String, UserDepartmentInfo> userInfos) {
         Point.Builder measurementBuilder =
-                Point.measurement("request").addField("count", data.getCount()).addField("sum", data.getSum());
+                Point.measurement(measurement).addField("count", data.getCount()).addField("sum", data.getSum());
         for (int i = 0; i < data.getCounts().size(); i++) {
             measurementBuilder.addField(StringUtils.format("bucket{0}", i), data.getCounts().get(i));
         }
         data.getAttributes().forEach((k, v) -> {
             measurementBuilder.tag(k.getKey(), v.toString());
         });
-        this.addUserDepartmentInfo(measurementBuilder, data.getAttributes().get(AttributeKey.stringKey("user_name")));
+        String userName = data.getAttributes().get(MetricsAttributesLimiter.USER_NAME);
+        if (userName != null && !MetricsAttributesLimiter.OVERFLOW_VALUE.equals(userName)) {
+            this.addUserDepartmentInfo(measurementBuilder,
+                    userInfos.computeIfAbsent(userName, this.userInfoService::getUserDepartmentInfoByName),
+                    userName);
+        }
         return measurementBuilder.build();
     }
 
-    private void addUserDepartmentInfo(Point.Builder builder, String userName) {
-        UserDepartmentInfo userInfo = userInfoService.getUserDepartmentInfoByName(userName);
+    private void addUserDepartmentInfo(Point.Builder builder, UserDepartmentInfo userInfo, String userName) {
         notNull(userInfo, "The user info cannot be null. [username={0}]", userName);
         builder.tag("l1_name", userInfo.getDepName1())
                 .tag("l2_name", userInfo.getDepName2())
@@ -0,0 +1,38 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.influxdb.events;
+
+import modelengine.fit.jober.aipp.events.AippNodeEnd;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.event.EventHandler;
+import modelengine.jade.app.engine.metrics.influxdb.service.MetricsRecordService;
+
+/**
+ * 流程节点执行结束事件 handler。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class AippNodeEndHandler implements EventHandler<AippNodeEnd> {
+    private final MetricsRecordService metricsRecordService;
+
+    public AippNodeEndHandler(MetricsRecordService metricsRecordService) {
+        this.metricsRecordService = metricsRecordService;
+    }
+
+    @Override
+    public void handleEvent(AippNodeEnd event) {
+        this.metricsRecordService.recordNodeDuration(event.getAppId(), event.getNodeType(), event.getDurationMillis());
+        if (event.getFirstTokenMillis() >= 0) {
+            this.metricsRecordService.recordFirstTokenLatency(event.getAppId(), event.getFirstTokenMillis());
+        }
+        if (event.getTokensPerSecond() >= 0) {
+            this.metricsRecordService.recordTokenRate(event.getAppId(), event.getTokensPerSecond());
+        }
+    }
+}
@@ -31,4 +31,29 @@ public interface MetricsRecordService {
      * @param userTags 表示用户自定义标签的 {@link Map}{@code <}{@link String}{@code ,}{@link String}{@code >}。
      */
     void recordMetrics(AippFlowData aippFlowData, Map<String, String> userTags);
-}
\ No newline at end of file
+
+    /**
+     * 上报大模型节点的首字时延。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param latencyMillis 表示首字时延（毫秒）的 {@code long}。
+     */
+    void recordFirstTokenLatency(String appId, long latencyMillis);
+
+    /**
+     * 上报大模型节点的输出速率。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param tokensPerSecond 表示每秒输出片段数的 {@code long}。
+     */
+    void recordTokenRate(String appId, long tokensPerSecond);
+
+    /**
+     * 上报流程节点的耗时。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param nodeType 表示节点类型的 {@link String}。
+     * @param durationMillis 表示节点耗时（毫秒）的 {@code long}。
+     */
+    void recordNodeDuration(String appId, String nodeType, long durationMillis);
+}
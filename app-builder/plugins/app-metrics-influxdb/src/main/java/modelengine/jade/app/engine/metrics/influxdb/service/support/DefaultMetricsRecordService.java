@@ -8,9 +8,8 @@ package modelengine.jade.app.engine.metrics.influxdb.service.support;
 
 import static modelengine.fitframework.inspection.Validation.notNull;
 
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.sdk.metrics.Aggregation;
 import io.opentelemetry.sdk.metrics.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.InstrumentType;
@@ -26,7 +25,9 @@ import modelengine.jade.app.engine.metrics.influxdb.service.MetricsRecordService
 import modelengine.jade.app.engine.metrics.influxdb.utils.MetaUtils;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -42,9 +43,35 @@ public class DefaultMetricsRecordService implements MetricsRecordService {
      */
     private static final int INTERVAL = 30;
 
-    private final LongHistogram histogram;
+    /**
+     * 请求耗时的指标名称。
+     */
+    public static final String REQUEST_METRIC = "request";
+
+    /**
+     * 首字时延的指标名称。
+     */
+    public static final String FIRST_TOKEN_METRIC = "first_token_latency";
+
+    /**
+     * 输出速率的指标名称。
+     */
+    public static final String TOKEN_RATE_METRIC = "token_rate";
 
+    /**
+     * 节点耗时的指标名称。
+     */
+    public static final String NODE_DURATION_METRIC = "node_duration";
+
+    private static final String NODE_TYPE = "node_type";
+
+    private final LongHistogram histogram;
+    private final LongHistogram firstTokenHistogram;
+    private final LongHistogram tokenRateHistogram;
+    private final LongHistogram nodeDurationHistogram;
     private final MetaService metaService;
+    private final MetricsAttributesLimiter attributesLimiter;
+    private final Map<String, CachedAippId> aippIdCache = new ConcurrentHashMap<>();
 
     /**
      * 指标数据上报服务构造方法。
@@ -54,16 +81,23 @@ public class DefaultMetricsRecordService implements MetricsRecordService {
      */
     public DefaultMetricsRecordService(MetricExporter exporter, MetaService metaService) {
         this.metaService = metaService;
+        this.attributesLimiter = new MetricsAttributesLimiter(RecordConfig.MAX_ATTRIBUTE_SETS,
+                RecordConfig.MAX_USER_TAGS, RecordConfig.MAX_ATTRIBUTE_VALUE_LENGTH,
+                TimeUnit.SECONDS.toMillis(INTERVAL));
         SdkMeterProvider meterProvider = SdkMeterProvider.builder()
                 .registerMetricReader(PeriodicMetricReader.builder(exporter)
                         .setInterval(INTERVAL, TimeUnit.SECONDS)
                         .build())
-                .registerView(InstrumentSelector.builder().setType(InstrumentType.HISTOGRAM).build(),
-                        View.builder()
-                                .setAggregation(Aggregation.explicitBucketHistogram(RecordConfig.EXPLICIT_BUCKETS))
-                                .build())
+                .registerView(histogramSelector(REQUEST_METRIC), bucketView(RecordConfig.EXPLICIT_BUCKETS))
+                .registerView(histogramSelector(FIRST_TOKEN_METRIC), bucketView(RecordConfig.FIRST_TOKEN_BUCKETS))
+                .registerView(histogramSelector(TOKEN_RATE_METRIC), bucketView(RecordConfig.TOKEN_RATE_BUCKETS))
+                .registerView(histogramSelector(NODE_DURATION_METRIC), bucketView(RecordConfig.EXPLICIT_BUCKETS))
                 .build();
-        this.histogram = meterProvider.get("app-engine").histogramBuilder("request").ofLongs().build();
+        Meter meter = meterProvider.get("app-engine");
+        this.histogram = meter.histogramBuilder(REQUEST_METRIC).ofLongs().build();
+        this.firstTokenHistogram = meter.histogramBuilder(FIRST_TOKEN_METRIC).ofLongs().build();
+        this.tokenRateHistogram = meter.histogramBuilder(TOKEN_RATE_METRIC).ofLongs().build();
+        this.nodeDurationHistogram = meter.histogramBuilder(NODE_DURATION_METRIC).ofLongs().build();
     }
 
     @Override
@@ -74,22 +108,64 @@ public class DefaultMetricsRecordService implements MetricsRecordService {
     @Override
     public void recordMetrics(AippFlowData aippFlowData, Map<String, String> userTags) {
         notNull(aippFlowData, "The input aippFlowData cannot be null.");
-        String aippId = MetaUtils.getAippIdByAppId(this.metaService, aippFlowData.getAppId());
-        AttributesBuilder builder = Attributes.builder()
-                .put("app_id", aippId)
-                .put("user_name", aippFlowData.getUsername());
-        this.addUserTags(builder, userTags);
+        String aippId = this.getAippId(aippFlowData.getAppId());
         long duration =
                 Duration.between(aippFlowData.getCreateTime(), aippFlowData.getFinishTime()).toMillis();
-        this.histogram.record(duration, builder.build());
+        this.histogram.record(duration, this.attributesLimiter.resolve(aippId, aippFlowData.getUsername(), userTags));
+    }
+
+    @Override
+    public void recordFirstTokenLatency(String appId, long latencyMillis) {
+        this.firstTokenHistogram.record(latencyMillis,
+                this.attributesLimiter.resolve(this.getAippId(appId), NODE_TYPE, "llm"));
     }
 
-    private void addUserTags(AttributesBuilder attributesBuilder, Map<String, String> userTags) {
-        if (userTags == null) {
-            return;
+    @Override
+    public void recordTokenRate(String appId, long tokensPerSecond) {
+        this.tokenRateHistogram.record(tokensPerSecond,
+                this.attributesLimiter.resolve(this.getAippId(appId), NODE_TYPE, "llm"));
+    }
+
+    @Override
+    public void recordNodeDuration(String appId, String nodeType, long durationMillis) {
+        this.nodeDurationHistogram.record(durationMillis,
+                this.attributesLimiter.resolve(this.getAippId(appId), NODE_TYPE, nodeType));
+    }
+
+    private String getAippId(String appId) {
+        if (appId == null) {
+            return MetaUtils.getAippIdByAppId(this.metaService, null);
+        }
+        long now = System.currentTimeMillis();
+        CachedAippId cached = this.aippIdCache.get(appId);
+        if (cached != null && cached.expireAt > now) {
+            return cached.aippId;
+        }
+        String aippId = MetaUtils.getAippIdByAppId(this.metaService, appId);
+        if (this.aippIdCache.size() >= RecordConfig.AIPP_ID_CACHE_SIZE) {
+            this.aippIdCache.values().removeIf(value -> value.expireAt <= now);
         }
-        for (Map.Entry<String, String> entry : userTags.entrySet()) {
-            attributesBuilder.put(entry.getKey(), entry.getValue());
+        if (this.aippIdCache.size() < RecordConfig.AIPP_ID_CACHE_SIZE) {
+            this.aippIdCache.put(appId, new CachedAippId(aippId, now + RecordConfig.AIPP_ID_CACHE_TTL));
+        }
+        return aippId;
+    }
+
+    private static InstrumentSelector histogramSelector(String name) {
+        return InstrumentSelector.builder().setType(InstrumentType.HISTOGRAM).setName(name).build();
+    }
+
+    private static View bucketView(List<Double> buckets) {
+        return View.builder().setAggregation(Aggregation.explicitBucketHistogram(buckets)).build();
+    }
+
+    private static class CachedAippId {
+        private final String aippId;
+        private final long expireAt;
+
+        CachedAippId(String aippId, long expireAt) {
+            this.aippId = aippId;
+            this.expireAt = expireAt;
         }
     }
-}
\ No newline at end of file
+}
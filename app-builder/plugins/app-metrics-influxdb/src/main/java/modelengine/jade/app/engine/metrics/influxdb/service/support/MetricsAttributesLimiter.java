@@ -0,0 +1,166 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.influxdb.service.support;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 指标属性的基数限制。
+ * <p>同一上报周期内相同的属性组合复用同一个 {@link Attributes} 对象；属性组合数量超过上限后，新的组合只保留应用唯一标识，
+ * 用户名记为 {@link #OVERFLOW_VALUE}。用户标签只保留按名称排序的前若干个，属性值超长时截断。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class MetricsAttributesLimiter {
+    /**
+     * 应用唯一标识的属性键。
+     */
+    public static final AttributeKey<String> APP_ID = AttributeKey.stringKey("app_id");
+
+    /**
+     * 用户名的属性键。
+     */
+    public static final AttributeKey<String> USER_NAME = AttributeKey.stringKey("user_name");
+
+    /**
+     * 溢出桶的属性值。
+     */
+    public static final String OVERFLOW_VALUE = "__overflow__";
+
+    private final int maxAttributeSets;
+    private final int maxUserTags;
+    private final int maxValueLength;
+    private final long windowMillis;
+    private final Map<String, Attributes> attributesSets = new ConcurrentHashMap<>();
+    private final Map<String, Attributes> overflowSets = new ConcurrentHashMap<>();
+    private volatile long windowStart = System.currentTimeMillis();
+
+    /**
+     * 指标属性基数限制的构造方法。
+     *
+     * @param maxAttributeSets 表示单个周期内属性组合数量上限的 {@code int}。
+     * @param maxUserTags 表示用户标签数量上限的 {@code int}。
+     * @param maxValueLength 表示属性值长度上限的 {@code int}。
+     * @param windowMillis 表示统计周期（毫秒）的 {@code long}，与指标上报周期一致。
+     */
+    public MetricsAttributesLimiter(int maxAttributeSets, int maxUserTags, int maxValueLength, long windowMillis) {
+        this.maxAttributeSets = maxAttributeSets;
+        this.maxUserTags = maxUserTags;
+        this.maxValueLength = maxValueLength;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * 获取应用与用户对应的指标属性。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param userName 表示用户名的 {@link String}。
+     * @param userTags 表示用户标签的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
+     * @return 表示指标属性的 {@link Attributes}。
+     */
+    public Attributes resolve(String appId, String userName, Map<String, String> userTags) {
+        this.rollWindow();
+        String app = this.limit(appId);
+        Map<String, String> tags = this.selectTags(userTags);
+        String key = tags.isEmpty() ? app + '\n' + userName : app + '\n' + userName + '\n' + tags;
+        Attributes attributes = this.attributesSets.get(key);
+        if (attributes != null) {
+            return attributes;
+        }
+        if (this.attributesSets.size() >= this.maxAttributeSets) {
+            return this.overflowSets.computeIfAbsent(String.valueOf(app),
+                    k -> Attributes.of(APP_ID, app, USER_NAME, OVERFLOW_VALUE));
+        }
+        return this.attributesSets.computeIfAbsent(key, k -> {
+            AttributesBuilder builder = Attributes.builder().put(APP_ID, app).put(USER_NAME, this.limit(userName));
+            tags.forEach(builder::put);
+            return builder.build();
+        });
+    }
+
+    /**
+     * 获取应用对应的指标属性，不区分用户。
+     *
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param name 表示附加属性名的 {@link String}。
+     * @param value 表示附加属性值的 {@link String}。
+     * @return 表示指标属性的 {@link Attributes}。
+     */
+    public Attributes resolve(String appId, String name, String value) {
+        this.rollWindow();
+        String app = this.limit(appId);
+        String limitedValue = this.limit(value);
+        String key = app + '\n' + name + '=' + limitedValue;
+        Attributes attributes = this.attributesSets.get(key);
+        if (attributes != null) {
+            return attributes;
+        }
+        if (this.attributesSets.size() >= this.maxAttributeSets) {
+            return this.overflowSets.computeIfAbsent(key, k -> Attributes.of(APP_ID, app,
+                    AttributeKey.stringKey(name), OVERFLOW_VALUE));
+        }
+        return this.attributesSets.computeIfAbsent(key,
+                k -> Attributes.of(APP_ID, app, AttributeKey.stringKey(name), limitedValue));
+    }
+
+    /**
+     * 获取当前周期内的属性组合数量。
+     *
+     * @return 表示属性组合数量的 {@code int}。
+     */
+    public int size() {
+        return this.attributesSets.size();
+    }
+
+    private void rollWindow() {
+        long now = System.currentTimeMillis();
+        if (now - this.windowStart < this.windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (now - this.windowStart >= this.windowMillis) {
+                this.attributesSets.clear();
+                this.overflowSets.clear();
+                this.windowStart = now;
+            }
+        }
+    }
+
+    private Map<String, String> selectTags(Map<String, String> userTags) {
+        if (userTags == null || userTags.isEmpty()) {
+            return Map.of();
+        }
+        TreeMap<String, String> tags = new TreeMap<>();
+        for (Map.Entry<String, String> entry : userTags.entrySet()) {
+            String name = entry.getKey();
+            if (StringUtils.isBlank(name) || entry.getValue() == null || name.equals(APP_ID.getKey())
+                    || name.equals(USER_NAME.getKey())) {
+                continue;
+            }
+            tags.put(name, this.limit(entry.getValue()));
+            if (tags.size() > this.maxUserTags) {
+                tags.pollLastEntry();
+            }
+        }
+        return tags;
+    }
+
+    private String limit(String value) {
+        if (value == null || value.length() <= this.maxValueLength) {
+            return value;
+        }
+        return value.substring(0, this.maxValueLength);
+    }
+}
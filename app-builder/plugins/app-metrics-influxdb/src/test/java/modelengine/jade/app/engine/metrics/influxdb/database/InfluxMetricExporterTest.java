@@ -8,6 +8,7 @@ package modelengine.jade.app.engine.metrics.influxdb.database;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +26,7 @@ import modelengine.fitframework.test.annotation.FitTestWithJunit;
 import modelengine.fitframework.test.annotation.Mock;
 
 import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBException;
 import org.influxdb.dto.BatchPoints;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -93,4 +95,30 @@ class InfluxMetricExporterTest {
 
         verify(influxDB, times(1)).write(any(BatchPoints.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("写入失败的数据应在下一次刷新时重试")
+    void shouldRetryPendingPointsWhenWriteFailed() {
+        doThrow(new InfluxDBException("unavailable")).doNothing().when(influxDB).write(any(BatchPoints.class));
+
+        histogram.record(2000);
+        meterProvider.forceFlush();
+        exporter.flush();
+        exporter.flush();
+
+        verify(influxDB, times(2)).write(any(BatchPoints.class));
+    }
+
+    @Test
+    @DisplayName("无法重试的写入失败应丢弃该批数据，不在下一次刷新时重试")
+    void shouldDropPendingPointsWhenWriteFailedWithoutRetry() {
+        doThrow(InfluxDBException.buildExceptionForErrorState("field type conflict")).when(influxDB)
+                .write(any(BatchPoints.class));
+
+        histogram.record(2000);
+        meterProvider.forceFlush();
+        exporter.flush();
+
+        verify(influxDB, times(1)).write(any(BatchPoints.class));
+    }
+}
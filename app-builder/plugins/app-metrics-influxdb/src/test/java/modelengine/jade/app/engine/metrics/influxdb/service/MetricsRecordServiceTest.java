@@ -13,6 +13,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.jane.common.entity.OperationContext;
@@ -87,6 +88,21 @@ public class MetricsRecordServiceTest {
         assertThat(exception).isNull();
     }
 
+    @Test
+    @DisplayName("重复上报同一应用的数据时不应重复查询 aippId")
+    void shouldQueryAippIdOnceWhenRecordSameAppRepeatedly() {
+        metricsRecordService.recordMetrics(getRecord());
+        int invocations = mockingDetails(metaService).getInvocations().size();
+        for (int i = 0; i < 10; i++) {
+            metricsRecordService.recordMetrics(getRecord(), getUserTags());
+            metricsRecordService.recordNodeDuration("test_app", "llm", 100L);
+            metricsRecordService.recordFirstTokenLatency("test_app", 50L);
+            metricsRecordService.recordTokenRate("test_app", 30L);
+        }
+
+        assertThat(mockingDetails(metaService).getInvocations()).hasSize(invocations);
+    }
+
     private AippFlowData getRecord() {
         return AippFlowData.builder()
                 .appId("test_app")
@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.influxdb.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@link MetricsAttributesLimiter} 的测试。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@DisplayName("测试指标属性的基数限制")
+class MetricsAttributesLimiterTest {
+    @Test
+    @DisplayName("相同的属性组合应复用同一个属性对象")
+    void shouldReuseAttributesForSameKey() {
+        MetricsAttributesLimiter limiter = new MetricsAttributesLimiter(10, 4, 64, 60000L);
+        Attributes first = limiter.resolve("app", "user", Map.of("tag", "value"));
+        Attributes second = limiter.resolve("app", "user", new HashMap<>(Map.of("tag", "value")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.get(AttributeKey.stringKey("tag"))).isEqualTo("value");
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("属性组合超过上限后应归入溢出桶")
+    void shouldOverflowWhenExceedMaxAttributeSets() {
+        MetricsAttributesLimiter limiter = new MetricsAttributesLimiter(2, 4, 64, 60000L);
+        limiter.resolve("app", "user1", null);
+        limiter.resolve("app", "user2", null);
+        Attributes overflow = limiter.resolve("app", "user3", Map.of("tag", "value"));
+
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(overflow.get(MetricsAttributesLimiter.APP_ID)).isEqualTo("app");
+        assertThat(overflow.get(MetricsAttributesLimiter.USER_NAME)).isEqualTo(MetricsAttributesLimiter.OVERFLOW_VALUE);
+        assertThat(overflow.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("用户标签应限制数量与长度，且不能覆盖内置属性")
+    void shouldBoundUserTags() {
+        MetricsAttributesLimiter limiter = new MetricsAttributesLimiter(10, 2, 3, 60000L);
+        Map<String, String> tags = new HashMap<>();
+        tags.put("c", "value");
+        tags.put("a", "value");
+        tags.put("b", "value");
+        tags.put("user_name", "fake");
+        tags.put("", "blank");
+        Attributes attributes = limiter.resolve("app", "user", tags);
+
+        assertThat(attributes.get(AttributeKey.stringKey("a"))).isEqualTo("val");
+        assertThat(attributes.get(AttributeKey.stringKey("b"))).isEqualTo("val");
+        assertThat(attributes.get(AttributeKey.stringKey("c"))).isNull();
+        assertThat(attributes.get(MetricsAttributesLimiter.USER_NAME)).isEqualTo("use");
+    }
+
+    @Test
+    @DisplayName("统计周期结束后应重新计数")
+    void shouldResetWhenWindowEnds() {
+        MetricsAttributesLimiter limiter = new MetricsAttributesLimiter(1, 4, 64, -1L);
+        limiter.resolve("app", "user1", null);
+        Attributes attributes = limiter.resolve("app", "user2", null);
+
+        assertThat(attributes.get(MetricsAttributesLimiter.USER_NAME)).isEqualTo("user2");
+    }
+
+    @Test
+    @DisplayName("重复上报时属性对象的数量不随上报次数增长")
+    void shouldKeepAttributesBoundedWhenRecordRepeatedly() {
+        MetricsAttributesLimiter limiter = new MetricsAttributesLimiter(100, 4, 64, 60000L);
+        Map<String, String> tags = Map.of("tag", "value");
+        Map<Attributes, Boolean> distinct = new IdentityHashMap<>();
+        int rounds = 100000;
+        for (int i = 0; i < rounds; i++) {
+            distinct.put(limiter.resolve("app", "user" + (i % 1000), tags), Boolean.TRUE);
+        }
+
+        assertThat(limiter.size()).isEqualTo(100);
+        assertThat(distinct.size()).isEqualTo(101);
+    }
+}
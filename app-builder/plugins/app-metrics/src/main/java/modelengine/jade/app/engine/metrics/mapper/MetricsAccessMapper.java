@@ -6,8 +6,6 @@
 
 package modelengine.jade.app.engine.metrics.mapper;
 
-import modelengine.jade.app.engine.metrics.po.MetricsAccessPo;
-
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -25,11 +23,13 @@ import java.util.Map;
 @Mapper
 public interface MetricsAccessMapper {
     /**
-     * insert to metrics_access in batch
+     * aggregate conversation_record by app in the database and insert to metrics_access
      *
-     * @param metricsAccessList metrics_access list
+     * @param startTime 统计的起始时间
+     * @param endTime 统计的结束时间，同时作为汇总数据的创建时间
      */
-    void insertMetricAccessBatch(@Param("metricsAccessList") List<MetricsAccessPo> metricsAccessList);
+    void insertMetricAccessFromRecords(@Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
 
     /**
      * get hourly data
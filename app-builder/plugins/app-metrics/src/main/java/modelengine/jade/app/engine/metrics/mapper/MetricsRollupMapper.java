@@ -0,0 +1,58 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.mapper;
+
+import modelengine.jade.app.engine.metrics.po.MetricsRollupPo;
+import modelengine.jade.app.engine.metrics.po.MetricsRollupRange;
+import modelengine.jade.app.engine.metrics.vo.UserAccessVo;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 对话指标汇总表的数据库操作。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Mapper
+public interface MetricsRollupMapper {
+    /**
+     * 将汇总增量累加到小时汇总表。
+     *
+     * @param rollup 表示汇总增量的 {@link MetricsRollupPo}。
+     */
+    void upsertHourly(@Param("rollup") MetricsRollupPo rollup);
+
+    /**
+     * 将汇总增量累加到天汇总表。
+     *
+     * @param rollup 表示汇总增量的 {@link MetricsRollupPo}。
+     */
+    void upsertDaily(@Param("rollup") MetricsRollupPo rollup);
+
+    /**
+     * 获取时间范围内的请求总数、活跃用户数、响应时间总和与响应时间区间分布。
+     *
+     * @param appIds 表示应用唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param range 表示汇总表查询范围的 {@link MetricsRollupRange}。
+     * @return 表示汇总结果的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    Map<String, Object> getSummary(@Param("appIds") List<String> appIds, @Param("range") MetricsRollupRange range);
+
+    /**
+     * 获取时间范围内访问次数最多的 5 个用户。
+     *
+     * @param appIds 表示应用唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param range 表示汇总表查询范围的 {@link MetricsRollupRange}。
+     * @return 表示用户访问次数的 {@link List}{@code <}{@link UserAccessVo}{@code >}。
+     */
+    List<UserAccessVo> getTopUsers(@Param("appIds") List<String> appIds, @Param("range") MetricsRollupRange range);
+}
@@ -0,0 +1,70 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.po;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 对话指标汇总的持久化对象，按应用、用户、时间桶（小时或天）汇总对话次数与响应时间分布。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+public class MetricsRollupPo {
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    private String appId;
+    private String createUser;
+    private LocalDateTime bucketTime;
+    private long requestCount;
+    private long responseCount;
+    private long responseMillis;
+    private long below500Count;
+    private long range500To1000Count;
+    private long range1000To2000Count;
+    private long above2000Count;
+
+    /**
+     * 将一条对话记录转换为指定时间桶上的汇总增量。
+     *
+     * @param record 表示对话记录的 {@link ConversationRecordPo}。
+     * @param unit 表示时间桶粒度的 {@link ChronoUnit}，取值为 {@link ChronoUnit#HOURS} 或 {@link ChronoUnit#DAYS}。
+     * @return 表示汇总增量的 {@link MetricsRollupPo}。
+     */
+    public static MetricsRollupPo of(ConversationRecordPo record, ChronoUnit unit) {
+        MetricsRollupPo rollup = new MetricsRollupPo();
+        rollup.setAppId(record.getAppId());
+        rollup.setCreateUser(record.getCreateUser() == null ? "" : record.getCreateUser());
+        rollup.setBucketTime(record.getCreateTime().truncatedTo(unit));
+        rollup.setRequestCount(1);
+        if (record.getFinishTime() == null) {
+            // 与原始统计口径保持一致，未结束的对话计入 2000ms 以上的区间。
+            rollup.setAbove2000Count(1);
+            return rollup;
+        }
+        double millis = Duration.between(record.getCreateTime(), record.getFinishTime()).toNanos() / NANOS_PER_MILLI;
+        rollup.setResponseCount(1);
+        rollup.setResponseMillis(Math.round(millis));
+        if (millis < 500) {
+            rollup.setBelow500Count(1);
+        } else if (millis <= 1000) {
+            rollup.setRange500To1000Count(1);
+        } else if (millis <= 2000) {
+            rollup.setRange1000To2000Count(1);
+        } else {
+            rollup.setAbove2000Count(1);
+        }
+        return rollup;
+    }
+}
@@ -0,0 +1,51 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.po;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 汇总表的查询范围，完整的天从天汇总表读取，首尾不足一天的部分从小时汇总表读取。
+ * <p>小时汇总表读取 [{@code hourlyStart}, {@code dailyStart}) 与 [{@code dailyEnd}, {@code end}] 之间的时间桶，
+ * 天汇总表读取 [{@code dailyStart}, {@code dailyEnd}) 之间的时间桶。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Data
+@AllArgsConstructor
+public class MetricsRollupRange {
+    private LocalDateTime hourlyStart;
+    private LocalDateTime dailyStart;
+    private LocalDateTime dailyEnd;
+    private LocalDateTime end;
+
+    /**
+     * 根据起止时间计算汇总表的查询范围。
+     *
+     * @param startTime 表示起始时间的 {@link LocalDateTime}。
+     * @param endTime 表示结束时间（包含）的 {@link LocalDateTime}。
+     * @return 表示汇总表查询范围的 {@link MetricsRollupRange}。
+     */
+    public static MetricsRollupRange of(LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime hourlyStart = startTime.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime dailyStart = startTime.truncatedTo(ChronoUnit.DAYS);
+        if (dailyStart.isBefore(startTime)) {
+            dailyStart = dailyStart.plusDays(1);
+        }
+        LocalDateTime dailyEnd = endTime.plusNanos(1).truncatedTo(ChronoUnit.DAYS);
+        if (!dailyStart.isBefore(dailyEnd)) {
+            dailyStart = hourlyStart;
+            dailyEnd = hourlyStart;
+        }
+        return new MetricsRollupRange(hourlyStart, dailyStart, dailyEnd, endTime);
+    }
+}
@@ -7,10 +7,15 @@
 package modelengine.jade.app.engine.metrics.service.impl;
 
 import modelengine.jade.app.engine.metrics.mapper.ConversationRecordMapper;
+import modelengine.jade.app.engine.metrics.mapper.MetricsRollupMapper;
 import modelengine.jade.app.engine.metrics.po.ConversationRecordPo;
+import modelengine.jade.app.engine.metrics.po.MetricsRollupPo;
 import modelengine.jade.app.engine.metrics.service.ConversationRecordService;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.log.Logger;
+
+import java.time.temporal.ChronoUnit;
 
 /**
  * 历史对话服务的实现类。
@@ -20,19 +25,35 @@ import modelengine.fitframework.annotation.Fit;
  */
 @Component
 public class ConversationRecordServiceImpl implements ConversationRecordService {
+    private static final Logger log = Logger.get(ConversationRecordServiceImpl.class);
+
     private final ConversationRecordMapper conversationRecordMapper;
+    private final MetricsRollupMapper metricsRollupMapper;
 
-    public ConversationRecordServiceImpl(@Fit ConversationRecordMapper conversationRecordMapper) {
+    public ConversationRecordServiceImpl(@Fit ConversationRecordMapper conversationRecordMapper,
+            @Fit MetricsRollupMapper metricsRollupMapper) {
         this.conversationRecordMapper = conversationRecordMapper;
+        this.metricsRollupMapper = metricsRollupMapper;
     }
 
     /**
-     * 插入一条对话记录。
+     * 插入一条对话记录，并将其累加到小时与天汇总表。
      *
      * @param conversationRecordPo 表示历史对话实体类的 {@link ConversationRecordPo}
      */
     @Override
     public void insertConversationRecord(ConversationRecordPo conversationRecordPo) {
         conversationRecordMapper.insertConversationRecord(conversationRecordPo);
+        if (conversationRecordPo.getAppId() == null || conversationRecordPo.getCreateTime() == null) {
+            return;
+        }
+        try {
+            this.metricsRollupMapper.upsertHourly(MetricsRollupPo.of(conversationRecordPo, ChronoUnit.HOURS));
+            this.metricsRollupMapper.upsertDaily(MetricsRollupPo.of(conversationRecordPo, ChronoUnit.DAYS));
+        } catch (RuntimeException ex) {
+            // 汇总数据只用于统计面板，更新失败不影响对话记录的写入。
+            log.warn("Failed to update metrics rollup. [appId={}, instanceId={}, error={}]",
+                    conversationRecordPo.getAppId(), conversationRecordPo.getInstanceId(), ex.getMessage());
+        }
     }
 }
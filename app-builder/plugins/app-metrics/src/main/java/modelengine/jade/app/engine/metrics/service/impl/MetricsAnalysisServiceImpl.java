@@ -9,23 +9,23 @@ package modelengine.jade.app.engine.metrics.service.impl;
 import modelengine.fit.jane.meta.multiversion.MetaService;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.schedule.annotation.Scheduled;
-import modelengine.jade.app.engine.metrics.mapper.ConversationRecordMapper;
 import modelengine.jade.app.engine.metrics.mapper.MetricsAccessMapper;
-import modelengine.jade.app.engine.metrics.po.ConversationRecordPo;
-import modelengine.jade.app.engine.metrics.po.MetricsAccessPo;
+import modelengine.jade.app.engine.metrics.mapper.MetricsRollupMapper;
+import modelengine.jade.app.engine.metrics.po.MetricsRollupRange;
 import modelengine.jade.app.engine.metrics.po.TimeType;
 import modelengine.jade.app.engine.metrics.service.MetricsAnalysisService;
 import modelengine.jade.app.engine.metrics.utils.MetaUtils;
 import modelengine.jade.app.engine.metrics.vo.MetricsAnalysisVo;
 import modelengine.jade.app.engine.metrics.vo.UserAccessVo;
 
-import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MetricServiceImpl类消息处理策略
@@ -35,8 +35,15 @@ import java.util.stream.Collectors;
  */
 @Component
 public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
+    private static final int MAX_CACHED_METRICS = 1000;
+
+    private final Map<String, CachedMetrics> metricsCache = new ConcurrentHashMap<>();
+
+    @Value("${metrics.dashboard.cache-ttl:30000}")
+    private long cacheTtl;
+
     @Fit
-    private ConversationRecordMapper conversationRecordMapper;
+    private MetricsRollupMapper metricsRollupMapper;
 
     @Fit
     private MetricsAccessMapper metricsAccessMapper;
@@ -52,19 +59,7 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
     public void collectAccessData() {
         LocalDateTime endTime = LocalDateTime.now();
         LocalDateTime startTime = endTime.minusHours(1);
-        List<ConversationRecordPo> metricMessages = conversationRecordMapper.getRecordByTime(startTime, endTime);
-        Map<String, Long> totalAccessByApp = metricMessages.stream()
-                .collect(Collectors.groupingBy(ConversationRecordPo::getAppId, Collectors.counting()));
-
-        List<MetricsAccessPo> metricsAccessList = totalAccessByApp.entrySet().stream().map(entry -> {
-            MetricsAccessPo metricAccess = new MetricsAccessPo();
-            metricAccess.setAppId(entry.getKey());
-            metricAccess.setTotalAccess(entry.getValue().intValue());
-            metricAccess.setCreateTime(endTime);
-            return metricAccess;
-        }).collect(Collectors.toList());
-
-        metricsAccessMapper.insertMetricAccessBatch(metricsAccessList);
+        metricsAccessMapper.insertMetricAccessFromRecords(startTime, endTime);
     }
 
     /**
@@ -77,7 +72,27 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
     @Override
     public MetricsAnalysisVo findMetricsData(String appId, TimeType timeType) {
         List<String> appIds = MetaUtils.getAllPublishedAppId(this.metaService, appId, null);
-        return this.getMetricsAnalysisVo(appIds, timeType);
+        String key = timeType + ":" + String.join(",", appIds.stream().sorted().toList());
+        long now = System.currentTimeMillis();
+        CachedMetrics cached = this.metricsCache.get(key);
+        if (cached != null && cached.expireAt > now) {
+            return cached.metrics;
+        }
+        MetricsAnalysisVo metrics = this.getMetricsAnalysisVo(appIds, timeType);
+        if (this.metricsCache.size() >= MAX_CACHED_METRICS) {
+            this.metricsCache.values().removeIf(value -> value.expireAt <= now);
+        }
+        if (this.metricsCache.size() < MAX_CACHED_METRICS) {
+            this.metricsCache.put(key, new CachedMetrics(metrics, now + this.cacheTtl));
+        }
+        return metrics;
+    }
+
+    /**
+     * 清空统计面板数据的缓存。
+     */
+    void clearMetricsCache() {
+        this.metricsCache.clear();
     }
 
     // 临时先通过迭代方式处理。待后续appId整改后，再做处理
@@ -85,16 +100,11 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime startTime = calculateStartTime(timeType, now);
         LocalDateTime endTime = calculateEndTime(timeType, now);
-        Map<String, Map<String, Object>> basicMetrics =
-                conversationRecordMapper.getBasicMetrics(appIds, startTime, endTime);
-        if (basicMetrics.containsKey("average_response_time")) {
-            Object averageResponseTime = basicMetrics.get("average_response_time").get("value");
-            if (averageResponseTime instanceof BigDecimal) {
-                basicMetrics.get("average_response_time").put("value", ((BigDecimal) averageResponseTime).longValue());
-            }
-        }
-        Map<String, Object> avgResponseRange = conversationRecordMapper.getAvgResponseRange(appIds, startTime, endTime);
-        List<UserAccessVo> topUsers = conversationRecordMapper.getTopUsers(appIds, startTime, endTime);
+        MetricsRollupRange range = MetricsRollupRange.of(startTime, endTime);
+        Map<String, Object> summary = this.metricsRollupMapper.getSummary(appIds, range);
+        Map<String, Map<String, Object>> basicMetrics = buildBasicMetrics(summary);
+        Map<String, Object> avgResponseRange = buildAvgResponseRange(summary);
+        List<UserAccessVo> topUsers = this.metricsRollupMapper.getTopUsers(appIds, range);
         List<Map<String, Object>> userAccessData = getUserAccessData(timeType, appIds, startTime, endTime);
 
         MetricsAnalysisVo metricsAnalysisVO = new MetricsAnalysisVo();
@@ -105,6 +115,44 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
         return metricsAnalysisVO;
     }
 
+    private static Map<String, Map<String, Object>> buildBasicMetrics(Map<String, Object> summary) {
+        long responseCount = getLong(summary, "response_count");
+        Long averageResponseTime = responseCount == 0 ? null : getLong(summary, "response_millis") / responseCount;
+        Map<String, Map<String, Object>> basicMetrics = new LinkedHashMap<>();
+        basicMetrics.put("total_requests", row("metric", "total_requests", "value",
+                getLong(summary, "total_requests")));
+        basicMetrics.put("total_active_users", row("metric", "total_active_users", "value",
+                getLong(summary, "total_active_users")));
+        basicMetrics.put("average_response_time", row("metric", "average_response_time", "value",
+                averageResponseTime));
+        return basicMetrics;
+    }
+
+    private static Map<String, Object> buildAvgResponseRange(Map<String, Object> summary) {
+        Map<String, Object> avgResponseRange = new LinkedHashMap<>();
+        avgResponseRange.put("below 500ms", row("range", "below 500ms", "count",
+                getLong(summary, "below_500_count")));
+        avgResponseRange.put("501-1000ms", row("range", "501-1000ms", "count",
+                getLong(summary, "range_500_1000_count")));
+        avgResponseRange.put("1001ms-2000ms", row("range", "1001ms-2000ms", "count",
+                getLong(summary, "range_1000_2000_count")));
+        avgResponseRange.put("above 2000ms", row("range", "above 2000ms", "count",
+                getLong(summary, "above_2000_count")));
+        return avgResponseRange;
+    }
+
+    private static Map<String, Object> row(String keyName, String key, String valueName, Object value) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(keyName, key);
+        row.put(valueName, value);
+        return row;
+    }
+
+    private static long getLong(Map<String, Object> summary, String key) {
+        Object value = summary == null ? null : summary.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
     private List<Map<String, Object>> getUserAccessData(TimeType timeType, List<String> appIds, LocalDateTime startTime,
             LocalDateTime endTime) {
         if (timeType == TimeType.TODAY || timeType == TimeType.YESTERDAY) {
@@ -160,4 +208,14 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
                 return now;
         }
     }
+
+    private static class CachedMetrics {
+        private final MetricsAnalysisVo metrics;
+        private final long expireAt;
+
+        CachedMetrics(MetricsAnalysisVo metrics, long expireAt) {
+            this.metrics = metrics;
+            this.expireAt = expireAt;
+        }
+    }
 }
@@ -18,4 +18,71 @@ create table if not exists metrics_access
     app_id       varchar(255),
     total_access bigint,
     create_time  timestamp
-);
\ No newline at end of file
+);
+create index if not exists idx_conversation_record_create_time on conversation_record (create_time);
+
+create table if not exists metrics_rollup_hourly
+(
+    app_id                  varchar(255) not null,
+    create_user             varchar(255) not null default '',
+    bucket_time             timestamp    not null,
+    request_count           bigint       not null default 0,
+    response_count          bigint       not null default 0,
+    response_millis         bigint       not null default 0,
+    below_500_count         bigint       not null default 0,
+    range_500_1000_count    bigint       not null default 0,
+    range_1000_2000_count   bigint       not null default 0,
+    above_2000_count        bigint       not null default 0,
+    primary key (app_id, bucket_time, create_user)
+);
+
+create table if not exists metrics_rollup_daily
+(
+    app_id                  varchar(255) not null,
+    create_user             varchar(255) not null default '',
+    bucket_time             timestamp    not null,
+    request_count           bigint       not null default 0,
+    response_count          bigint       not null default 0,
+    response_millis         bigint       not null default 0,
+    below_500_count         bigint       not null default 0,
+    range_500_1000_count    bigint       not null default 0,
+    range_1000_2000_count   bigint       not null default 0,
+    above_2000_count        bigint       not null default 0,
+    primary key (app_id, bucket_time, create_user)
+);
+
+-- 首次创建汇总表时，从历史对话记录回填汇总数据
+insert into metrics_rollup_hourly (app_id, create_user, bucket_time, request_count, response_count, response_millis,
+                                   below_500_count, range_500_1000_count, range_1000_2000_count, above_2000_count)
+select app_id,
+       coalesce(create_user, ''),
+       date_trunc('hour', create_time),
+       count(*),
+       count(finish_time),
+       coalesce(sum(round(extract(epoch from finish_time - create_time) * 1000)), 0),
+       count(*) filter (where extract(epoch from finish_time - create_time) * 1000 < 500),
+       count(*) filter (where extract(epoch from finish_time - create_time) * 1000 between 500 and 1000),
+       count(*) filter (where extract(epoch from finish_time - create_time) * 1000 > 1000
+           and extract(epoch from finish_time - create_time) * 1000 <= 2000),
+       count(*) filter (where finish_time is null or extract(epoch from finish_time - create_time) * 1000 > 2000)
+from conversation_record
+where app_id is not null
+  and create_time is not null
+  and not exists (select 1 from metrics_rollup_hourly)
+group by app_id, coalesce(create_user, ''), date_trunc('hour', create_time);
+
+insert into metrics_rollup_daily (app_id, create_user, bucket_time, request_count, response_count, response_millis,
+                                  below_500_count, range_500_1000_count, range_1000_2000_count, above_2000_count)
+select app_id,
+       create_user,
+       date_trunc('day', bucket_time),
+       sum(request_count),
+       sum(response_count),
+       sum(response_millis),
+       sum(below_500_count),
+       sum(range_500_1000_count),
+       sum(range_1000_2000_count),
+       sum(above_2000_count)
+from metrics_rollup_hourly
+where not exists (select 1 from metrics_rollup_daily)
+group by app_id, create_user, date_trunc('day', bucket_time);
@@ -0,0 +1,75 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.po;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * {@link MetricsRollupRange} 与 {@link MetricsRollupPo} 的测试。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class MetricsRollupRangeTest {
+    @Test
+    @DisplayName("测试完整的天从天汇总表读取，首尾不足一天的部分从小时汇总表读取")
+    void shouldSplitRangeIntoHoursAndDays() {
+        LocalDateTime start = LocalDateTime.of(2026, 9, 18, 10, 37);
+        LocalDateTime end = LocalDateTime.of(2026, 10, 18, 15, 5);
+
+        MetricsRollupRange range = MetricsRollupRange.of(start, end);
+
+        assertThat(range.getHourlyStart()).isEqualTo(LocalDateTime.of(2026, 9, 18, 10, 0));
+        assertThat(range.getDailyStart()).isEqualTo(LocalDateTime.of(2026, 9, 19, 0, 0));
+        assertThat(range.getDailyEnd()).isEqualTo(LocalDateTime.of(2026, 10, 18, 0, 0));
+        assertThat(range.getEnd()).isEqualTo(end);
+    }
+
+    @Test
+    @DisplayName("测试不足一天的范围只从小时汇总表读取，以天结尾的范围包含最后一天")
+    void shouldUseHoursOnlyWithinOneDay() {
+        LocalDateTime today = LocalDateTime.of(2026, 10, 18, 0, 0);
+        MetricsRollupRange todayRange = MetricsRollupRange.of(today, today.plusHours(15));
+        assertThat(todayRange.getDailyStart()).isEqualTo(todayRange.getDailyEnd());
+        assertThat(todayRange.getDailyStart()).isEqualTo(today);
+
+        LocalDateTime yesterday = today.minusDays(1);
+        MetricsRollupRange yesterdayRange = MetricsRollupRange.of(yesterday, today.minusNanos(1));
+        assertThat(yesterdayRange.getDailyStart()).isEqualTo(yesterday);
+        assertThat(yesterdayRange.getDailyEnd()).isEqualTo(today);
+    }
+
+    @Test
+    @DisplayName("测试对话记录按响应时间计入对应的区间")
+    void shouldClassifyResponseTime() {
+        LocalDateTime createTime = LocalDateTime.of(2026, 10, 18, 10, 37, 12);
+        MetricsRollupPo fast = MetricsRollupPo.of(record(createTime, createTime.plusNanos(499_000_000L)),
+                ChronoUnit.HOURS);
+        MetricsRollupPo boundary = MetricsRollupPo.of(record(createTime, createTime.plusSeconds(1)),
+                ChronoUnit.DAYS);
+        MetricsRollupPo unfinished = MetricsRollupPo.of(record(createTime, null), ChronoUnit.HOURS);
+
+        assertThat(fast.getBucketTime()).isEqualTo(LocalDateTime.of(2026, 10, 18, 10, 0));
+        assertThat(fast.getBelow500Count()).isEqualTo(1L);
+        assertThat(fast.getResponseMillis()).isEqualTo(499L);
+        assertThat(boundary.getBucketTime()).isEqualTo(LocalDateTime.of(2026, 10, 18, 0, 0));
+        assertThat(boundary.getRange500To1000Count()).isEqualTo(1L);
+        assertThat(unfinished.getResponseCount()).isEqualTo(0L);
+        assertThat(unfinished.getAbove2000Count()).isEqualTo(1L);
+        assertThat(unfinished.getCreateUser()).isEmpty();
+    }
+
+    private static ConversationRecordPo record(LocalDateTime createTime, LocalDateTime finishTime) {
+        return ConversationRecordPo.builder().appId("app").createTime(createTime).finishTime(finishTime).build();
+    }
+}
@@ -6,6 +6,7 @@
 
 package modelengine.jade.app.engine.metrics.service.impl;
 
+import static modelengine.fitframework.util.ObjectUtils.cast;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -13,6 +14,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,9 +26,9 @@ import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.test.annotation.FitTestWithJunit;
 import modelengine.fitframework.test.annotation.Mock;
 import modelengine.fitframework.util.MapBuilder;
-import modelengine.jade.app.engine.metrics.mapper.ConversationRecordMapper;
 import modelengine.jade.app.engine.metrics.mapper.MetricsAccessMapper;
-import modelengine.jade.app.engine.metrics.po.ConversationRecordPo;
+import modelengine.jade.app.engine.metrics.mapper.MetricsRollupMapper;
+import modelengine.jade.app.engine.metrics.po.MetricsRollupRange;
 import modelengine.jade.app.engine.metrics.po.TimeType;
 import modelengine.jade.app.engine.metrics.vo.MetricsAnalysisVo;
 
@@ -41,11 +43,9 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -58,7 +58,7 @@ import java.util.stream.Stream;
 @FitTestWithJunit(includeClasses = MetricsAnalysisServiceImpl.class)
 class MetricsAnalysisServiceImplTest {
     @Mock
-    private ConversationRecordMapper conversationRecordMapper;
+    private MetricsRollupMapper metricsRollupMapper;
 
     @Mock
     private MetaService metaService;
@@ -78,20 +78,16 @@ class MetricsAnalysisServiceImplTest {
 
     @AfterEach
     void tearDown() {
-        clearInvocations(this.conversationRecordMapper, this.metricsAccessMapper, this.conversationRecordMapper);
+        clearInvocations(this.metricsRollupMapper, this.metricsAccessMapper, this.metaService);
+        this.metricsAnalysisServiceImpl.clearMetricsCache();
     }
 
     @Test
     void test_collectAccessData_should_void_when_test_data_combination() {
-        List<ConversationRecordPo> metricMessages = new ArrayList<>();
-        ConversationRecordPo conversationRecordPo = ConversationRecordPo.builder().id(1L).appId("id").build();
-        metricMessages.add(conversationRecordPo);
-        when(this.conversationRecordMapper.getRecordByTime(any(LocalDateTime.class),
-                any(LocalDateTime.class))).thenReturn(metricMessages);
-
         this.metricsAnalysisServiceImpl.collectAccessData();
 
-        verify(this.conversationRecordMapper).getRecordByTime(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(this.metricsAccessMapper).insertMetricAccessFromRecords(any(LocalDateTime.class),
+                any(LocalDateTime.class));
     }
 
     @ParameterizedTest
@@ -101,21 +97,10 @@ class MetricsAnalysisServiceImplTest {
         RangeResult rangeResult = new RangeResult(0, 0, 1);
         RangedResultSet set = new RangedResultSet(Collections.singletonList(meta), rangeResult);
         when(metaService.list(any(), anyBoolean(), anyLong(), anyInt(), any())).thenReturn(set);
-        Map<String, Map<String, Object>> basicMetrics = MapBuilder.<String, Map<String, Object>>get()
-                .put("average_response_time",
-                        MapBuilder.<String, Object>get().put("value", new BigDecimal(500.46)).build())
-                .build();
-        when(conversationRecordMapper.getBasicMetrics(any(), any(), any())).thenReturn(basicMetrics);
+        when(this.metricsRollupMapper.getSummary(any(), any())).thenReturn(this.buildSummary());
         this.metricsAnalysisServiceImpl.findMetricsData("id", type);
-        verify(this.conversationRecordMapper).getBasicMetrics(anyList(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class));
-        verify(this.conversationRecordMapper).getAvgResponseRange(anyList(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class));
-        verify(this.conversationRecordMapper).getTopUsers(anyList(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class));
+        verify(this.metricsRollupMapper).getSummary(anyList(), any(MetricsRollupRange.class));
+        verify(this.metricsRollupMapper).getTopUsers(anyList(), any(MetricsRollupRange.class));
         if (type == TimeType.TODAY || type == TimeType.YESTERDAY) {
             verify(this.metricsAccessMapper).getHourlyAccessData(anyList(),
                     any(LocalDateTime.class),
@@ -135,15 +120,56 @@ class MetricsAnalysisServiceImplTest {
         RangeResult rangeResult = new RangeResult(0, 0, 1);
         RangedResultSet set = new RangedResultSet(Collections.singletonList(meta), rangeResult);
         when(metaService.list(any(), anyBoolean(), anyLong(), anyInt(), any())).thenReturn(set);
-        Map<String, Map<String, Object>> basicMetrics = MapBuilder.<String, Map<String, Object>>get()
-                .put("average_response_time",
-                        MapBuilder.<String, Object>get().put("value", new BigDecimal(500.46)).build())
-                .build();
-        when(conversationRecordMapper.getBasicMetrics(any(), any(), any())).thenReturn(basicMetrics);
+        when(this.metricsRollupMapper.getSummary(any(), any())).thenReturn(this.buildSummary());
         MetricsAnalysisVo metricsAnalysisVo = this.metricsAnalysisServiceImpl.findMetricsData("id", type);
         assertThat(metricsAnalysisVo.getBasicMetrics().get("average_response_time").get("value")).isEqualTo(500L);
     }
 
+    @Test
+    @DisplayName("测试从汇总数据生成请求总数、活跃用户数与响应时间区间")
+    void test_findMetricsData_should_build_metrics_from_rollups() {
+        RangedResultSet set = new RangedResultSet(Collections.singletonList(this.buildMeta()),
+                new RangeResult(0, 0, 1));
+        when(metaService.list(any(), anyBoolean(), anyLong(), anyInt(), any())).thenReturn(set);
+        when(this.metricsRollupMapper.getSummary(any(), any())).thenReturn(this.buildSummary());
+
+        MetricsAnalysisVo metricsAnalysisVo = this.metricsAnalysisServiceImpl.findMetricsData("id", TimeType.TODAY);
+
+        assertThat(metricsAnalysisVo.getBasicMetrics().get("total_requests").get("value")).isEqualTo(3L);
+        assertThat(metricsAnalysisVo.getBasicMetrics().get("total_active_users").get("value")).isEqualTo(2L);
+        assertThat(metricsAnalysisVo.getAvgResponseRange()).containsOnlyKeys("below 500ms", "501-1000ms",
+                "1001ms-2000ms", "above 2000ms");
+        Map<String, Object> belowRange = cast(metricsAnalysisVo.getAvgResponseRange().get("below 500ms"));
+        assertThat(belowRange.get("count")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("测试缓存有效期内重复查询统计面板数据不会重复查询数据库")
+    void test_findMetricsData_should_use_cache() {
+        RangedResultSet set = new RangedResultSet(Collections.singletonList(this.buildMeta()),
+                new RangeResult(0, 0, 1));
+        when(metaService.list(any(), anyBoolean(), anyLong(), anyInt(), any())).thenReturn(set);
+        when(this.metricsRollupMapper.getSummary(any(), any())).thenReturn(this.buildSummary());
+
+        this.metricsAnalysisServiceImpl.findMetricsData("id", TimeType.LAST_30_DAYS);
+        this.metricsAnalysisServiceImpl.findMetricsData("id", TimeType.LAST_30_DAYS);
+
+        verify(this.metricsRollupMapper, times(1)).getSummary(anyList(), any(MetricsRollupRange.class));
+    }
+
+    Map<String, Object> buildSummary() {
+        return MapBuilder.<String, Object>get()
+                .put("total_requests", 3L)
+                .put("total_active_users", 2L)
+                .put("response_count", 2L)
+                .put("response_millis", new BigDecimal(1001))
+                .put("below_500_count", 1L)
+                .put("range_500_1000_count", 1L)
+                .put("range_1000_2000_count", 0L)
+                .put("above_2000_count", 1L)
+                .build();
+    }
+
     Meta buildMeta() {
         Meta meta = new Meta();
         meta.setId("appId1");
@@ -0,0 +1,58 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+package modelengine.jade.knowledge.cache;
+
+import modelengine.jade.knowledge.document.KnowledgeDocument;
+import modelengine.jade.knowledge.entity.RetrieverServiceOption;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 检索结果缓存。
+ * <p>缓存只在本节点内有效，知识库重新索引后需要通过 {@link modelengine.jade.knowledge.service.RetrievalCacheService}
+ * 使相关缓存失效，没有收到通知的节点在有效期内可能返回旧的检索结果。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public interface RetrievalCache {
+    /**
+     * 获取缓存的检索结果。
+     *
+     * @param query 表示检索语句的 {@link List}{@code <}{@link String}{@code >}。
+     * @param repoIds 表示知识库唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param option 表示检索配置的 {@link RetrieverServiceOption}。
+     * @return 表示检索结果的 {@link Optional}{@code <}{@link List}{@code <}{@link KnowledgeDocument}{@code >>}，
+     * 没有缓存时为空。
+     */
+    Optional<List<KnowledgeDocument>> get(List<String> query, List<String> repoIds, RetrieverServiceOption option);
+
+    /**
+     * 缓存检索结果，只应缓存所有检索都已完成的结果。
+     *
+     * @param query 表示检索语句的 {@link List}{@code <}{@link String}{@code >}。
+     * @param repoIds 表示知识库唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param option 表示检索配置的 {@link RetrieverServiceOption}。
+     * @param documents 表示检索结果的 {@link List}{@code <}{@link KnowledgeDocument}{@code >}。
+     */
+    void put(List<String> query, List<String> repoIds, RetrieverServiceOption option,
+            List<KnowledgeDocument> documents);
+
+    /**
+     * 获取缓存命中次数。
+     *
+     * @return 表示缓存命中次数的 {@code long}。
+     */
+    long hitCount();
+
+    /**
+     * 获取缓存未命中次数。
+     *
+     * @return 表示缓存未命中次数的 {@code long}。
+     */
+    long missCount();
+}
@@ -0,0 +1,178 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+package modelengine.jade.knowledge.cache.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Fitable;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.jade.knowledge.cache.RetrievalCache;
+import modelengine.jade.knowledge.document.KnowledgeDocument;
+import modelengine.jade.knowledge.entity.RetrieverServiceOption;
+import modelengine.jade.knowledge.service.RetrievalCacheService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 检索结果缓存的默认实现。
+ * <p>缓存键由规范化后的检索语句（去掉首尾空白、合并连续空白、转为小写）、排序后的知识库唯一标识及其版本、
+ * 检索配置组成。知识库重新索引后由知识库服务调用 {@link #invalidateRepo(String)} 使版本递增，旧版本的缓存不再命中，
+ * 由过期时间和容量上限淘汰。缓存容量按文档文本长度计算。</p>
+ * <p>版本只在收到调用的节点递增，且重新索引在外部知识库服务中进行，调用方接入之前只能依靠过期时间保证一致性，
+ * 因此缓存默认关闭，接入失效通知后通过 {@code knowledge.retrieval-cache.enabled} 开启。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class DefaultRetrievalCache implements RetrievalCache, RetrievalCacheService {
+    private static final Logger LOG = Logger.get(DefaultRetrievalCache.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int DOCUMENT_OVERHEAD = 64;
+    private static final long STATS_LOG_INTERVAL = 1000L;
+
+    private final boolean enabled;
+    private final Cache<String, List<KnowledgeDocument>> cache;
+    private final Map<String, AtomicLong> repoVersions = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * 使用缓存配置初始化 {@link DefaultRetrievalCache} 对象。
+     *
+     * @param enabled 表示是否启用缓存的 {@code boolean}。
+     * @param ttlSeconds 表示缓存有效期（秒）的 {@code long}。
+     * @param maxWeight 表示缓存文档文本总长度上限的 {@code long}。
+     */
+    public DefaultRetrievalCache(@Value("${knowledge.retrieval-cache.enabled:false}") boolean enabled,
+            @Value("${knowledge.retrieval-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${knowledge.retrieval-cache.max-weight:16777216}") long maxWeight) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumWeight(maxWeight)
+                .weigher((String key, List<KnowledgeDocument> value) -> weigh(key, value))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<List<KnowledgeDocument>> get(List<String> query, List<String> repoIds,
+            RetrieverServiceOption option) {
+        if (!this.enabled) {
+            return Optional.empty();
+        }
+        List<KnowledgeDocument> documents = this.cache.getIfPresent(this.buildKey(query, repoIds, option));
+        this.logStats();
+        return Optional.ofNullable(documents).map(ArrayList::new);
+    }
+
+    @Override
+    public void put(List<String> query, List<String> repoIds, RetrieverServiceOption option,
+            List<KnowledgeDocument> documents) {
+        if (!this.enabled) {
+            return;
+        }
+        this.cache.put(this.buildKey(query, repoIds, option),
+                Collections.unmodifiableList(new ArrayList<>(documents)));
+    }
+
+    @Override
+    @Fitable("default")
+    public void invalidateRepo(String repoId) {
+        if (StringUtils.isBlank(repoId)) {
+            return;
+        }
+        this.repoVersions.computeIfAbsent(repoId, key -> new AtomicLong()).incrementAndGet();
+        LOG.info("Invalidate retrieval cache of knowledge repository. [repoId={}]", repoId);
+    }
+
+    @Override
+    public long hitCount() {
+        return this.cache.stats().hitCount();
+    }
+
+    @Override
+    public long missCount() {
+        return this.cache.stats().missCount();
+    }
+
+    private String buildKey(List<String> query, List<String> repoIds, RetrieverServiceOption option) {
+        StringBuilder key = new StringBuilder();
+        query.stream().map(DefaultRetrievalCache::normalize)
+                .forEach(item -> key.append(item.length()).append(':').append(item));
+        key.append('\n');
+        repoIds.stream().sorted().forEach(repoId -> key.append(repoId)
+                .append('#')
+                .append(ObjectUtils.mapIfNotNull(this.repoVersions.get(repoId), AtomicLong::get))
+                .append(','));
+        key.append('\n')
+                .append(option.getKnowledgeConfigId())
+                .append('|')
+                .append(option.getGroupId())
+                .append('|')
+                .append(option.getIndexType() == null ? null : option.getIndexType().type())
+                .append('|')
+                .append(option.getSimilarityThreshold())
+                .append('|')
+                .append(option.getReferenceLimit() == null ? null : option.getReferenceLimit().type())
+                .append(':')
+                .append(option.getReferenceLimit() == null ? null : option.getReferenceLimit().value())
+                .append('|')
+                .append(rerankKey(option.getRerankParam()));
+        return key.toString();
+    }
+
+    private static String rerankKey(RetrieverServiceOption.RerankParam rerankParam) {
+        if (rerankParam == null || !rerankParam.isEnableRerank()) {
+            return "none";
+        }
+        RetrieverServiceOption.ModelAccessInfo accessInfo = rerankParam.getAccessInfo();
+        return StringUtils.format("{0}:{1}:{2}",
+                accessInfo == null ? null : accessInfo.getServiceName(),
+                accessInfo == null ? null : accessInfo.getTag(),
+                rerankParam.getTopN());
+    }
+
+    private static String normalize(String query) {
+        return WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int weigh(String key, List<KnowledgeDocument> documents) {
+        long weight = key.length();
+        for (KnowledgeDocument document : documents) {
+            weight += DOCUMENT_OVERHEAD + (document.text() == null ? 0 : document.text().length());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private void logStats() {
+        if (this.requests.incrementAndGet() % STATS_LOG_INTERVAL != 0) {
+            return;
+        }
+        CacheStats stats = this.cache.stats();
+        LOG.info("Retrieval cache stats. [hit={}, miss={}, hitRate={}, evicted={}, size={}]",
+                stats.hitCount(),
+                stats.missCount(),
+                String.format(Locale.ROOT, "%.2f", stats.hitRate()),
+                stats.evictionCount(),
+                this.cache.estimatedSize());
+    }
+}
@@ -8,6 +8,7 @@ package modelengine.jade.knowledge.retriever;
 
 import modelengine.jade.knowledge.KnowledgeOption;
 import modelengine.jade.knowledge.KnowledgeRepoService;
+import modelengine.jade.knowledge.ReferenceLimit;
 import modelengine.jade.knowledge.document.KnowledgeDocument;
 import modelengine.jade.knowledge.entity.RetrieverOption;
 import modelengine.jade.knowledge.enums.IndexType;
@@ -46,12 +47,35 @@ public class KnowledgeDocumentRetriever implements Retriever<String, MeasurableD
 
     @Override
     public List<MeasurableDocument> retrieve(String query) {
+        return this.retrieve(query, this.option.getRepoIds());
+    }
+
+    /**
+     * 在指定的知识库中检索，检索结果作为一组独立排序的文档返回。
+     *
+     * @param query 表示检索内容的 {@link String}。
+     * @param repoIds 表示知识库唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示检索结果的 {@link List}{@code <}{@link MeasurableDocument}{@code >}。
+     */
+    public List<MeasurableDocument> retrieve(String query, List<String> repoIds) {
+        return this.retrieve(query, repoIds, this.option.getReferenceLimit());
+    }
+
+    /**
+     * 使用指定的引用上限在指定的知识库中检索，检索结果作为一组独立排序的文档返回。
+     *
+     * @param query 表示检索内容的 {@link String}。
+     * @param repoIds 表示知识库唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param referenceLimit 表示引用上限的 {@link ReferenceLimit}。
+     * @return 表示检索结果的 {@link List}{@code <}{@link MeasurableDocument}{@code >}。
+     */
+    public List<MeasurableDocument> retrieve(String query, List<String> repoIds, ReferenceLimit referenceLimit) {
         Validation.notNull(query, "The query cannot be null.");
         KnowledgeOption knowledgeOption = KnowledgeOption.custom()
                 .query(query)
                 .similarityThreshold(this.option.getSimilarityThreshold())
-                .repoIds(this.option.getRepoIds())
-                .referenceLimit(this.option.getReferenceLimit())
+                .repoIds(repoIds)
+                .referenceLimit(referenceLimit)
                 .indexType(IndexType.from(this.option.getIndexType().type()))
                 .build();
 
@@ -8,7 +8,6 @@ package modelengine.jade.knowledge.retriever;
 
 import modelengine.jade.knowledge.entity.RetrieverOption;
 
-import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fitframework.inspection.Nonnull;
 
 import java.util.List;
@@ -25,7 +24,7 @@ public interface RetrieverHandler {
      *
      * @param query 表示问题内容的 {@link List}{@code <}{@link String}{@code >}。
      * @param option 表示检索配置的 {@link RetrieverOption}。
-     * @return 表示文档内容的 {@link List}{@code <}{@link MeasurableDocument}{@code >}。
+     * @return 表示检索结果的 {@link RetrieverResult}。
      */
-    List<MeasurableDocument> handle(@Nonnull List<String> query, @Nonnull RetrieverOption option);
+    RetrieverResult handle(@Nonnull List<String> query, @Nonnull RetrieverOption option);
 }
@@ -0,0 +1,33 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.knowledge.retriever;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import modelengine.fel.core.document.MeasurableDocument;
+
+import java.util.List;
+
+/**
+ * 检索处理器的检索结果。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Data
+@AllArgsConstructor
+public class RetrieverResult {
+    /**
+     * 检索到的文档。
+     */
+    private List<MeasurableDocument> documents;
+
+    /**
+     * 是否所有检索都已完成，有检索超时或者失败时为 {@code false}。
+     */
+    private boolean complete;
+}
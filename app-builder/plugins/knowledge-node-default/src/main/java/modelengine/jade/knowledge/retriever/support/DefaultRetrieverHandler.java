@@ -6,42 +6,144 @@
 
 package modelengine.jade.knowledge.retriever.support;
 
+import modelengine.jade.knowledge.ReferenceLimit;
 import modelengine.jade.knowledge.entity.RetrieverOption;
+import modelengine.jade.knowledge.enums.ReferenceType;
 import modelengine.jade.knowledge.retriever.KnowledgeDocumentRetriever;
 import modelengine.jade.knowledge.retriever.RetrieverHandler;
+import modelengine.jade.knowledge.retriever.RetrieverResult;
 
 import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+import modelengine.fitframework.util.CollectionUtils;
 import modelengine.jade.knowledge.router.KnowledgeServiceRouter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * 检索处理器的默认实现。
+ * <p>每个检索语句在每个知识库上的检索并发执行，共用同一个截止时间。超时或者失败的检索被忽略，
+ * 只返回已经完成的部分并标记为不完整；全部失败时抛出第一个失败的异常。每个检索的结果作为一组独立排序的文档，
+ * 由后续的 RRF 后处理器融合。</p>
+ * <p>按知识库拆分检索时，每个知识库的条数上限不超过单库上限和总上限按知识库数量均分后的较大值，
+ * 避免每个知识库都按总上限召回。</p>
  *
  * @author 刘信宏
  * @since 2024-09-28
  */
 @Component
 public class DefaultRetrieverHandler implements RetrieverHandler {
+    private static final Logger LOG = Logger.get(DefaultRetrieverHandler.class);
+
     private final KnowledgeServiceRouter knowledgeServiceRouter;
+    private final long timeoutMillis;
+    private final int repoTopK;
+    private final ExecutorService executorService;
 
     /**
      * 使用知识库服务初始化 {@link DefaultRetrieverHandler} 对象。
      *
      * @param knowledgeServiceRouter 表示知识库服务路由处理类的 {@link KnowledgeServiceRouter}。
+     * @param threadPoolSize 表示并发检索线程数的 {@code int}。
+     * @param timeoutMillis 表示单次检索超时时间（毫秒）的 {@code long}。
+     * @param repoTopK 表示按知识库拆分检索时单个知识库召回条数上限的 {@code int}。
      */
-    public DefaultRetrieverHandler(KnowledgeServiceRouter knowledgeServiceRouter) {
+    public DefaultRetrieverHandler(KnowledgeServiceRouter knowledgeServiceRouter,
+            @Value("${knowledge.retriever.thread-pool-size:32}") int threadPoolSize,
+            @Value("${knowledge.retriever.timeout:10000}") long timeoutMillis,
+            @Value("${knowledge.retriever.repo-top-k:20}") int repoTopK) {
         this.knowledgeServiceRouter = knowledgeServiceRouter;
+        Validation.isTrue(timeoutMillis > 0, "The retriever timeout must be positive.");
+        Validation.isTrue(threadPoolSize > 0, "The retriever thread pool size must be positive.");
+        Validation.isTrue(repoTopK > 0, "The retriever repository top k must be positive.");
+        this.timeoutMillis = timeoutMillis;
+        this.repoTopK = repoTopK;
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadPoolSize,
+                threadPoolSize,
+                1L,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                new DefaultThreadFactory("knowledge-retriever", true, (thread, throwable) -> {
+                    LOG.error("[knowledge-retriever] Exception. [message={}]", throwable.getMessage());
+                    LOG.error("[knowledge-retriever] Details:", throwable);
+                }));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
     }
 
     @Override
-    public List<MeasurableDocument> handle(@Nonnull List<String> query, @Nonnull RetrieverOption option) {
+    public RetrieverResult handle(@Nonnull List<String> query, @Nonnull RetrieverOption option) {
         KnowledgeDocumentRetriever retriever = new KnowledgeDocumentRetriever(option, knowledgeServiceRouter);
-        return query.stream()
-                .flatMap(input -> retriever.retrieve(input).stream())
-                .collect(Collectors.toList());
+        List<List<String>> repoGroups = CollectionUtils.isEmpty(option.getRepoIds())
+                ? Collections.singletonList(option.getRepoIds())
+                : option.getRepoIds().stream().map(Collections::singletonList).collect(Collectors.toList());
+        if (query.size() * repoGroups.size() == 1) {
+            return new RetrieverResult(retriever.retrieve(query.get(0), repoGroups.get(0)), true);
+        }
+        ReferenceLimit referenceLimit = this.getRepoReferenceLimit(option.getReferenceLimit(), repoGroups.size());
+        List<Future<List<MeasurableDocument>>> futures = new ArrayList<>(query.size() * repoGroups.size());
+        for (String input : query) {
+            for (List<String> repoIds : repoGroups) {
+                futures.add(this.executorService.submit(() -> retriever.retrieve(input, repoIds, referenceLimit)));
+            }
+        }
+        return this.collect(futures);
+    }
+
+    private ReferenceLimit getRepoReferenceLimit(ReferenceLimit referenceLimit, int repoCount) {
+        if (referenceLimit == null || repoCount <= 1
+                || !ReferenceType.TOP_K.value().equals(referenceLimit.getType())) {
+            return referenceLimit;
+        }
+        int share = (referenceLimit.getValue() + repoCount - 1) / repoCount;
+        ReferenceLimit repoReferenceLimit = new ReferenceLimit();
+        repoReferenceLimit.setType(referenceLimit.getType());
+        repoReferenceLimit.setValue(Math.min(referenceLimit.getValue(), Math.max(this.repoTopK, share)));
+        return repoReferenceLimit;
+    }
+
+    private RetrieverResult collect(List<Future<List<MeasurableDocument>>> futures) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+        List<MeasurableDocument> documents = new ArrayList<>();
+        RuntimeException firstFailure = null;
+        int completed = 0;
+        for (Future<List<MeasurableDocument>> future : futures) {
+            try {
+                documents.addAll(future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                completed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(item -> item.cancel(true));
+                throw new IllegalStateException("The knowledge retrieval is interrupted.", e);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                LOG.warn("The knowledge retrieval timed out, ignore its result. [timeout={}ms]", this.timeoutMillis);
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new IllegalStateException(e.getCause());
+                firstFailure = firstFailure == null ? cause : firstFailure;
+                LOG.warn("The knowledge retrieval failed, ignore its result. [error={}]", cause.getMessage());
+            }
+        }
+        if (completed == 0 && firstFailure != null) {
+            throw firstFailure;
+        }
+        return new RetrieverResult(documents, completed == futures.size());
     }
 }
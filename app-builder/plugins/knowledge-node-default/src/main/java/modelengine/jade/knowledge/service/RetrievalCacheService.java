@@ -0,0 +1,24 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+package modelengine.jade.knowledge.service;
+
+import modelengine.fitframework.annotation.Genericable;
+
+/**
+ * 检索结果缓存服务。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public interface RetrievalCacheService {
+    /**
+     * 使知识库相关的检索结果缓存失效，知识库重新索引后由知识库服务调用。
+     *
+     * @param repoId 表示知识库唯一标识的 {@link String}。
+     */
+    @Genericable("modelengine.jade.knowledge.service.retrieval-cache.invalidate")
+    void invalidateRepo(String repoId);
+}
@@ -24,6 +24,7 @@ import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.knowledge.KnowledgeCenterService;
+import modelengine.jade.knowledge.cache.RetrievalCache;
 import modelengine.jade.knowledge.convertor.RetrieverOptionConvertor;
 import modelengine.jade.knowledge.document.KnowledgeDocument;
 import modelengine.jade.knowledge.entity.RetrieverOption;
@@ -31,11 +32,15 @@ import modelengine.jade.knowledge.entity.RetrieverServiceOption;
 import modelengine.jade.knowledge.postprocessor.FactoryOption;
 import modelengine.jade.knowledge.postprocessor.PostProcessorFactory;
 import modelengine.jade.knowledge.retriever.RetrieverHandler;
+import modelengine.jade.knowledge.retriever.RetrieverResult;
 import modelengine.jade.knowledge.service.KnowledgeRepoInfo;
 import modelengine.jade.knowledge.service.RetrieverService;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -46,11 +51,16 @@ import java.util.stream.Collectors;
  */
 @Component
 public class RetrieverServiceImpl implements RetrieverService {
+    private static final long API_KEY_CACHE_TTL = 60 * 1000L;
+    private static final int API_KEY_CACHE_SIZE = 1000;
+
     private final RetrieverHandler retrieverHandler;
     private final PostProcessorFactory postProcessorFactory;
     private final String baseRerankUri;
     private final KnowledgeCenterService knowledgeCenterService;
     private final AippModelCenter aippModelCenter;
+    private final RetrievalCache retrievalCache;
+    private final Map<String, CachedApiKey> apiKeyCache = new ConcurrentHashMap<>();
 
     /**
      * 使用检索处理器和文档后处理器初始化 {@link RetrieverServiceImpl} 对象。
@@ -60,15 +70,17 @@ public class RetrieverServiceImpl implements RetrieverService {
      * @param baseRerankUri 表示文档重排服务的资源标识符的 {@link String}。
      * @param knowledgeCenterService 表示知识库配置服务的 {@link KnowledgeCenterService}。
      * @param aippModelCenter 表示模型中心的 {@link AippModelCenter}。
+     * @param retrievalCache 表示检索结果缓存的 {@link RetrievalCache}。
      */
     public RetrieverServiceImpl(RetrieverHandler retrieverHandler, PostProcessorFactory postProcessorFactory,
             @Value("${openai-urls.internal}") String baseRerankUri, KnowledgeCenterService knowledgeCenterService,
-            AippModelCenter aippModelCenter) {
+            AippModelCenter aippModelCenter, RetrievalCache retrievalCache) {
         this.retrieverHandler = Validation.notNull(retrieverHandler, "The retriever handler cannot be null.");
         this.postProcessorFactory = Validation.notNull(postProcessorFactory, "The factory cannot be null.");
         this.baseRerankUri = Validation.notBlank(baseRerankUri, "The rerank uri cannot be blank.");
         this.knowledgeCenterService = knowledgeCenterService;
         this.aippModelCenter = aippModelCenter;
+        this.retrievalCache = Validation.notNull(retrievalCache, "The retrieval cache cannot be null.");
     }
 
     @Fitable("knowledge.service.invoke")
@@ -82,8 +94,22 @@ public class RetrieverServiceImpl implements RetrieverService {
         Validation.lessThanOrEquals(knowledgeRepos.size(), 5, "The knowledge repository cannot greater than 5.");
         this.retrieverServiceOptionValidation(option);
         List<String> normalizeQuery = this.normalizeQuery(query);
+        List<String> repoIds = knowledgeRepos.stream().map(KnowledgeRepoInfo::id).collect(Collectors.toList());
+        Optional<List<KnowledgeDocument>> cached = this.retrievalCache.get(normalizeQuery, repoIds, option);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         RetrieverOption retrieverOption = this.getRetrieverOption(knowledgeRepos, option);
-        List<MeasurableDocument> documents = this.retrieverHandler.handle(normalizeQuery, retrieverOption);
+        RetrieverResult result = this.retrieverHandler.handle(normalizeQuery, retrieverOption);
+        List<KnowledgeDocument> documents = this.postProcess(normalizeQuery, result.getDocuments(), option);
+        if (result.isComplete()) {
+            this.retrievalCache.put(normalizeQuery, repoIds, option, documents);
+        }
+        return documents;
+    }
+
+    private List<KnowledgeDocument> postProcess(List<String> normalizeQuery, List<MeasurableDocument> documents,
+            RetrieverServiceOption option) {
         FactoryOption factoryOption = this.buildFactoryOption(normalizeQuery, option.getRerankParam());
         List<DocumentPostProcessor> postProcessors = this.postProcessorFactory.create(factoryOption);
         for (DocumentPostProcessor postProcessor : postProcessors) {
@@ -99,12 +125,28 @@ public class RetrieverServiceImpl implements RetrieverService {
     }
 
     private RetrieverOption getRetrieverOption(List<KnowledgeRepoInfo> knowledgeRepos, RetrieverServiceOption option) {
-        String apiKey = this.knowledgeCenterService.getApiKey(option.getKnowledgeConfigId(), StringUtils.EMPTY);
+        String apiKey = this.getApiKey(ObjectUtils.nullIf(option.getKnowledgeConfigId(), StringUtils.EMPTY));
         RetrieverOption retrieverOption = RetrieverOptionConvertor.INSTANCE.fromRetrieverServiceOption(option, apiKey);
         retrieverOption.setRepoIds(knowledgeRepos.stream().map(KnowledgeRepoInfo::id).collect(Collectors.toList()));
         return retrieverOption;
     }
 
+    private String getApiKey(String knowledgeConfigId) {
+        long now = System.currentTimeMillis();
+        CachedApiKey cached = this.apiKeyCache.get(knowledgeConfigId);
+        if (cached != null && cached.expireAt > now) {
+            return cached.apiKey;
+        }
+        String apiKey = this.knowledgeCenterService.getApiKey(knowledgeConfigId, StringUtils.EMPTY);
+        if (this.apiKeyCache.size() >= API_KEY_CACHE_SIZE) {
+            this.apiKeyCache.values().removeIf(value -> value.expireAt <= now);
+        }
+        if (apiKey != null && this.apiKeyCache.size() < API_KEY_CACHE_SIZE) {
+            this.apiKeyCache.put(knowledgeConfigId, new CachedApiKey(apiKey, now + API_KEY_CACHE_TTL));
+        }
+        return apiKey;
+    }
+
     private void retrieverServiceOptionValidation(RetrieverServiceOption option) {
         Validation.notNull(option, "The retriever option cannot be null.");
         Validation.notNull(option.getRerankParam(), "The rerank parameter cannot be null.");
@@ -140,4 +182,14 @@ public class RetrieverServiceImpl implements RetrieverService {
                 .build();
         return new FactoryOption(true, rerankOption);
     }
+
+    private static class CachedApiKey {
+        private final String apiKey;
+        private final long expireAt;
+
+        CachedApiKey(String apiKey, long expireAt) {
+            this.apiKey = apiKey;
+            this.expireAt = expireAt;
+        }
+    }
 }
@@ -7,28 +7,38 @@
 package modelengine.jade.knowledge;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fitframework.broker.client.Invoker;
 import modelengine.jade.knowledge.document.KnowledgeDocument;
 import modelengine.jade.knowledge.entity.RetrieverOption;
+import modelengine.jade.knowledge.enums.ReferenceType;
 import modelengine.jade.knowledge.retriever.RetrieverHandler;
+import modelengine.jade.knowledge.retriever.RetrieverResult;
 import modelengine.jade.knowledge.retriever.support.DefaultRetrieverHandler;
 import modelengine.jade.knowledge.router.KnowledgeServiceRouter;
+import modelengine.jade.knowledge.support.FlatKnowledgeOption;
 import modelengine.jade.knowledge.util.RetrieverServiceUtils;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * {@link DefaultRetrieverHandler} 的测试。
@@ -50,7 +60,7 @@ public class RetrieverHandlerTest {
 
     @BeforeEach
     void setUp() {
-        handler = new DefaultRetrieverHandler(knowledgeServiceRouter);
+        handler = new DefaultRetrieverHandler(knowledgeServiceRouter, 8, 500L, 20);
         when(knowledgeServiceRouter.getInvoker(any(), anyString(), anyString())).thenReturn(invoker);
         when(invoker.invoke(anyString(), any()))
                 .thenReturn(Collections.singletonList(
@@ -61,16 +71,83 @@ public class RetrieverHandlerTest {
     void shouldOkWhenRetrieveWithSingleQuery() {
         RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
         retrieverOption.setGroupId("default");
-        List<MeasurableDocument> documents = this.handler.handle(Collections.singletonList("query"), retrieverOption);
-        assertThat(documents).hasSize(1).extracting(MeasurableDocument::text).containsExactly(DOCUMENT_TEXT_DUMMY);
+        RetrieverResult result = this.handler.handle(Collections.singletonList("query"), retrieverOption);
+        assertThat(result.getDocuments()).hasSize(1)
+                .extracting(MeasurableDocument::text)
+                .containsExactly(DOCUMENT_TEXT_DUMMY);
+        assertThat(result.isComplete()).isTrue();
     }
 
     @Test
     void shouldOkWhenRetrieveWithMultiQuery() {
         RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
         retrieverOption.setGroupId("default");
-        List<MeasurableDocument> documents = this.handler.handle(Arrays.asList("query0", "query1"), retrieverOption);
-        assertThat(documents).hasSize(2).extracting(MeasurableDocument::text)
+        RetrieverResult result = this.handler.handle(Arrays.asList("query0", "query1"), retrieverOption);
+        assertThat(result.getDocuments()).hasSize(2).extracting(MeasurableDocument::text)
                 .containsExactly(DOCUMENT_TEXT_DUMMY, DOCUMENT_TEXT_DUMMY);
     }
+
+    @Test
+    void shouldRetrieveConcurrentlyWhenRetrieveWithMultiQueryAndRepo() {
+        when(invoker.invoke(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return Collections.singletonList(new KnowledgeDocument("id", DOCUMENT_TEXT_DUMMY, 0.5, null));
+        });
+        RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
+        retrieverOption.setGroupId("default");
+        retrieverOption.setRepoIds(Arrays.asList("repo0", "repo1", "repo2", "repo3"));
+        List<String> queries = IntStream.range(0, 2).mapToObj(i -> "query" + i).collect(Collectors.toList());
+
+        RetrieverResult result = this.handler.handle(queries, retrieverOption);
+
+        assertThat(result.getDocuments()).hasSize(8);
+        assertThat(result.isComplete()).isTrue();
+        verify(invoker, times(8)).invoke(anyString(), any());
+    }
+
+    @Test
+    void shouldCapRepoTopKWhenRetrieveGivenMultiRepo() {
+        RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
+        retrieverOption.setGroupId("default");
+        retrieverOption.setRepoIds(Arrays.asList("repo0", "repo1"));
+        retrieverOption.setReferenceLimit(new ReferenceLimit(ReferenceType.TOP_K, 100));
+
+        this.handler.handle(Collections.singletonList("query"), retrieverOption);
+
+        ArgumentCaptor<FlatKnowledgeOption> captor = ArgumentCaptor.forClass(FlatKnowledgeOption.class);
+        verify(invoker, times(2)).invoke(anyString(), captor.capture());
+        assertThat(captor.getAllValues()).extracting(option -> option.referenceLimit().value())
+                .containsExactly(50, 50);
+    }
+
+    @Test
+    void shouldReturnPartialResultWhenRetrieveGivenTimeout() {
+        AtomicInteger calls = new AtomicInteger();
+        when(invoker.invoke(anyString(), any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(5000);
+            }
+            return Collections.singletonList(new KnowledgeDocument("id", DOCUMENT_TEXT_DUMMY, 0.5, null));
+        });
+        RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
+        retrieverOption.setGroupId("default");
+        retrieverOption.setRepoIds(Arrays.asList("repo0", "repo1"));
+
+        RetrieverResult result = this.handler.handle(Arrays.asList("query0", "query1"), retrieverOption);
+
+        assertThat(result.getDocuments()).hasSize(3);
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    void shouldThrowWhenRetrieveGivenAllFailed() {
+        when(invoker.invoke(anyString(), any())).thenThrow(new IllegalStateException("repo unavailable"));
+        RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
+        retrieverOption.setGroupId("default");
+        retrieverOption.setRepoIds(Arrays.asList("repo0", "repo1"));
+
+        assertThatThrownBy(() -> this.handler.handle(Collections.singletonList("query"), retrieverOption))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("repo unavailable");
+    }
 }
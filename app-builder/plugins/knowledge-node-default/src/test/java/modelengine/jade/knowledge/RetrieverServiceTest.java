@@ -13,6 +13,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +25,7 @@ import modelengine.fitframework.broker.client.Invoker;
 import modelengine.fitframework.test.annotation.FitTestWithJunit;
 import modelengine.fitframework.test.annotation.Mock;
 import modelengine.jade.common.exception.ModelEngineException;
+import modelengine.jade.knowledge.cache.RetrievalCache;
 import modelengine.jade.knowledge.document.KnowledgeDocument;
 import modelengine.jade.knowledge.entity.RetrieverOption;
 import modelengine.jade.knowledge.entity.RetrieverServiceOption;
@@ -31,6 +33,7 @@ import modelengine.jade.knowledge.enums.ReferenceType;
 import modelengine.jade.knowledge.postprocessor.FactoryOption;
 import modelengine.jade.knowledge.postprocessor.PostProcessorFactory;
 import modelengine.jade.knowledge.retriever.RetrieverHandler;
+import modelengine.jade.knowledge.retriever.RetrieverResult;
 import modelengine.jade.knowledge.router.KnowledgeServiceRouter;
 import modelengine.jade.knowledge.service.KnowledgeRepoInfo;
 import modelengine.jade.knowledge.service.RetrieverService;
@@ -44,6 +47,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * {@link RetrieverServiceImpl} 的测试。
@@ -69,20 +73,23 @@ public class RetrieverServiceTest {
     private AippModelCenter aippModelCenter;
     @Mock
     private Invoker invoker;
+    @Mock
+    private RetrievalCache retrievalCache;
 
     @BeforeEach
     void setUp() {
         KnowledgeDocument document = new KnowledgeDocument("id", DOCUMENT_TEXT_DUMMY, 0.5, null);
-        when(this.retrieverHandler.handle(anyList(),
-                any())).thenReturn(Collections.singletonList(new MeasurableDocument(document, document.score())));
+        when(this.retrieverHandler.handle(anyList(), any())).thenReturn(new RetrieverResult(Collections.singletonList(
+                new MeasurableDocument(document, document.score())), true));
 
         when(this.postProcessorFactory.create(any(FactoryOption.class))).thenReturn(Collections.singletonList(docs -> docs));
         when(this.knowledgeCenterService.getApiKey(any(), any())).thenReturn("");
+        when(this.retrievalCache.get(anyList(), anyList(), any())).thenReturn(Optional.empty());
     }
 
     @AfterEach
     void tearDown() {
-        clearInvocations(this.retrieverHandler, this.postProcessorFactory);
+        clearInvocations(this.retrieverHandler, this.postProcessorFactory, this.retrievalCache);
     }
 
     @Test
@@ -96,6 +103,32 @@ public class RetrieverServiceTest {
         assertThat(documents).hasSize(1).extracting(KnowledgeDocument::text).containsExactly(DOCUMENT_TEXT_DUMMY);
     }
 
+    @Test
+    void shouldCacheWhenRetrieveHandlerComplete() {
+        RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
+        retrieverOption.setReferenceLimit(new ReferenceLimit(ReferenceType.TOP_K, 3));
+        this.retrieverService.invoke("query", Collections.singletonList(new KnowledgeRepoInfo("repoId")),
+                retrieverOption);
+
+        verify(this.retrievalCache).put(anyList(), anyList(), any(), argThat(documents -> documents.size() == 1));
+    }
+
+    @Test
+    void shouldNotCacheWhenRetrieveHandlerIncomplete() {
+        KnowledgeDocument document = new KnowledgeDocument("id", DOCUMENT_TEXT_DUMMY, 0.5, null);
+        when(this.retrieverHandler.handle(anyList(), any())).thenReturn(new RetrieverResult(Collections.singletonList(
+                new MeasurableDocument(document, document.score())), false));
+
+        RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
+        retrieverOption.setReferenceLimit(new ReferenceLimit(ReferenceType.TOP_K, 3));
+        List<KnowledgeDocument> documents = this.retrieverService.invoke("query",
+                Collections.singletonList(new KnowledgeRepoInfo("repoId")),
+                retrieverOption);
+
+        assertThat(documents).hasSize(1);
+        verify(this.retrievalCache, never()).put(anyList(), anyList(), any(), anyList());
+    }
+
     @Test
     void shouldOkWhenRetrieveHandlerWithRerankParam() {
         RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
@@ -119,7 +152,8 @@ public class RetrieverServiceTest {
 
     @Test
     void shouldOkWhenRetrieveHandlerWithEmptyRsp() {
-        when(this.retrieverHandler.handle(anyList(), any())).thenReturn(Collections.emptyList());
+        when(this.retrieverHandler.handle(anyList(), any())).thenReturn(new RetrieverResult(Collections.emptyList(),
+                true));
 
         RetrieverOption retrieverOption = RetrieverServiceUtils.buildRetrieverOption();
         retrieverOption.setReferenceLimit(new ReferenceLimit(ReferenceType.TOP_K, 3));
@@ -0,0 +1,99 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.knowledge.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.jade.knowledge.ReferenceLimit;
+import modelengine.jade.knowledge.cache.support.DefaultRetrievalCache;
+import modelengine.jade.knowledge.document.KnowledgeDocument;
+import modelengine.jade.knowledge.entity.RetrieverServiceOption;
+import modelengine.jade.knowledge.enums.ReferenceType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link DefaultRetrievalCache} 的测试。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class DefaultRetrievalCacheTest {
+    private static final List<KnowledgeDocument> DOCUMENTS =
+            Collections.singletonList(new KnowledgeDocument("id", "text", 0.5, null));
+
+    private DefaultRetrievalCache cache;
+    private RetrieverServiceOption option;
+
+    @BeforeEach
+    void setUp() {
+        this.cache = new DefaultRetrievalCache(true, 300L, 1024L * 1024L);
+        this.option = new RetrieverServiceOption();
+        this.option.setReferenceLimit(new ReferenceLimit(ReferenceType.TOP_K, 3));
+        this.option.setKnowledgeConfigId("config");
+    }
+
+    @Test
+    void shouldHitWhenGetGivenSameQueryAndDifferentRepoOrder() {
+        this.cache.put(List.of("What is FIT?"), List.of("repo1", "repo2"), this.option, DOCUMENTS);
+        Optional<List<KnowledgeDocument>> documents =
+                this.cache.get(List.of("What is FIT?"), List.of("repo2", "repo1"), this.option);
+
+        assertThat(documents).hasValueSatisfying(value -> assertThat(value).hasSize(1));
+        assertThat(this.cache.hitCount()).isEqualTo(1);
+        assertThat(this.cache.missCount()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldHitWhenGetGivenDifferentCaseOrWhitespace() {
+        this.cache.put(List.of("What is FIT?"), List.of("repo1"), this.option, DOCUMENTS);
+
+        assertThat(this.cache.get(List.of("what is fit?"), List.of("repo1"), this.option)).isPresent();
+        assertThat(this.cache.get(List.of(" What is \tFIT? "), List.of("repo1"), this.option)).isPresent();
+        assertThat(this.cache.hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMissWhenGetGivenRepoInvalidated() {
+        this.cache.put(List.of("query"), List.of("repo1", "repo2"), this.option, DOCUMENTS);
+        this.cache.put(List.of("query"), List.of("repo2"), this.option, DOCUMENTS);
+        this.cache.invalidateRepo("repo1");
+
+        assertThat(this.cache.get(List.of("query"), List.of("repo1", "repo2"), this.option)).isEmpty();
+        assertThat(this.cache.get(List.of("query"), List.of("repo2"), this.option)).isPresent();
+    }
+
+    @Test
+    void shouldMissWhenGetGivenDifferentQuerySplit() {
+        this.cache.put(List.of("a\nb"), List.of("repo1"), this.option, DOCUMENTS);
+
+        assertThat(this.cache.get(List.of("a", "b"), List.of("repo1"), this.option)).isEmpty();
+    }
+
+    @Test
+    void shouldMissWhenGetGivenDifferentOption() {
+        this.cache.put(List.of("query"), List.of("repo1"), this.option, DOCUMENTS);
+        RetrieverServiceOption other = new RetrieverServiceOption();
+        other.setReferenceLimit(new ReferenceLimit(ReferenceType.TOP_K, 3));
+        other.setKnowledgeConfigId("other");
+
+        assertThat(this.cache.get(List.of("query"), List.of("repo1"), other)).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheWhenPutGivenDisabled() {
+        DefaultRetrievalCache disabled = new DefaultRetrievalCache(false, 300L, 1024L);
+        disabled.put(List.of("query"), List.of("repo1"), this.option, DOCUMENTS);
+
+        assertThat(disabled.get(List.of("query"), List.of("repo1"), this.option)).isEmpty();
+    }
+}
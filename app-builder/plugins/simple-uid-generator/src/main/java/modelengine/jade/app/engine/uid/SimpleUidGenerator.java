@@ -6,35 +6,74 @@
 
 package modelengine.jade.app.engine.uid;
 
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.isTrue;
 import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.jade.app.engine.uid.mapper.IdGeneratorMapper;
+import modelengine.jade.app.engine.uid.support.SegmentUidAllocator;
+import modelengine.jade.app.engine.uid.support.SequenceUidAllocator;
+import modelengine.jade.app.engine.uid.support.SnowflakeUidAllocator;
+import modelengine.jade.app.engine.uid.support.UidAllocator;
 
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fitable;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * 简单 UID 生成实现。
+ * <p>分配模式由 {@link UidGeneratorConfig} 决定，默认每个 ID 访问一次数据库序列。</p>
  *
  * @author 何嘉斌
  * @since 2024-07-29
  */
 @Component
 public class SimpleUidGenerator implements UidGenerator {
-    private final IdGeneratorMapper idGeneratorMapper;
+    private final UidAllocator allocator;
 
     /**
      * 表示简单 UID 生成器的构建器。
      *
      * @param idGeneratorMapper 表示 id 生成持久层接口。
+     * @param config 表示 UID 生成器配置的 {@link UidGeneratorConfig}。
      */
-    public SimpleUidGenerator(IdGeneratorMapper idGeneratorMapper) {
-        this.idGeneratorMapper = notNull(idGeneratorMapper, "The mapper cannot be null.");
+    public SimpleUidGenerator(IdGeneratorMapper idGeneratorMapper, UidGeneratorConfig config) {
+        notNull(idGeneratorMapper, "The mapper cannot be null.");
+        notNull(config, "The config cannot be null.");
+        this.allocator = createAllocator(idGeneratorMapper, config);
     }
 
     @Override
     @Fitable("simple")
     public long getUid() {
-        return this.idGeneratorMapper.getNextId();
+        return this.allocator.allocate(1)[0];
+    }
+
+    @Override
+    @Fitable("simple")
+    public List<Long> getUids(int count) {
+        greaterThan(count, 0, "The uid count must be positive.");
+        return Arrays.stream(this.allocator.allocate(count)).boxed().collect(Collectors.toList());
+    }
+
+    private static UidAllocator createAllocator(IdGeneratorMapper idGeneratorMapper, UidGeneratorConfig config) {
+        String mode = config.getMode().toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case UidGeneratorConfig.SEQUENCE_MODE:
+                return new SequenceUidAllocator(idGeneratorMapper);
+            case UidGeneratorConfig.SEGMENT_MODE:
+                return new SegmentUidAllocator(idGeneratorMapper, config.getSegmentStep(), config.getPrefetchRatio());
+            case UidGeneratorConfig.SNOWFLAKE_MODE:
+                isTrue(config.getWorkerId() >= 0,
+                        "The snowflake worker id must be configured. [key=uid.snowflake.worker-id]");
+                return new SnowflakeUidAllocator(config.getWorkerId());
+            default:
+                throw new IllegalArgumentException(StringUtils.format("Unsupported uid mode. [mode={0}]", mode));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid;
+
+import static modelengine.fitframework.inspection.Validation.between;
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notBlank;
+
+import lombok.Getter;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+
+/**
+ * UID 生成器的配置。
+ * <ul>
+ *     <li>{@code sequence}：每个 ID 从数据库序列获取一次，所有节点全局顺序递增，为默认模式；</li>
+ *     <li>{@code segment}：每个节点从数据库序列批量预留号段并双缓冲预取，只保证单节点内递增；</li>
+ *     <li>{@code snowflake}：按时间戳、机器 ID 和序号在本地生成，不访问数据库，只保证单节点内递增，
+ *     需要为每个节点显式配置集群内唯一的 {@code uid.snowflake.worker-id}。</li>
+ * </ul>
+ * <p>雪花模式生成的 UID 远大于数据库序列的当前值，从雪花模式切换回 {@code sequence} 或 {@code segment} 模式前，
+ * 需要先将数据库序列推进到已生成的最大 UID 之后，否则新的 UID 会小于已有的 UID，破坏递增顺序。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+@Getter
+public class UidGeneratorConfig {
+    /**
+     * 表示每个 ID 从数据库序列获取的模式。
+     */
+    public static final String SEQUENCE_MODE = "sequence";
+
+    /**
+     * 表示按号段预留 ID 的模式。
+     */
+    public static final String SEGMENT_MODE = "segment";
+
+    /**
+     * 表示本地雪花算法生成 ID 的模式。
+     */
+    public static final String SNOWFLAKE_MODE = "snowflake";
+
+    private final String mode;
+    private final int segmentStep;
+    private final double prefetchRatio;
+    private final long workerId;
+
+    /**
+     * 表示 {@link UidGeneratorConfig} 的构造方法。
+     *
+     * @param mode 表示分配模式的 {@link String}。
+     * @param segmentStep 表示每个号段 ID 数量的 {@code int}。
+     * @param prefetchRatio 表示当前号段消耗超过该比例时预取下一号段的 {@code double}。
+     * @param workerId 表示雪花算法机器 ID 的 {@code long}，未配置时为 {@code -1}。
+     */
+    public UidGeneratorConfig(@Value("${uid.mode:sequence}") String mode,
+            @Value("${uid.segment.step:1000}") int segmentStep,
+            @Value("${uid.segment.prefetch-ratio:0.1}") double prefetchRatio,
+            @Value("${uid.snowflake.worker-id:-1}") long workerId) {
+        this.mode = notBlank(mode, "The uid mode cannot be blank.");
+        this.segmentStep = greaterThan(segmentStep, 0, "The segment step must be positive.");
+        this.prefetchRatio = between(prefetchRatio, 0d, 1d, "The prefetch ratio must be between 0 and 1.");
+        this.workerId = workerId;
+    }
+}
@@ -7,6 +7,9 @@
 package modelengine.jade.app.engine.uid.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 表示版本生成器持久层接口。
@@ -22,4 +25,12 @@ public interface IdGeneratorMapper {
      * @return 表示生成序列号的 {@link Long}。
      */
     Long getNextId();
+
+    /**
+     * 一次分配多个序列号。
+     *
+     * @param count 表示分配数量的 {@code int}。
+     * @return 表示生成序列号列表的 {@link List}{@code <}{@link Long}{@code >}，按从小到大排列。
+     */
+    List<Long> getNextIds(@Param("count") int count);
 }
@@ -0,0 +1,105 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.log.Logger;
+import modelengine.jade.app.engine.uid.mapper.IdGeneratorMapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按号段分配的 {@link UidAllocator}。
+ * <p>每次从数据库序列预留一个号段，在内存中依次分配。当前号段消耗超过预取比例时，后台异步预留下一号段，
+ * 当前号段用完后直接切换，避免分配线程等待数据库。号段来自同一个数据库序列，因此与逐个获取的模式可以混用，
+ * 单节点内分配的 UID 递增，但不同节点之间不保证顺序。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class SegmentUidAllocator implements UidAllocator {
+    private static final Logger log = Logger.get(SegmentUidAllocator.class);
+    private static final long[] EMPTY_SEGMENT = new long[0];
+
+    private final IdGeneratorMapper idGeneratorMapper;
+    private final int step;
+    private final int prefetchPosition;
+    private final ExecutorService prefetcher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] current = EMPTY_SEGMENT;
+    private int cursor;
+    private CompletableFuture<long[]> next;
+
+    /**
+     * 使用 id 生成持久层接口、号段大小和预取比例初始化 {@link SegmentUidAllocator} 的新实例。
+     *
+     * @param idGeneratorMapper 表示 id 生成持久层接口的 {@link IdGeneratorMapper}。
+     * @param step 表示每个号段 UID 数量的 {@code int}。
+     * @param prefetchRatio 表示当前号段消耗超过该比例时预取下一号段的 {@code double}。
+     */
+    public SegmentUidAllocator(IdGeneratorMapper idGeneratorMapper, int step, double prefetchRatio) {
+        this.idGeneratorMapper = notNull(idGeneratorMapper, "The mapper cannot be null.");
+        this.step = greaterThan(step, 0, "The segment step must be positive.");
+        this.prefetchPosition = Math.min(step - 1, (int) (step * prefetchRatio));
+        this.prefetcher = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "uid-segment-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public long[] allocate(int count) {
+        greaterThan(count, 0, "The uid count must be positive.");
+        long[] result = new long[count];
+        int filled = 0;
+        this.lock.lock();
+        try {
+            while (filled < count) {
+                if (this.cursor >= this.current.length) {
+                    this.current = this.takeNextSegment();
+                    this.cursor = 0;
+                }
+                int size = Math.min(count - filled, this.current.length - this.cursor);
+                System.arraycopy(this.current, this.cursor, result, filled, size);
+                this.cursor += size;
+                filled += size;
+                if (this.next == null && this.cursor > this.prefetchPosition) {
+                    this.next = CompletableFuture.supplyAsync(this::loadSegment, this.prefetcher);
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return result;
+    }
+
+    private long[] takeNextSegment() {
+        CompletableFuture<long[]> pending = this.next;
+        this.next = null;
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                log.warn("Failed to prefetch uid segment, load it synchronously.", e.getCause());
+            }
+        }
+        return this.loadSegment();
+    }
+
+    private long[] loadSegment() {
+        return SequenceUidAllocator.toArray(this.idGeneratorMapper.getNextIds(this.step), this.step);
+    }
+}
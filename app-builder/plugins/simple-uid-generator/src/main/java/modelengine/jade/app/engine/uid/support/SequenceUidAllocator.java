@@ -0,0 +1,58 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.util.StringUtils;
+import modelengine.jade.app.engine.uid.mapper.IdGeneratorMapper;
+
+import java.util.List;
+
+/**
+ * 每次分配都访问数据库序列的 {@link UidAllocator}，所有节点分配的 UID 全局顺序递增。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class SequenceUidAllocator implements UidAllocator {
+    private final IdGeneratorMapper idGeneratorMapper;
+
+    /**
+     * 使用 id 生成持久层接口初始化 {@link SequenceUidAllocator} 的新实例。
+     *
+     * @param idGeneratorMapper 表示 id 生成持久层接口的 {@link IdGeneratorMapper}。
+     */
+    public SequenceUidAllocator(IdGeneratorMapper idGeneratorMapper) {
+        this.idGeneratorMapper = notNull(idGeneratorMapper, "The mapper cannot be null.");
+    }
+
+    @Override
+    public long[] allocate(int count) {
+        if (count == 1) {
+            return new long[] {this.idGeneratorMapper.getNextId()};
+        }
+        return toArray(this.idGeneratorMapper.getNextIds(count), count);
+    }
+
+    /**
+     * 将数据库返回的序列号列表转换为数组。
+     *
+     * @param ids 表示序列号列表的 {@link List}{@code <}{@link Long}{@code >}。
+     * @param count 表示期望数量的 {@code int}。
+     * @return 表示序列号数组的 {@code long[]}。
+     * @throws IllegalStateException 当返回的序列号数量与期望数量不一致时。
+     */
+    static long[] toArray(List<Long> ids, int count) {
+        if (ids == null || ids.size() != count) {
+            throw new IllegalStateException(StringUtils.format("Failed to allocate uid. [expected={0}, actual={1}]",
+                    count,
+                    ids == null ? 0 : ids.size()));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,104 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.isTrue;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 雪花算法的 {@link UidAllocator}，不访问数据库。
+ * <p>UID 由 41 位毫秒时间戳、10 位机器 ID 和 12 位毫秒内序号组成，每个节点每毫秒最多分配 4096 个。
+ * 机器 ID 需要在集群内唯一，由部署配置保证。时钟回拨不超过 5 毫秒时等待时钟追上，
+ * 否则拒绝分配。单节点内分配的 UID 递增，不同节点之间只按时间大致有序。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class SnowflakeUidAllocator implements UidAllocator {
+    /**
+     * 表示时间戳的起始时间 2024-01-01T00:00:00Z。
+     */
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int WORKER_ID_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_BACKWARD_MILLIS = 5L;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    /**
+     * 使用机器 ID 初始化 {@link SnowflakeUidAllocator} 的新实例。
+     *
+     * @param workerId 表示机器 ID 的 {@code long}，取值范围为 0 到 1023。
+     */
+    public SnowflakeUidAllocator(long workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    /**
+     * 使用机器 ID 和时钟初始化 {@link SnowflakeUidAllocator} 的新实例。
+     *
+     * @param workerId 表示机器 ID 的 {@code long}，取值范围为 0 到 1023。
+     * @param clock 表示返回当前毫秒时间戳的 {@link LongSupplier}。
+     */
+    SnowflakeUidAllocator(long workerId, LongSupplier clock) {
+        isTrue(workerId >= 0 && workerId <= MAX_WORKER_ID, "The worker id must be between 0 and 1023.");
+        this.workerId = workerId;
+        this.clock = notNull(clock, "The clock cannot be null.");
+    }
+
+    @Override
+    public synchronized long[] allocate(int count) {
+        greaterThan(count, 0, "The uid count must be positive.");
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = this.nextId();
+        }
+        return result;
+    }
+
+    private long nextId() {
+        long timestamp = this.clock.getAsLong();
+        if (timestamp < this.lastTimestamp) {
+            long backward = this.lastTimestamp - timestamp;
+            if (backward > MAX_BACKWARD_MILLIS) {
+                throw new IllegalStateException(StringUtils.format(
+                        "Clock moved backwards, refuse to generate uid. [backwardMillis={0}]", backward));
+            }
+            timestamp = this.waitUntil(this.lastTimestamp);
+        }
+        if (timestamp == this.lastTimestamp) {
+            this.sequence = (this.sequence + 1) & SEQUENCE_MASK;
+            if (this.sequence == 0) {
+                timestamp = this.waitUntil(this.lastTimestamp + 1);
+            }
+        } else {
+            this.sequence = 0;
+        }
+        this.lastTimestamp = timestamp;
+        return ((timestamp - EPOCH_MILLIS) << (WORKER_ID_BITS + SEQUENCE_BITS)) | (this.workerId << SEQUENCE_BITS)
+                | this.sequence;
+    }
+
+    private long waitUntil(long target) {
+        long timestamp = this.clock.getAsLong();
+        while (timestamp < target) {
+            Thread.onSpinWait();
+            timestamp = this.clock.getAsLong();
+        }
+        return timestamp;
+    }
+}
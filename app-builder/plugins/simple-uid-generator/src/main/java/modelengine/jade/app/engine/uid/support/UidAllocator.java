@@ -0,0 +1,23 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid.support;
+
+/**
+ * UID 分配策略。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public interface UidAllocator {
+    /**
+     * 分配指定数量的 UID。
+     *
+     * @param count 表示分配数量的 {@code int}，必须为正数。
+     * @return 表示按分配顺序递增的 UID 数组的 {@code long[]}。
+     */
+    long[] allocate(int count);
+}
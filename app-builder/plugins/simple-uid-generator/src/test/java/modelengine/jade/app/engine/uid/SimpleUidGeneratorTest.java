@@ -7,7 +7,12 @@
 package modelengine.jade.app.engine.uid;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.jade.app.engine.uid.mapper.IdGeneratorMapper;
@@ -19,27 +24,139 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 /**
  * 表示 {@link SimpleUidGenerator} 的测试用例。
  *
  * @author 何嘉斌
  * @since 2024-07-29
  */
-@FitTestWithJunit(includeClasses = SimpleUidGenerator.class)
+@FitTestWithJunit(includeClasses = {SimpleUidGenerator.class, UidGeneratorConfig.class})
 public class SimpleUidGeneratorTest {
     @Mock
     private IdGeneratorMapper idGeneratorMapper;
 
+    private final AtomicLong sequence = new AtomicLong();
+
     @BeforeEach
     void setUp() {
         clearInvocations(this.idGeneratorMapper);
+        this.sequence.set(0L);
     }
 
     @Test
     @DisplayName("获取UID时，获取成功")
     void shouldOkWhenGetUid() {
         when(this.idGeneratorMapper.getNextId()).thenReturn(1L);
-        SimpleUidGenerator uidGenerator = new SimpleUidGenerator(this.idGeneratorMapper);
+        SimpleUidGenerator uidGenerator = new SimpleUidGenerator(this.idGeneratorMapper, config("sequence"));
         assertThat(uidGenerator.getUid()).isEqualTo(1L);
     }
+
+    @Test
+    @DisplayName("默认模式批量获取UID时，只访问一次数据库")
+    void shouldQueryOnceWhenGetUidsInSequenceMode() {
+        when(this.idGeneratorMapper.getNextIds(3)).thenReturn(Arrays.asList(1L, 2L, 3L));
+        SimpleUidGenerator uidGenerator = new SimpleUidGenerator(this.idGeneratorMapper, config("sequence"));
+        assertThat(uidGenerator.getUids(3)).containsExactly(1L, 2L, 3L);
+        verify(this.idGeneratorMapper, times(1)).getNextIds(3);
+        verify(this.idGeneratorMapper, never()).getNextId();
+    }
+
+    @Test
+    @DisplayName("号段模式获取UID时，按号段访问数据库且UID递增")
+    void shouldAllocateBySegmentWhenSegmentMode() {
+        this.mockSegments();
+        SimpleUidGenerator uidGenerator = new SimpleUidGenerator(this.idGeneratorMapper, config("segment"));
+        List<Long> uids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            uids.add(uidGenerator.getUid());
+        }
+        uids.addAll(uidGenerator.getUids(15));
+        assertThat(uids).containsExactlyElementsOf(LongStream.rangeClosed(1, 40).boxed().collect(Collectors.toList()));
+        verify(this.idGeneratorMapper, never()).getNextId();
+    }
+
+    @Test
+    @DisplayName("雪花模式获取UID时，不访问数据库")
+    void shouldNotQueryWhenSnowflakeMode() {
+        SimpleUidGenerator uidGenerator = new SimpleUidGenerator(this.idGeneratorMapper, config("snowflake"));
+        List<Long> uids = uidGenerator.getUids(100);
+        assertThat(uids).isSorted().doesNotHaveDuplicates();
+        verify(this.idGeneratorMapper, never()).getNextIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("配置不支持的模式时，抛出异常")
+    void shouldFailWhenModeUnsupported() {
+        assertThatThrownBy(() -> new SimpleUidGenerator(this.idGeneratorMapper, config("unknown"))).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("雪花模式未配置机器 ID 时，抛出异常")
+    void shouldFailWhenSnowflakeWorkerIdNotConfigured() {
+        assertThatThrownBy(() -> new SimpleUidGenerator(this.idGeneratorMapper,
+                new UidGeneratorConfig("snowflake", 10, 0.5, -1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("多线程获取UID时，号段模式和雪花模式的UID不重复")
+    void shouldNotDuplicateWhenGetUidConcurrently() throws Exception {
+        this.mockSegments();
+        this.assertUniqueConcurrently("segment", 8, 2000);
+        this.assertUniqueConcurrently("snowflake", 8, 2000);
+    }
+
+    private void assertUniqueConcurrently(String mode, int threads, int perThread) throws Exception {
+        SimpleUidGenerator uidGenerator = new SimpleUidGenerator(this.idGeneratorMapper, config(mode));
+        Set<Long> uids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Set<Long> local = new HashSet<>(perThread);
+                    for (int j = 0; j < perThread; j++) {
+                        local.add(uidGenerator.getUid());
+                    }
+                    uids.addAll(local);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertThat(uids).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void mockSegments() {
+        when(this.idGeneratorMapper.getNextIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            long end = this.sequence.addAndGet(count);
+            return LongStream.rangeClosed(end - count + 1, end).boxed().collect(Collectors.toList());
+        });
+    }
+
+    private static UidGeneratorConfig config(String mode) {
+        return new UidGeneratorConfig(mode, 10, 0.5, 1);
+    }
 }
@@ -37,4 +37,13 @@ public class IdGeneratorMapperTest {
             assertThat(this.idGeneratorMapper.getNextId()).isEqualTo(i);
         }
     }
+
+    @Test
+    @Sql(before = "sql/test_create_table.sql")
+    @DisplayName("批量分配序列号成功，且与逐个分配共用序列")
+    void shouldOkWhenGetNextIds() {
+        assertThat(this.idGeneratorMapper.getNextId()).isEqualTo(1L);
+        assertThat(this.idGeneratorMapper.getNextIds(3)).containsExactly(2L, 3L, 4L);
+        assertThat(this.idGeneratorMapper.getNextId()).isEqualTo(5L);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.jade.app.engine.uid.mapper.IdGeneratorMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * 表示 {@link SegmentUidAllocator} 的测试用例。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@DisplayName("测试 SegmentUidAllocator")
+public class SegmentUidAllocatorTest {
+    private final AtomicLong sequence = new AtomicLong();
+    private IdGeneratorMapper idGeneratorMapper;
+
+    @BeforeEach
+    void setUp() {
+        this.idGeneratorMapper = mock(IdGeneratorMapper.class);
+        when(this.idGeneratorMapper.getNextIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            long end = this.sequence.addAndGet(count);
+            return LongStream.rangeClosed(end - count + 1, end).boxed().collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    @DisplayName("消耗超过预取比例时，后台预取下一号段")
+    void shouldPrefetchNextSegment() {
+        SegmentUidAllocator allocator = new SegmentUidAllocator(this.idGeneratorMapper, 10, 0.5);
+        assertThat(allocator.allocate(5)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        verify(this.idGeneratorMapper, times(1)).getNextIds(10);
+        assertThat(allocator.allocate(1)).containsExactly(6L);
+        verify(this.idGeneratorMapper, timeout(1000).times(2)).getNextIds(10);
+        assertThat(allocator.allocate(6)).containsExactly(7L, 8L, 9L, 10L, 11L, 12L);
+    }
+
+    @Test
+    @DisplayName("预取失败时，切换号段前同步重新分配")
+    void shouldLoadSynchronouslyWhenPrefetchFailed() {
+        when(this.idGeneratorMapper.getNextIds(anyInt())).thenReturn(LongStream.rangeClosed(1, 4)
+                .boxed()
+                .collect(Collectors.toList())).thenThrow(new IllegalStateException("db down")).thenReturn(LongStream
+                .rangeClosed(5, 8)
+                .boxed()
+                .collect(Collectors.toList()));
+        SegmentUidAllocator allocator = new SegmentUidAllocator(this.idGeneratorMapper, 4, 0);
+        assertThat(allocator.allocate(6)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("多线程分配时，UID 不重复")
+    void shouldBeUniqueWhenConcurrent() throws Exception {
+        SegmentUidAllocator allocator = new SegmentUidAllocator(this.idGeneratorMapper, 100, 0.2);
+        Set<Long> uids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        for (long uid : allocator.allocate(j % 3 + 1)) {
+                            assertThat(uids.add(uid)).isTrue();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(uids).hasSize(8 * (334 * 1 + 333 * 2 + 333 * 3));
+    }
+}
@@ -0,0 +1,63 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.uid.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 表示 {@link SnowflakeUidAllocator} 的测试用例。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@DisplayName("测试 SnowflakeUidAllocator")
+public class SnowflakeUidAllocatorTest {
+    private static final long NOW = 1760745600000L;
+
+    @Test
+    @DisplayName("同一毫秒内按序号递增，并包含机器 ID")
+    void shouldIncreaseSequenceInSameMillis() {
+        SnowflakeUidAllocator allocator = new SnowflakeUidAllocator(3, () -> NOW);
+        long[] uids = allocator.allocate(3);
+        assertThat(uids).isSorted().doesNotHaveDuplicates();
+        assertThat((uids[0] >> 12) & 1023).isEqualTo(3L);
+        assertThat(uids[2] - uids[0]).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("毫秒内序号用完时，等待下一毫秒")
+    void shouldWaitNextMillisWhenSequenceExhausted() {
+        AtomicLong calls = new AtomicLong();
+        SnowflakeUidAllocator allocator =
+                new SnowflakeUidAllocator(0, () -> calls.incrementAndGet() <= 4097 ? NOW : NOW + 1);
+        long[] uids = allocator.allocate(4097);
+        assertThat(uids).isSorted().doesNotHaveDuplicates();
+        assertThat(uids[4096] >> 22).isEqualTo((uids[0] >> 22) + 1);
+    }
+
+    @Test
+    @DisplayName("时钟回拨过大时，拒绝分配")
+    void shouldFailWhenClockMovedBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeUidAllocator allocator = new SnowflakeUidAllocator(0, clock::get);
+        allocator.allocate(1);
+        clock.set(NOW - 1000);
+        assertThatThrownBy(() -> allocator.allocate(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("机器 ID 超出范围时，抛出异常")
+    void shouldFailWhenWorkerIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeUidAllocator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
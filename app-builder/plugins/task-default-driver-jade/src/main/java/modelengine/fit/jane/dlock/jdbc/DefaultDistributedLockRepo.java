@@ -12,12 +12,17 @@ import modelengine.fit.jane.dlock.jdbc.persist.po.FlowLockPO;
 import modelengine.fit.jane.dlock.jdbc.utils.DistributedLockStatus;
 import modelengine.fit.jane.dlock.jdbc.utils.HostUtil;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.log.Logger;
 
 import org.apache.ibatis.exceptions.PersistenceException;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * {@link DistributedLockRepo} 默认实现类
@@ -28,6 +33,13 @@ import java.util.Objects;
 @Component
 @RequiredArgsConstructor
 public class DefaultDistributedLockRepo implements DistributedLockRepo {
+    private static final Logger log = Logger.get(DefaultDistributedLockRepo.class);
+
+    /**
+     * 每毫秒可分配的fencing token个数，锁对象被删除后重新创建时以数据库时间乘以该值作为fencing token的下限
+     */
+    private static final long TOKENS_PER_MILLIS = 1000L;
+
     private final FlowLockMapper flowLockMapper;
 
     private String lockedClient = HostUtil.getHostAddress();
@@ -50,12 +62,17 @@ public class DefaultDistributedLockRepo implements DistributedLockRepo {
      */
     @Override
     public boolean create(String key, long ttl) {
+        return this.create(key, this.now(), ttl);
+    }
+
+    private boolean create(String key, long curTime, long ttl) {
         try {
-            Timestamp expireTime = new Timestamp(this.now() + ttl);
+            Timestamp expireTime = new Timestamp(curTime + ttl);
             FlowLockPO flowLockPO = FlowLockPO.builder()
                     .lockKey(key)
                     .expiredAt(expireTime.toLocalDateTime())
                     .lockedClient(this.lockedClient)
+                    .fencingToken(curTime * TOKENS_PER_MILLIS)
                     .build();
             return this.flowLockMapper.create(flowLockPO) > 0;
         } catch (PersistenceException e) {
@@ -72,30 +89,87 @@ public class DefaultDistributedLockRepo implements DistributedLockRepo {
      */
     @Override
     public boolean update(String key, long ttl) {
-        long curTime = this.now();
+        return this.update(key, this.now(), ttl);
+    }
+
+    private boolean update(String key, long curTime, long ttl) {
         Timestamp expireTime = new Timestamp(curTime + ttl);
         FlowLockPO flowLockPO = FlowLockPO.builder()
                 .lockKey(key)
                 .expiredAt(expireTime.toLocalDateTime())
                 .lockedClient(this.lockedClient)
+                .fencingToken(curTime * TOKENS_PER_MILLIS)
                 .build();
         return this.flowLockMapper.update(flowLockPO, new Timestamp(curTime).toLocalDateTime()) > 0;
     }
 
+    /**
+     * 获取锁对象：锁对象不存在时创建，锁对象为本地客户端持有或已过期时更新
+     *
+     * @param key 锁的key值
+     * @param ttl 锁的生命周期 单位: ms
+     * @return fencing token，获取失败时返回{@link #NOT_ACQUIRED}
+     */
+    @Override
+    public long acquire(String key, long ttl) {
+        DistributedLockStatus lockStatus = this.getStatus(key);
+        if (lockStatus == DistributedLockStatus.LOCK_BY_ME_EXPIRED) {
+            log.warn("This lock by me is expired, lockKey = {}.", key);
+        }
+        if (lockStatus.isOccupied()) {
+            return NOT_ACQUIRED;
+        }
+        long curTime = this.now();
+        boolean isAcquired = lockStatus.isAllowUpdate()
+                ? this.update(key, curTime, ttl)
+                : this.create(key, curTime, ttl);
+        if (!isAcquired) {
+            return NOT_ACQUIRED;
+        }
+        // fencing token由数据库在获取时递增，读回锁对象上保存的值
+        FlowLockPO acquired = this.flowLockMapper.find(key);
+        if (acquired == null || acquired.getFencingToken() == null
+                || !Objects.equals(acquired.getLockedClient(), this.lockedClient)) {
+            return NOT_ACQUIRED;
+        }
+        return acquired.getFencingToken();
+    }
+
+    /**
+     * 批量更新本地客户端持有的锁对象的过期时间
+     *
+     * @param lockTokens 锁的key值到获取时的fencing token的映射
+     * @param ttl 锁的生命周期 单位: ms
+     * @return 续期成功，即仍由本地客户端以该fencing token持有的key值
+     */
+    @Override
+    public Set<String> renew(Map<String, Long> lockTokens, long ttl) {
+        if (lockTokens.isEmpty()) {
+            return Collections.emptySet();
+        }
+        LocalDateTime expiredAt = new Timestamp(this.now() + ttl).toLocalDateTime();
+        if (this.flowLockMapper.renew(lockTokens, this.lockedClient, expiredAt) == lockTokens.size()) {
+            return new HashSet<>(lockTokens.keySet());
+        }
+        return new HashSet<>(this.flowLockMapper.findLockedKeys(lockTokens, this.lockedClient));
+    }
+
     /**
      * 更新锁对象过期时间
      *
      * @param key 锁的key值
+     * @param token 获取锁对象时的fencing token
      * @param ttl 锁的生命周期 单位: ms
      * @return 更新的结果
      */
     @Override
-    public boolean updateExpiredAt(String key, long ttl) {
+    public boolean updateExpiredAt(String key, long token, long ttl) {
         Timestamp expireTime = new Timestamp(this.now() + ttl);
         FlowLockPO flowLockPO = FlowLockPO.builder()
                 .lockKey(key)
                 .expiredAt(expireTime.toLocalDateTime())
                 .lockedClient(this.lockedClient)
+                .fencingToken(token)
                 .build();
         return this.flowLockMapper.updateExpiredAt(flowLockPO) > 0;
     }
@@ -120,11 +194,12 @@ public class DefaultDistributedLockRepo implements DistributedLockRepo {
      * 删除锁对象
      *
      * @param key 锁的key值
+     * @param token 获取锁对象时的fencing token
      * @return 删除的结果
      */
     @Override
-    public boolean delete(String key) {
-        return this.flowLockMapper.delete(key, this.lockedClient) > 0;
+    public boolean delete(String key, long token) {
+        return this.flowLockMapper.delete(key, this.lockedClient, token) > 0;
     }
 
     /**
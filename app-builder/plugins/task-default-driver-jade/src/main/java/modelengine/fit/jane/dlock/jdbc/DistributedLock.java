@@ -6,20 +6,12 @@
 
 package modelengine.fit.jane.dlock.jdbc;
 
-import lombok.Getter;
-import modelengine.fit.jane.dlock.jdbc.utils.CustomThreadFactory;
-import modelengine.fit.jane.dlock.jdbc.utils.DistributedLockStatus;
-
 import lombok.Getter;
 import modelengine.fit.waterflow.spi.lock.InvalidDistributedLockNotify;
-import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.transaction.DataAccessException;
 import modelengine.fitframework.transaction.TransactionException;
 
-import java.util.Optional;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -27,6 +19,9 @@ import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * JDBC分布式锁
+ * 从数据库获取锁对象后持有一段时间的租约，租约有效期间的再次获取只需要获取本地锁，不再访问数据库；
+ * 租约由{@link DistributedLockClient}批量续期，空闲超过租约时间后才删除数据库中的锁对象；
+ * 连续持有租约超过上限后解锁时交出锁对象，并在一段时间内不再从数据库获取，让其他客户端有机会获取
  *
  * @author 李哲峰
  * @since 2023/11/30
@@ -34,19 +29,29 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class DistributedLock implements Lock {
     private static final Logger log = Logger.get(DistributedLock.class);
 
-    private static final ScheduledThreadPoolExecutor RENEW_LOCK_EXECUTOR =
-            new ScheduledThreadPoolExecutor(1, new CustomThreadFactory("DistributedLock-renew"));
-
     private static final Integer KEY_MAX_LENGTH = 100;
 
     private static final int MAX_CONTINUES_INVALID_COUNT = 3;
 
+    /**
+     * 连续持有租约的时间上限为租约时间的倍数
+     */
+    private static final int MAX_LEASE_HOLD_TIMES = 10;
+
     private final ReentrantLock threadLock;
 
     private final long ttl;
 
     private final long renewScheduleRate;
 
+    private final long leaseTime;
+
+    /**
+     * -- GETTER --
+     *
+     * @return 分布式锁的key值
+     */
+    @Getter
     private final String lockKey;
 
     private final DistributedLockRepo repo;
@@ -55,10 +60,36 @@ public final class DistributedLock implements Lock {
 
     private final InvalidDistributedLockNotify invalidDistributedLockNotify;
 
-    private boolean isValid = true;
+    private volatile boolean isValid = true;
 
     private int continuesInvalidCount = 0;
 
+    /**
+     * 本地认为租约有效的截止时间，为0时表示未持有数据库中的锁对象
+     */
+    private volatile long leaseExpiredAt = 0L;
+
+    private volatile long renewedAt = 0L;
+
+    /**
+     * 从数据库获取锁对象的时间，为0时表示未持有数据库中的锁对象
+     */
+    private volatile long leaseAcquiredAt = 0L;
+
+    /**
+     * 交出锁对象后，该时间之前不再从数据库获取锁对象
+     */
+    private volatile long handoffUntil = 0L;
+
+    /**
+     * -- GETTER --
+     * 写入共享资源时携带该值，资源侧拒绝小于已见过的最大值的写入，可以屏蔽租约失效后仍在执行的旧持有者
+     *
+     * @return 最近一次从数据库获取锁对象时的fencing token
+     */
+    @Getter
+    private volatile long fencingToken = DistributedLockRepo.NOT_ACQUIRED;
+
     /**
      * -- GETTER --
      *
@@ -67,14 +98,13 @@ public final class DistributedLock implements Lock {
     @Getter
     private volatile long lastUsed = System.currentTimeMillis();
 
-    private ScheduledFuture<?> renewLockFuture;
-
-    public DistributedLock(long ttl, long renewScheduleRate, DistributedLockRepo repo, long idleTime, Object key,
-            InvalidDistributedLockNotify invalidDistributedLockNotify) {
+    public DistributedLock(long ttl, long renewScheduleRate, long leaseTime, DistributedLockRepo repo, long idleTime,
+            Object key, InvalidDistributedLockNotify invalidDistributedLockNotify) {
         this.invalidDistributedLockNotify = invalidDistributedLockNotify;
         this.threadLock = new ReentrantLock(false);
         this.ttl = ttl;
         this.renewScheduleRate = renewScheduleRate;
+        this.leaseTime = leaseTime;
         this.lockKey = getLockKey(key);
         this.repo = repo;
         this.idleTime = idleTime;
@@ -158,7 +188,7 @@ public final class DistributedLock implements Lock {
                 rethrowLockException(e);
             }
         }
-        log.warn("lock after: {}", this.lockKey);
+        log.debug("lock after: {}", this.lockKey);
     }
 
     /**
@@ -176,14 +206,24 @@ public final class DistributedLock implements Lock {
             this.threadLock.unlock();
             return;
         }
+        boolean isLeaseKept = false;
         try {
+            this.lastUsed = System.currentTimeMillis();
             if (!this.isValid) {
                 log.warn("The lock is invalid, unlock before. lockKey={}.", this.lockKey);
                 return;
             }
+            if (this.leaseTime > 0 && this.hasLease(this.lastUsed)) {
+                if (this.lastUsed - this.leaseAcquiredAt < this.leaseTime * MAX_LEASE_HOLD_TIMES) {
+                    isLeaseKept = true;
+                    return;
+                }
+                log.debug("Hand off the lease held too long, lockKey={}.", this.lockKey);
+                this.handoffUntil = this.lastUsed + this.leaseTime / 2;
+            }
             while (true) {
                 try {
-                    this.repo.delete(this.lockKey);
+                    this.repo.delete(this.lockKey, this.fencingToken);
                     return;
                 } catch (DataAccessException | TransactionException e) {
                     // 重试
@@ -195,7 +235,9 @@ public final class DistributedLock implements Lock {
                 }
             }
         } finally {
-            Optional.ofNullable(renewLockFuture).ifPresent(f -> f.cancel(true));
+            if (!isLeaseKept) {
+                this.clearLease();
+            }
             this.threadLock.unlock();
             log.debug("unlock after: {}", this.lockKey);
         }
@@ -264,65 +306,114 @@ public final class DistributedLock implements Lock {
         }
     }
 
-    private boolean acquireLock() {
-        log.debug("acquireLock enter");
-        DistributedLockStatus lockStatus = this.repo.getStatus(this.lockKey);
-        if (lockStatus == DistributedLockStatus.LOCK_BY_ME_EXPIRED) {
-            log.warn("This lock by me is expired, lockKey = {}.", this.lockKey);
-        }
-        if (lockStatus.isOccupied()) {
+    /**
+     * 释放空闲的租约：没有线程持有本地锁，且距离最后一次使用已超过租约时间
+     *
+     * @param now 当前时间
+     * @return 是否释放
+     */
+    boolean releaseIdleLease(long now) {
+        if (this.leaseTime <= 0 || this.leaseExpiredAt == 0L || now - this.lastUsed < this.leaseTime
+                || !this.threadLock.tryLock()) {
             return false;
         }
-        boolean isAcquired;
-        if (lockStatus.isAllowUpdate()) {
-            isAcquired = this.repo.update(this.lockKey, this.ttl);
-        } else {
-            isAcquired = this.repo.create(this.lockKey, this.ttl);
-        }
-        if (isAcquired) {
-            this.lastUsed = System.currentTimeMillis();
-            if (renewLockFuture == null || renewLockFuture.isCancelled()) {
-                renewLockFuture = RENEW_LOCK_EXECUTOR.scheduleAtFixedRate(this::renewLock,
-                        renewScheduleRate,
-                        renewScheduleRate,
-                        TimeUnit.MILLISECONDS);
+        try {
+            if (this.leaseExpiredAt == 0L) {
+                return false;
             }
-            this.isValid = true;
+            this.repo.delete(this.lockKey, this.fencingToken);
+            this.clearLease();
+            return true;
+        } finally {
+            this.threadLock.unlock();
         }
-        log.debug("acquireLock end");
-        return isAcquired;
     }
 
-    private void renewLock() {
-        boolean hasUpdateError = false;
-        try {
-            if (!repo.updateExpiredAt(lockKey, ttl)) {
-                hasUpdateError = true;
-                log.warn("Failed to keepalive, lockKey={}.", this.lockKey);
-            }
-        } catch (FitException e) {
-            hasUpdateError = true;
-        } catch (Exception e) {
-            hasUpdateError = true;
-            log.warn("Failed to keepalive, lockKey={}, errorMsg={}.", this.lockKey, e.getMessage());
-            log.warn("Exception=", e);
-        } finally {
-            checkRenewStatus(hasUpdateError);
+    /**
+     * 租约是否需要续期
+     *
+     * @param now 当前时间
+     * @return 是否需要续期
+     */
+    boolean isRenewDue(long now) {
+        return this.leaseExpiredAt != 0L && now - this.renewedAt >= this.renewScheduleRate;
+    }
+
+    /**
+     * 续期成功，从续期开始的时间重新计算租约的有效期
+     *
+     * @param token 发起续期时的fencing token
+     * @param start 发起续期的时间
+     */
+    synchronized void onRenewed(long token, long start) {
+        if (this.leaseExpiredAt == 0L || token != this.fencingToken) {
+            // 续期期间锁对象已经被删除或者重新获取
+            return;
         }
+        this.continuesInvalidCount = 0;
+        this.renewedAt = start;
+        this.leaseExpiredAt = start + this.ttl - this.renewScheduleRate;
     }
 
-    private void checkRenewStatus(boolean hasUpdateError) {
-        if (!hasUpdateError) {
-            this.continuesInvalidCount = 0;
+    /**
+     * 续期失败，连续失败达到上限后锁失效
+     *
+     * @param token 发起续期时的fencing token
+     * @param isLost 数据库中的锁对象是否已经不属于本地客户端
+     */
+    synchronized void onRenewFailed(long token, boolean isLost) {
+        if (this.leaseExpiredAt == 0L || token != this.fencingToken) {
             return;
         }
+        log.warn("Failed to keepalive, lockKey={}.", this.lockKey);
+        if (isLost) {
+            // 不再从本地直接获取，但保留租约状态继续续期，直到确认失效
+            this.leaseExpiredAt = Math.min(this.leaseExpiredAt, this.renewedAt);
+        }
         ++this.continuesInvalidCount;
         if (this.continuesInvalidCount < MAX_CONTINUES_INVALID_COUNT) {
             return;
         }
         this.isValid = false;
+        this.leaseExpiredAt = 0L;
         invalidDistributedLockNotify.notify(this);
-        renewLockFuture.cancel(true);
+    }
+
+    private boolean acquireLock() {
+        log.debug("acquireLock enter");
+        long start = System.currentTimeMillis();
+        if (this.hasLease(start)) {
+            this.lastUsed = start;
+            return true;
+        }
+        if (start < this.handoffUntil) {
+            return false;
+        }
+        long token = this.repo.acquire(this.lockKey, this.ttl);
+        if (token == DistributedLockRepo.NOT_ACQUIRED) {
+            return false;
+        }
+        synchronized (this) {
+            this.fencingToken = token;
+            this.continuesInvalidCount = 0;
+            this.renewedAt = start;
+            this.leaseAcquiredAt = start;
+            this.leaseExpiredAt = start + this.ttl - this.renewScheduleRate;
+            this.isValid = true;
+        }
+        this.lastUsed = System.currentTimeMillis();
+        log.debug("acquireLock end");
+        return true;
+    }
+
+    private boolean hasLease(long now) {
+        return this.isValid && now < this.leaseExpiredAt;
+    }
+
+    private synchronized void clearLease() {
+        this.leaseExpiredAt = 0L;
+        this.renewedAt = 0L;
+        this.leaseAcquiredAt = 0L;
     }
 
     private void rethrowLockException(Exception e) {
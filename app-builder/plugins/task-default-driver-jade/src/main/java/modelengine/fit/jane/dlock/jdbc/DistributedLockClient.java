@@ -7,17 +7,27 @@
 package modelengine.fit.jane.dlock.jdbc;
 
 import modelengine.fit.jane.dlock.ExpirableDistributedLockHandler;
+import modelengine.fit.jane.dlock.jdbc.utils.CustomThreadFactory;
 
 import modelengine.fit.waterflow.spi.lock.InvalidDistributedLockNotify;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JDBC分布式锁客户端
+ * 由一个定时任务批量续期所有锁对象的租约并释放空闲的租约，代替每个锁对象各自的续期任务
  *
  * @author 李哲峰
  * @since 2023/11/30
@@ -29,12 +39,21 @@ public final class DistributedLockClient implements ExpirableDistributedLockHand
      */
     public static final int DEFAULT_IDLE_MS = 100;
 
+    private static final Logger log = Logger.get(DistributedLockClient.class);
+
+    private static final ScheduledThreadPoolExecutor RENEW_LEASE_EXECUTOR =
+            new ScheduledThreadPoolExecutor(1, new CustomThreadFactory("DistributedLock-renew"));
+
+    private static final int RENEW_BATCH_SIZE = 500;
+
     private final DistributedLockRepo repo;
 
     private final long ttl;
 
     private final long renewScheduleRate;
 
+    private final long leaseTime;
+
     private final Map<String, DistributedLock> locks = new ConcurrentHashMap<>();
 
     private final InvalidDistributedLockNotify invalidDistributedLockNotify;
@@ -42,12 +61,17 @@ public final class DistributedLockClient implements ExpirableDistributedLockHand
     private int idleTime = DEFAULT_IDLE_MS;
 
     public DistributedLockClient(@Value("${databasedistributedlock.ttl}") long ttl,
-            @Value("${databasedistributedlock.renewScheduleRate}") long renewScheduleRate, DistributedLockRepo repo,
+            @Value("${databasedistributedlock.renewScheduleRate}") long renewScheduleRate,
+            @Value("${databasedistributedlock.leaseTime}") long leaseTime, DistributedLockRepo repo,
             InvalidDistributedLockNotify invalidDistributedLockNotify) {
         this.ttl = ttl;
         this.renewScheduleRate = renewScheduleRate;
+        this.leaseTime = leaseTime;
         this.repo = repo;
         this.invalidDistributedLockNotify = invalidDistributedLockNotify;
+        // 空闲租约需要及时释放，因此检查间隔不超过租约时间
+        long period = leaseTime > 0 ? Math.min(renewScheduleRate, leaseTime) : renewScheduleRate;
+        RENEW_LEASE_EXECUTOR.scheduleWithFixedDelay(this::renewLeases, period, period, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -69,8 +93,48 @@ public final class DistributedLockClient implements ExpirableDistributedLockHand
     public DistributedLock getLock(String key) {
         String lockKey = DistributedLock.getLockKey(key);
         return this.locks.computeIfAbsent(lockKey,
-                k -> new DistributedLock(this.ttl, this.renewScheduleRate, this.repo, this.idleTime, key,
-                        invalidDistributedLockNotify));
+                k -> new DistributedLock(this.ttl, this.renewScheduleRate, this.leaseTime, this.repo, this.idleTime,
+                        key, invalidDistributedLockNotify));
+    }
+
+    /**
+     * 批量续期锁池中到期需要续期的租约，并释放空闲超过租约时间的租约
+     */
+    public void renewLeases() {
+        long start = System.currentTimeMillis();
+        Map<DistributedLock, Long> dueLocks = new LinkedHashMap<>();
+        for (DistributedLock dLock : this.locks.values()) {
+            try {
+                if (!dLock.releaseIdleLease(start) && dLock.isRenewDue(start)) {
+                    dueLocks.put(dLock, dLock.getFencingToken());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to release idle lease, lockKey={}, errorMsg={}.", dLock.getLockKey(), e.getMessage());
+            }
+        }
+        List<DistributedLock> batch = new ArrayList<>(dueLocks.keySet());
+        for (int from = 0; from < batch.size(); from += RENEW_BATCH_SIZE) {
+            List<DistributedLock> subBatch = batch.subList(from, Math.min(from + RENEW_BATCH_SIZE, batch.size()));
+            Map<String, Long> lockTokens = new LinkedHashMap<>();
+            subBatch.forEach(dLock -> lockTokens.put(dLock.getLockKey(), dueLocks.get(dLock)));
+            Set<String> renewed;
+            boolean hasRenewError = false;
+            try {
+                renewed = this.repo.renew(lockTokens, this.ttl);
+            } catch (Exception e) {
+                hasRenewError = true;
+                renewed = Collections.emptySet();
+                log.warn("Failed to keepalive, lock count={}, errorMsg={}.", lockTokens.size(), e.getMessage());
+                log.warn("Exception=", e);
+            }
+            for (DistributedLock dLock : subBatch) {
+                if (renewed.contains(dLock.getLockKey())) {
+                    dLock.onRenewed(dueLocks.get(dLock), start);
+                } else {
+                    dLock.onRenewFailed(dueLocks.get(dLock), !hasRenewError);
+                }
+            }
+        }
     }
 
     /**
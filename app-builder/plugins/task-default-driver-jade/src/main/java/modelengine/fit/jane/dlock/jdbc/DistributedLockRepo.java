@@ -8,6 +8,9 @@ package modelengine.fit.jane.dlock.jdbc;
 
 import modelengine.fit.jane.dlock.jdbc.utils.DistributedLockStatus;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 分布式锁 repo核心类
  *
@@ -15,6 +18,11 @@ import modelengine.fit.jane.dlock.jdbc.utils.DistributedLockStatus;
  * @since 2024/1/31
  */
 public interface DistributedLockRepo {
+    /**
+     * 获取锁对象失败时返回的fencing token
+     */
+    long NOT_ACQUIRED = -1L;
+
     /**
      * 创建锁对象
      *
@@ -33,14 +41,35 @@ public interface DistributedLockRepo {
      */
     boolean update(String key, long ttl);
 
+    /**
+     * 获取锁对象：锁对象不存在时创建，锁对象为本地客户端持有或已过期时更新
+     * 获取成功时返回fencing token，保存在锁对象上，每次获取都递增；锁对象被删除后重新创建时以数据库时间为下限，
+     * 因此同一个key的fencing token严格递增，续期和删除时携带fencing token，数据库中的值更大时拒绝写入
+     *
+     * @param key 锁的key值
+     * @param ttl 锁的生命周期 单位: ms
+     * @return fencing token，获取失败时返回{@link #NOT_ACQUIRED}
+     */
+    long acquire(String key, long ttl);
+
+    /**
+     * 批量更新本地客户端持有的锁对象的过期时间
+     *
+     * @param lockTokens 锁的key值到获取时的fencing token的映射
+     * @param ttl 锁的生命周期 单位: ms
+     * @return 续期成功，即仍由本地客户端以该fencing token持有的key值
+     */
+    Set<String> renew(Map<String, Long> lockTokens, long ttl);
+
     /**
      * 更新锁对象过期时间
      *
      * @param key 锁的key值
+     * @param token 获取锁对象时的fencing token
      * @param ttl 锁的生命周期 单位: ms
      * @return 更新的结果
      */
-    boolean updateExpiredAt(String key, long ttl);
+    boolean updateExpiredAt(String key, long token, long ttl);
 
     /**
      * 检查锁对象是否存在
@@ -54,9 +83,10 @@ public interface DistributedLockRepo {
      * 删除锁对象
      *
      * @param key 锁的key值
+     * @param token 获取锁对象时的fencing token
      * @return 删除的结果
      */
-    boolean delete(String key);
+    boolean delete(String key, long token);
 
     /**
      * 删除过期锁对象
@@ -12,6 +12,8 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * flow lock对应MybatisMapper类
@@ -39,13 +41,34 @@ public interface FlowLockMapper {
     int update(@Param("flowLock") FlowLockPO flowLock, @Param("expiredAt") LocalDateTime expiredAt);
 
     /**
-     * 更新flowLock到期时间
+     * 更新flowLock到期时间，数据库中的fencing token大于flowLock携带的fencing token时拒绝更新
      *
      * @param flowLock flowLock对象实体 {@link FlowLockPO}
      * @return 更新结果
      */
     int updateExpiredAt(@Param("flowLock") FlowLockPO flowLock);
 
+    /**
+     * 批量更新lockedClient持有的flowLock到期时间，数据库中的fencing token大于续期携带的fencing token时不更新
+     *
+     * @param lockTokens flowLock对象lockKey标识到fencing token的映射 {@link Map}
+     * @param lockedClient flowLock对象lockedClient标识 {@link String}
+     * @param expiredAt 过期时间 {@link LocalDateTime}
+     * @return 更新结果
+     */
+    int renew(@Param("lockTokens") Map<String, Long> lockTokens, @Param("lockedClient") String lockedClient,
+            @Param("expiredAt") LocalDateTime expiredAt);
+
+    /**
+     * 查询lockTokens中由lockedClient持有且fencing token未被更新的lockKey
+     *
+     * @param lockTokens flowLock对象lockKey标识到fencing token的映射 {@link Map}
+     * @param lockedClient flowLock对象lockedClient标识 {@link String}
+     * @return lockKey列表 {@link List}{@code <}{@link String}{@code >}
+     */
+    List<String> findLockedKeys(@Param("lockTokens") Map<String, Long> lockTokens,
+            @Param("lockedClient") String lockedClient);
+
     /**
      * 根据lockKey标识查询flowLock对象
      *
@@ -63,13 +86,15 @@ public interface FlowLockMapper {
     boolean isExists(@Param("flowLock") FlowLockPO flowLock);
 
     /**
-     * 删除对应lockKey和lockedClient的lock对象
+     * 删除对应lockKey和lockedClient的lock对象，数据库中的fencing token大于删除携带的fencing token时不删除
      *
      * @param lockKey flowLock对象lockKey标识 {@link String}
      * @param lockedClient flowLock对象lockedClient标识 {@link String}
+     * @param fencingToken 获取锁对象时的fencing token
      * @return 删除结果
      */
-    int delete(@Param("lockKey") String lockKey, @Param("lockedClient") String lockedClient);
+    int delete(@Param("lockKey") String lockKey, @Param("lockedClient") String lockedClient,
+            @Param("fencingToken") long fencingToken);
 
     /**
      * 删除对应flowLock的过期lock对象
@@ -27,5 +27,7 @@ public class FlowLockPO {
     private LocalDateTime expiredAt;
 
     private String lockedClient;
+
+    private Long fencingToken;
 }
 
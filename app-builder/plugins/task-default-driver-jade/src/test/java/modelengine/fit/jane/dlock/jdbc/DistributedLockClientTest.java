@@ -56,7 +56,7 @@ public class DistributedLockClientTest extends DatabaseBaseTest {
     @BeforeEach
     void before() {
         repo = new DefaultDistributedLockRepo(sqlSessionManager.openSession(true).getMapper(FlowLockMapper.class));
-        client = new DistributedLockClient(10_000, 5_000, repo, mock(InvalidDistributedLockNotify.class));
+        client = new DistributedLockClient(10_000, 5_000, 0, repo, mock(InvalidDistributedLockNotify.class));
     }
 
     @Override
@@ -266,6 +266,7 @@ public class DistributedLockDifferentClientsTest extends DatabaseBaseTest {
         DefaultDistributedLockRepo repository = new DefaultDistributedLockRepo(
                 sqlSessionManager.openSession(true).getMapper(FlowLockMapper.class));
         repository.setLockedClient(ipAddress);
-        return new DistributedLockClient(ttl, renewScheduleRate, repository, mock(InvalidDistributedLockNotify.class));
+        return new DistributedLockClient(ttl, renewScheduleRate, 0, repository,
+                mock(InvalidDistributedLockNotify.class));
     }
 }
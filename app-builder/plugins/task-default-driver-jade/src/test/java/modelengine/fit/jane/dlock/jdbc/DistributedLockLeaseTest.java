@@ -0,0 +1,233 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jane.dlock.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import modelengine.fit.jane.common.utils.SleepUtil;
+import modelengine.fit.jane.dlock.jdbc.utils.DistributedLockStatus;
+import modelengine.fit.waterflow.spi.lock.InvalidDistributedLockNotify;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分布式锁租约测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@DisplayName("分布式锁租约测试集合")
+public class DistributedLockLeaseTest {
+    private static final String LOCAL_CLIENT = "192.168.0.1";
+
+    private static final String OTHER_CLIENT = "192.168.0.2";
+
+    private final MemoryLockRepo repo = new MemoryLockRepo();
+
+    @Test
+    @DisplayName("租约期间重复加解锁不访问数据库")
+    public void shouldServeLockFromLeaseWithoutDatabase() {
+        DistributedLock lock = this.createClient(60_000, 60_000).getLock("test");
+        for (int i = 0; i < 100; i++) {
+            lock.lock();
+            lock.unlock();
+        }
+
+        assertEquals(1, this.repo.acquireCount.get());
+        assertEquals(0, this.repo.deleteCount.get());
+    }
+
+    @Test
+    @DisplayName("不开启租约时每次加锁都访问数据库，解锁时删除锁对象")
+    public void shouldDeleteLockOnUnlockWithoutLease() {
+        DistributedLock lock = this.createClient(0, 60_000).getLock("test");
+        for (int i = 0; i < 100; i++) {
+            lock.lock();
+            lock.unlock();
+        }
+
+        assertEquals(100, this.repo.acquireCount.get());
+        assertEquals(100, this.repo.deleteCount.get());
+    }
+
+    @Test
+    @DisplayName("空闲租约被释放，重新获取后fencing token递增")
+    public void shouldReleaseIdleLeaseAndIncreaseFencingToken() {
+        DistributedLockClient client = this.createClient(1, 60_000);
+        DistributedLock lock = client.getLock("test");
+        lock.lock();
+        long firstToken = lock.getFencingToken();
+        lock.unlock();
+        SleepUtil.sleep(5);
+        client.renewLeases();
+
+        assertFalse(this.repo.owners.containsKey("test"));
+        lock.lock();
+        try {
+            assertTrue(lock.getFencingToken() > firstToken);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    @DisplayName("连续持有租约超过上限后解锁时交出锁对象，短时间内不再获取")
+    public void shouldHandOffLeaseHeldTooLong() {
+        DistributedLock lock = this.createClient(100, 60_000).getLock("test");
+        lock.lock();
+        long firstToken = lock.getFencingToken();
+        lock.unlock();
+        while (this.repo.deleteCount.get() == 0) {
+            SleepUtil.sleep(10);
+            lock.lock();
+            lock.unlock();
+        }
+
+        assertEquals(1, this.repo.acquireCount.get());
+        assertFalse(this.repo.owners.containsKey("test"));
+        assertFalse(lock.tryLock());
+        SleepUtil.sleep(60);
+        assertTrue(lock.tryLock());
+        try {
+            assertTrue(lock.getFencingToken() > firstToken);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    @DisplayName("携带过期fencing token的续期和删除被拒绝")
+    public void shouldRejectStaleFencingToken() {
+        DistributedLock lock = this.createClient(0, 60_000).getLock("test");
+        lock.lock();
+        long staleToken = lock.getFencingToken();
+        lock.unlock();
+        lock.lock();
+        try {
+            assertTrue(this.repo.renew(Map.of("test", staleToken), 60_000).isEmpty());
+            assertFalse(this.repo.delete("test", staleToken));
+            assertTrue(this.repo.owners.containsKey("test"));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    @DisplayName("批量续期发现锁对象被其他客户端获取后，不再从租约中获取")
+    public void shouldStopServingLeaseWhenLost() {
+        DistributedLockClient client = this.createClient(60_000, 1);
+        DistributedLock lock = client.getLock("test");
+        lock.lock();
+        lock.unlock();
+        this.repo.owners.put("test", OTHER_CLIENT);
+        SleepUtil.sleep(5);
+        client.renewLeases();
+
+        assertFalse(lock.tryLock());
+    }
+
+    private DistributedLockClient createClient(long leaseTime, long renewScheduleRate) {
+        return new DistributedLockClient(120_000, renewScheduleRate, leaseTime, this.repo,
+                mock(InvalidDistributedLockNotify.class));
+    }
+
+    /**
+     * 内存中的锁对象仓库，记录访问次数
+     */
+    private static class MemoryLockRepo implements DistributedLockRepo {
+        private final Map<String, String> owners = new ConcurrentHashMap<>();
+
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+
+        private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+        private final AtomicInteger acquireCount = new AtomicInteger();
+
+        private final AtomicInteger deleteCount = new AtomicInteger();
+
+        @Override
+        public long acquire(String key, long ttl) {
+            this.acquireCount.incrementAndGet();
+            String owner = this.owners.putIfAbsent(key, LOCAL_CLIENT);
+            if (owner != null && !LOCAL_CLIENT.equals(owner)) {
+                return NOT_ACQUIRED;
+            }
+            return this.tokens.merge(key, 1L, Long::sum);
+        }
+
+        @Override
+        public Set<String> renew(Map<String, Long> lockTokens, long ttl) {
+            Set<String> renewed = new HashSet<>();
+            lockTokens.forEach((key, token) -> {
+                if (this.isHeld(key, token)) {
+                    renewed.add(key);
+                }
+            });
+            return renewed;
+        }
+
+        @Override
+        public boolean create(String key, long ttl) {
+            return this.owners.putIfAbsent(key, LOCAL_CLIENT) == null;
+        }
+
+        @Override
+        public boolean update(String key, long ttl) {
+            return LOCAL_CLIENT.equals(this.owners.get(key));
+        }
+
+        @Override
+        public boolean updateExpiredAt(String key, long token, long ttl) {
+            return this.isHeld(key, token);
+        }
+
+        @Override
+        public boolean isExists(String key) {
+            return LOCAL_CLIENT.equals(this.owners.get(key));
+        }
+
+        @Override
+        public boolean delete(String key, long token) {
+            this.deleteCount.incrementAndGet();
+            return this.isHeld(key, token) && this.owners.remove(key, LOCAL_CLIENT);
+        }
+
+        @Override
+        public boolean deleteExpired(String key) {
+            return false;
+        }
+
+        @Override
+        public DistributedLockStatus getStatus(String key) {
+            String owner = this.owners.get(key);
+            if (owner == null) {
+                return DistributedLockStatus.NOT_EXIST;
+            }
+            return LOCAL_CLIENT.equals(owner) ? DistributedLockStatus.LOCK_BY_ME : DistributedLockStatus.LOCK_BY_OTHER;
+        }
+
+        @Override
+        public long now() {
+            return this.clock.incrementAndGet();
+        }
+
+        private boolean isHeld(String key, long token) {
+            return LOCAL_CLIENT.equals(this.owners.get(key)) && token >= this.tokens.getOrDefault(key, 0L);
+        }
+    }
+}
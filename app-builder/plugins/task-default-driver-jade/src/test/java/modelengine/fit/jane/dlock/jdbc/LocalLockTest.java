@@ -8,6 +8,7 @@ package modelengine.fit.jane.dlock.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -46,9 +47,9 @@ public class LocalLockTest extends DatabaseBaseTest {
     @BeforeEach
     void before() {
         repo = mock(DistributedLockRepo.class);
-        client = new DistributedLockClient(10_000, 5_000, repo, mock(InvalidDistributedLockNotify.class));
+        client = new DistributedLockClient(10_000, 5_000, 0, repo, mock(InvalidDistributedLockNotify.class));
 
-        when(repo.create("test", 10_000)).thenReturn(true);
+        when(repo.acquire("test", 10_000)).thenReturn(1L);
     }
 
     @Override
@@ -103,7 +104,7 @@ public class LocalLockTest extends DatabaseBaseTest {
                 throw mock(DataAccessException.class);
             }
             return null;
-        }).when(repo).delete(anyString());
+        }).when(repo).delete(anyString(), anyLong());
 
         lock.unlock();
 
@@ -122,7 +123,7 @@ public class LocalLockTest extends DatabaseBaseTest {
                 throw mock(TransactionException.class);
             }
             return null;
-        }).when(repo).delete(anyString());
+        }).when(repo).delete(anyString(), anyLong());
 
         lock.unlock();
 
@@ -8,6 +8,7 @@ package modelengine.fit.jane.dlock.persist.mapper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -20,6 +21,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * {@link FlowLockMapper}测试类
@@ -69,6 +73,7 @@ public class FlowLockMapperTest extends DatabaseBaseTest {
         assertEquals(1, flowLockMapper.update(flowLockPO, LocalDateTime.now()));
         FlowLockPO result = flowLockMapper.find(flowLockPO.getLockKey());
         assertEquals(flowLockPO.getExpiredAt(), result.getExpiredAt());
+        assertEquals(6L, result.getFencingToken());
     }
 
     @Test
@@ -92,15 +97,52 @@ public class FlowLockMapperTest extends DatabaseBaseTest {
         assertEquals(flowLockPO.getExpiredAt(), result.getExpiredAt());
     }
 
+    @Test
+    @DisplayName("测试携带过期fencing token续期flow lock失败")
+    public void testUpdateFlowLockExpiredAtWithStaleToken() {
+        executeSqlInFile(sqlFile);
+        FlowLockPO flowLockPO = getFlowLockPO();
+        flowLockPO.setFencingToken(4L);
+        assertEquals(0, flowLockMapper.updateExpiredAt(flowLockPO));
+        assertNotEquals(flowLockPO.getExpiredAt(), flowLockMapper.find(flowLockPO.getLockKey()).getExpiredAt());
+    }
+
+    @Test
+    @DisplayName("测试批量续期只更新本客户端持有的flow lock")
+    public void testRenewFlowLocksOfLockedClient() {
+        executeSqlInFile(sqlFile);
+        FlowLockPO flowLockPO = getFlowLockPO();
+        Map<String, Long> lockTokens = new LinkedHashMap<>();
+        lockTokens.put("flow-event-1-1", 5L);
+        lockTokens.put("flow-event-1-2", 4L);
+        lockTokens.put("flow-event-1-3", 5L);
+
+        assertEquals(1, flowLockMapper.renew(lockTokens, flowLockPO.getLockedClient(), flowLockPO.getExpiredAt()));
+        assertEquals(flowLockPO.getExpiredAt(), flowLockMapper.find("flow-event-1-1").getExpiredAt());
+        assertNotEquals(flowLockPO.getExpiredAt(), flowLockMapper.find("flow-event-1-2").getExpiredAt());
+        assertNotEquals(flowLockPO.getExpiredAt(), flowLockMapper.find("flow-event-1-3").getExpiredAt());
+        assertEquals(Collections.singletonList("flow-event-1-1"),
+                flowLockMapper.findLockedKeys(lockTokens, flowLockPO.getLockedClient()));
+    }
+
     @Test
     @DisplayName("测试删除flow lock成功")
     public void deleteFlowLockSuccess() {
         executeSqlInFile(sqlFile);
         FlowLockPO flowLockPO = getFlowLockPO();
-        assertEquals(1, flowLockMapper.delete(flowLockPO.getLockKey(), flowLockPO.getLockedClient()));
+        assertEquals(1, flowLockMapper.delete(flowLockPO.getLockKey(), flowLockPO.getLockedClient(), 5L));
         assertNull(flowLockMapper.find(flowLockPO.getLockKey()));
     }
 
+    @Test
+    @DisplayName("测试携带过期fencing token删除flow lock失败")
+    public void deleteFlowLockWithStaleToken() {
+        executeSqlInFile(sqlFile);
+        FlowLockPO flowLockPO = getFlowLockPO();
+        assertEquals(0, flowLockMapper.delete(flowLockPO.getLockKey(), flowLockPO.getLockedClient(), 4L));
+        assertNotNull(flowLockMapper.find(flowLockPO.getLockKey()));
+    }
+
     @Test
     @DisplayName("测试删除过期flow lock成功")
     public void deleteExpiredFlowLockSuccess() {
@@ -113,6 +155,11 @@ public class FlowLockMapperTest extends DatabaseBaseTest {
 
     private FlowLockPO getFlowLockPO() {
         LocalDateTime time = LocalDateTime.parse("2023-11-28T19:12:30.011");
-        return FlowLockPO.builder().lockKey("flow-event-1-1").expiredAt(time).lockedClient("192.168.1.1").build();
+        return FlowLockPO.builder()
+                .lockKey("flow-event-1-1")
+                .expiredAt(time)
+                .lockedClient("192.168.1.1")
+                .fencingToken(5L)
+                .build();
     }
 }
@@ -1,8 +1,8 @@
-INSERT INTO `flow_lock` (lock_key, expired_at, locked_client)
-VALUES ('flow-event-1-1', '2023-11-29T19:12:30.011', '192.168.1.1');
+INSERT INTO `flow_lock` (lock_key, expired_at, locked_client, fencing_token)
+VALUES ('flow-event-1-1', '2023-11-29T19:12:30.011', '192.168.1.1', 5);
 
-INSERT INTO `flow_lock` (lock_key, expired_at, locked_client)
-VALUES ('flow-event-1-2', '2024-11-29T19:12:30.011', '192.168.1.1');
+INSERT INTO `flow_lock` (lock_key, expired_at, locked_client, fencing_token)
+VALUES ('flow-event-1-2', '2024-11-29T19:12:30.011', '192.168.1.1', 5);
 
-INSERT INTO `flow_lock` (lock_key, expired_at, locked_client)
-VALUES ('flow-event-1-3', '2024-11-29T19:12:30.011', '192.168.1.2');
\ No newline at end of file
+INSERT INTO `flow_lock` (lock_key, expired_at, locked_client, fencing_token)
+VALUES ('flow-event-1-3', '2024-11-29T19:12:30.011', '192.168.1.2', 5);
\ No newline at end of file
@@ -0,0 +1,70 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.genericable.event;
+
+import modelengine.fitframework.event.Event;
+
+/**
+ * 应用实例状态变化事件。
+ * <p>实例的状态变化（启动、终止、异常、结束）写入实例时在本节点发布，循环、并行等工具插件订阅该事件，
+ * 实例不再运行时立即取消正在执行的工作。其他节点修改的状态只有在本节点回源查询时才会发布。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AippInstanceStatusChanged implements Event {
+    private static final String RUNNING = "RUNNING";
+
+    private final Object publisher;
+    private final String instanceId;
+    private final String status;
+
+    /**
+     * 实例状态变化事件的构造方法。
+     *
+     * @param publisher 表示事件发布者的 {@link Object}。
+     * @param instanceId 表示实例唯一标识的 {@link String}。
+     * @param status 表示实例新状态的 {@link String}。
+     */
+    public AippInstanceStatusChanged(Object publisher, String instanceId, String status) {
+        this.publisher = publisher;
+        this.instanceId = instanceId;
+        this.status = status;
+    }
+
+    /**
+     * 获取实例唯一标识。
+     *
+     * @return 表示实例唯一标识的 {@link String}。
+     */
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    /**
+     * 获取实例新状态。
+     *
+     * @return 表示实例新状态的 {@link String}。
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * 判断实例是否仍在运行。
+     *
+     * @return 表示实例是否仍在运行的 {@code boolean}。
+     */
+    public boolean isRunning() {
+        return RUNNING.equalsIgnoreCase(this.status);
+    }
+
+    @Override
+    public Object publisher() {
+        return this.publisher;
+    }
+}
@@ -29,6 +29,11 @@ public class AippChatRound {
      */
     private String answer;
 
+    /**
+     * 问题与答案的分词数，写入对话记录时计算并随历史记录传入，为空时由历史记录按需计算。
+     */
+    private Integer tokenCount;
+
     /**
      * 将历史记录实体转换为字典。
      *
@@ -20,7 +20,8 @@ public class AippMemoryConfig {
      * 历史记录消费策略：
      * <ul>
      *     <li>buffer_window：按对话轮次；</li>
-     *     <li>token_window：按 token 数目。</li>
+     *     <li>token_window：按 token 数目；</li>
+     *     <li>question_window：按 token 数目，更早的对话只保留用户问题列表。</li>
      * </ul>
      */
     private String windowAlg;
@@ -0,0 +1,94 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.events;
+
+import modelengine.fitframework.event.Event;
+
+/**
+ * 流程节点执行结束后事件，用于上报节点耗时、大模型首字时延与输出速率。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class AippNodeEnd implements Event {
+    private final Object publisher;
+    private final String appId;
+    private final String nodeType;
+    private final long durationMillis;
+    private final long firstTokenMillis;
+    private final long tokensPerSecond;
+
+    /**
+     * 节点执行结束事件的构造方法。
+     *
+     * @param publisher 表示事件发布者的 {@link Object}。
+     * @param appId 表示应用唯一标识的 {@link String}。
+     * @param nodeType 表示节点类型的 {@link String}。
+     * @param durationMillis 表示节点耗时（毫秒）的 {@code long}。
+     * @param firstTokenMillis 表示首字时延（毫秒）的 {@code long}，节点没有流式输出时为负数。
+     * @param tokensPerSecond 表示每秒输出片段数的 {@code long}，节点没有流式输出时为负数。
+     */
+    public AippNodeEnd(Object publisher, String appId, String nodeType, long durationMillis, long firstTokenMillis,
+            long tokensPerSecond) {
+        this.publisher = publisher;
+        this.appId = appId;
+        this.nodeType = nodeType;
+        this.durationMillis = durationMillis;
+        this.firstTokenMillis = firstTokenMillis;
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    /**
+     * 获取应用唯一标识。
+     *
+     * @return 表示应用唯一标识的 {@link String}。
+     */
+    public String getAppId() {
+        return this.appId;
+    }
+
+    /**
+     * 获取节点类型。
+     *
+     * @return 表示节点类型的 {@link String}。
+     */
+    public String getNodeType() {
+        return this.nodeType;
+    }
+
+    /**
+     * 获取节点耗时。
+     *
+     * @return 表示节点耗时（毫秒）的 {@code long}。
+     */
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    /**
+     * 获取首字时延。
+     *
+     * @return 表示首字时延（毫秒）的 {@code long}，节点没有流式输出时为负数。
+     */
+    public long getFirstTokenMillis() {
+        return this.firstTokenMillis;
+    }
+
+    /**
+     * 获取输出速率。
+     *
+     * @return 表示每秒输出片段数的 {@code long}，节点没有流式输出时为负数。
+     */
+    public long getTokensPerSecond() {
+        return this.tokensPerSecond;
+    }
+
+    @Override
+    public Object publisher() {
+        return this.publisher;
+    }
+}
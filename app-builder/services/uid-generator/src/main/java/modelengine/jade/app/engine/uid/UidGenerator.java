@@ -8,6 +8,8 @@ package modelengine.jade.app.engine.uid;
 
 import modelengine.fitframework.annotation.Genericable;
 
+import java.util.List;
+
 /**
  * 全局唯一 ID 生成器接口定义。
  *
@@ -22,4 +24,14 @@ public interface UidGenerator {
      */
     @Genericable("modelengine.jade.app.engine.uid.get")
     long getUid();
+
+    /**
+     * 批量获取全局唯一 ID。
+     * <p>同一批次内的 ID 按获取顺序递增，批次之间的顺序取决于具体实现的分配模式。</p>
+     *
+     * @param count 表示获取数量的 {@code int}，必须为正数。
+     * @return 表示全局唯一 ID 列表的 {@link List}{@code <}{@link Long}{@code >}。
+     */
+    @Genericable("modelengine.jade.app.engine.uid.getBatch")
+    List<Long> getUids(int count);
 }
\ No newline at end of file
@@ -72,6 +72,7 @@ CREATE INDEX IF NOT EXISTS INDEX_FLOW_BATCH_ID ON flow_context (batch_id, to_bat
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_STREAM_ID ON flow_context (stream_id, position_id, batch_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_CONTEXT_ID ON flow_context (context_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TO_BATCH ON flow_context (to_batch);
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_EDGE_PENDING ON flow_context (stream_id, position_id, status, sent, create_at, batch_id);
 
 CREATE TABLE IF NOT EXISTS flow_trace
 (
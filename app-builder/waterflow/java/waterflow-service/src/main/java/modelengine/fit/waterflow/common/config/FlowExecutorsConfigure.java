@@ -0,0 +1,35 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.common.config;
+
+import modelengine.fit.waterflow.flowsengine.utils.FlowExecutors;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+
+/**
+ * 流程引擎节点线程池隔离配置
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class FlowExecutorsConfigure {
+    /**
+     * 根据配置初始化节点线程池的隔离维度和容量
+     *
+     * @param isolation 隔离维度，可选common、flow、tenant、node_type，多个维度用逗号分隔
+     * @param parallelNum 每个线程池的线程数
+     * @param queueCapacity 每个线程池的排队任务数上限，小于等于0表示不限制
+     * @param maxPools 隔离线程池个数上限，超出后新的隔离舱使用共享线程池
+     */
+    public FlowExecutorsConfigure(@Value("${jane.flowsEngine.executor.isolation}") String isolation,
+            @Value("${jane.flowsEngine.executor.parallelNum}") int parallelNum,
+            @Value("${jane.flowsEngine.executor.queueCapacity}") int queueCapacity,
+            @Value("${jane.flowsEngine.executor.maxPools:64}") int maxPools) {
+        FlowExecutors.configure(FlowExecutors.Isolation.parse(isolation), parallelNum, queueCapacity, maxPools);
+    }
+}
@@ -26,6 +26,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowTaskType;
 import modelengine.fit.waterflow.flowsengine.domain.flows.parsers.FlowParser;
 import modelengine.fit.waterflow.flowsengine.domain.flows.validators.FlowValidator;
 import modelengine.fit.waterflow.flowsengine.persist.po.FlowDefinitionPO;
+import modelengine.fit.waterflow.flowsengine.utils.FlowExecutors;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
@@ -123,6 +124,7 @@ public class FlowsDefinitionServiceImpl implements FlowDefinitionService {
         if (runningContextNum == 0) {
             flowDefinitionRepo.delete(flowId);
             flowContextPersistRepo.delete(flowDefinition.getMetaId(), flowDefinition.getVersion());
+            FlowExecutors.onStreamOffline(flowDefinition.getStreamId());
         }
     }
 
@@ -144,6 +146,7 @@ public class FlowsDefinitionServiceImpl implements FlowDefinitionService {
         }
         flowDefinitionRepo.delete(flowDefinition.getDefinitionId());
         flowContextPersistRepo.delete(flowDefinition.getMetaId(), flowDefinition.getVersion());
+        FlowExecutors.onStreamOffline(flowDefinition.getStreamId());
     }
 
     @Override
@@ -10,6 +10,7 @@ import static java.lang.System.identityHashCode;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 
 import lombok.AllArgsConstructor;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
@@ -19,6 +20,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinition;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.repo.FlowDefinitionRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.FitStream;
+import modelengine.fit.waterflow.flowsengine.utils.FlowExecutors;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.log.Logger;
 
@@ -38,8 +40,15 @@ import java.util.concurrent.TimeUnit;
 @AllArgsConstructor
 public class FlowCacheService {
     private static final Logger LOG = Logger.get(FlowCacheService.class);
-    private static final Cache<String, FlowCache> STREAM_ID_FLOW_CACHE =
-            Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.DAYS).maximumSize(1000).build();
+    private static final Cache<String, FlowCache> STREAM_ID_FLOW_CACHE = Caffeine.newBuilder()
+            .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumSize(1000)
+            .removalListener((String streamId, FlowCache flowCache, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    FlowExecutors.onStreamOffline(streamId);
+                }
+            })
+            .build();
     private static final Cache<String, FlowDefinition> DEFINITION_ID_FLOW_CACHE =
             Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.DAYS).maximumSize(1000).build();
 
@@ -26,6 +26,7 @@ public interface FlowContextMessenger {
      * 通知subscriber有新的数据到达
      * 数据会堆积在subscription节点
      * subscriber自行按照自己的压力要求request相应数量的数据
+     * 本进程的subscriber接收后，再通知其他可能处理该节点的进程
      *
      * @param <I> 流程实例执行时的入参数据类型，用于泛型推倒
      * @param type 发送节点处理事件类型，PRE_PROCESS类型为发送人工任务通知，PROCESS类型为节点本身的任务处理
@@ -37,6 +38,17 @@ public interface FlowContextMessenger {
             return;
         }
         subscriber.accept(type, context);
+        this.publish(subscriber.getStreamId(), subscriber.getId(), type);
+    }
+
+    /**
+     * 通知节点边上有新的数据，默认只在本进程内处理，不做通知
+     *
+     * @param streamId 流程版本ID
+     * @param nodeId 节点ID
+     * @param type 节点处理类型
+     */
+    default void publish(String streamId, String nodeId, ProcessType type) {
     }
 
     /**
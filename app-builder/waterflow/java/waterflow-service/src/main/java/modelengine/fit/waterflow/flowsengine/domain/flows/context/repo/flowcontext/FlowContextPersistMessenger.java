@@ -8,6 +8,7 @@ package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcont
 
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.nodes.callbacks.FlowCallback;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.ProcessType;
 import modelengine.fit.waterflow.flowsengine.domain.flows.events.FlowCallbackEvent;
 import modelengine.fit.waterflow.flowsengine.domain.flows.events.FlowTaskCreatedEvent;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.IdGenerator;
@@ -33,8 +34,16 @@ public class FlowContextPersistMessenger implements FlowContextMessenger {
 
     private final Plugin plugin;
 
-    public FlowContextPersistMessenger(Plugin plugin) {
+    private final FlowNodeNotifier notifier;
+
+    public FlowContextPersistMessenger(Plugin plugin, FlowNodeNotifier notifier) {
         this.plugin = plugin;
+        this.notifier = notifier;
+    }
+
+    @Override
+    public void publish(String streamId, String nodeId, ProcessType type) {
+        this.notifier.publish(streamId, nodeId, type);
     }
 
     @Override
@@ -22,6 +22,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrans;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowretry.FlowRetryRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrace.FlowTraceRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowCheckpointType;
 import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeStatus;
 import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowTraceStatus;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.IdGenerator;
@@ -48,11 +49,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * 持久化{@link FlowContext}对象到数据库核心类
  * 与{@link FlowContextMemoRepo}组成{@link FlowContextRepo}的不同实现
+ * 开启写回时，本实例持有的热trace的context由{@link FlowContextWriteBehindCache}在内存中读写并异步批量写库
  *
  * @author 高诗意
  * @since 2023/08/14
@@ -64,7 +68,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     private static final String TRACE_ID_SEPARATE = ", ";
 
-    private static final String PASS_DATA = "system_key_pass_data";
+    private static final String PASS_DATA = FlowDataSerializer.PASS_DATA_KEY;
 
     private final FlowContextMapper contextMapper;
 
@@ -80,10 +84,17 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     private final Integer defaultLimitation;
 
+    private final FlowContextWriteBehindCache writeBehind;
+
+    private final FlowDataSerializer flowDataSerializer;
+
     public FlowContextPersistRepo(FlowContextMapper contextMapper, FlowTraceRepo traceRepo, FlowRetryRepo retryRepo,
             TraceOwnerService traceOwnerService, @Value("${modelengine.limit}") Integer limit,
             @Value("${modelengine.useLimit}") boolean hasUseLimit,
-            @Value("${jane.flowsEngine.retry.maxCount}") long maxRetryCount) {
+            @Value("${jane.flowsEngine.retry.maxCount}") long maxRetryCount,
+            FlowContextWriteBehindCache writeBehind, FlowDataSerializer flowDataSerializer) {
+        this.flowDataSerializer = Optional.ofNullable(flowDataSerializer).orElseGet(FlowDataSerializer::json);
+        this.writeBehind = Optional.ofNullable(writeBehind).filter(FlowContextWriteBehindCache::isEnabled).orElse(null);
         this.traceOwnerService = traceOwnerService;
         this.useLimit = hasUseLimit;
         this.contextMapper = contextMapper;
@@ -118,7 +129,10 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
             log.warn("There is no trace owned.");
             return Collections.emptyList();
         }
-        List<FlowContextPO> pos = contextMapper.findByPositions(streamId, posIds, status, traceIds);
+        List<FlowContextPO> pos = this.findByTraces(traceIds,
+                po -> streamId.equals(po.getStreamId()) && posIds.contains(po.getPositionId()) && status.equals(
+                        po.getStatus()) && !po.isSent(),
+                traces -> contextMapper.findByPositions(streamId, posIds, status, traces));
         if (pos.isEmpty()) {
             log.info("[getContextsByPosition] Empty contexts. traceIds={}, pos={}.", StringUtils.join(',', traceIds),
                     StringUtils.join(',', posIds));
@@ -126,15 +140,41 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         return pos.stream().map(this::serializer).collect(Collectors.toList());
     }
 
+    @Override
+    public List<FlowContext<FlowData>> getNextBatchByPosition(String streamId, List<String> posIds, String status,
+            FlowContext<?> after) {
+        if (this.writeBehind != null) {
+            // 写缓存中的context还没有落库，仍然合并内存与数据库后选出批次
+            return FlowContextRepo.super.getNextBatchByPosition(streamId, posIds, status, after);
+        }
+        List<String> traceIds = this.traceOwnerService.getTraces();
+        if (traceIds.isEmpty()) {
+            log.warn("There is no trace owned.");
+            return Collections.emptyList();
+        }
+        LocalDateTime afterCreateAt = after == null ? null : after.getCreateAt();
+        String afterBatchId = after == null ? null : after.getBatchId();
+        return contextMapper.findNextBatchByPositions(streamId, posIds, status, traceIds, afterCreateAt, afterBatchId)
+                .stream()
+                .map(this::serializer)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<FlowContext<FlowData>> getContextsByPosition(String streamId, String posId, String batchId,
             String status) {
-        List<FlowContextPO> pos = contextMapper.findByPositionWithBatchId(streamId, posId, batchId, status);
+        Predicate<FlowContextPO> filter = po -> streamId.equals(po.getStreamId()) && posId.equals(po.getPositionId())
+                && status.equals(po.getStatus());
+        List<FlowContextPO> pos = this.writeBehind == null
+                ? contextMapper.findByPositionWithBatchId(streamId, posId, batchId, status)
+                : this.writeBehind.findByBatch(batchId, filter,
+                        () -> contextMapper.findByPositionWithBatchId(streamId, posId, batchId, status));
         return pos.stream().map(this::serializer).collect(Collectors.toList());
     }
 
     @Override
     public List<FlowContext<String>> findWithoutFlowDataByTraceId(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.findWithoutFlowDataByTraceId(traceId)
                 .stream()
                 .map(this::serializerAsString)
@@ -147,7 +187,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (!Optional.ofNullable(trace).isPresent() || CollectionUtils.isEmpty(trace.getContextPool())) {
             return new ArrayList<>();
         }
-        List<FlowContextPO> pos = contextMapper.findByContextIdList(new ArrayList<>(trace.getContextPool()));
+        List<FlowContextPO> pos = this.findByContextIdList(new ArrayList<>(trace.getContextPool()));
         return pos.stream().map(this::serializerAsString).collect(Collectors.toList());
     }
 
@@ -157,7 +197,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (!Optional.ofNullable(trace).isPresent() || CollectionUtils.isEmpty(trace.getContextPool())) {
             return new ArrayList<>();
         }
-        List<FlowContextPO> pos = contextMapper.findByContextIdList(new ArrayList<>(trace.getContextPool()));
+        List<FlowContextPO> pos = this.findByContextIdList(new ArrayList<>(trace.getContextPool()));
         return pos.stream()
                 .filter(context -> status.equals(context.getStatus()))
                 .map(this::serializer)
@@ -169,8 +209,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (flowContexts == null || flowContexts.size() == 0) {
             return;
         }
-        FlowContextPO flowContextPO = contextMapper.find(flowContexts.get(0).getId());
-        List<FlowContextPO> flowContextPOS = flowContexts.stream().map(this::serializer).collect(Collectors.toList());
+        List<FlowContextPO> flowContextPOS = this.serializeAll(flowContexts);
+        if (this.writeBehind != null) {
+            flowContextPOS = this.writeBehind.save(flowContextPOS);
+            if (flowContextPOS.isEmpty()) {
+                return;
+            }
+        }
+        FlowContextPO flowContextPO = contextMapper.find(flowContextPOS.get(0).getContextId());
         if (flowContextPO == null) {
             contextMapper.batchCreate(flowContextPOS);
         } else {
@@ -184,7 +230,13 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public void update(List<FlowContext<FlowData>> contexts) {
-        List<FlowContextPO> flowContextPOS = contexts.stream().map(this::serializer).collect(Collectors.toList());
+        List<FlowContextPO> flowContextPOS = this.serializeAll(contexts);
+        if (this.writeBehind != null) {
+            flowContextPOS = this.writeBehind.update(flowContextPOS);
+            if (flowContextPOS.isEmpty()) {
+                return;
+            }
+        }
         batchUpdate(flowContextPOS);
     }
 
@@ -194,8 +246,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
             return;
         }
 
-        FlowContextPO flowContextPO = contextMapper.find(flowContexts.get(0).getId());
-        List<FlowContextPO> flowContextPOS = flowContexts.stream().map(this::serializer).collect(Collectors.toList());
+        List<FlowContextPO> flowContextPOS = this.serializeAll(flowContexts);
+        if (this.writeBehind != null) {
+            flowContextPOS = this.writeBehind.save(flowContextPOS);
+            if (flowContextPOS.isEmpty()) {
+                return;
+            }
+        }
+        FlowContextPO flowContextPO = contextMapper.find(flowContextPOS.get(0).getContextId());
         if (flowContextPO == null) {
             contextMapper.batchCreate(flowContextPOS);
         } else {
@@ -210,7 +268,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public void updateToSent(List<FlowContext<FlowData>> contexts) {
-        contextMapper.updateToSent(contexts.stream().map(IdGenerator::getId).collect(Collectors.toList()));
+        List<String> ids = contexts.stream().map(IdGenerator::getId).collect(Collectors.toList());
+        if (this.writeBehind != null) {
+            ids = this.writeBehind.updateToSent(ids);
+            if (ids.isEmpty()) {
+                return;
+            }
+        }
+        contextMapper.updateToSent(ids);
     }
 
     @Override
@@ -220,16 +285,29 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public void updateFlowDataAndToBatch(List<FlowContext<FlowData>> contexts) {
-        List<FlowContextPO> flowContextPOS = contexts.stream().map(this::serializer).collect(Collectors.toList());
+        List<FlowContextPO> flowContextPOS = this.serializeAll(contexts);
+        if (this.writeBehind != null) {
+            flowContextPOS = this.writeBehind.updateFlowDataAndToBatch(flowContextPOS);
+            if (flowContextPOS.isEmpty()) {
+                return;
+            }
+        }
         this.contextMapper.updateFlowDataAndToBatch(flowContextPOS);
     }
 
     @Override
     public void updateFlowData(Map<String, FlowData> flowDataList) {
-        this.contextMapper.updateFlowData(flowDataList.entrySet()
+        Map<String, String> flowDataJsonList = flowDataList.entrySet()
                 .stream()
                 .collect(Collectors.toMap(Map.Entry<String, FlowData>::getKey,
-                        entry -> entry.getValue().translateToJson())));
+                        entry -> this.flowDataSerializer.serialize(entry.getValue())));
+        if (this.writeBehind != null) {
+            flowDataJsonList = this.writeBehind.updateFlowData(flowDataJsonList);
+            if (flowDataJsonList.isEmpty()) {
+                return;
+            }
+        }
+        this.contextMapper.updateFlowData(flowDataJsonList);
     }
 
     @Override
@@ -237,12 +315,21 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         List<String> ids = contexts.stream().map(IdGenerator::getId).collect(Collectors.toList());
         LocalDateTime updateAt = LocalDateTime.now();
         LocalDateTime archivedAt = status.equals(FlowNodeStatus.ARCHIVED.toString()) ? updateAt : null;
-        contextMapper.updateStatusAndPosition(ids, new FlowContextUpdateInfo(status, position, updateAt, archivedAt),
-                CONTEXT_EXCLUSIVE_STATUS_MAP.get(status));
+        FlowContextUpdateInfo updateInfo = new FlowContextUpdateInfo(status, position, updateAt, archivedAt);
+        if (this.writeBehind != null) {
+            ids = this.writeBehind.updateStatusAndPosition(ids, updateInfo, CONTEXT_EXCLUSIVE_STATUS_MAP.get(status));
+            if (ids.isEmpty()) {
+                return;
+            }
+        }
+        contextMapper.updateStatusAndPosition(ids, updateInfo, CONTEXT_EXCLUSIVE_STATUS_MAP.get(status));
     }
 
     @Override
     public void updateToTerminated(List<String> traceIds) {
+        if (this.writeBehind != null) {
+            this.writeBehind.checkpoint(traceIds);
+        }
         List<FlowContext<String>> contexts = getContextsByTrace(traceIds.get(0));
         List<String> ids = contexts.stream().map(IdGenerator::getId).collect(Collectors.toList());
         String status = FlowTraceStatus.TERMINATE.toString();
@@ -267,10 +354,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public FlowContext<FlowData> getById(String id) {
-        return Optional.ofNullable(contextMapper.find(id)).map(this::serializer).orElseThrow(() -> {
-            log.error("Cannot find flow context by ID {}.", id);
-            return new WaterflowException(ENTITY_NOT_FOUND, "FlowContext", id);
-        });
+        return this.findByContextIdList(Collections.singletonList(id))
+                .stream()
+                .findFirst()
+                .map(this::serializer)
+                .orElseThrow(() -> {
+                    log.error("Cannot find flow context by ID {}.", id);
+                    return new WaterflowException(ENTITY_NOT_FOUND, "FlowContext", id);
+                });
     }
 
     @Override
@@ -278,13 +369,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (toBatchIds.isEmpty()) {
             return new ArrayList<>();
         }
+        this.flushWriteBehind();
         List<FlowContextPO> pos = contextMapper.findByToBatch(toBatchIds);
         return pos.stream().map(this::serializer).collect(Collectors.toList());
     }
 
     @Override
     public List<FlowContext<FlowData>> getPendingAndSentByIds(List<String> ids) {
-        return contextMapper.findByContextIdList(ids)
+        return this.findByContextIdList(ids)
                 .stream()
                 .filter(p -> p.getStatus().equals(FlowNodeStatus.PENDING.toString()))
                 .filter(FlowContextPO::isSent)
@@ -294,15 +386,16 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public List<FlowContext<FlowData>> getByIds(List<String> ids) {
-        return contextMapper.findByContextIdList(ids).stream().map(this::serializer).collect(Collectors.toList());
+        return this.findByContextIdList(ids).stream().map(this::serializer).collect(Collectors.toList());
     }
 
     @Override
     public List<FlowContext<FlowData>> requestMappingContext(String streamId, List<String> subscriptions,
             Filter<FlowData> filter, Validator<FlowData> validator) {
         List<String> traces = this.traceOwnerService.getTraces();
-        List<FlowContextPO> pos = contextMapper.findBySubscriptions(streamId, subscriptions,
-                FlowNodeStatus.PENDING.toString(), traces);
+        List<FlowContextPO> pos = this.findByTraces(traces, po -> isPendingAt(po, streamId, subscriptions),
+                owned -> contextMapper.findBySubscriptions(streamId, subscriptions, FlowNodeStatus.PENDING.toString(),
+                        owned));
         List<FlowContext<FlowData>> all = pos.stream().map(this::serializer).collect(Collectors.toList());
         List<FlowContext<FlowData>> filters = filter.process(all);
         return filters.stream().filter(c -> validator.check(c, filters)).collect(Collectors.toList());
@@ -318,10 +411,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
             return Collections.emptyList();
         }
         if (useLimit) {
-            pos = contextMapper.findSomeBySubscriptions(streamId, subscriptions, FlowNodeStatus.PENDING.toString(),
-                    traces, defaultLimitation);
+            pos = this.findByTraces(traces, po -> isPendingAt(po, streamId, subscriptions),
+                    owned -> contextMapper.findSomeBySubscriptions(streamId, subscriptions,
+                            FlowNodeStatus.PENDING.toString(), owned, defaultLimitation));
+            pos = pos.size() > defaultLimitation ? pos.subList(0, defaultLimitation) : pos;
         } else {
-            pos = contextMapper.findBySubscriptions(streamId, subscriptions, FlowNodeStatus.PENDING.toString(), traces);
+            pos = this.findByTraces(traces, po -> isPendingAt(po, streamId, subscriptions),
+                    owned -> contextMapper.findBySubscriptions(streamId, subscriptions,
+                            FlowNodeStatus.PENDING.toString(), owned));
         }
         List<FlowContext<FlowData>> result =
                 filter.process(pos.stream().map(this::serializer).collect(Collectors.toList()));
@@ -334,6 +431,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public List<FlowContext<FlowData>> findByStreamId(String metaId, String version) {
+        this.flushWriteBehind();
         String streamId = metaId + STREAM_ID_SEPARATOR + version;
         List<FlowContextPO> flowContextPOs = contextMapper.findByStreamId(streamId);
         return flowContextPOs.stream().map(this::serializer).collect(Collectors.toList());
@@ -341,6 +439,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public Integer findRunningContextCountByMetaId(String metaId, String version) {
+        this.flushWriteBehind();
         String streamId = metaId + STREAM_ID_SEPARATOR + version;
         return contextMapper.findRunningContextCountByMetaId(streamId);
     }
@@ -348,7 +447,9 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
     @Override
     public void delete(String metaId, String version) {
         String streamId = StringUtils.join(STREAM_ID_SEPARATOR, metaId, version);
+        this.flushWriteBehind();
         contextMapper.delete(streamId);
+        Optional.ofNullable(this.writeBehind).ifPresent(cache -> cache.remove(po -> streamId.equals(po.getStreamId())));
         traceRepo.delete(streamId);
     }
 
@@ -364,6 +465,17 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         trace.setApplication(flowContext.getData().getApplication());
         trace.setStartTime(flowContext.getData().getStartTime());
         traceRepo.save(trace);
+        Optional.ofNullable(this.writeBehind).ifPresent(cache -> cache.own(trace.getId()));
+    }
+
+    @Override
+    public void checkpoint(List<FlowContext<FlowData>> contexts, FlowCheckpointType type) {
+        if (this.writeBehind == null || !this.writeBehind.isCheckpoint(type) || CollectionUtils.isEmpty(contexts)) {
+            return;
+        }
+        this.writeBehind.checkpoint(contexts.stream()
+                .flatMap(context -> context.getTraceId().stream())
+                .collect(Collectors.toSet()));
     }
 
     @Override
@@ -411,7 +523,37 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         retryRepo.delete(entityIdList);
     }
 
-    private FlowContextPO serializer(FlowContext<FlowData> context) {
+    private List<FlowContextPO> serializeAll(List<FlowContext<FlowData>> contexts) {
+        FlowDataSerializer.Batch batch = this.flowDataSerializer.isDeltaEnabled()
+                ? this.flowDataSerializer.batch(this.prefetchBases(contexts))
+                : this.flowDataSerializer.batch();
+        return contexts.stream().map(context -> this.serializer(context, batch)).collect(Collectors.toList());
+    }
+
+    /**
+     * 一次查询读取本批次之外的上一个context，作为增量编码的基线
+     *
+     * @param contexts 本批次的contexts
+     * @return 根据contextId读取已写库的flow_data
+     */
+    private Function<String, String> prefetchBases(List<FlowContext<FlowData>> contexts) {
+        Set<String> ids = contexts.stream().map(IdGenerator::getId).collect(Collectors.toSet());
+        List<String> bases = contexts.stream()
+                .map(FlowContext::getPrevious)
+                .filter(previous -> previous != null && !ids.contains(previous))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, String> stored = bases.isEmpty()
+                ? Collections.emptyMap()
+                : this.findByContextIdList(bases)
+                        .stream()
+                        .filter(po -> po.getFlowData() != null)
+                        .collect(Collectors.toMap(FlowContextPO::getContextId, FlowContextPO::getFlowData,
+                                (first, second) -> first));
+        return contextId -> stored.containsKey(contextId) ? stored.get(contextId) : this.loadFlowData(contextId);
+    }
+
+    private FlowContextPO serializer(FlowContext<FlowData> context, FlowDataSerializer.Batch batch) {
         String traceId = String.join(TRACE_ID_SEPARATE, context.getTraceId());
         context.getData().getContextData().put("flowTransId", context.getTrans().getId());
         context.getData().getContextData().put("metaId", context.getId());
@@ -425,7 +567,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
             .transId(context.getTrans().getId())
             .rootId(context.getRootId())
             .streamId(context.getStreamId())
-            .flowData(context.getData().translateToJson())
+            .flowData(batch.serialize(context.getId(), context.getPrevious(), context.getData()))
             .positionId(context.getPosition())
             .status(context.getStatus().toString())
             .parallel(context.getParallel())
@@ -452,7 +594,8 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     private FlowContext<String> serializerAsString(FlowContextPO po) {
         Set<String> traceIds = convertTraceIds(po);
-        FlowContext<String> context = new FlowContext<>(po.getStreamId(), po.getRootId(), po.getFlowData(), traceIds,
+        String flowData = this.flowDataSerializer.toJson(po.getContextId(), po.getFlowData(), this::loadFlowData);
+        FlowContext<String> context = new FlowContext<>(po.getStreamId(), po.getRootId(), flowData, traceIds,
                 po.getPositionId(), po.getParallel(), po.getParallelMode(), LocalDateTime.now());
         convertOthers(po, context);
         return context;
@@ -480,12 +623,21 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
     }
 
     private FlowData getFlowData(FlowContextPO po) {
-        FlowData flowData = FlowData.parseFromJson(po.getFlowData());
+        FlowData flowData = this.flowDataSerializer.deserialize(po.getContextId(), po.getFlowData(),
+                this::loadFlowData);
         flowData.setPassData(ObjectUtils.cast(flowData.getBusinessData().get(PASS_DATA)));
         flowData.getBusinessData().remove(PASS_DATA);
         return flowData;
     }
 
+    private String loadFlowData(String contextId) {
+        return this.findByContextIdList(Collections.singletonList(contextId))
+                .stream()
+                .findFirst()
+                .map(FlowContextPO::getFlowData)
+                .orElse(null);
+    }
+
     /**
      * updateStatus
      *
@@ -493,16 +645,22 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
      * @param status status
      */
     public void updateStatus(List<String> contextId, FlowNodeStatus status) {
-        contextMapper.updateStatus(contextId, status);
+        List<String> ids = this.writeBehind == null ? contextId : this.writeBehind.updateStatus(contextId, status);
+        if (ids.isEmpty()) {
+            return;
+        }
+        contextMapper.updateStatus(ids, status);
     }
 
     @Override
     public List<FlowContext<FlowData>> findByTraceId(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.findByTraceId(traceId).stream().map(this::serializer).collect(Collectors.toList());
     }
 
     @Override
     public List<FlowContext<FlowData>> findErrorContextsByTraceId(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.findErrorContextByTraceId(traceId)
                 .stream()
                 .map(this::serializer)
@@ -511,6 +669,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public List<FlowContext<FlowData>> findErrorContextsByTransId(String transId) {
+        this.flushWriteBehind();
         return contextMapper.findErrorContextByTransId(transId)
                 .stream()
                 .map(this::serializer)
@@ -524,6 +683,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
      * @return List<FlowContext < FlowData>>
      */
     public List<FlowContext<FlowData>> getRunningContextsByStreamIds(List<String> streamIds) {
+        this.flushWriteBehind();
         return contextMapper.findRunningContextByStreamIds(streamIds).stream().map(c -> {
             try {
                 return this.serializer(c);
@@ -535,17 +695,20 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public List<String> getRunningContextsIdByTransaction(String flowTransId) {
+        this.flushWriteBehind();
         return contextMapper.getRunningContextsIdByTransaction(flowTransId);
     }
 
     @Override
     public List<String> getRunningContextsIdByTraceId(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.getRunningContextsIdByTraceId(traceId);
     }
 
     @Override
     public List<FlowContext<FlowData>> findFinishedContextsPagedByTransId(String flowTransId, String endNode,
             Integer pageNum, Integer limit) {
+        this.flushWriteBehind();
         return contextMapper.findFinishedContextsPagedByTransId(flowTransId, endNode, pageNum, limit)
                 .stream()
                 .map(this::serializer)
@@ -555,6 +718,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
     @Override
     public List<FlowContext<FlowData>> getEndContextsPagedByTransId(String flowTransId, String endNode, Integer pageNum,
             Integer limit) {
+        this.flushWriteBehind();
         return contextMapper.findEndContextsPagedByTransId(flowTransId, endNode, pageNum, limit)
                 .stream()
                 .map(this::serializer)
@@ -564,6 +728,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
     @Override
     public List<FlowContext<FlowData>> getErrorContextsPagedByTransId(String flowTransId, Integer pageNum,
             Integer limit) {
+        this.flushWriteBehind();
         return contextMapper.findErrorContextsPagedByTransId(flowTransId, pageNum, limit)
                 .stream()
                 .map(this::serializer)
@@ -572,37 +737,45 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public String getStreamIdByTransId(String flowTransId) {
+        this.flushWriteBehind();
         return contextMapper.getStreamIdByTransId(flowTransId);
     }
 
     @Override
     public int findFinishedPageNumByTransId(String flowTransId, String endNode) {
+        this.flushWriteBehind();
         return contextMapper.findFinishedPageNumByTransId(flowTransId, endNode);
     }
 
     @Override
     public int findEndContextsPageNumByTransId(String flowTransId, String endNode) {
+        this.flushWriteBehind();
         return contextMapper.findEndContextsNumByTransId(flowTransId, endNode);
     }
 
     @Override
     public int findErrorContextsPageNumByTransId(String flowTransId) {
+        this.flushWriteBehind();
         return contextMapper.findErrorContextsNumByTransId(flowTransId);
     }
 
     @Override
     public List<String> getTraceByTransId(String transId) {
+        this.flushWriteBehind();
         return contextMapper.getTraceByTransId(transId);
     }
 
     @Override
     public void deleteByTransId(String transId) {
+        this.flushWriteBehind();
         contextMapper.deleteByTransId(transId);
+        Optional.ofNullable(this.writeBehind).ifPresent(cache -> cache.remove(po -> transId.equals(po.getTransId())));
     }
 
     @Override
     public List<FlowContext<FlowData>> findFinishedContextsPagedByTraceId(String traceId, String endNode,
             Integer pageNum, Integer limit) {
+        this.flushWriteBehind();
         return contextMapper.findFinishedContextsPagedByTraceId(traceId, endNode, pageNum, limit)
                 .stream()
                 .map(this::serializer)
@@ -612,6 +785,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
     @Override
     public List<FlowContext<FlowData>> getEndContextsPagedByTraceId(String traceId, String endNode, Integer pageNum,
             Integer limit) {
+        this.flushWriteBehind();
         return contextMapper.findEndContextsPagedByTraceId(traceId, endNode, pageNum, limit)
                 .stream()
                 .map(this::serializer)
@@ -620,6 +794,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public List<FlowContext<FlowData>> getErrorContextsPagedByTraceId(String traceId, Integer pageNum, Integer limit) {
+        this.flushWriteBehind();
         return contextMapper.findErrorContextsPagedByTraceId(traceId, pageNum, limit)
                 .stream()
                 .map(this::serializer)
@@ -628,21 +803,25 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public int findFinishedPageNumByTraceId(String traceId, String endNode) {
+        this.flushWriteBehind();
         return contextMapper.findFinishedPageNumByTraceId(traceId, endNode);
     }
 
     @Override
     public int findEndContextsPageNumByTraceId(String traceId, String endNode) {
+        this.flushWriteBehind();
         return contextMapper.findEndContextsNumByTraceId(traceId, endNode);
     }
 
     @Override
     public int findErrorContextsPageNumByTraceId(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.findErrorContextsNumByTraceId(traceId);
     }
 
     @Override
     public List<FlowContext<FlowData>> getRunningContextsByTraceId(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.getRunningContextsByTraceId(traceId)
                 .stream()
                 .map(this::serializer)
@@ -656,16 +835,22 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public void deleteByContextIds(List<String> contextIds) {
-        contextMapper.deleteByContextIds(contextIds);
+        List<String> ids = this.writeBehind == null ? contextIds : this.writeBehind.delete(contextIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        contextMapper.deleteByContextIds(ids);
     }
 
     @Override
     public List<String> findTraceIdsByContextIds(List<String> contextIds) {
+        this.flushWriteBehind();
         return contextMapper.findTraceIdsByContextIds(contextIds);
     }
 
     @Override
     public List<FlowContext<FlowData>> findFinishedContextsByTransId(String flowTransId, String endNode) {
+        this.flushWriteBehind();
         return contextMapper.findFinishedContextsByTransId(flowTransId, endNode)
                 .stream()
                 .map(this::serializer)
@@ -674,6 +859,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public List<FlowContext<FlowData>> findFinishedContextsByTraceId(String flowTraceId, String endNode) {
+        this.flushWriteBehind();
         return contextMapper.findFinishedContextsByTraceId(flowTraceId, endNode)
                 .stream()
                 .map(this::serializer)
@@ -691,9 +877,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         LocalDateTime updateAt = LocalDateTime.now();
         LocalDateTime archivedAt = status.equals(FlowNodeStatus.ARCHIVED.toString()) ? updateAt : null;
 
-        contextMapper.updateProcessStatus(ids,
-                new FlowContextUpdateInfo(toBatch, status, position, updateAt, archivedAt),
-                CONTEXT_EXCLUSIVE_STATUS_MAP.get(status));
+        FlowContextUpdateInfo updateInfo = new FlowContextUpdateInfo(toBatch, status, position, updateAt, archivedAt);
+        if (this.writeBehind != null) {
+            ids = this.writeBehind.updateProcessStatus(ids, updateInfo, CONTEXT_EXCLUSIVE_STATUS_MAP.get(status));
+            if (ids.isEmpty()) {
+                return;
+            }
+        }
+        contextMapper.updateProcessStatus(ids, updateInfo, CONTEXT_EXCLUSIVE_STATUS_MAP.get(status));
     }
 
     @Override
@@ -701,6 +892,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (toBatchIds.isEmpty()) {
             return new ArrayList<>();
         }
+        this.flushWriteBehind();
         List<FlowContextPO> pos = contextMapper.findWithoutFlowDataByToBatch(toBatchIds);
         return pos.stream().map(this::serializerAsString).collect(Collectors.toList());
     }
@@ -710,6 +902,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (statusList.isEmpty()) {
             return false;
         }
+        this.flushWriteBehind();
         int count = contextMapper.findCountByStatus(statusList, traceId);
         return count != 0;
     }
@@ -719,6 +912,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (statusList.isEmpty()) {
             return false;
         }
+        this.flushWriteBehind();
         int count = contextMapper.findCountNotInStatus(statusList, traceId);
         return count == 0;
     }
@@ -728,12 +922,14 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (statusList.isEmpty()) {
             return false;
         }
+        this.flushWriteBehind();
         int count = contextMapper.findCountByStatusAtPosition(statusList, traceId, position);
         return count != 0;
     }
 
     @Override
     public String getTransIdByTrace(String traceId) {
+        this.flushWriteBehind();
         return contextMapper.getTransIdByTrace(traceId);
     }
 
@@ -742,6 +938,33 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         if (CollectionUtils.isEmpty(traceIdList)) {
             return;
         }
+        this.flushWriteBehind();
         contextMapper.deleteByTraceIdList(traceIdList);
+        Optional.ofNullable(this.writeBehind).ifPresent(cache -> cache.remove(
+                po -> convertTextToSet(po.getTraceId()).stream().anyMatch(traceIdList::contains)));
+    }
+
+    private List<FlowContextPO> findByTraces(List<String> traceIds, Predicate<FlowContextPO> filter,
+            Function<List<String>, List<FlowContextPO>> query) {
+        if (this.writeBehind == null) {
+            return query.apply(traceIds);
+        }
+        return this.writeBehind.findByTraces(traceIds, filter, query);
+    }
+
+    private List<FlowContextPO> findByContextIdList(List<String> ids) {
+        if (this.writeBehind == null) {
+            return contextMapper.findByContextIdList(ids);
+        }
+        return this.writeBehind.findByIds(ids, contextMapper::findByContextIdList);
+    }
+
+    private void flushWriteBehind() {
+        Optional.ofNullable(this.writeBehind).ifPresent(FlowContextWriteBehindCache::flush);
+    }
+
+    private static boolean isPendingAt(FlowContextPO po, String streamId, List<String> subscriptions) {
+        return streamId.equals(po.getStreamId()) && subscriptions.contains(po.getPositionId())
+                && FlowNodeStatus.PENDING.toString().equals(po.getStatus());
     }
 }
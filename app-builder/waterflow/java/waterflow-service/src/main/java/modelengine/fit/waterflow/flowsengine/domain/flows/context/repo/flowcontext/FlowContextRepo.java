@@ -13,13 +13,18 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowRetry;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowCheckpointType;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.Processors.Filter;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.Processors.Validator;
+import modelengine.fitframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 流程上下文持久化Repo核心类型
@@ -29,6 +34,13 @@ import java.util.Set;
  * @since 2023/08/14
  */
 public interface FlowContextRepo<T> {
+    /**
+     * 边上批次的拉取顺序，先按创建时间，创建时间相同时按批次ID
+     */
+    Comparator<FlowContext<?>> EDGE_BATCH_ORDER = Comparator.<FlowContext<?>, LocalDateTime>comparing(
+            FlowContext::getCreateAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(FlowContext::getBatchId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     /**
      * 人工任务节点拉取边上的上下文，在节点的preprocess中处理
      *
@@ -39,6 +51,30 @@ public interface FlowContextRepo<T> {
      */
     List<FlowContext<T>> getContextsByPosition(String streamId, List<String> posIds, String status);
 
+    /**
+     * 拉取边上的下一个批次，批次按(创建时间, 批次ID)升序以keyset游标翻页，在节点的preprocess中处理
+     * 默认实现拉取边上所有的上下文后在内存中选出批次
+     *
+     * @param streamId 版本ID
+     * @param posIds posId
+     * @param status status
+     * @param after 游标，上一次拉取的批次中最晚创建的上下文，为空时从最早的批次开始
+     * @return 批次中的上下文，没有批次时返回空列表
+     */
+    default List<FlowContext<T>> getNextBatchByPosition(String streamId, List<String> posIds, String status,
+            FlowContext<?> after) {
+        List<FlowContext<T>> contexts = this.getContextsByPosition(streamId, posIds, status);
+        return contexts.stream()
+                .filter(context -> StringUtils.isNotEmpty(context.getBatchId()))
+                .filter(context -> after == null || EDGE_BATCH_ORDER.compare(context, after) > 0)
+                .min(EDGE_BATCH_ORDER)
+                .map(FlowContext::getBatchId)
+                .map(batchId -> contexts.stream()
+                        .filter(context -> batchId.equals(context.getBatchId()))
+                        .collect(Collectors.toList()))
+                .orElseGet(Collections::emptyList);
+    }
+
     /**
      * 获取节点处理完后产生的新的context，发送给下个节点处理，后续可以判断是否删除该方法
      *
@@ -233,6 +269,15 @@ public interface FlowContextRepo<T> {
      */
     void save(FlowTrace trace, FlowContext<T> flowContext);
 
+    /**
+     * 流程执行到检查点，保证contexts所在trace此前的变化都已经持久化，之后可以在其他实例上恢复执行
+     *
+     * @param contexts 到达检查点的contexts
+     * @param type 检查点类型
+     */
+    default void checkpoint(List<FlowContext<T>> contexts, FlowCheckpointType type) {
+    }
+
     /**
      * 批量更新context的上下文数据flowData字段
      *
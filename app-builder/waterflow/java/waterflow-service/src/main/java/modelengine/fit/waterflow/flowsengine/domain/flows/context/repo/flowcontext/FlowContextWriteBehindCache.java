@@ -0,0 +1,589 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import static modelengine.fit.waterflow.common.Constant.CONTEXT_NONE_TERMINATE_EXCLUSIVE_STATUS_LIST;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowCheckpointType;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.flowsengine.persist.entity.FlowContextUpdateInfo;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowContextMapper;
+import modelengine.fit.waterflow.flowsengine.persist.po.FlowContextPO;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FlowContextPersistRepo}的内存热数据区，实现context的写回（write-behind）持久化
+ * 本实例发起并持有的trace为热trace，其context保存在内存中，节点之间交接时直接读取内存，
+ * 状态变化在内存中合并后由后台线程定时批量写入数据库
+ * 到达检查点（异步任务、人工节点、异常、结束节点）时同步写入数据库并将trace转为冷数据，之后按原有方式直接读写数据库，
+ * 保证人工恢复、异步任务回调以及{@code RestartContextSchedule}接管trace时看到的是检查点时的数据
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class FlowContextWriteBehindCache {
+    private static final Logger LOG = Logger.get(FlowContextWriteBehindCache.class);
+
+    private static final int FLUSH_BATCH_SIZE = 200;
+
+    private final FlowContextMapper contextMapper;
+
+    private final boolean isEnabled;
+
+    private final Set<FlowCheckpointType> checkpoints;
+
+    /**
+     * 写库锁，保证同一时间只有一个线程在写库或者做检查点
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 内存中的context，key为contextId，由this锁保护
+     */
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    /**
+     * 热trace，value为已经写库并移出内存的contextId，由this锁保护
+     */
+    private final Map<String, Set<String>> hotTraces = new HashMap<>();
+
+    public FlowContextWriteBehindCache(FlowContextMapper contextMapper,
+            @Value("${jane.flowsEngine.context.writeBehind.enabled}") boolean isEnabled,
+            @Value("${jane.flowsEngine.context.writeBehind.flushIntervalMills}") long flushIntervalMills,
+            @Value("${jane.flowsEngine.context.writeBehind.checkpoints}") String checkpoints) {
+        this.contextMapper = contextMapper;
+        this.isEnabled = isEnabled;
+        this.checkpoints = FlowCheckpointType.parse(checkpoints);
+        if (isEnabled) {
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+                    new DefaultThreadFactory("flow-context-write-behind", true, (thread, throwable) -> {
+                        LOG.error("[flow-context-write-behind]: The flush run failed, error cause: {}, message: {}.",
+                                throwable.getCause(), throwable.getMessage());
+                        LOG.error("The flush run failed details: ", throwable);
+                    }));
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMills, flushIntervalMills,
+                    TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly, "flow-context-write-behind-hook"));
+        }
+    }
+
+    /**
+     * 是否开启写回
+     *
+     * @return 是否开启
+     */
+    public boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    /**
+     * 是否在指定类型的检查点同步写库
+     *
+     * @param type 检查点类型
+     * @return 是否需要同步写库
+     */
+    public boolean isCheckpoint(FlowCheckpointType type) {
+        return this.checkpoints.contains(type);
+    }
+
+    /**
+     * 将本实例新发起的trace标记为热trace，之后该trace新建的context保存在内存中
+     *
+     * @param traceId traceId
+     */
+    public synchronized void own(String traceId) {
+        this.hotTraces.putIfAbsent(traceId, new HashSet<>());
+    }
+
+    /**
+     * 保存context，语义与{@link FlowContextMapper#batchCreate}以及{@link FlowContextMapper#batchUpdate}一致
+     *
+     * @param pos 待保存的context
+     * @return 不在内存中处理，需要直接写库的context
+     */
+    public synchronized List<FlowContextPO> save(List<FlowContextPO> pos) {
+        List<FlowContextPO> rest = new ArrayList<>();
+        for (FlowContextPO po : pos) {
+            Row row = this.rows.get(po.getContextId());
+            if (row != null) {
+                row.updateData(po);
+            } else if (this.isHot(po)) {
+                this.rows.put(po.getContextId(), new Row(po));
+            } else {
+                rest.add(po);
+            }
+        }
+        return rest;
+    }
+
+    /**
+     * 更新context的数据，语义与{@link FlowContextMapper#batchUpdate}一致
+     *
+     * @param pos 待更新的context
+     * @return 不在内存中，需要直接写库的context
+     */
+    public synchronized List<FlowContextPO> update(List<FlowContextPO> pos) {
+        return pos.stream().filter(po -> {
+            Row row = this.rows.get(po.getContextId());
+            if (row == null) {
+                return true;
+            }
+            row.updateData(po);
+            return false;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 更新context的数据和toBatch，语义与{@link FlowContextMapper#updateFlowDataAndToBatch}一致
+     *
+     * @param pos 待更新的context
+     * @return 不在内存中，需要直接写库的context
+     */
+    public synchronized List<FlowContextPO> updateFlowDataAndToBatch(List<FlowContextPO> pos) {
+        return pos.stream().filter(po -> {
+            Row row = this.rows.get(po.getContextId());
+            if (row == null) {
+                return true;
+            }
+            row.po.setFlowData(po.getFlowData());
+            row.po.setToBatch(po.getToBatch());
+            row.isDirty = true;
+            return false;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 更新context的数据，语义与{@link FlowContextMapper#updateFlowData}一致
+     *
+     * @param flowDataList contextId和序列化后的数据
+     * @return 不在内存中，需要直接写库的数据
+     */
+    public synchronized Map<String, String> updateFlowData(Map<String, String> flowDataList) {
+        Map<String, String> rest = new HashMap<>();
+        flowDataList.forEach((id, flowData) -> {
+            Row row = this.rows.get(id);
+            if (row == null) {
+                rest.put(id, flowData);
+                return;
+            }
+            row.po.setFlowData(flowData);
+            row.isDirty = true;
+        });
+        return rest;
+    }
+
+    /**
+     * 将context标记为已发送，语义与{@link FlowContextMapper#updateToSent}一致
+     *
+     * @param ids contextId列表
+     * @return 不在内存中，需要直接写库的contextId
+     */
+    public synchronized List<String> updateToSent(List<String> ids) {
+        return this.apply(ids, row -> row.po.setSent(true));
+    }
+
+    /**
+     * 更新context的状态，语义与{@link FlowContextMapper#updateStatus}一致
+     *
+     * @param ids contextId列表
+     * @param status 状态
+     * @return 不在内存中，需要直接写库的contextId
+     */
+    public synchronized List<String> updateStatus(List<String> ids, FlowNodeStatus status) {
+        return this.apply(ids, row -> row.po.setStatus(status.toString()));
+    }
+
+    /**
+     * 更新context的状态和位置，语义与{@link FlowContextMapper#updateStatusAndPosition}一致
+     *
+     * @param ids contextId列表
+     * @param updateInfo 更新信息
+     * @param exclusiveStatus 互斥状态列表，当前状态在列表中时不更新
+     * @return 不在内存中，需要直接写库的contextId
+     */
+    public synchronized List<String> updateStatusAndPosition(List<String> ids, FlowContextUpdateInfo updateInfo,
+            List<String> exclusiveStatus) {
+        return this.apply(ids, row -> {
+            if (exclusiveStatus.contains(row.po.getStatus())) {
+                return;
+            }
+            row.po.setStatus(updateInfo.getStatus());
+            if (updateInfo.getPosition() != null) {
+                row.po.setPositionId(updateInfo.getPosition());
+            }
+            row.po.setUpdateAt(updateInfo.getUpdateAt());
+            row.po.setArchivedAt(updateInfo.getArchivedAt());
+        });
+    }
+
+    /**
+     * 更新context的处理状态，语义与{@link FlowContextMapper#updateProcessStatus}一致
+     *
+     * @param ids contextId列表
+     * @param updateInfo 更新信息
+     * @param exclusiveStatus 互斥状态列表，当前状态在列表中时不更新
+     * @return 不在内存中，需要直接写库的contextId
+     */
+    public synchronized List<String> updateProcessStatus(List<String> ids, FlowContextUpdateInfo updateInfo,
+            List<String> exclusiveStatus) {
+        return this.apply(ids, row -> {
+            if (exclusiveStatus.contains(row.po.getStatus())) {
+                return;
+            }
+            row.po.setStatus(updateInfo.getStatus());
+            row.po.setToBatch(updateInfo.getToBatch());
+            row.po.setPositionId(updateInfo.getPosition());
+            row.po.setUpdateAt(updateInfo.getUpdateAt());
+            row.po.setArchivedAt(updateInfo.getArchivedAt());
+        });
+    }
+
+    /**
+     * 删除context
+     *
+     * @param ids contextId列表
+     * @return 需要从数据库删除的contextId，只在内存中的context直接丢弃
+     */
+    public synchronized List<String> delete(List<String> ids) {
+        return ids.stream().filter(id -> {
+            Row row = this.rows.remove(id);
+            return row == null || row.isPersisted;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 删除满足条件的context，调用前需要先{@link #flush()}并删除数据库中的数据
+     *
+     * @param filter 过滤条件
+     */
+    public synchronized void remove(Predicate<FlowContextPO> filter) {
+        this.rows.values().removeIf(row -> filter.test(row.po));
+    }
+
+    /**
+     * 按contextId查询，内存中的context直接返回，其余的从数据库查询
+     *
+     * @param ids contextId列表
+     * @param query 数据库查询
+     * @return context列表
+     */
+    public List<FlowContextPO> findByIds(List<String> ids, Function<List<String>, List<FlowContextPO>> query) {
+        List<FlowContextPO> result = new ArrayList<>();
+        List<String> rest = new ArrayList<>();
+        synchronized (this) {
+            ids.forEach(id -> {
+                Row row = this.rows.get(id);
+                if (row == null) {
+                    rest.add(id);
+                } else {
+                    result.add(row.copy());
+                }
+            });
+        }
+        if (!rest.isEmpty()) {
+            result.addAll(query.apply(rest));
+        }
+        return result;
+    }
+
+    /**
+     * 按trace查询，热trace从内存中查询，冷trace等待检查点完成后从数据库查询
+     * 内存中的context属于多个trace时，traceId拆分后只要包含其中一个热trace即匹配
+     *
+     * @param traceIds trace列表
+     * @param filter 内存查询的过滤条件，与数据库查询条件一致
+     * @param query 冷trace的数据库查询
+     * @return context列表
+     */
+    public List<FlowContextPO> findByTraces(List<String> traceIds, Predicate<FlowContextPO> filter,
+            Function<List<String>, List<FlowContextPO>> query) {
+        if (traceIds.isEmpty()) {
+            // 不限定trace时查询所有trace的context，需要先写库
+            this.flush();
+            return query.apply(traceIds);
+        }
+        List<FlowContextPO> result;
+        List<String> coldTraces;
+        synchronized (this) {
+            Set<String> hot = traceIds.stream().filter(this.hotTraces::containsKey).collect(Collectors.toSet());
+            coldTraces = traceIds.stream().filter(traceId -> !hot.contains(traceId)).collect(Collectors.toList());
+            result = this.rows.values()
+                    .stream()
+                    .filter(row -> row.belongsTo(hot) && filter.test(row.po))
+                    .map(Row::copy)
+                    .collect(Collectors.toList());
+        }
+        if (!coldTraces.isEmpty()) {
+            this.awaitCold(coldTraces);
+            result.addAll(query.apply(coldTraces));
+        }
+        return result;
+    }
+
+    /**
+     * 按批次查询，批次在内存中时从内存查询，否则从数据库查询
+     * 同一批次的context在同一次节点处理中创建，同属于一个trace，因此要么都在内存中，要么都在数据库中
+     *
+     * @param batchId 批次ID
+     * @param filter 内存查询的过滤条件，与数据库查询条件一致
+     * @param query 数据库查询
+     * @return context列表
+     */
+    public List<FlowContextPO> findByBatch(String batchId, Predicate<FlowContextPO> filter,
+            Supplier<List<FlowContextPO>> query) {
+        synchronized (this) {
+            List<Row> batch = this.rows.values()
+                    .stream()
+                    .filter(row -> batchId.equals(row.po.getBatchId()))
+                    .collect(Collectors.toList());
+            if (!batch.isEmpty()) {
+                return batch.stream().filter(row -> filter.test(row.po)).map(Row::copy).collect(Collectors.toList());
+            }
+        }
+        return query.get();
+    }
+
+    /**
+     * 检查点，同步写库并将trace转为冷数据，之后该trace的context直接读写数据库
+     *
+     * @param traceIds trace列表
+     */
+    public void checkpoint(Collection<String> traceIds) {
+        this.flushLock.lock();
+        try {
+            synchronized (this) {
+                boolean hasRows = this.rows.values().stream().anyMatch(row -> row.belongsTo(traceIds));
+                if (traceIds.stream().noneMatch(this.hotTraces::containsKey) && !hasRows) {
+                    return;
+                }
+                traceIds.forEach(this.hotTraces::remove);
+            }
+            while (true) {
+                this.flush();
+                synchronized (this) {
+                    this.rows.values().removeIf(row -> !row.isDirty && row.belongsTo(traceIds));
+                    if (this.rows.values().stream().noneMatch(row -> row.belongsTo(traceIds))) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 将内存中的变化批量写入数据库，写库完成后移出已结束的context
+     */
+    public void flush() {
+        this.flushLock.lock();
+        try {
+            List<FlowContextPO> creates = new ArrayList<>();
+            List<FlowContextPO> updates = new ArrayList<>();
+            synchronized (this) {
+                this.rows.values().stream().filter(row -> row.isDirty).forEach(row -> {
+                    row.isDirty = false;
+                    (row.isPersisted ? updates : creates).add(row.copy());
+                });
+            }
+            try {
+                for (List<FlowContextPO> batch : partition(creates)) {
+                    this.contextMapper.batchCreate(batch);
+                    this.markPersisted(batch);
+                }
+                for (List<FlowContextPO> batch : partition(updates)) {
+                    this.contextMapper.batchUpdateAll(batch, CONTEXT_NONE_TERMINATE_EXCLUSIVE_STATUS_LIST);
+                }
+            } catch (RuntimeException ex) {
+                this.markDirty(creates);
+                this.markDirty(updates);
+                throw ex;
+            }
+            this.evict();
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 获取内存中的context数量
+     *
+     * @return context数量
+     */
+    public synchronized int size() {
+        return this.rows.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (Exception ex) {
+            LOG.error("Failed to flush flow contexts, errorMessage={}.", ex.getMessage());
+            LOG.error("Failed to flush flow contexts details: ", ex);
+        }
+    }
+
+    private void awaitCold(List<String> coldTraces) {
+        // 检查点进行中时持有写库锁，等待检查点完成；检查点失败残留在内存中的context先写库
+        this.flushLock.lock();
+        try {
+            boolean hasRows;
+            synchronized (this) {
+                hasRows = this.rows.values().stream().anyMatch(row -> row.belongsTo(coldTraces));
+            }
+            if (hasRows) {
+                this.flush();
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private boolean isHot(FlowContextPO po) {
+        Set<String> traceIds = FlowContextPersistRepo.convertTextToSet(po.getTraceId());
+        return !traceIds.isEmpty() && traceIds.stream().allMatch(traceId -> {
+            Set<String> evicted = this.hotTraces.get(traceId);
+            return evicted != null && !evicted.contains(po.getContextId());
+        });
+    }
+
+    private List<String> apply(List<String> ids, Consumer<Row> updater) {
+        return ids.stream().filter(id -> {
+            Row row = this.rows.get(id);
+            if (row == null) {
+                return true;
+            }
+            updater.accept(row);
+            row.isDirty = true;
+            return false;
+        }).collect(Collectors.toList());
+    }
+
+    private synchronized void markPersisted(List<FlowContextPO> pos) {
+        pos.forEach(po -> {
+            Row row = this.rows.get(po.getContextId());
+            if (row != null) {
+                row.isPersisted = true;
+            }
+        });
+    }
+
+    private synchronized void markDirty(List<FlowContextPO> pos) {
+        pos.forEach(po -> {
+            Row row = this.rows.get(po.getContextId());
+            if (row != null) {
+                row.isDirty = true;
+            }
+        });
+    }
+
+    private synchronized void evict() {
+        Set<String> touched = new HashSet<>();
+        Iterator<Row> iterator = this.rows.values().iterator();
+        while (iterator.hasNext()) {
+            Row row = iterator.next();
+            if (row.isDirty || !row.isPersisted) {
+                continue;
+            }
+            Set<String> traceIds = FlowContextPersistRepo.convertTextToSet(row.po.getTraceId());
+            boolean isHot = traceIds.stream().allMatch(this.hotTraces::containsKey);
+            if (isHot && !FlowNodeStatus.isEndStatus(FlowNodeStatus.valueOf(row.po.getStatus()))) {
+                continue;
+            }
+            iterator.remove();
+            traceIds.stream().filter(this.hotTraces::containsKey).forEach(traceId -> {
+                this.hotTraces.get(traceId).add(row.po.getContextId());
+                touched.add(traceId);
+            });
+        }
+        // 热trace已经没有未结束的context，说明trace已经执行完成，移出热trace
+        this.rows.values().forEach(row -> touched.removeAll(
+                FlowContextPersistRepo.convertTextToSet(row.po.getTraceId())));
+        touched.forEach(this.hotTraces::remove);
+    }
+
+    private static List<List<FlowContextPO>> partition(List<FlowContextPO> pos) {
+        List<List<FlowContextPO>> batches = new ArrayList<>();
+        for (int i = 0; i < pos.size(); i += FLUSH_BATCH_SIZE) {
+            batches.add(pos.subList(i, Math.min(i + FLUSH_BATCH_SIZE, pos.size())));
+        }
+        return batches;
+    }
+
+    private static class Row {
+        private final FlowContextPO po;
+
+        private boolean isPersisted = false;
+
+        private boolean isDirty = true;
+
+        Row(FlowContextPO po) {
+            this.po = po;
+        }
+
+        private void updateData(FlowContextPO other) {
+            this.po.setFlowData(other.getFlowData());
+            this.po.setJoined(other.isJoined());
+            this.po.setParallel(other.getParallel());
+            this.po.setParallelMode(other.getParallelMode());
+            this.po.setPrevious(other.getPrevious());
+            this.po.setBatchId(other.getBatchId());
+            this.po.setToBatch(other.getToBatch());
+            this.isDirty = true;
+        }
+
+        private boolean belongsTo(Collection<String> traceIds) {
+            return FlowContextPersistRepo.convertTextToSet(this.po.getTraceId()).stream().anyMatch(traceIds::contains);
+        }
+
+        private FlowContextPO copy() {
+            return FlowContextPO.builder()
+                    .contextId(this.po.getContextId())
+                    .traceId(this.po.getTraceId())
+                    .transId(this.po.getTransId())
+                    .rootId(this.po.getRootId())
+                    .streamId(this.po.getStreamId())
+                    .flowData(this.po.getFlowData())
+                    .positionId(this.po.getPositionId())
+                    .joined(this.po.isJoined())
+                    .status(this.po.getStatus())
+                    .parallel(this.po.getParallel())
+                    .parallelMode(this.po.getParallelMode())
+                    .previous(this.po.getPrevious())
+                    .batchId(this.po.getBatchId())
+                    .toBatch(this.po.getToBatch())
+                    .sent(this.po.isSent())
+                    .createAt(this.po.getCreateAt())
+                    .updateAt(this.po.getUpdateAt())
+                    .archivedAt(this.po.getArchivedAt())
+                    .build();
+        }
+    }
+}
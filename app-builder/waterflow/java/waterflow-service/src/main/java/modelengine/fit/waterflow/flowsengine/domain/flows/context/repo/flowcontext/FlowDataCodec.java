@@ -0,0 +1,39 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+/**
+ * {@link modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData}落库时的编码方式
+ * 输入为flowData的json字符串，输出为写入flow_data字段中的payload字符串
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public interface FlowDataCodec {
+    /**
+     * 获取编码名称，写入flow_data中用于读取时选择解码方式
+     *
+     * @return 编码名称
+     */
+    String name();
+
+    /**
+     * 编码flowData的json字符串
+     *
+     * @param json flowData的json字符串
+     * @return 编码后的payload
+     */
+    String encode(String json);
+
+    /**
+     * 解码payload为flowData的json字符串
+     *
+     * @param payload 编码后的payload
+     * @return flowData的json字符串
+     */
+    String decode(String payload);
+}
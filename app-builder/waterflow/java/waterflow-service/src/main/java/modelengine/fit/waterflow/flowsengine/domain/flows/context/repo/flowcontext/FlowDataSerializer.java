@@ -0,0 +1,440 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import static java.util.Locale.ROOT;
+import static modelengine.fit.waterflow.ErrorCodes.ENTITY_NOT_FOUND;
+import static modelengine.fit.waterflow.ErrorCodes.INPUT_PARAM_IS_INVALID;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import modelengine.fit.waterflow.common.utils.ByteArraySerialiseUtilV1;
+import modelengine.fit.waterflow.exceptions.WaterflowException;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FlowData}落库时的序列化，支持可插拔的编码方式以及增量编码
+ * 默认编码为json且不开启增量时，与历史数据格式完全一致；否则flow_data中保存的是如下格式的信封：
+ * {@code {"@codec": 编码名称, "rev": 版本, "depth": 增量层数, "payload": 编码后的数据, "base": 基线contextId,
+ * "baseRev": 基线版本, "removed": 相对基线删除的key}}
+ * 增量编码时只保存businessData中相对上一个context（previous）变化的key，增量层数超过上限时重新保存全量数据。
+ * 上一个context在同一批次中或者已经写库时作为基线，已写库的基线按库中的版本计算增量，基线被改写后读取失败而不是返回错误的数据。
+ * 读取时只解码本条数据，访问businessData中本条数据未保存的key时才沿previous读取并合并基线
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class FlowDataSerializer {
+    private static final String CODEC_KEY = "@codec";
+
+    private static final String REV_KEY = "rev";
+
+    private static final String DEPTH_KEY = "depth";
+
+    private static final String PAYLOAD_KEY = "payload";
+
+    private static final String BASE_KEY = "base";
+
+    private static final String BASE_REV_KEY = "baseRev";
+
+    private static final String REMOVED_KEY = "removed";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * 最近编码或者读取过的基线版本数，避免每次增量编码都解码已写库的基线
+     */
+    private static final int MAX_RECENT_REVISIONS = 10000;
+
+    /**
+     * 流程引擎放在businessData中一起落库的非落盘数据，增量编码时总是保存，读取时不需要合并基线
+     */
+    static final String PASS_DATA_KEY = "system_key_pass_data";
+
+    private final Map<String, FlowDataCodec> codecs = new HashMap<>();
+
+    private final Cache<String, Revision> recentRevisions =
+            Caffeine.newBuilder().maximumSize(MAX_RECENT_REVISIONS).build();
+
+    private final FlowDataCodec codec;
+
+    private final boolean isDeltaEnabled;
+
+    private final int maxDeltaDepth;
+
+    public FlowDataSerializer(@Value("${jane.flowsEngine.context.codec.name}") String codecName,
+            @Value("${jane.flowsEngine.context.codec.delta}") boolean isDeltaEnabled,
+            @Value("${jane.flowsEngine.context.codec.maxDeltaDepth}") int maxDeltaDepth) {
+        this.register(new JsonFlowDataCodec());
+        this.register(new DeflateFlowDataCodec());
+        String name = StringUtils.isBlank(codecName) ? JsonFlowDataCodec.NAME : codecName.trim().toLowerCase(ROOT);
+        this.codec = Optional.ofNullable(this.codecs.get(name))
+                .orElseThrow(() -> new WaterflowException(INPUT_PARAM_IS_INVALID, codecName));
+        this.isDeltaEnabled = isDeltaEnabled && maxDeltaDepth > 0;
+        this.maxDeltaDepth = maxDeltaDepth;
+    }
+
+    /**
+     * 获取与历史数据格式一致的序列化实例
+     *
+     * @return 序列化实例
+     */
+    public static FlowDataSerializer json() {
+        return new FlowDataSerializer(JsonFlowDataCodec.NAME, false, 0);
+    }
+
+    /**
+     * 注册编码方式，已经落库的数据按照信封中的编码名称解码，因此切换编码后需要保留旧的编码
+     *
+     * @param flowDataCodec 编码方式
+     */
+    public final void register(FlowDataCodec flowDataCodec) {
+        this.codecs.put(flowDataCodec.name(), flowDataCodec);
+    }
+
+    /**
+     * 编码单个context的flowData，总是保存全量数据
+     *
+     * @param data flowData
+     * @return 写入flow_data的字符串
+     */
+    public String serialize(FlowData data) {
+        return this.batch().serialize(null, null, data);
+    }
+
+    /**
+     * 创建一个写库批次，批次内的context可以以本批次中先编码的context为基线做增量编码
+     *
+     * @return 写库批次
+     */
+    public Batch batch() {
+        return new Batch(null);
+    }
+
+    /**
+     * 创建一个写库批次，上一个context不在本批次中时，以已经写库的上一个context为基线做增量编码
+     *
+     * @param baseLoader 根据contextId读取已写库的flow_data
+     * @return 写库批次
+     */
+    public Batch batch(Function<String, String> baseLoader) {
+        return new Batch(baseLoader);
+    }
+
+    /**
+     * 是否开启增量编码
+     *
+     * @return 是否开启增量编码
+     */
+    public boolean isDeltaEnabled() {
+        return this.isDeltaEnabled;
+    }
+
+    /**
+     * 解码flow_data为flowData
+     *
+     * @param contextId contextId
+     * @param stored flow_data中的字符串
+     * @param loader 根据contextId读取flow_data，用于读取增量编码的基线
+     * @return flowData
+     */
+    public FlowData deserialize(String contextId, String stored, Function<String, String> loader) {
+        return this.decode(contextId, parse(stored), loader).data;
+    }
+
+    /**
+     * 将flow_data转换为历史格式的json字符串，历史格式的数据原样返回，不做解析
+     *
+     * @param contextId contextId
+     * @param stored flow_data中的字符串
+     * @param loader 根据contextId读取flow_data，用于读取增量编码的基线
+     * @return flowData的json字符串
+     */
+    public String toJson(String contextId, String stored, Function<String, String> loader) {
+        if (stored == null || !stored.contains(CODEC_KEY)) {
+            return stored;
+        }
+        return this.deserialize(contextId, stored, loader).translateToJson();
+    }
+
+    private Decoded decode(String contextId, JSONObject stored, Function<String, String> loader) {
+        if (!stored.containsKey(CODEC_KEY)) {
+            return new Decoded(FlowData.parseFromJson(stored), null);
+        }
+        String rev = stored.getString(REV_KEY);
+        FlowDataCodec payloadCodec = Optional.ofNullable(this.codecs.get(stored.getString(CODEC_KEY)))
+                .orElseThrow(() -> new WaterflowException(INPUT_PARAM_IS_INVALID, stored.getString(CODEC_KEY)));
+        FlowData data = FlowData.parseFromJson(payloadCodec.decode(stored.getString(PAYLOAD_KEY)));
+        String baseId = stored.getString(BASE_KEY);
+        if (baseId == null) {
+            return new Decoded(data, rev);
+        }
+        String baseRev = stored.getString(BASE_REV_KEY);
+        JSONArray removed = stored.getJSONArray(REMOVED_KEY);
+        data.setBusinessData(new LazyBusinessData(data.getBusinessData(), () -> {
+            Decoded base = Optional.ofNullable(loader.apply(baseId))
+                    .map(baseStored -> this.decode(baseId, parse(baseStored), loader))
+                    .filter(decoded -> Objects.equals(decoded.rev, baseRev))
+                    .orElseThrow(() -> new WaterflowException(ENTITY_NOT_FOUND, "FlowContext", baseId));
+            Map<String, Object> businessData = new HashMap<>(base.data.getBusinessData());
+            Optional.ofNullable(removed).ifPresent(keys -> keys.forEach(businessData::remove));
+            return businessData;
+        }));
+        return new Decoded(data, rev);
+    }
+
+    /**
+     * 获取已写库的基线版本，基线为历史格式时没有版本，无法校验是否被改写，返回null
+     *
+     * @param contextId 基线contextId
+     * @param loader 根据contextId读取已写库的flow_data
+     * @return 基线版本
+     */
+    private Revision persistedRevision(String contextId, Function<String, String> loader) {
+        String stored = loader.apply(contextId);
+        if (stored == null || !stored.contains(CODEC_KEY)) {
+            return null;
+        }
+        JSONObject envelope = parse(stored);
+        String rev = envelope.getString(REV_KEY);
+        Revision cached = this.recentRevisions.getIfPresent(contextId);
+        if (cached != null && Objects.equals(cached.rev, rev)) {
+            return cached;
+        }
+        FlowData data = this.decode(contextId, envelope, loader).data;
+        Revision revision = new Revision(rev, envelope.getIntValue(DEPTH_KEY), fingerprint(data.getBusinessData()));
+        this.recentRevisions.put(contextId, revision);
+        return revision;
+    }
+
+    private static JSONObject parse(String stored) {
+        return JSONObject.parseObject(stored, JSONObject.class, ByteArraySerialiseUtilV1.getMapParserConfig());
+    }
+
+    private static Map<String, Long> fingerprint(Map<String, Object> businessData) {
+        Map<String, Long> fingerprints = new HashMap<>();
+        businessData.forEach((key, value) -> fingerprints.put(key, hash(JSONObject.toJSONString(value,
+                ByteArraySerialiseUtilV1.getSerializeConfig(), SerializerFeature.DisableCircularReferenceDetect))));
+        return fingerprints;
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 一次写库的批次，记录本批次内已编码context的版本，作为增量编码的基线
+     *
+     * @author 高诗意
+     * @since 2026/10/18
+     */
+    public final class Batch {
+        private final Map<String, Revision> revisions = new HashMap<>();
+
+        private final Function<String, String> baseLoader;
+
+        private Batch(Function<String, String> baseLoader) {
+            this.baseLoader = baseLoader;
+        }
+
+        /**
+         * 编码context的flowData，上一个context在本批次中已经编码或者已经写库时做增量编码，否则保存全量数据
+         *
+         * @param contextId contextId
+         * @param previous 上一个contextId，作为增量编码的基线
+         * @param data flowData
+         * @return 写入flow_data的字符串
+         */
+        public String serialize(String contextId, String previous, FlowData data) {
+            FlowDataSerializer serializer = FlowDataSerializer.this;
+            if (!serializer.isDeltaEnabled && JsonFlowDataCodec.NAME.equals(serializer.codec.name())) {
+                return data.translateToJson();
+            }
+            JSONObject envelope = new JSONObject();
+            FlowData document = data;
+            int depth = 0;
+            Map<String, Long> fingerprints = serializer.isDeltaEnabled
+                    ? fingerprint(data.getBusinessData())
+                    : Collections.emptyMap();
+            Revision base = null;
+            if (serializer.isDeltaEnabled && previous != null) {
+                base = this.revisions.get(previous);
+                if (base == null && this.baseLoader != null) {
+                    base = serializer.persistedRevision(previous, this.baseLoader);
+                }
+            }
+            if (base != null && base.depth < serializer.maxDeltaDepth) {
+                Map<String, Long> baseFingerprints = base.fingerprints;
+                Map<String, Object> changed = new HashMap<>();
+                data.getBusinessData().forEach((key, value) -> {
+                    if (PASS_DATA_KEY.equals(key) || !Objects.equals(baseFingerprints.get(key),
+                            fingerprints.get(key))) {
+                        changed.put(key, value);
+                    }
+                });
+                List<String> removed = baseFingerprints.keySet()
+                        .stream()
+                        .filter(key -> !fingerprints.containsKey(key))
+                        .collect(Collectors.toList());
+                document = FlowData.builder()
+                        .operator(data.getOperator())
+                        .startTime(data.getStartTime())
+                        .businessData(changed)
+                        .contextData(data.getContextData())
+                        .errorMessage(data.getErrorMessage())
+                        .errorInfo(data.getErrorInfo())
+                        .build();
+                depth = base.depth + 1;
+                envelope.put(BASE_KEY, previous);
+                envelope.put(BASE_REV_KEY, base.rev);
+                envelope.put(REMOVED_KEY, removed);
+            }
+            String payload = serializer.codec.encode(document.translateToJson());
+            String rev = Long.toHexString(hash(payload));
+            envelope.put(CODEC_KEY, serializer.codec.name());
+            envelope.put(REV_KEY, rev);
+            envelope.put(DEPTH_KEY, depth);
+            envelope.put(PAYLOAD_KEY, payload);
+            if (serializer.isDeltaEnabled && contextId != null) {
+                Revision revision = new Revision(rev, depth, fingerprints);
+                this.revisions.put(contextId, revision);
+                serializer.recentRevisions.put(contextId, revision);
+            }
+            return envelope.toJSONString();
+        }
+    }
+
+    /**
+     * 增量编码的businessData，先只持有本条数据保存的key，访问其他key时才读取并合并基线
+     *
+     * @author 高诗意
+     * @since 2026/10/18
+     */
+    private static class LazyBusinessData extends AbstractMap<String, Object> {
+        private final Map<String, Object> own;
+
+        private final Set<String> taken = new HashSet<>();
+
+        private final Supplier<Map<String, Object>> base;
+
+        private Map<String, Object> resolved;
+
+        LazyBusinessData(Map<String, Object> own, Supplier<Map<String, Object>> base) {
+            this.own = own;
+            this.base = base;
+        }
+
+        private Map<String, Object> resolve() {
+            if (this.resolved == null) {
+                Map<String, Object> merged = this.base.get();
+                merged.putAll(this.own);
+                this.taken.forEach(merged::remove);
+                this.resolved = merged;
+            }
+            return this.resolved;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (this.resolved == null && this.own.containsKey(key)) {
+                return this.own.get(key);
+            }
+            return this.resolve().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (this.resolved == null && this.own.containsKey(key)) {
+                return true;
+            }
+            return this.resolve().containsKey(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return this.resolve().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            if (this.resolved == null && this.own.containsKey(key)) {
+                this.taken.add(ObjectUtils.cast(key));
+                return this.own.remove(key);
+            }
+            return this.resolve().remove(key);
+        }
+
+        @Override
+        public int size() {
+            return this.resolve().size();
+        }
+
+        @Override
+        public void clear() {
+            this.resolve().clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return this.resolve().entrySet();
+        }
+    }
+
+    private static class Revision {
+        private final String rev;
+
+        private final int depth;
+
+        private final Map<String, Long> fingerprints;
+
+        Revision(String rev, int depth, Map<String, Long> fingerprints) {
+            this.rev = rev;
+            this.depth = depth;
+            this.fingerprints = fingerprints;
+        }
+    }
+
+    private static class Decoded {
+        private final FlowData data;
+
+        private final String rev;
+
+        Decoded(FlowData data, String rev) {
+            this.data = data;
+            this.rev = rev;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.ProcessType;
+
+/**
+ * 节点数据落边通知
+ * 上游节点把contexts放到边上后，通知所有可能处理该节点的进程唤醒节点主循环
+ * 跨进程的实现负责广播，接收方调用 {@code FlowNodeWakeups.getInstance().wakeup(streamId, nodeId, type)} 唤醒本进程的节点
+ * 通知允许丢失，节点主循环还有慢速的兜底轮询
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public interface FlowNodeNotifier {
+    /**
+     * 通知节点边上有新的数据
+     *
+     * @param streamId 流程版本ID
+     * @param nodeId 节点ID
+     * @param type 节点处理类型，PRE_PROCESS或者PROCESS
+     */
+    void publish(String streamId, String nodeId, ProcessType type);
+}
@@ -0,0 +1,35 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+/**
+ * 原始json编码，不做任何转换，与历史数据的格式一致
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class JsonFlowDataCodec implements FlowDataCodec {
+    /**
+     * 编码名称
+     */
+    public static final String NAME = "json";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String encode(String json) {
+        return json;
+    }
+
+    @Override
+    public String decode(String payload) {
+        return payload;
+    }
+}
@@ -0,0 +1,26 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.ProcessType;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeWakeups;
+import modelengine.fitframework.annotation.Component;
+
+/**
+ * 节点数据落边通知的进程内实现
+ * 只唤醒本进程登记的节点，多进程部署时替换为广播实现，其他进程依赖兜底轮询
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class LocalFlowNodeNotifier implements FlowNodeNotifier {
+    @Override
+    public void publish(String streamId, String nodeId, ProcessType type) {
+        FlowNodeWakeups.getInstance().wakeup(streamId, nodeId, type);
+    }
+}
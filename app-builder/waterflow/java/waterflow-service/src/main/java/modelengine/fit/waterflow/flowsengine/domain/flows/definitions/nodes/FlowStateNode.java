@@ -61,6 +61,7 @@ public class FlowStateNode extends FlowNode {
             if (!Objects.isNull(this.jober)) {
                 node.setIsAsyncJob(this.jober.isAsync());
             }
+            Optional.ofNullable(this.parentFlow).ifPresent(flow -> node.setTenant(flow.getTenant()));
             this.processor = node;
             this.processor.onError(errorHandler(streamId));
             if (!triggerMode.isAuto()) {
@@ -0,0 +1,62 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.enums;
+
+import static java.util.Locale.ROOT;
+
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 流程执行的检查点类型
+ * 到达检查点时，context在内存中的变化需要同步持久化，之后可以在其他实例上恢复执行
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public enum FlowCheckpointType {
+    /**
+     * 异步任务节点，任务完成后的回调可能在其他实例上执行
+     */
+    ASYNC_JOB,
+
+    /**
+     * 人工节点，人工处理后的恢复可能在其他实例上执行
+     */
+    MANUAL,
+
+    /**
+     * 节点执行异常，异常和重试的context需要对外可见
+     */
+    ERROR,
+
+    /**
+     * 结束节点，流程执行结果需要对外可见
+     */
+    END;
+
+    /**
+     * 解析逗号分隔的检查点类型配置，如 {@code async_job,manual}
+     *
+     * @param config 检查点类型配置
+     * @return 检查点类型集合
+     */
+    public static Set<FlowCheckpointType> parse(String config) {
+        if (StringUtils.isBlank(config)) {
+            return EnumSet.noneOf(FlowCheckpointType.class);
+        }
+        return Arrays.stream(config.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .map(item -> FlowCheckpointType.valueOf(item.toUpperCase(ROOT)))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(FlowCheckpointType.class)));
+    }
+}
@@ -493,8 +493,10 @@ public class From<I> extends IdGenerator implements FitStream.Publisher<I> {
             return context;
         }).collect(Collectors.toList());
         repo.save(trace, pre.get(0));
-        repo.save(after);
-        repo.save(pre);
+        // 开始节点的前后context在同一批次中写库，后一个context可以以前一个为基线做增量编码
+        List<FlowContext<I>> all = new ArrayList<>(pre);
+        all.addAll(after);
+        repo.save(all);
         return after;
     }
 
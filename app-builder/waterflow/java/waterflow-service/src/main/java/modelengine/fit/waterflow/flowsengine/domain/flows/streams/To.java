@@ -11,13 +11,13 @@ import lombok.Setter;
 import modelengine.fit.waterflow.exceptions.WaterflowException;
 import modelengine.fit.ohscript.util.UUIDUtil;
 import modelengine.fit.waterflow.common.Constant;
-import modelengine.fit.waterflow.common.utils.SleepUtil;
 import modelengine.fit.waterflow.flowsengine.domain.flows.InterStreamHandler;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowCheckpointType;
 import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeStatus;
 import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeType;
 import modelengine.fit.waterflow.flowsengine.domain.flows.enums.ParallelMode;
@@ -27,6 +27,8 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.streams.callbacks.ToCa
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.nodes.Blocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.streams.nodes.Retryable;
 import modelengine.fit.waterflow.flowsengine.utils.FlowExecutors;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeScheduler;
+import modelengine.fit.waterflow.flowsengine.utils.FlowNodeWakeups;
 import modelengine.fit.waterflow.flowsengine.utils.PriorityThreadPool;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.CollectionUtils;
@@ -41,6 +43,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -57,7 +63,7 @@ import static modelengine.fit.waterflow.ErrorCodes.FLOW_NODE_MAX_TASK;
  * @author 高诗意
  * @since 2023/08/14
  */
-public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O> {
+public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>, FlowNodeWakeups.Wakeable {
     /**
      * 最大流量，也就是该节点可以处理的最大数据量
      */
@@ -69,8 +75,32 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
 
     private static final String PRE_PROCESS_T_NAME_PREFIX = "NodePreProcessT";
 
+    /**
+     * preprocess主循环异常后重新调度的延迟时间，单位毫秒
+     */
     private static final int SLEEP_MILLS = 1_000;
 
+    /**
+     * process主循环异常后重新调度的延迟时间，单位毫秒
+     */
+    private static final int PROCESS_RETRY_MILLIS = 50;
+
+    /**
+     * 节点主循环获取分布式锁失败后重新调度的初始延迟时间，单位毫秒，等待期间不占用调度器的工作线程
+     * 连续失败时按指数退避并加入随机抖动，避免多个实例以固定频率同时查询数据库
+     */
+    private static final int LOCK_RETRY_MILLIS = 20;
+
+    /**
+     * 节点主循环获取分布式锁失败后重新调度的最大延迟时间，单位毫秒
+     */
+    private static final int LOCK_RETRY_MAX_MILLIS = 500;
+
+    /**
+     * 节点主循环单次调度最多处理的批次数，达到上限后让出工作线程并重新排队，避免单个节点长期占用共享调度器
+     */
+    private static final int MAX_ROUNDS_PER_SLICE = 16;
+
     /**
      * subscriber支持多publisher分发，前提是分发源出来的数据类型需要一致，不然无法统一处理
      */
@@ -130,6 +160,12 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
     @Setter
     private Boolean isAsyncJob = false;
 
+    /**
+     * 节点所属流程的租户，用于按租户隔离节点线程池
+     */
+    @Setter
+    private String tenant;
+
     private Processors.Validator<I> validator = (i, all) -> true;
 
     private Blocks.Block<I> block = null;
@@ -138,6 +174,11 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
 
     private Processors.Filter<I> postFilter = null;
 
+    /**
+     * 边上批次的keyset游标，按创建时间轮转拉取，避免先到的批次一直拉取不到
+     */
+    private volatile FlowContext<I> edgeBatchCursor = null;
+
     /**
      * 该节点只做单数据处理，理解为一条数据一条数据处理，是一个mapping操作
      */
@@ -174,6 +215,21 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
      */
     private volatile boolean processRunning = false;
 
+    /**
+     * 节点预处理连续获取分布式锁失败的次数
+     */
+    private final AtomicInteger preProcessLockBusy = new AtomicInteger(0);
+
+    /**
+     * 节点处理连续获取分布式锁失败的次数
+     */
+    private final AtomicInteger processLockBusy = new AtomicInteger(0);
+
+    /**
+     * 当前节点处理是否因达到最大并发度或线程池名额已满而挂起，并发度或名额释放时重新调度
+     */
+    private final AtomicBoolean processParked = new AtomicBoolean(false);
+
     /**
      * 数据处理完后callback函数，用于外界的侦听或者数据处理完后后续操作
      */
@@ -189,10 +245,6 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
 
     private boolean isAuto = true;
 
-    private Thread processT = null;
-
-    private Thread preProcessT = null;
-
     private Set<InterStreamHandler> listeners = new HashSet<>();
 
     private int order = 0;
@@ -377,30 +429,57 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
             this.process();
             return;
         }
-        if (type == ProcessType.PRE_PROCESS && (preProcessT == null || !preProcessRunning)) {
+        FlowNodeWakeups.getInstance().touch(this.streamId, this.id, type);
+        this.wakeup(type);
+    }
+
+    /**
+     * 唤醒节点主循环处理边上的数据，主循环已在运行时忽略
+     * 本进程内的数据落边通知、其他进程广播的通知以及兜底轮询都通过该入口唤醒节点
+     *
+     * @param type 触发节点处理的类型，有PRE_PROCESS和PROCESS两种
+     */
+    @Override
+    public synchronized void wakeup(ProcessType type) {
+        if (type == ProcessType.PRE_PROCESS && !preProcessRunning) {
             preProcessRunning = true;
-            String threadName = getThreadName(PRE_PROCESS_T_NAME_PREFIX);
-            preProcessT = new Thread(this::preProcess, threadName);
-            preProcessT.setUncaughtExceptionHandler((tr, ex) -> LOG.error(tr.getName() + " : " + ex.getMessage()));
-            preProcessT.start();
-            LOG.debug("[{}] preprocess main loop starts for stream-id: {}, node-id: {}", threadName, this.streamId,
-                    this.id);
+            this.schedule(this::preProcess);
+            LOG.debug("[{}] preprocess main loop starts for stream-id: {}, node-id: {}",
+                    getThreadName(PRE_PROCESS_T_NAME_PREFIX), this.streamId, this.id);
         }
-        if (type == ProcessType.PROCESS && (processT == null || !processRunning)) {
+        if (type == ProcessType.PROCESS && !processRunning) {
             processRunning = true;
-            String threadName = getThreadName(PROCESS_T_NAME_PREFIX);
-            processT = new Thread(this::process, threadName);
-            processT.setUncaughtExceptionHandler((tr, ex) -> LOG.error(tr.getName() + " : " + ex.getMessage()));
-            processT.start();
-            LOG.debug("[{}] process main loop starts for stream-id: {}, node-id: {}", threadName, this.streamId,
-                    this.id);
+            this.schedule(this::process);
+            LOG.debug("[{}] process main loop starts for stream-id: {}, node-id: {}",
+                    getThreadName(PROCESS_T_NAME_PREFIX), this.streamId, this.id);
         }
     }
 
+    /**
+     * 将节点主循环交给共享调度器执行，同一流程版本的节点共享一个调度队列
+     *
+     * @param loop 节点主循环
+     */
+    private void schedule(Runnable loop) {
+        FlowNodeScheduler.getInstance().submit(this.streamId, loop);
+    }
+
     private String getThreadName(String tNamePrefix) {
         return StringUtils.join(Constant.STREAM_ID_SEPARATOR, tNamePrefix, this.streamId, this.id);
     }
 
+    /**
+     * 计算获取分布式锁失败后的重新调度延迟，按连续失败次数指数增长，取值在上限的一半到上限之间随机
+     *
+     * @param busyCount 连续获取分布式锁失败的次数
+     * @return 延迟时间，单位毫秒
+     */
+    private static long lockRetryDelay(AtomicInteger busyCount) {
+        int attempts = Math.min(busyCount.getAndIncrement(), Integer.SIZE - 2);
+        long delay = Math.min((long) LOCK_RETRY_MILLIS << attempts, LOCK_RETRY_MAX_MILLIS);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
     private boolean inParallelMode(List<FlowContext<I>> contexts) {
         return StringUtils.isNotEmpty(contexts.get(0).getParallel());
     }
@@ -415,10 +494,16 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
      * 这时A线程未标记退出，B线程已经完成触发动作，B线程以为A线程还在处理，而A线程直接就会退出，因此由A线程判断是否再触发一次
      */
     private void preProcess() {
-        while (true) {
+        for (int round = 0; round < MAX_ROUNDS_PER_SLICE; round++) {
             List<FlowContext<I>> ready = new ArrayList<>();
             try {
                 ready = requestReady();
+                if (ready == null) {
+                    FlowNodeScheduler.getInstance()
+                            .submitLater(this.streamId, this::preProcess, lockRetryDelay(this.preProcessLockBusy));
+                    return;
+                }
+                this.preProcessLockBusy.set(0);
                 if (CollectionUtils.isEmpty(ready)) {
                     preProcessRunning = false;
                     LOG.debug("[{}] preprocess main loop exit for stream-id: {}, node-id: {}",
@@ -426,6 +511,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                     this.handlePreProcessConcurrentConflict();
                     return;
                 }
+                this.getRepo().checkpoint(ready, FlowCheckpointType.MANUAL);
                 messenger.send(this.getId(), ready);
                 this.releaseTrace(ready);
             } catch (Exception ex) {
@@ -434,10 +520,13 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                                 "preprocess main loop exception stream-id: {}, node-id: {}, context-id: {}, errors: {}",
                                 this.streamId, this.id, r.getId(), ex));
                 LOG.error("preprocess main loop exception details: ", ex);
-            } finally {
-                SleepUtil.sleep(SLEEP_MILLS);
+                // 延迟后重新调度，等待期间让出工作线程
+                FlowNodeScheduler.getInstance().submitLater(this.streamId, this::preProcess, SLEEP_MILLS);
+                return;
             }
         }
+        // 单次调度处理的批次数达到上限，让出工作线程后重新排队继续处理
+        this.schedule(this::preProcess);
     }
 
     /**
@@ -457,10 +546,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
     }
 
     private void handlePreProcessConcurrentConflict() {
-        List<FlowContext<I>> concurrentConflictContexts = this.preFilter()
-                .process(repo.getContextsByPosition(this.streamId,
-                        this.froms.stream().map(Identity::getId).collect(Collectors.toList()),
-                        FlowNodeStatus.PENDING.toString()));
+        List<FlowContext<I>> concurrentConflictContexts = this.requestPending();
         if (CollectionUtils.isEmpty(concurrentConflictContexts) || inParallelMode(concurrentConflictContexts)) {
             return;
         }
@@ -476,18 +562,18 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
      * 如果是同一批数据，一个只更新status，一个只更新sent标记，会被覆盖
      * 处理方式为，增加两个更新方法，只更新对应的字段，其他字段不更新
      *
-     * @return List<FlowContext < I>>
+     * 分布式锁被占用时不阻塞调度器的工作线程，返回null由调用方延迟重新调度
+     *
+     * @return List<FlowContext < I>>，分布式锁被占用时返回null
      */
     private List<FlowContext<I>> requestReady() {
         Lock lock = locks.getDistributedLock(
                 locks.streamNodeLockKey(this.streamId, this.id, ProcessType.PRE_PROCESS.toString()));
-        lock.lock();
+        if (!lock.tryLock()) {
+            return null;
+        }
         try {
-            List<FlowContext<I>> contexts = this.preFilter()
-                    .process(repo.getContextsByPosition(this.streamId,
-                            this.froms.stream().map(Identity::getId).collect(Collectors.toList()),
-                            FlowNodeStatus.PENDING.toString()));
-            contexts = filterTerminate(contexts);
+            List<FlowContext<I>> contexts = filterTerminate(this.requestPending());
             if (CollectionUtils.isEmpty(contexts)) {
                 return new ArrayList<>();
             }
@@ -498,6 +584,27 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         }
     }
 
+    /**
+     * 拉取边上未发送的一个批次
+     * 默认按批次过滤时由repo在数据库侧选出批次，自定义过滤器时仍然拉取边上所有的上下文后过滤
+     *
+     * @return 待处理的context
+     */
+    private List<FlowContext<I>> requestPending() {
+        List<String> posIds = this.froms.stream().map(Identity::getId).collect(Collectors.toList());
+        String status = FlowNodeStatus.PENDING.toString();
+        if (this.preFilter() != this.defaultAutoFilter) {
+            return this.preFilter().process(repo.getContextsByPosition(this.streamId, posIds, status));
+        }
+        FlowContext<I> cursor = this.edgeBatchCursor;
+        List<FlowContext<I>> contexts = repo.getNextBatchByPosition(this.streamId, posIds, status, cursor);
+        if (contexts.isEmpty() && cursor != null) {
+            contexts = repo.getNextBatchByPosition(this.streamId, posIds, status, null);
+        }
+        this.edgeBatchCursor = contexts.stream().max(FlowContextRepo.EDGE_BATCH_ORDER).orElse(null);
+        return contexts;
+    }
+
     @Override
     public void block(Blocks.Block<I> block) {
         this.isAuto = false;
@@ -574,6 +681,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
     @Override
     public void onSubscribe(FitStream.Subscription<?, I> subscription) {
         this.froms.add(subscription); // 将该节点的from的event加入
+        FlowNodeWakeups.getInstance().register(this.streamId, this.id, this);
     }
 
     @Override
@@ -629,6 +737,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         Retryable<I> retryable = new Retryable<>(this.getRepo(), (To<I, I>) this);
         Optional.ofNullable(this.errorHandler).ifPresent(handler -> handler.handle(ex, retryable, pre));
         Optional.ofNullable(this.globalErrorHandler).ifPresent(handler -> handler.handle(ex, retryable, pre));
+        this.getRepo().checkpoint(pre, FlowCheckpointType.ERROR);
     }
 
     private boolean isOwnTrace(List<FlowContext<I>> pre) {
@@ -648,6 +757,47 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
      */
     public synchronized void updateConcurrency(int diff) {
         this.curConcurrency += diff;
+        if (diff < 0) {
+            this.unparkProcess();
+        }
+    }
+
+    /**
+     * 达到最大并发度或者线程池名额已满时挂起节点处理，不占用调度器的工作线程，等待并发度或名额释放后重新调度
+     * 未挂起时已经占用了线程池的一个名额
+     *
+     * @param pool 节点所在隔离舱的线程池
+     * @return 是否已挂起
+     */
+    private boolean parkIfSaturated(PriorityThreadPool pool) {
+        this.processParked.set(true);
+        if (this.isMaxConcurrency() || !pool.tryAcquire(this::unparkProcess)) {
+            return true;
+        }
+        if (this.processParked.compareAndSet(true, false)) {
+            return false;
+        }
+        // 挂起期间已被唤醒并重新调度，由新的调度继续处理
+        pool.release();
+        return true;
+    }
+
+    private boolean unparkProcess() {
+        if (!this.processParked.compareAndSet(true, false)) {
+            return false;
+        }
+        this.schedule(this::process);
+        return true;
+    }
+
+    /**
+     * 获取节点所在隔离舱的线程池
+     *
+     * @return 线程池
+     */
+    private PriorityThreadPool getThreadPool() {
+        return FlowExecutors.getThreadPool(this.streamId, this.tenant,
+                Optional.ofNullable(this.nodeType).map(FlowNodeType::name).orElse(null));
     }
 
     /**
@@ -697,6 +847,7 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         pre.forEach(p -> p.setStatus(FlowNodeStatus.PROCESSING));
         this.getRepo().update(pre);
         this.getRepo().updateStatus(pre, pre.get(0).getStatus().toString(), pre.get(0).getPosition());
+        this.getRepo().checkpoint(pre, FlowCheckpointType.ASYNC_JOB);
     }
 
     private void beforeProcess(List<FlowContext<I>> contexts) {
@@ -729,6 +880,9 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
         LOG.debug("afterProcess before updateProcessStatus");
         this.getRepo().updateProcessStatus(preContexts);
         LOG.debug("afterProcess after updateProcessStatus");
+        if (FlowNodeType.END.equals(this.nodeType)) {
+            this.getRepo().checkpoint(preContexts, FlowCheckpointType.END);
+        }
         if (CollectionUtils.isEmpty(after)) {
             return;
         }
@@ -977,15 +1131,23 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
          * @param to 当前节点
          */
         public <T1, R1> void request(To<T1, R1> to) {
-            while (true) {
+            for (int round = 0; round < MAX_ROUNDS_PER_SLICE; round++) {
                 LOG.warn("request enter");
-                if (to.curConcurrency >= MAX_CONCURRENCY) {
-                    SleepUtil.sleep(1000);
-                    continue;
+                PriorityThreadPool pool = to.getThreadPool();
+                if (to.parkIfSaturated(pool)) {
+                    return;
                 }
                 List<FlowContext<T1>> ready = new ArrayList<>();
+                boolean isSubmitted = false;
+                boolean isFailed = false;
+                boolean isLockBusy = false;
                 try {
                     ready = requestReady(to);
+                    if (ready == null) {
+                        isLockBusy = true;
+                        return;
+                    }
+                    to.processLockBusy.set(0);
                     if (CollectionUtils.isEmpty(ready)) {
                         to.processRunning = false;
                         LOG.debug("[{}] process main loop exit for stream-id: {}, node-id: {}",
@@ -994,24 +1156,34 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
                         return;
                     }
                     logContexts(ready, "[ready context]");
-                    if (to.inParallelMode(ready)) {
-                        to.onProcess(ready);
-                    } else {
-                        this.submit(to, ready);
-                    }
+                    // 平行节点的处理也交给节点线程池，避免在调度器的工作线程上执行节点业务
+                    isSubmitted = true;
+                    pool.submitAcquired(this.buildTask(to, ready));
                     LOG.warn("request after submit");
                 } catch (Exception ex) {
                     ready.forEach( // 如果是数据库或者redis挂了，会死循环，线程不退出等待数据库或者redis恢复
                             r -> LOG.error("process main loop exception stream-id: {}, node-id: {}, context-id: {}"
                                     + ", errors: {}", to.streamId, to.id, r.getId(), ex));
                     LOG.error("process main loop exception details: ", ex);
-                    LOG.warn("request before sleep");
-                    SleepUtil.sleep(50);
-                    LOG.warn("request after sleep");
+                    isFailed = true;
                 } finally {
+                    if (!isSubmitted) {
+                        pool.release();
+                    }
+                    if (isLockBusy) {
+                        FlowNodeScheduler.getInstance()
+                                .submitLater(to.streamId, to::process, lockRetryDelay(to.processLockBusy));
+                    }
                     LOG.warn("request end");
                 }
+                if (isFailed) {
+                    // 延迟后重新调度，等待期间让出工作线程
+                    FlowNodeScheduler.getInstance().submitLater(to.streamId, to::process, PROCESS_RETRY_MILLIS);
+                    return;
+                }
             }
+            // 单次调度处理的批次数达到上限，让出工作线程后重新排队继续处理
+            to.schedule(to::process);
         }
 
         /**
@@ -1028,7 +1200,9 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
             LOG.warn("requestReady enter");
             Lock lock = to.locks.getDistributedLock(
                     to.locks.streamNodeLockKey(to.streamId, to.id, ProcessType.PROCESS.toString()));
-            lock.lock();
+            if (!lock.tryLock()) {
+                return null;
+            }
             try {
                 List<FlowContext<T1>> all = requestAll(to);
                 LOG.warn("requestReady after request all");
@@ -1078,16 +1252,25 @@ public class To<I, O> extends IdGenerator implements FitStream.Subscriber<I, O>
          * @param <R1> 流程实例执行时的出参数据类型，用于泛型推倒
          */
         public <T1, R1> void submit(To<T1, R1> to, List<FlowContext<T1>> ready) {
+            PriorityThreadPool.PriorityTask task = this.buildTask(to, ready);
+            try {
+                to.getThreadPool().submit(task);
+            } catch (RejectedExecutionException ex) {
+                // 线程池已随流程版本下线并关闭，重新获取线程池后提交
+                LOG.warn("The node pool is retired, resubmit. stream-id: {}, node-id: {}.", to.streamId, to.id);
+                to.getThreadPool().submit(task);
+            }
+        }
+
+        private <T1, R1> PriorityThreadPool.PriorityTask buildTask(To<T1, R1> to, List<FlowContext<T1>> ready) {
             logFileTest(to, "submit", ready);
-            FlowExecutors.getThreadPool(StringUtils.join(Constant.STREAM_ID_SEPARATOR, to.streamId, to.id),
-                            MAX_CONCURRENCY)
-                    .submit(PriorityThreadPool.PriorityTask.builder()
-                            .priority(PriorityThreadPool.PriorityTask.PriorityInfo.builder()
-                                    .order(to.order)
-                                    .createTime(System.currentTimeMillis())
-                                    .build())
-                            .runner(() -> to.onProcess(ready))
-                            .build());
+            return PriorityThreadPool.PriorityTask.builder()
+                    .priority(PriorityThreadPool.PriorityTask.PriorityInfo.builder()
+                            .order(to.order)
+                            .createTime(System.currentTimeMillis())
+                            .build())
+                    .runner(() -> to.onProcess(ready))
+                    .build();
         }
 
         private <T1, R1> void handleProcessConcurrentConflict(To<T1, R1> to) {
@@ -13,6 +13,7 @@ import modelengine.fit.waterflow.flowsengine.persist.po.FlowContextPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +44,23 @@ public interface FlowContextMapper {
      */
     List<FlowContextPO> findByPositions(String streamId, List<String> posIds, String status, List<String> traceIds);
 
+    /**
+     * 按(创建时间, 批次ID)的keyset游标拉取边上下一个批次的上下文，SQL中有SENT=FALSE的过滤条件
+     * 子查询只读取索引中的列选出批次，只有该批次的上下文会读取flow_data
+     *
+     * @param streamId 版本ID
+     * @param posIds {@link String} context停留在边上的ID
+     * @param status {@link String} 查询的context状态
+     * @param traceIds {@link List<String>} 查询的traceIds
+     * @param afterCreateAt {@link LocalDateTime} 游标的创建时间，为空时从最早的批次开始
+     * @param afterBatchId {@link String} 游标的批次ID，创建时间相同时返回批次ID大于该值的批次
+     * @return flowContextPO对应集合 {@link List}{@code <}{@link FlowContextPO}{@code >}
+     */
+    List<FlowContextPO> findNextBatchByPositions(@Param("streamId") String streamId,
+            @Param("posIds") List<String> posIds, @Param("status") String status,
+            @Param("traceIds") List<String> traceIds, @Param("afterCreateAt") LocalDateTime afterCreateAt,
+            @Param("afterBatchId") String afterBatchId);
+
     /**
      * 获取节点处理完后产生的新的context，发送给下个节点处理，后续可以判断是否删除该方法
      *
@@ -189,6 +207,14 @@ public interface FlowContextMapper {
      */
     void batchUpdate(List<FlowContextPO> flowContextPOS);
 
+    /**
+     * 批量更新contexts的所有可变字段，用于写回内存中合并后的context
+     *
+     * @param flowContextPOS flowContextPOS
+     * @param exclusiveStatus 互斥状态列表，如果数据库的status在exclusiveStatus中，则不能更新
+     */
+    void batchUpdateAll(List<FlowContextPO> flowContextPOS, List<String> exclusiveStatus);
+
     /**
      * 根据trans批量查询context
      *
@@ -0,0 +1,403 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import modelengine.fit.ohscript.script.parser.AST;
+import modelengine.fit.ohscript.script.parser.ParserBuilder;
+import modelengine.fit.waterflow.common.Constant;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 编译后的条件规则，在所有线程间共享
+ * 条件构造器生成的简单比较（如{@code (businessData.get("a").get("b") > 5) && (...)}）直接在java中求值，不经过OhScript解释器；
+ * 其他规则使用OhScript的AST执行，AST按规则缓存多份，执行时借出、执行后归还，不在线程间同时使用同一份AST
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+final class CompiledConditionRule {
+    private static final int MAX_POOLED_ASTS = 16;
+
+    private static final String AND = "&&";
+
+    private static final String OR = "||";
+
+    private final String code;
+
+    private final Condition fastPath;
+
+    private final Queue<AST> asts = new ConcurrentLinkedQueue<>();
+
+    private CompiledConditionRule(String code, Condition fastPath) {
+        this.code = code;
+        this.fastPath = fastPath;
+    }
+
+    /**
+     * 编译条件规则，能够直接求值的规则生成快速路径，OhScript的AST在首次执行时再解析
+     *
+     * @param code 格式化后的条件规则
+     * @return 编译后的条件规则
+     */
+    static CompiledConditionRule compile(String code) {
+        return new CompiledConditionRule(code, new FastPathParser(code).parse());
+    }
+
+    /**
+     * 是否可以不经过OhScript解释器求值
+     *
+     * @return 是否有快速路径
+     */
+    boolean hasFastPath() {
+        return this.fastPath != null;
+    }
+
+    /**
+     * 在快速路径上求值
+     *
+     * @param businessData 业务数据
+     * @return 求值结果，数据的类型与规则不匹配、无法确定与解释器结果一致时返回null
+     */
+    Boolean tryFastPath(Map<String, Object> businessData) {
+        return this.fastPath == null ? null : this.fastPath.test(businessData);
+    }
+
+    /**
+     * 借出一份AST，使用完成后需要通过{@link #release(AST)}归还
+     *
+     * @param businessData 业务数据，解析时作为外部变量
+     * @return AST
+     */
+    AST borrow(Map<String, Object> businessData) {
+        AST ast = this.asts.poll();
+        if (ast != null) {
+            return ast;
+        }
+        ParserBuilder parserBuilder = new ParserBuilder();
+        parserBuilder.addExternalOh(Constant.BUSINESS_DATA_KEY, businessData);
+        return parserBuilder.parseString("", this.code);
+    }
+
+    /**
+     * 归还AST
+     *
+     * @param ast AST
+     */
+    void release(AST ast) {
+        if (ast != null && this.asts.size() < MAX_POOLED_ASTS) {
+            this.asts.offer(ast);
+        }
+    }
+
+    private static Condition isEmpty(List<String> path, boolean isTrim, boolean isInvert) {
+        return data -> {
+            Object value = resolve(data, path, isTrim);
+            Boolean isEmpty = null;
+            if (value instanceof Collection) {
+                isEmpty = ((Collection<?>) value).isEmpty();
+            } else if (value instanceof Map) {
+                isEmpty = ((Map<?, ?>) value).isEmpty();
+            }
+            return isEmpty == null ? null : isEmpty != isInvert;
+        };
+    }
+
+    private static Condition compare(List<String> path, boolean isTrim, String operator, Object literal) {
+        return data -> {
+            Object value = resolve(data, path, isTrim);
+            if (value == Unresolved.INSTANCE) {
+                return null;
+            }
+            if (literal == Literal.NULL) {
+                if ("==".equals(operator)) {
+                    return value == null;
+                }
+                return "!=".equals(operator) ? value != null : null;
+            }
+            Integer order = order(value, literal);
+            if (order == null) {
+                return null;
+            }
+            switch (operator) {
+                case "==":
+                    return order == 0;
+                case "!=":
+                    return order != 0;
+                case ">":
+                    return order > 0;
+                case ">=":
+                    return order >= 0;
+                case "<":
+                    return order < 0;
+                default:
+                    return order <= 0;
+            }
+        };
+    }
+
+    /**
+     * 比较数据与字面量，数字按数值比较，字符串与布尔只支持相等比较
+     *
+     * @return 比较结果，类型不一致时返回null
+     */
+    private static Integer order(Object value, Object literal) {
+        if (literal instanceof BigDecimal) {
+            BigDecimal number = toDecimal(value);
+            return number == null ? null : number.compareTo((BigDecimal) literal);
+        }
+        if ((literal instanceof String && value instanceof String) || (literal instanceof Boolean
+                && value instanceof Boolean)) {
+            return literal.equals(value) ? 0 : Integer.valueOf(1);
+        }
+        return null;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isNaN(number) || Double.isInfinite(number) ? null : BigDecimal.valueOf(number);
+        }
+        if (value instanceof Number) {
+            try {
+                return new BigDecimal(value.toString());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Boolean asBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : null;
+    }
+
+    /**
+     * 沿路径读取业务数据，中间节点不是Map时返回{@link Unresolved#INSTANCE}
+     */
+    private static Object resolve(Map<String, Object> businessData, List<String> path, boolean isTrim) {
+        Object current = businessData;
+        for (String key : path) {
+            if (!(current instanceof Map)) {
+                return Unresolved.INSTANCE;
+            }
+            current = ((Map<?, ?>) current).get(key);
+        }
+        if (isTrim) {
+            return current instanceof String ? ((String) current).trim() : Unresolved.INSTANCE;
+        }
+        return current;
+    }
+
+    /**
+     * 快速路径上的条件，返回null表示无法求值，需要交给解释器
+     */
+    private interface Condition {
+        Boolean test(Map<String, Object> businessData);
+    }
+
+    /**
+     * 解析条件构造器生成的规则，只接受如下形式，其他形式返回null：
+     * {@code term (&& term)*} 或 {@code term (|| term)*}，
+     * term为{@code [!]businessData.get("k")...[.trim()][.isEmpty() | 比较运算符 字面量]}，可以带一层括号
+     */
+    private static class FastPathParser {
+        private final String code;
+
+        private int pos = 0;
+
+        FastPathParser(String code) {
+            this.code = code;
+        }
+
+        Condition parse() {
+            List<Condition> terms = new ArrayList<>();
+            String connector = null;
+            do {
+                Condition term = this.parseTerm();
+                if (term == null) {
+                    return null;
+                }
+                terms.add(term);
+                this.skipSpaces();
+                if (this.pos == this.code.length()) {
+                    break;
+                }
+                String next = this.code.startsWith(AND, this.pos) ? AND : null;
+                next = this.code.startsWith(OR, this.pos) ? OR : next;
+                if (next == null || (connector != null && !connector.equals(next))) {
+                    return null;
+                }
+                connector = next;
+                this.pos += next.length();
+            } while (true);
+            return combine(terms, OR.equals(connector));
+        }
+
+        private static Condition combine(List<Condition> terms, boolean isOr) {
+            // 所有条件都能求值时才返回结果，避免解释器会报错的数据在快速路径上被短路
+            return businessData -> {
+                boolean result = !isOr;
+                for (Condition term : terms) {
+                    Boolean value = term.test(businessData);
+                    if (value == null) {
+                        return null;
+                    }
+                    result = isOr ? result || value : result && value;
+                }
+                return result;
+            };
+        }
+
+        private Condition parseTerm() {
+            this.skipSpaces();
+            boolean isParenthesized = this.consume("(");
+            boolean isInvert = this.consume("!");
+            List<String> path = this.parsePath();
+            if (path == null) {
+                return null;
+            }
+            boolean isTrim = this.consume(".trim()");
+            Condition condition;
+            if (this.consume(".isEmpty()")) {
+                condition = isEmpty(path, isTrim, isInvert);
+            } else {
+                condition = this.parseComparison(path, isTrim, isInvert);
+            }
+            this.skipSpaces();
+            if (condition == null || (isParenthesized && !this.consume(")"))) {
+                return null;
+            }
+            return condition;
+        }
+
+        private List<String> parsePath() {
+            this.skipSpaces();
+            if (!this.consume(Constant.BUSINESS_DATA_KEY)) {
+                return null;
+            }
+            List<String> path = new ArrayList<>();
+            while (this.consume(".get(")) {
+                String key = this.parseString();
+                if (key == null || !this.consume(")")) {
+                    return null;
+                }
+                path.add(key);
+            }
+            return path.isEmpty() ? null : path;
+        }
+
+        private Condition parseComparison(List<String> path, boolean isTrim, boolean isInvert) {
+            this.skipSpaces();
+            String operator = null;
+            for (String candidate : new String[] {"==", "!=", ">=", "<=", ">", "<"}) {
+                if (this.consume(candidate)) {
+                    operator = candidate;
+                    break;
+                }
+            }
+            if (operator == null) {
+                // 条件构造器的“为真”直接使用变量本身
+                return isInvert ? null : data -> asBoolean(resolve(data, path, isTrim));
+            }
+            if (isInvert) {
+                return null;
+            }
+            this.skipSpaces();
+            Object literal = this.parseLiteral();
+            boolean isEquality = "==".equals(operator) || "!=".equals(operator);
+            if (literal == null || (!isEquality && !(literal instanceof BigDecimal))) {
+                return null;
+            }
+            return compare(path, isTrim, operator, literal);
+        }
+
+        private Object parseLiteral() {
+            if (this.peek() == '"') {
+                return this.parseString();
+            }
+            for (Object keyword : new Object[] {Boolean.TRUE, Boolean.FALSE, Literal.NULL}) {
+                if (this.consumeWord(keyword.toString())) {
+                    return keyword;
+                }
+            }
+            int start = this.pos;
+            while (this.pos < this.code.length() && "+-.0123456789eE".indexOf(this.code.charAt(this.pos)) >= 0) {
+                this.pos++;
+            }
+            try {
+                return this.pos > start ? new BigDecimal(this.code.substring(start, this.pos)) : null;
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        private String parseString() {
+            if (this.peek() != '"') {
+                return null;
+            }
+            int end = this.code.indexOf('"', this.pos + 1);
+            if (end < 0) {
+                return null;
+            }
+            String value = this.code.substring(this.pos + 1, end);
+            if (value.indexOf('\\') >= 0) {
+                // 转义字符交给解释器处理
+                return null;
+            }
+            this.pos = end + 1;
+            return value;
+        }
+
+        private boolean consumeWord(String word) {
+            int end = this.pos + word.length();
+            if (!this.code.startsWith(word, this.pos)
+                    || (end < this.code.length() && Character.isJavaIdentifierPart(this.code.charAt(end)))) {
+                return false;
+            }
+            this.pos = end;
+            return true;
+        }
+
+        private boolean consume(String token) {
+            if (this.code.startsWith(token, this.pos)) {
+                this.pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            return this.pos < this.code.length() ? this.code.charAt(this.pos) : 0;
+        }
+
+        private void skipSpaces() {
+            while (this.pos < this.code.length() && Character.isWhitespace(this.code.charAt(this.pos))) {
+                this.pos++;
+            }
+        }
+    }
+
+    private enum Unresolved {
+        INSTANCE
+    }
+
+    private enum Literal {
+        NULL;
+
+        @Override
+        public String toString() {
+            return "null";
+        }
+    }
+}
@@ -7,7 +7,14 @@
 package modelengine.fit.waterflow.flowsengine.utils;
 
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,6 +22,7 @@ import java.util.stream.Collectors;
 
 /**
  * 流程引擎的节点线程池
+ * 按照配置的隔离维度（流程版本、租户、节点类型）划分互相隔离的线程池，避免一个慢节点拖垮其他流程
  *
  * @author 高诗意
  * @since 2023/10/30
@@ -22,44 +30,178 @@ import java.util.stream.Collectors;
 public final class FlowExecutors {
     private static final Logger LOG = Logger.get(FlowExecutors.class);
 
+    private static final String COMMON_KEY = "common";
+
+    private static final char KEY_SEPARATOR = '/';
+
+    private static final int DEFAULT_PARALLEL_NUM = 16;
+
+    private static final int DEFAULT_MAX_POOLS = 64;
+
     private static final Map<String, PriorityThreadPool> THREAD_POOLS = new ConcurrentHashMap<>();
 
+    private static volatile Set<Isolation> isolations = Collections.emptySet();
+
+    private static volatile int parallelNum = DEFAULT_PARALLEL_NUM;
+
+    private static volatile int queueCapacity = 0;
+
+    private static volatile int maxPools = DEFAULT_MAX_POOLS;
+
+    private FlowExecutors() {
+    }
+
     /**
-     * 获取节点线程池，节点一次只有一个线程在处理，因此无需加锁
-     * 如果要改为一个流程定义一个线程池，则只需要更新key值
+     * 配置节点线程池的隔离维度和容量，只对之后新建的线程池生效
      *
-     * @param key 有流程版本和节点ID组成的key（streamID+nodeID），每个节点一个线程池
-     * @param parallelNum 节点的并发度，默认为10，后续支持配置
+     * @param isolationSet 隔离维度，为空时所有节点共享一个线程池
+     * @param parallelNumPerPool 每个线程池的线程数
+     * @param queueCapacityPerPool 每个线程池的排队任务数上限，小于等于0表示不限制
+     */
+    public static void configure(Set<Isolation> isolationSet, int parallelNumPerPool, int queueCapacityPerPool) {
+        configure(isolationSet, parallelNumPerPool, queueCapacityPerPool, DEFAULT_MAX_POOLS);
+    }
+
+    /**
+     * 配置节点线程池的隔离维度、容量和隔离线程池个数上限，只对之后新建的线程池生效
+     * 隔离线程池个数达到上限后，新的隔离舱退回到共享的common线程池
+     *
+     * @param isolationSet 隔离维度，为空时所有节点共享一个线程池
+     * @param parallelNumPerPool 每个线程池的线程数
+     * @param queueCapacityPerPool 每个线程池的排队任务数上限，小于等于0表示不限制
+     * @param maxPoolNum 隔离线程池个数上限，小于等于0时使用默认值
+     */
+    public static void configure(Set<Isolation> isolationSet, int parallelNumPerPool, int queueCapacityPerPool,
+            int maxPoolNum) {
+        isolations = isolationSet.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(isolationSet);
+        parallelNum = parallelNumPerPool > 0 ? parallelNumPerPool : DEFAULT_PARALLEL_NUM;
+        queueCapacity = queueCapacityPerPool;
+        maxPools = maxPoolNum > 0 ? maxPoolNum : DEFAULT_MAX_POOLS;
+        LOG.info("Flow executors configured. isolations={}, parallelNum={}, queueCapacity={}, maxPools={}.",
+                isolations, parallelNum, queueCapacity, maxPools);
+    }
+
+    /**
+     * 获取节点所在隔离舱的线程池，同一隔离舱内的任务仍然按{@link PriorityThreadPool.PriorityTask}的优先级排序
+     *
+     * @param streamId 流程版本ID
+     * @param tenant 流程所属租户，可以为空
+     * @param nodeType 节点类型，可以为空
      * @return 线程池对象
      */
-    public static PriorityThreadPool getThreadPool(String key, int parallelNum) {
-        String actualKey = "common";
-        int actualParallelNum = 16;
-        PriorityThreadPool exits = THREAD_POOLS.get(actualKey);
+    public static PriorityThreadPool getThreadPool(String streamId, String tenant, String nodeType) {
+        String key = getKey(streamId, tenant, nodeType);
+        PriorityThreadPool exits = THREAD_POOLS.get(key);
         if (exits != null) {
             return exits;
         }
-        PriorityThreadPool threadPool = PriorityThreadPool.build(actualKey, actualParallelNum);
-        THREAD_POOLS.putIfAbsent(actualKey, threadPool);
-        return threadPool;
+        if (!COMMON_KEY.equals(key) && THREAD_POOLS.size() >= maxPools) {
+            LOG.warn("Flow executors reach the max pool number, fall back to the common pool. key={}, maxPools={}.",
+                    key, maxPools);
+            key = COMMON_KEY;
+        }
+        return THREAD_POOLS.computeIfAbsent(key, k -> PriorityThreadPool.build(k, parallelNum, queueCapacity));
+    }
+
+    private static String getKey(String streamId, String tenant, String nodeType) {
+        Set<Isolation> current = isolations;
+        if (current.isEmpty()) {
+            return COMMON_KEY;
+        }
+        List<String> parts = new ArrayList<>();
+        if (current.contains(Isolation.FLOW)) {
+            parts.add(StringUtils.isBlank(streamId) ? COMMON_KEY : streamId);
+        }
+        if (current.contains(Isolation.TENANT)) {
+            parts.add(StringUtils.isBlank(tenant) ? COMMON_KEY : tenant);
+        }
+        if (current.contains(Isolation.NODE_TYPE)) {
+            parts.add(StringUtils.isBlank(nodeType) ? COMMON_KEY : nodeType);
+        }
+        return StringUtils.join(KEY_SEPARATOR, parts);
     }
 
     /**
-     * 删除流程版本所有节点的线程池
+     * 删除流程版本所有节点的线程池，正在使用的线程池在已申请的名额全部归还后关闭，已提交的任务执行完后线程退出
      *
      * @param keyPrefix 流程版本，streamID
      */
     public static void removeThreadPool(String keyPrefix) {
         Set<String> keysToRemove = THREAD_POOLS.keySet()
                 .stream()
-                .filter(key -> key.startsWith(keyPrefix))
+                .filter(key -> key.equals(keyPrefix) || key.startsWith(keyPrefix + KEY_SEPARATOR))
                 .collect(Collectors.toSet());
         keysToRemove.forEach(key -> {
-            try {
-                THREAD_POOLS.get(key).shutdown();
-            } finally {
-                THREAD_POOLS.remove(key);
+            PriorityThreadPool pool = THREAD_POOLS.remove(key);
+            if (pool != null) {
+                pool.retire();
             }
         });
     }
+
+    /**
+     * 流程版本下线时删除其节点的唤醒登记和独立的线程池，未按流程版本隔离时线程池由多个流程共享，不做删除
+     *
+     * @param streamId 流程版本ID
+     */
+    public static void onStreamOffline(String streamId) {
+        if (StringUtils.isBlank(streamId)) {
+            return;
+        }
+        FlowNodeWakeups.getInstance().remove(streamId);
+        if (!isolations.contains(Isolation.FLOW)) {
+            return;
+        }
+        removeThreadPool(streamId);
+    }
+
+    /**
+     * 获取当前节点线程池的个数
+     *
+     * @return 线程池个数
+     */
+    public static int getThreadPoolNum() {
+        return THREAD_POOLS.size();
+    }
+
+    /**
+     * 节点线程池的隔离维度
+     *
+     * @author 高诗意
+     * @since 2026/10/18
+     */
+    public enum Isolation {
+        /**
+         * 每个流程版本独立的线程池
+         */
+        FLOW,
+
+        /**
+         * 每个租户独立的线程池
+         */
+        TENANT,
+
+        /**
+         * 每种节点类型独立的线程池
+         */
+        NODE_TYPE;
+
+        /**
+         * 解析逗号分隔的隔离维度配置，如 {@code flow,node_type}，{@code common} 或空表示不隔离
+         *
+         * @param config 隔离维度配置
+         * @return 隔离维度集合
+         */
+        public static Set<Isolation> parse(String config) {
+            if (StringUtils.isBlank(config)) {
+                return Collections.emptySet();
+            }
+            return Arrays.stream(config.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotBlank)
+                    .filter(item -> !COMMON_KEY.equalsIgnoreCase(item))
+                    .map(item -> Isolation.valueOf(item.toUpperCase(Locale.ROOT)))
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(Isolation.class)));
+        }
+    }
 }
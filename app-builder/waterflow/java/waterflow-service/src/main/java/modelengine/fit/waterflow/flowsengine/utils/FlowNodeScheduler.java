@@ -0,0 +1,276 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import modelengine.fit.waterflow.flowsengine.biz.service.CustomThreadFactory;
+import modelengine.fitframework.log.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 流程引擎节点主循环的共享调度器
+ * 所有节点的preprocess和process主循环都复用同一组有上限的工作线程，不再每个节点启动一个线程
+ * 任务按流程版本（streamId）分队列，工作线程在有待处理任务的流程版本之间轮转取任务，保证流程版本之间的公平性
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public final class FlowNodeScheduler {
+    private static final Logger LOG = Logger.get(FlowNodeScheduler.class);
+
+    private static final int MAX_WORKER_NUM = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(60L);
+
+    private static final long REPORT_INTERVAL_SECONDS = 60L;
+
+    private static final FlowNodeScheduler INSTANCE = new FlowNodeScheduler(MAX_WORKER_NUM);
+
+    private final int maxWorkerNum;
+
+    private final CustomThreadFactory threadFactory;
+
+    private final ScheduledExecutorService delayer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = this.lock.newCondition();
+
+    private final Map<String, Deque<Task>> queues = new HashMap<>();
+
+    private final Deque<String> readyStreams = new ArrayDeque<>();
+
+    private int workerNum = 0;
+
+    private int idleWorkerNum = 0;
+
+    private int queueDepth = 0;
+
+    private final LongAdder scheduledCount = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private long lastReportedCount = 0L;
+
+    /**
+     * 构造调度器
+     *
+     * @param maxWorkerNum 最大工作线程数
+     */
+    FlowNodeScheduler(int maxWorkerNum) {
+        this.maxWorkerNum = maxWorkerNum;
+        this.threadFactory = new CustomThreadFactory("flow-node-scheduler", (thread, throwable) -> {
+            LOG.error("[flow-node-scheduler]: The node loop run failed, error cause: {}, message: {}.",
+                    throwable.getCause(), throwable.getMessage());
+            LOG.error("The node loop run failed details: ", throwable);
+        });
+        this.delayer = new ScheduledThreadPoolExecutor(1, runner -> {
+            Thread thread = new Thread(runner, "flow-node-scheduler-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delayer.scheduleAtFixedRate(this::report, REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * 获取共享调度器
+     *
+     * @return 调度器实例
+     */
+    public static FlowNodeScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 提交节点主循环任务，同一流程版本的任务按提交顺序执行，不同流程版本之间轮转执行
+     *
+     * @param streamId 流程版本ID
+     * @param runner 节点主循环的一个执行片段
+     */
+    public void submit(String streamId, Runnable runner) {
+        this.lock.lock();
+        try {
+            Deque<Task> queue = this.queues.computeIfAbsent(streamId, key -> new ArrayDeque<>());
+            if (queue.isEmpty()) {
+                this.readyStreams.addLast(streamId);
+            }
+            queue.addLast(new Task(runner, System.nanoTime()));
+            this.queueDepth++;
+            if (this.queueDepth > this.idleWorkerNum && this.workerNum < this.maxWorkerNum) {
+                this.workerNum++;
+                this.threadFactory.newThread(this::work).start();
+            } else {
+                this.notEmpty.signal();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 延迟提交节点主循环任务，延迟期间不占用工作线程，用于节点主循环异常后的退避重试
+     *
+     * @param streamId 流程版本ID
+     * @param runner 节点主循环的一个执行片段
+     * @param delayMillis 延迟时间，单位毫秒
+     */
+    public void submitLater(String streamId, Runnable runner, long delayMillis) {
+        this.delayer.schedule(() -> this.submit(streamId, runner), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 定期输出调度器的运行指标，没有新调度的任务时不输出
+     */
+    void report() {
+        long scheduled = this.getScheduledCount();
+        if (scheduled == this.lastReportedCount) {
+            return;
+        }
+        this.lastReportedCount = scheduled;
+        LOG.info("[flow-node-scheduler]: threads: {}, queue depth: {}, scheduled: {}, average wait: {} ms, "
+                        + "max wait: {} ms.", this.getThreadCount(), this.getQueueDepth(), scheduled,
+                String.format(Locale.ROOT, "%.2f", this.getAverageWaitMillis()), this.getMaxWaitMillis());
+    }
+
+    private void work() {
+        while (true) {
+            Task task = this.take();
+            if (task == null) {
+                return;
+            }
+            long waitNanos = System.nanoTime() - task.submitNanos;
+            this.scheduledCount.increment();
+            this.totalWaitNanos.add(waitNanos);
+            this.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            try {
+                task.runner.run();
+            } catch (Exception ex) {
+                LOG.error("The node loop run failed, error: {}.", ex.getMessage());
+                LOG.error("The node loop run failed details: ", ex);
+            }
+        }
+    }
+
+    private Task take() {
+        this.lock.lock();
+        try {
+            long nanos = KEEP_ALIVE_NANOS;
+            while (this.readyStreams.isEmpty()) {
+                if (nanos <= 0L) {
+                    this.workerNum--;
+                    return null;
+                }
+                this.idleWorkerNum++;
+                try {
+                    nanos = this.notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.workerNum--;
+                    return null;
+                } finally {
+                    this.idleWorkerNum--;
+                }
+            }
+            String streamId = this.readyStreams.pollFirst();
+            Deque<Task> queue = this.queues.get(streamId);
+            Task task = queue.pollFirst();
+            if (queue.isEmpty()) {
+                this.queues.remove(streamId);
+            } else {
+                this.readyStreams.addLast(streamId);
+            }
+            this.queueDepth--;
+            return task;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前工作线程数
+     *
+     * @return 工作线程数
+     */
+    public int getThreadCount() {
+        this.lock.lock();
+        try {
+            return this.workerNum;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取等待调度的任务数
+     *
+     * @return 等待调度的任务数
+     */
+    public int getQueueDepth() {
+        this.lock.lock();
+        try {
+            return this.queueDepth;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取任务从提交到开始执行的平均等待时间
+     *
+     * @return 平均等待时间，单位毫秒
+     */
+    public double getAverageWaitMillis() {
+        long count = this.scheduledCount.sum();
+        if (count == 0L) {
+            return 0D;
+        }
+        return (double) this.totalWaitNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    /**
+     * 获取任务从提交到开始执行的最大等待时间
+     *
+     * @return 最大等待时间，单位毫秒
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos.get());
+    }
+
+    /**
+     * 获取已经调度执行的任务数
+     *
+     * @return 已调度的任务数
+     */
+    public long getScheduledCount() {
+        return this.scheduledCount.sum();
+    }
+
+    private static class Task {
+        private final Runnable runner;
+
+        private final long submitNanos;
+
+        Task(Runnable runner, long submitNanos) {
+            this.runner = runner;
+            this.submitNanos = submitNanos;
+        }
+    }
+}
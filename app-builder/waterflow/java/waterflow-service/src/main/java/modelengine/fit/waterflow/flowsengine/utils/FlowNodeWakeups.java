@@ -0,0 +1,209 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import modelengine.fit.waterflow.common.Constant;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.ProcessType;
+import modelengine.fitframework.log.Logger;
+
+import java.lang.ref.WeakReference;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程引擎节点主循环的唤醒登记表
+ * 节点订阅上游后登记到本进程，数据落边的通知（本进程或者其他进程发出）按流程版本和节点ID找到节点并唤醒主循环
+ * 通知可能丢失，因此定期对最近活跃过的节点做一次慢速的兜底轮询，轮询只唤醒节点曾经处理过的类型
+ * 登记表只持有节点的弱引用，流程版本下线或者节点被回收后自动移除
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public final class FlowNodeWakeups {
+    private static final Logger LOG = Logger.get(FlowNodeWakeups.class);
+
+    /**
+     * 兜底轮询的间隔时间，单位毫秒
+     */
+    private static final long SAFETY_POLL_MILLIS = 30_000L;
+
+    /**
+     * 兜底轮询只覆盖该时间内活跃过的节点，单位毫秒
+     */
+    private static final long ACTIVE_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(10L);
+
+    private static final FlowNodeWakeups INSTANCE = new FlowNodeWakeups(SAFETY_POLL_MILLIS);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 构造唤醒登记表
+     *
+     * @param pollMillis 兜底轮询的间隔时间，单位毫秒，不大于0时不启动兜底轮询
+     */
+    FlowNodeWakeups(long pollMillis) {
+        if (pollMillis <= 0L) {
+            return;
+        }
+        ScheduledExecutorService poller = new ScheduledThreadPoolExecutor(1, runner -> {
+            Thread thread = new Thread(runner, "flow-node-safety-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取唤醒登记表
+     *
+     * @return 登记表实例
+     */
+    public static FlowNodeWakeups getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 登记节点，同一流程版本的同一节点重复登记时以最新的节点为准
+     *
+     * @param streamId 流程版本ID
+     * @param nodeId 节点ID
+     * @param node 节点
+     */
+    public void register(String streamId, String nodeId, Wakeable node) {
+        this.entries.compute(key(streamId, nodeId), (key, old) -> {
+            if (old != null && old.node.get() == node) {
+                return old;
+            }
+            return new Entry(node);
+        });
+    }
+
+    /**
+     * 记录节点处理过的类型，兜底轮询只覆盖最近活跃过的节点
+     *
+     * @param streamId 流程版本ID
+     * @param nodeId 节点ID
+     * @param type 节点处理类型
+     */
+    public void touch(String streamId, String nodeId, ProcessType type) {
+        Entry entry = this.entries.get(key(streamId, nodeId));
+        if (entry != null) {
+            entry.touch(type);
+        }
+    }
+
+    /**
+     * 唤醒本进程内的节点主循环，节点未登记时忽略
+     *
+     * @param streamId 流程版本ID
+     * @param nodeId 节点ID
+     * @param type 节点处理类型
+     */
+    public void wakeup(String streamId, String nodeId, ProcessType type) {
+        String key = key(streamId, nodeId);
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        Wakeable node = entry.node.get();
+        if (node == null) {
+            this.entries.remove(key, entry);
+            return;
+        }
+        entry.touch(type);
+        node.wakeup(type);
+    }
+
+    /**
+     * 移除流程版本所有节点的登记
+     *
+     * @param streamId 流程版本ID
+     */
+    public void remove(String streamId) {
+        String prefix = streamId + Constant.STREAM_ID_SEPARATOR;
+        this.entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * 兜底轮询，唤醒最近活跃过的节点，回收已被释放的节点
+     */
+    void poll() {
+        long activeSince = System.currentTimeMillis() - ACTIVE_WINDOW_MILLIS;
+        this.entries.forEach((key, entry) -> {
+            Wakeable node = entry.node.get();
+            if (node == null) {
+                this.entries.remove(key, entry);
+                return;
+            }
+            if (entry.lastActiveMillis < activeSince) {
+                return;
+            }
+            for (ProcessType type : entry.types()) {
+                try {
+                    node.wakeup(type);
+                } catch (RuntimeException ex) {
+                    LOG.error("[flow-node-safety-poll]: wakeup node failed, key: {}, type: {}, error: {}.", key, type,
+                            ex.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * 获取登记的节点数
+     *
+     * @return 节点数
+     */
+    int size() {
+        return this.entries.size();
+    }
+
+    private static String key(String streamId, String nodeId) {
+        return streamId + Constant.STREAM_ID_SEPARATOR + nodeId;
+    }
+
+    /**
+     * 可以被唤醒的节点
+     *
+     * @author 高诗意
+     * @since 2026/10/18
+     */
+    public interface Wakeable {
+        /**
+         * 唤醒节点主循环处理边上的数据，主循环已在运行时忽略
+         *
+         * @param type 节点处理类型
+         */
+        void wakeup(ProcessType type);
+    }
+
+    private static class Entry {
+        private final WeakReference<Wakeable> node;
+
+        private final Set<ProcessType> types = EnumSet.noneOf(ProcessType.class);
+
+        private volatile long lastActiveMillis = 0L;
+
+        Entry(Wakeable node) {
+            this.node = new WeakReference<>(node);
+        }
+
+        synchronized void touch(ProcessType type) {
+            this.types.add(type);
+            this.lastActiveMillis = System.currentTimeMillis();
+        }
+
+        synchronized Set<ProcessType> types() {
+            return EnumSet.copyOf(this.types);
+        }
+    }
+}
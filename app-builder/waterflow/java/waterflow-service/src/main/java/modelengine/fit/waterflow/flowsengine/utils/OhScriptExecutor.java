@@ -15,15 +15,15 @@ import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.errors.ScriptExecutionException;
 import modelengine.fit.ohscript.script.interpreter.ASTEnv;
 import modelengine.fit.ohscript.script.parser.AST;
-import modelengine.fit.ohscript.script.parser.ParserBuilder;
 import modelengine.fit.waterflow.common.Constant;
-import modelengine.fit.waterflow.common.utils.UuidUtils;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -44,7 +44,18 @@ public final class OhScriptExecutor {
 
     private static final Logger log = Logger.get(OhScriptExecutor.class);
 
-    private static final ThreadLocal<Map<String, AST>> AST_CACHE = new ThreadLocal<>();
+    private static final int MAX_CACHED_RULES = 1024;
+
+    /**
+     * 进程内共享的已编译条件规则，key为格式化后的条件规则，按最近使用淘汰
+     */
+    private static final Map<String, CompiledConditionRule> RULE_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, CompiledConditionRule>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledConditionRule> eldest) {
+                    return this.size() > MAX_CACHED_RULES;
+                }
+            });
 
     /**
      * 执行用户给定的OhScript条件判定脚本，返回判定结果
@@ -54,9 +65,8 @@ public final class OhScriptExecutor {
      * @return 条件表达式的判定结果
      */
     public static boolean evaluateConditionRule(FlowData flowData, String conditionRule) {
-        ParserBuilder parserBuilder = new ParserBuilder();
-        JSONObject businessData = new JSONObject(
-                Optional.ofNullable(flowData.getBusinessData()).orElse(new JSONObject()));
+        // 条件规则只读取业务数据，直接使用flowData中的map，不再复制
+        Map<String, Object> businessData = Optional.ofNullable(flowData.getBusinessData()).orElseGet(HashMap::new);
         String formatConditionRule = FlowUtil.formatConditionRule(conditionRule).trim();
         // 兼容历史 !{{var}}类型，且传入的是字符串类型的true/false
         boolean isPatternOfNot = false;
@@ -65,10 +75,8 @@ public final class OhScriptExecutor {
             formatConditionRule = formatConditionRule.substring(1);
         }
         String ohScript = CODE_SEGMENT_PREFIX + formatConditionRule;
-        String uuid = UuidUtils.fastUuid();
-        log.warn("uuid:{0}, evaluateConditionRule:{1}", uuid, ohScript);
-        Object execResult = getExecResult(conditionRule, parserBuilder, ohScript, businessData);
-        log.warn("uuid:{0}, execResult:{1}", uuid, execResult);
+        Object execResult = getExecResult(conditionRule, compile(ohScript), ohScript, businessData);
+        log.debug("evaluateConditionRule:{0}, execResult:{1}", ohScript, execResult);
         if (execResult instanceof String) {
             if ("TRUE".equalsIgnoreCase(ObjectUtils.cast(execResult))) {
                 execResult = true;
@@ -87,13 +95,30 @@ public final class OhScriptExecutor {
         return isPatternOfNot ? !result : result;
     }
 
-    private static Object getExecResult(String conditionRule, ParserBuilder parserBuilder, String code,
+    /**
+     * 获取编译后的条件规则，所有线程共享
+     *
+     * @param code 格式化后的条件规则
+     * @return 编译后的条件规则
+     */
+    static CompiledConditionRule compile(String code) {
+        return RULE_CACHE.computeIfAbsent(code, CompiledConditionRule::compile);
+    }
+
+    private static Object getExecResult(String conditionRule, CompiledConditionRule rule, String code,
             Map<String, Object> businessData) {
+        Boolean fastResult = rule.tryFastPath(businessData);
+        if (fastResult != null) {
+            return fastResult;
+        }
         Object execResult;
+        AST ast = null;
+        // JSONObject只包装业务数据，不复制，解释器中看到的对象类型与之前保持一致
+        JSONObject data = new JSONObject(businessData);
         try {
-            AST ast = buildAst(parserBuilder, code, businessData);
+            ast = rule.borrow(data);
             ASTEnv env = new ASTEnv(ast);
-            env.grant(Constant.BUSINESS_DATA_KEY, businessData);
+            env.grant(Constant.BUSINESS_DATA_KEY, data);
             execResult = env.execute();
         } catch (GrammarSyntaxException e) {
             String exceptionMsg = StringUtils.format("Invalid OhScript input. OhScript Content: \"{0}\"", code);
@@ -106,22 +131,9 @@ public final class OhScriptExecutor {
             log.error("The FlowConditionNode failed to judge the flow condition, error message: {}, error cause: {}",
                     exceptionMsg, e.getMessage());
             throw new WaterflowException(ErrorCodes.FLOW_ENGINE_CONDITION_RULE_PARSE_ERROR, conditionRule);
+        } finally {
+            rule.release(ast);
         }
         return execResult;
     }
-
-    private static AST buildAst(ParserBuilder parserBuilder, String code, Map<String, Object> businessData) {
-        Map<String, AST> astMap = AST_CACHE.get();
-        if (astMap == null) {
-            astMap = new HashMap<>();
-            AST_CACHE.set(astMap);
-        }
-        AST ast = astMap.get(code);
-        if (ast == null) {
-            parserBuilder.addExternalOh(Constant.BUSINESS_DATA_KEY, businessData);
-            ast = parserBuilder.parseString("", code);
-            astMap.put(code, ast);
-        }
-        return ast;
-    }
 }
@@ -12,9 +12,14 @@ import lombok.Data;
 import modelengine.fit.waterflow.flowsengine.biz.service.CustomThreadFactory;
 import modelengine.fitframework.log.Logger;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BooleanSupplier;
 
 /**
  * 带有任务优先级的线程池
@@ -27,8 +32,20 @@ public class PriorityThreadPool {
 
     private final ExecutorService executorService;
 
-    private PriorityThreadPool(ExecutorService executorService) {
+    /**
+     * 线程池可容纳的任务数，包括正在执行和排队的任务，小于等于0表示不限制
+     */
+    private final int capacity;
+
+    private final Deque<BooleanSupplier> waiters = new ArrayDeque<>();
+
+    private int acquired = 0;
+
+    private boolean retired = false;
+
+    private PriorityThreadPool(ExecutorService executorService, int capacity) {
         this.executorService = executorService;
+        this.capacity = capacity;
     }
 
     /**
@@ -39,6 +56,18 @@ public class PriorityThreadPool {
      * @return 带有优先队列的线程池
      */
     public static PriorityThreadPool build(String key, int parallelNum) {
+        return build(key, parallelNum, 0);
+    }
+
+    /**
+     * 构造一个排队任务数有上限的线程池
+     *
+     * @param key 线程池名称
+     * @param parallelNum 最大线程数
+     * @param queueCapacity 排队任务数上限，小于等于0表示不限制
+     * @return 带有优先队列的线程池
+     */
+    public static PriorityThreadPool build(String key, int parallelNum, int queueCapacity) {
         Thread.UncaughtExceptionHandler uncaughtExceptionHandler = (thread, throwable) -> {
             LOG.error("[node-pool-{}]:  The node pool run failed, error cause: {}, message: {}.", key,
                     throwable.getCause(), throwable.getMessage());
@@ -48,7 +77,85 @@ public class PriorityThreadPool {
                 parallelNum, parallelNum, 60L, SECONDS, new PriorityBlockingQueue<>(),
                 new CustomThreadFactory("flow-node-thread-pool", uncaughtExceptionHandler),
                 new ThreadPoolExecutor.AbortPolicy());
-        return new PriorityThreadPool(threadPoolExecutor);
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return new PriorityThreadPool(threadPoolExecutor, queueCapacity > 0 ? parallelNum + queueCapacity : 0);
+    }
+
+    /**
+     * 申请一个任务名额，名额已满时登记等待者，有名额释放时回调等待者，直到某个等待者返回true
+     * 申请成功后必须提交任务或者调用{@link #release()}归还名额
+     * 线程池已下线时申请失败并立即回调等待者，由调用者重新获取线程池
+     *
+     * @param waiter 名额已满时的等待者，返回是否真正被唤醒
+     * @return 是否申请成功
+     */
+    public boolean tryAcquire(BooleanSupplier waiter) {
+        synchronized (this) {
+            if (!this.retired) {
+                if (this.capacity > 0 && this.acquired >= this.capacity) {
+                    this.waiters.addLast(waiter);
+                    return false;
+                }
+                this.acquired++;
+                return true;
+            }
+        }
+        waiter.getAsBoolean();
+        return false;
+    }
+
+    /**
+     * 归还一个任务名额，并唤醒等待名额的调用者，线程池已下线且名额全部归还后关闭线程池
+     */
+    public void release() {
+        synchronized (this) {
+            this.acquired--;
+            if (this.retired) {
+                if (this.acquired == 0) {
+                    this.executorService.shutdown();
+                }
+                return;
+            }
+        }
+        while (true) {
+            BooleanSupplier waiter;
+            synchronized (this) {
+                waiter = this.waiters.pollFirst();
+            }
+            if (waiter == null || waiter.getAsBoolean()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 提交占用名额的任务，任务执行完后归还名额
+     * 调用前需要通过{@link #tryAcquire(BooleanSupplier)}申请到名额
+     *
+     * @param task 任务
+     */
+    public void submitAcquired(PriorityTask task) {
+        try {
+            this.submit(PriorityTask.builder().priority(task.getPriority()).runner(() -> {
+                try {
+                    task.run();
+                } finally {
+                    this.release();
+                }
+            }).build());
+        } catch (RuntimeException ex) {
+            this.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * 获取已占用的任务名额数
+     *
+     * @return 已占用的任务名额数
+     */
+    public synchronized int getAcquired() {
+        return this.acquired;
     }
 
     /**
@@ -67,6 +174,26 @@ public class PriorityThreadPool {
         this.executorService.shutdown();
     }
 
+    /**
+     * 下线线程池，不再分配新的名额，已申请到名额的任务可以继续提交，名额全部归还后关闭线程池
+     * 等待名额的调用者立即被回调，由调用者重新获取线程池
+     */
+    public void retire() {
+        List<BooleanSupplier> pending;
+        synchronized (this) {
+            if (this.retired) {
+                return;
+            }
+            this.retired = true;
+            pending = new ArrayList<>(this.waiters);
+            this.waiters.clear();
+            if (this.acquired == 0) {
+                this.executorService.shutdown();
+            }
+        }
+        pending.forEach(BooleanSupplier::getAsBoolean);
+    }
+
     /**
      * 优先队列提交的任务
      */
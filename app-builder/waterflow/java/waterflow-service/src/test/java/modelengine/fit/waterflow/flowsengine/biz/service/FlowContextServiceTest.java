@@ -32,6 +32,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowOfferId;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.LocalFlowNodeNotifier;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.QueryFlowContextPersistRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
@@ -93,7 +94,7 @@ class FlowContextServiceTest extends DatabaseBaseTest {
 
     private static FlowLocks locks = new FlowLocksMemo();
 
-    private FlowContextPersistMessenger messenger = new FlowContextPersistMessenger(null);
+    private FlowContextPersistMessenger messenger = new FlowContextPersistMessenger(null, new LocalFlowNodeNotifier());
 
     private static InvalidDistributedLockNotify notify = Mockito.mock(InvalidDistributedLockNotify.class);
 
@@ -126,7 +127,7 @@ class FlowContextServiceTest extends DatabaseBaseTest {
         FlowRetryMapper retryMapper = sqlSessionManager.getMapper(FlowRetryMapper.class);
         retryRepo = new DefaultFlowRetryRepo(retryMapper);
         contextPersistRepo = new FlowContextPersistRepo(contextMapper, traceRepo, retryRepo, traceOwnerService, 10,
-                false, 1);
+                false, 1, null, null);
         flowDefinitionMapper = sqlSessionManager.getMapper(FlowDefinitionMapper.class);
         fitableUsageMapper = sqlSessionManager.getMapper(FitableUsageMapper.class);
         flowDefinitionRepo = new DefaultFlowDefinitionRepo(flowDefinitionMapper, fitableUsageMapper, parser);
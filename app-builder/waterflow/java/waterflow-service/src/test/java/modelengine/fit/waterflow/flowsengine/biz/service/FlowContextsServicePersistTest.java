@@ -30,6 +30,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowconte
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.LocalFlowNodeNotifier;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.QueryFlowContextPersistRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
@@ -106,7 +107,8 @@ public class FlowContextsServicePersistTest extends DatabaseBaseTest {
 
     private static final FlowDefinitionRepo DEFINITION_REPO;
 
-    private static final FlowContextMessenger MESSENGER = new FlowContextPersistMessenger(PLUGIN);
+    private static final FlowContextMessenger MESSENGER =
+            new FlowContextPersistMessenger(PLUGIN, new LocalFlowNodeNotifier());
 
     private static final FlowLocks LOCKS = new FlowLocksMemo();
 
@@ -132,7 +134,7 @@ public class FlowContextsServicePersistTest extends DatabaseBaseTest {
         traceOwnerService = Mockito.mock(TraceOwnerService.class);
         boolean useLimit = false;
         REPO = new FlowContextPersistRepo(FLOW_CONTEXT_MAPPER, TRACE_REPO, FLOW_RETRY_REPO, traceOwnerService,
-                defaultLimitation, useLimit, 1);
+                defaultLimitation, useLimit, 1, null, null);
         QUERY_REPO = new QueryFlowContextPersistRepo(FLOW_CONTEXT_MAPPER);
         FitableUsageMapper fitableUsageMapper = sqlSessionManager.getMapper(FitableUsageMapper.class);
         DEFINITION_REPO = new DefaultFlowDefinitionRepo(FLOW_DEFINITION_MAPPER, fitableUsageMapper, PARSER);
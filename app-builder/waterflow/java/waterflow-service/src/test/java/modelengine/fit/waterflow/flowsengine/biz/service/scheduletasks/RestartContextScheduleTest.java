@@ -18,6 +18,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowContext;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.LocalFlowNodeNotifier;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowretry.DefaultFlowRetryRepo;
@@ -67,7 +68,7 @@ class RestartContextScheduleTest extends DatabaseBaseTest {
 
     private FlowLocks locks = new FlowLocksMemo();
 
-    private FlowContextPersistMessenger messenger = new FlowContextPersistMessenger(null);
+    private FlowContextPersistMessenger messenger = new FlowContextPersistMessenger(null, new LocalFlowNodeNotifier());
 
     private TraceOwnerService traceOwnerService;
 
@@ -97,7 +98,7 @@ class RestartContextScheduleTest extends DatabaseBaseTest {
         FlowRetryMapper retryMapper = sqlSessionManager.getMapper(FlowRetryMapper.class);
         retryRepo = new DefaultFlowRetryRepo(retryMapper);
         contextPersistRepo = new FlowContextPersistRepo(contextMapper, traceRepo, retryRepo, traceOwnerService, 10,
-                false, 1);
+                false, 1, null, null);
         flowDefinitionMapper = sqlSessionManager.getMapper(FlowDefinitionMapper.class);
         fitableUsageMapper = sqlSessionManager.getMapper(FitableUsageMapper.class);
         flowDefinitionRepo = new DefaultFlowDefinitionRepo(flowDefinitionMapper, fitableUsageMapper, parser);
@@ -0,0 +1,62 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fitframework.log.Logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节点链路的端到端延迟基准测试：数据落边后由通知唤醒下游节点，延迟不应受轮询间隔影响
+ * 默认构建不执行，通过mvn test -P benchmark运行，链路长度通过-Dwaterflow.benchmark.chainLength调整
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Tag("benchmark")
+class FlowNodeChainBenchmarkTest {
+    private static final Logger LOG = Logger.get(FlowNodeChainBenchmarkTest.class);
+
+    private static final int ROUNDS = 200;
+
+    @Test
+    @DisplayName("基准：数据经过多个节点的端到端延迟")
+    void benchmarkChainLatency() throws InterruptedException {
+        int chainLength = Integer.getInteger("waterflow.benchmark.chainLength", 20);
+        CountDownLatch[] arrived = new CountDownLatch[1];
+        Activities.State<Integer, Integer, Integer, Flows.ProcessFlow<Integer>> node = Flows.<Integer>create(
+                new FlowContextMemoRepo(), new FlowContextMemoMessenger(), new FlowLocksMemo()).map(i -> i + 1);
+        for (int i = 1; i < chainLength; i++) {
+            node = node.map(value -> value + 1);
+        }
+        Flows.ProcessFlow<Integer> flow = node.close(callback -> arrived[0].countDown());
+
+        long[] costs = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            arrived[0] = new CountDownLatch(1);
+            long start = System.nanoTime();
+            flow.offer(round);
+            assertTrue(arrived[0].await(10, TimeUnit.SECONDS));
+            costs[round] = System.nanoTime() - start;
+        }
+        Arrays.sort(costs);
+        LOG.info("[benchmark] chain length: {}, rounds: {}, p50: {}us, p99: {}us.", chainLength, ROUNDS,
+                TimeUnit.NANOSECONDS.toMicros(costs[ROUNDS / 2]),
+                TimeUnit.NANOSECONDS.toMicros(costs[ROUNDS * 99 / 100]));
+    }
+}
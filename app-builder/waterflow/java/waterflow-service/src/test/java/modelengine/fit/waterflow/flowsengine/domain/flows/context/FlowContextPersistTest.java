@@ -11,6 +11,7 @@ import static modelengine.fit.waterflow.ErrorCodes.INPUT_PARAM_IS_INVALID;
 import static modelengine.fit.waterflow.flowsengine.domain.flows.FlowsTestUtil.MAX_WAIT_TIME_MS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -41,6 +42,8 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowconte
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistMessenger;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextPersistRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowDataSerializer;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.LocalFlowNodeNotifier;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowretry.FlowRetryRepo;
@@ -58,6 +61,7 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.streams.nodes.Blocks;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowContextMapper;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowRetryMapper;
 import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowTraceMapper;
+import modelengine.fit.waterflow.flowsengine.persist.po.FlowContextPO;
 import modelengine.fit.waterflow.flowsengine.persist.po.FlowRetryPO;
 import modelengine.fit.waterflow.spi.lock.InvalidDistributedLockNotify;
 import modelengine.fitframework.broker.client.BrokerClient;
@@ -124,9 +128,12 @@ public class FlowContextPersistTest extends DatabaseBaseTest {
 
     private static final FlowContextRepo<FlowData> REPO;
 
+    private static final FlowContextRepo<FlowData> DELTA_REPO;
+
     private static final FlowContextMessenger MEMO_MESSENGER = new FlowContextMemoMessenger();
 
-    private static final FlowContextMessenger PERSIST_MESSENGER = new FlowContextPersistMessenger(PLUGIN);
+    private static final FlowContextMessenger PERSIST_MESSENGER =
+            new FlowContextPersistMessenger(PLUGIN, new LocalFlowNodeNotifier());
 
     private static final FlowLocks LOCKS = new FlowLocksMemo();
 
@@ -150,7 +157,10 @@ public class FlowContextPersistTest extends DatabaseBaseTest {
         boolean useLimit = false;
         REPO = new FlowContextPersistRepo(FLOW_CONTEXT_MAPPER, FLOW_TRACE_REPO, FLOW_RETRY_REPO,
                 new DefaultTraceOwnerService(LOCKS, invalidDistributedLockNotify), defaultLimitation,
-                useLimit, 10);
+                useLimit, 10, null, null);
+        DELTA_REPO = new FlowContextPersistRepo(FLOW_CONTEXT_MAPPER, FLOW_TRACE_REPO, FLOW_RETRY_REPO,
+                new DefaultTraceOwnerService(LOCKS, invalidDistributedLockNotify), defaultLimitation,
+                useLimit, 10, null, new FlowDataSerializer("json", true, 4));
     }
 
     @Nested
@@ -172,6 +182,32 @@ public class FlowContextPersistTest extends DatabaseBaseTest {
             assertEquals(data.getBusinessData().get("url"), result.get(0).getBusinessData().get("url"));
         }
 
+        @Test
+        @DisplayName("测试开启增量编码后节点产生的context以已落库的上一个context为基线增量落库")
+        void testFlowContextPersistWithDeltaCodec() {
+            List<FlowData> result = new ArrayList<>();
+            FlowData data = genFlowData("url", "www.123.com");
+
+            FlowOfferId offerId = Flows.<FlowData>create(DELTA_REPO, MEMO_MESSENGER, LOCKS).map(i -> {
+                i.getBusinessData().put("node1Output", "first");
+                return i;
+            }).map(i -> {
+                i.getBusinessData().put("node2Output", "second");
+                return i;
+            }).close(r -> result.add(r.get().getData())).offer(data);
+            FlowsTestUtil.waitSingle(() -> result);
+
+            List<FlowContextPO> rows = FLOW_CONTEXT_MAPPER.findByTraceId(offerId.getTraceId());
+            assertTrue(rows.stream().anyMatch(row -> row.getFlowData().contains("\"base\"")));
+            List<FlowContext<FlowData>> contexts = DELTA_REPO.getByIds(
+                    rows.stream().map(FlowContextPO::getContextId).collect(Collectors.toList()));
+            assertEquals(rows.size(), contexts.size());
+            contexts.forEach(context -> assertEquals("www.123.com", context.getData().getBusinessData().get("url")));
+            assertTrue(contexts.stream()
+                    .anyMatch(context -> "second".equals(context.getData().getBusinessData().get("node2Output"))));
+            assertEquals("second", result.get(0).getBusinessData().get("node2Output"));
+        }
+
         @Test
         @DisplayName("测试m->n持久化成功")
         void testFlowContextPersistWithProduceSuccess() {
@@ -0,0 +1,193 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowCheckpointType;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowContextMapper;
+import modelengine.fit.waterflow.flowsengine.persist.po.FlowContextPO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link FlowContextWriteBehindCache}的测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class FlowContextWriteBehindCacheTest {
+    private static final String TRACE_ID = "trace1";
+
+    private static final String STREAM_ID = "flow-1.0.0";
+
+    private FlowContextMapper contextMapper;
+
+    private FlowContextWriteBehindCache cache;
+
+    @BeforeEach
+    void setUp() {
+        this.contextMapper = mock(FlowContextMapper.class);
+        this.cache = new FlowContextWriteBehindCache(this.contextMapper, false, 50L, "async_job,manual");
+    }
+
+    @Test
+    @DisplayName("解析检查点类型配置")
+    void shouldParseCheckpoints() {
+        assertTrue(this.cache.isCheckpoint(FlowCheckpointType.MANUAL));
+        assertFalse(this.cache.isCheckpoint(FlowCheckpointType.END));
+        assertTrue(FlowCheckpointType.parse(" ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("冷trace的context直接写库")
+    void shouldWriteThroughWhenTraceIsCold() {
+        List<FlowContextPO> rest = this.cache.save(Collections.singletonList(context("c1", "node1")));
+
+        assertEquals(1, rest.size());
+        assertEquals(0, this.cache.size());
+    }
+
+    @Test
+    @DisplayName("热trace的多次变化在内存中合并后一次批量写库")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceChangesOfHotTraceIntoOneBatch() {
+        this.cache.own(TRACE_ID);
+        assertTrue(this.cache.save(List.of(context("c1", "node1"), context("c2", "node1"))).isEmpty());
+        assertTrue(this.cache.updateToSent(List.of("c1", "c2")).isEmpty());
+        assertTrue(this.cache.updateStatus(List.of("c1"), FlowNodeStatus.PROCESSING).isEmpty());
+        verify(this.contextMapper, never()).batchCreate(anyList());
+
+        this.cache.flush();
+
+        ArgumentCaptor<List<FlowContextPO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.contextMapper, times(1)).batchCreate(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(FlowNodeStatus.PROCESSING.toString(), captor.getValue().get(0).getStatus());
+        assertTrue(captor.getValue().get(1).isSent());
+
+        this.cache.flush();
+        verify(this.contextMapper, times(1)).batchCreate(anyList());
+        verify(this.contextMapper, never()).batchUpdateAll(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("热trace的节点交接从内存中读取，不查询数据库")
+    @SuppressWarnings("unchecked")
+    void shouldFindHotContextsFromMemory() {
+        this.cache.own(TRACE_ID);
+        this.cache.save(List.of(context("c1", "node1"), context("c2", "node2")));
+        Function<List<String>, List<FlowContextPO>> query = mock(Function.class);
+
+        List<FlowContextPO> found = this.cache.findByTraces(List.of(TRACE_ID),
+                po -> "node2".equals(po.getPositionId()), query);
+
+        assertEquals(1, found.size());
+        assertEquals("c2", found.get(0).getContextId());
+        verify(query, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("属于多个trace的context按其中任一trace都能从内存中查到")
+    @SuppressWarnings("unchecked")
+    void shouldFindMultiTraceContextByAnyTrace() {
+        this.cache.own(TRACE_ID);
+        this.cache.own("trace2");
+        FlowContextPO joined = context("c1", "node1");
+        joined.setTraceId(TRACE_ID + ", trace2");
+        this.cache.save(List.of(joined));
+        Function<List<String>, List<FlowContextPO>> query = mock(Function.class);
+
+        assertEquals(1, this.cache.findByTraces(List.of("trace2"), po -> true, query).size());
+        assertEquals(1, this.cache.findByTraces(List.of(TRACE_ID), po -> true, query).size());
+        verify(query, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("检查点同步写库并将trace转为冷数据，之后直接读写数据库")
+    @SuppressWarnings("unchecked")
+    void shouldFlushAndDemoteTraceAtCheckpoint() {
+        this.cache.own(TRACE_ID);
+        this.cache.save(List.of(context("c1", "node1")));
+
+        this.cache.checkpoint(List.of(TRACE_ID));
+
+        verify(this.contextMapper, times(1)).batchCreate(anyList());
+        assertEquals(0, this.cache.size());
+        assertEquals(1, this.cache.save(List.of(context("c3", "node2"))).size());
+        Function<List<String>, List<FlowContextPO>> query = mock(Function.class);
+        this.cache.findByTraces(List.of(TRACE_ID), po -> true, query);
+        verify(query, times(1)).apply(List.of(TRACE_ID));
+    }
+
+    @Test
+    @DisplayName("结束的context写库后移出内存，trace执行完成后不再是热trace")
+    void shouldEvictEndedContextsAfterFlush() {
+        this.cache.own(TRACE_ID);
+        this.cache.save(List.of(context("c1", "node1")));
+        this.cache.flush();
+        this.cache.updateStatus(List.of("c1"), FlowNodeStatus.ARCHIVED);
+
+        this.cache.flush();
+
+        verify(this.contextMapper, times(1)).batchUpdateAll(anyList(), anyList());
+        assertEquals(0, this.cache.size());
+        assertEquals(1, this.cache.save(List.of(context("c2", "node2"))).size());
+    }
+
+    @Test
+    @DisplayName("写库失败时保留内存中的变化，下次写库时重试")
+    void shouldKeepDirtyRowsWhenFlushFailed() {
+        this.cache.own(TRACE_ID);
+        this.cache.save(new ArrayList<>(List.of(context("c1", "node1"))));
+        doThrow(new IllegalStateException("db down"))
+                .doNothing()
+                .when(this.contextMapper)
+                .batchCreate(anyList());
+
+        try {
+            this.cache.flush();
+        } catch (IllegalStateException ignored) {
+            // 模拟数据库异常
+        }
+        this.cache.flush();
+
+        verify(this.contextMapper, times(2)).batchCreate(anyList());
+        assertEquals(1, this.cache.size());
+    }
+
+    private static FlowContextPO context(String id, String position) {
+        return FlowContextPO.builder()
+                .contextId(id)
+                .traceId(TRACE_ID)
+                .streamId(STREAM_ID)
+                .rootId(STREAM_ID)
+                .positionId(position)
+                .status(FlowNodeStatus.PENDING.toString())
+                .flowData("{}")
+                .sent(false)
+                .build();
+    }
+}
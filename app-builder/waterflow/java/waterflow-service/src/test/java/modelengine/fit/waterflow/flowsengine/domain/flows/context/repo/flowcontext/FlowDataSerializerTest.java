@@ -0,0 +1,235 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.exceptions.WaterflowException;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FlowDataSerializer}的测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class FlowDataSerializerTest {
+    private final Map<String, String> rows = new HashMap<>();
+
+    @Test
+    @DisplayName("默认编码与历史数据格式一致")
+    void shouldKeepLegacyJsonByDefault() {
+        FlowData data = businessFlowData(3);
+
+        String stored = FlowDataSerializer.json().serialize(data);
+
+        assertEquals(data.translateToJson(), stored);
+        assertEquals(stored, FlowDataSerializer.json().toJson("c1", stored, this.rows::get));
+    }
+
+    @Test
+    @DisplayName("压缩编码可以读取历史数据，并且明显小于json")
+    void shouldCompressAndReadLegacyRows() {
+        FlowDataSerializer serializer = new FlowDataSerializer("deflate", false, 0);
+        FlowData data = businessFlowData(20);
+
+        String legacy = data.translateToJson();
+        String stored = serializer.serialize(data);
+
+        assertTrue(stored.length() * 3 < legacy.length(), stored.length() + " vs " + legacy.length());
+        assertEquals(data.getBusinessData(), serializer.deserialize("c1", stored, this.rows::get).getBusinessData());
+        assertEquals(data.getBusinessData(), serializer.deserialize("c0", legacy, this.rows::get).getBusinessData());
+    }
+
+    @Test
+    @DisplayName("增量编码只保存变化的key，读取时与上一个context合并")
+    void shouldStoreOnlyChangedKeysInDeltaMode() {
+        FlowDataSerializer serializer = new FlowDataSerializer("json", true, 4);
+        FlowDataSerializer.Batch batch = serializer.batch();
+        FlowData first = businessFlowData(20);
+        this.rows.put("c1", batch.serialize("c1", null, first));
+
+        FlowData second = businessFlowData(20);
+        second.getBusinessData().put("node2Output", "new answer");
+        second.getBusinessData().remove("temp");
+        this.rows.put("c2", batch.serialize("c2", "c1", second));
+
+        assertTrue(this.rows.get("c2").length() * 5 < this.rows.get("c1").length());
+        FlowData decoded = serializer.deserialize("c2", this.rows.get("c2"), this.rows::get);
+        assertEquals(second.getBusinessData(), decoded.getBusinessData());
+        assertFalse(decoded.getBusinessData().containsKey("temp"));
+    }
+
+    @Test
+    @DisplayName("增量层数达到上限时保存全量数据")
+    void shouldWriteSnapshotWhenDeltaDepthExceeded() {
+        FlowDataSerializer.Batch batch = new FlowDataSerializer("deflate", true, 1).batch();
+        this.rows.put("c1", batch.serialize("c1", null, businessFlowData(5)));
+        this.rows.put("c2", batch.serialize("c2", "c1", businessFlowData(5)));
+        this.rows.put("c3", batch.serialize("c3", "c2", businessFlowData(5)));
+
+        assertTrue(this.rows.get("c2").contains("\"base\""));
+        assertFalse(this.rows.get("c3").contains("\"base\""));
+    }
+
+    @Test
+    @DisplayName("增量的基线被修改后读取失败，而不是返回错误的数据")
+    void shouldFailWhenDeltaBaseChanged() {
+        FlowDataSerializer serializer = new FlowDataSerializer("json", true, 4);
+        FlowDataSerializer.Batch batch = serializer.batch();
+        this.rows.put("c1", batch.serialize("c1", null, businessFlowData(5)));
+        this.rows.put("c2", batch.serialize("c2", "c1", businessFlowData(5)));
+        FlowData changed = businessFlowData(5);
+        changed.getBusinessData().put("node1Output", "changed");
+        this.rows.put("c1", FlowDataSerializer.json().serialize(changed));
+
+        FlowData decoded = serializer.deserialize("c2", this.rows.get("c2"), this.rows::get);
+        assertThrows(WaterflowException.class, () -> decoded.getBusinessData().size());
+    }
+
+    @Test
+    @DisplayName("基线已经写库时以库中的基线做增量编码")
+    void shouldEncodeDeltaAgainstPersistedBase() {
+        FlowDataSerializer serializer = new FlowDataSerializer("json", true, 4);
+        this.rows.put("c1", serializer.batch().serialize("c1", null, businessFlowData(20)));
+        FlowData second = businessFlowData(20);
+        second.getBusinessData().put("node2Output", "new answer");
+
+        this.rows.put("c2", serializer.batch(this.rows::get).serialize("c2", "c1", second));
+
+        assertTrue(this.rows.get("c2").contains("\"base\""));
+        assertEquals(second.getBusinessData(),
+                serializer.deserialize("c2", this.rows.get("c2"), this.rows::get).getBusinessData());
+    }
+
+    @Test
+    @DisplayName("已写库的基线被改写后重新按库中的版本做增量编码")
+    void shouldUsePersistedRevisionWhenBaseRewritten() {
+        FlowDataSerializer serializer = new FlowDataSerializer("json", true, 4);
+        this.rows.put("c1", serializer.batch().serialize("c1", null, businessFlowData(5)));
+        FlowData rewritten = businessFlowData(5);
+        rewritten.getBusinessData().put("node1Output", "changed");
+        this.rows.put("c1", new FlowDataSerializer("json", true, 4).batch().serialize("c1", null, rewritten));
+
+        this.rows.put("c2", serializer.batch(this.rows::get).serialize("c2", "c1", businessFlowData(5)));
+
+        assertEquals(businessFlowData(5).getBusinessData(),
+                serializer.deserialize("c2", this.rows.get("c2"), this.rows::get).getBusinessData());
+    }
+
+    @Test
+    @DisplayName("读取增量数据时只在访问基线中的key时才读取基线")
+    void shouldLoadBaseOnlyWhenAccessed() {
+        FlowDataSerializer serializer = new FlowDataSerializer("json", true, 4);
+        FlowDataSerializer.Batch batch = serializer.batch();
+        this.rows.put("c1", batch.serialize("c1", null, businessFlowData(5)));
+        FlowData second = businessFlowData(5);
+        second.getBusinessData().put("node2Output", "new answer");
+        this.rows.put("c2", batch.serialize("c2", "c1", second));
+        List<String> loaded = new ArrayList<>();
+
+        FlowData decoded = serializer.deserialize("c2", this.rows.get("c2"), id -> {
+            loaded.add(id);
+            return this.rows.get(id);
+        });
+
+        assertEquals("new answer", decoded.getBusinessData().get("node2Output"));
+        assertTrue(loaded.isEmpty());
+        assertEquals("app-builder", decoded.getBusinessData().get("application"));
+        assertEquals(List.of("c1"), loaded);
+    }
+
+    @Test
+    @DisplayName("基线在其他批次中写库时保存全量数据，基线被删除后仍然可以读取")
+    void shouldReadRowAfterBaseFromOtherBatchDeleted() {
+        FlowDataSerializer serializer = new FlowDataSerializer("json", true, 4);
+        this.rows.put("c1", serializer.batch().serialize("c1", null, businessFlowData(5)));
+        FlowData second = businessFlowData(5);
+        second.getBusinessData().put("node2Output", "new answer");
+        this.rows.put("c2", serializer.batch().serialize("c2", "c1", second));
+
+        this.rows.remove("c1");
+
+        assertFalse(this.rows.get("c2").contains("\"base\""));
+        assertEquals(second.getBusinessData(),
+                serializer.deserialize("c2", this.rows.get("c2"), this.rows::get).getBusinessData());
+    }
+
+    @Test
+    @DisplayName("同一批次中压缩编码小于json，增量编码小于压缩编码")
+    void shouldShrinkStoredSizeWithDeflateAndDelta() {
+        FlowDataSerializer json = FlowDataSerializer.json();
+        FlowDataSerializer deflate = new FlowDataSerializer("deflate", false, 0);
+        FlowDataSerializer delta = new FlowDataSerializer("deflate", true, 4);
+        Map<FlowDataSerializer, Integer> sizes = new HashMap<>();
+        for (FlowDataSerializer serializer : List.of(json, deflate, delta)) {
+            FlowDataSerializer.Batch batch = serializer.batch();
+            Map<String, String> stored = new HashMap<>();
+            int total = 0;
+            String previous = null;
+            for (int i = 0; i < 10; i++) {
+                // 对话历史不变，每经过一个节点增加一个节点的输出
+                FlowData data = businessFlowData(20);
+                for (int node = 0; node <= i; node++) {
+                    data.getBusinessData().put("node" + node + "Output", "第" + node + "个节点的输出，包含检索到的知识片段。");
+                }
+                String id = "c" + i;
+                stored.put(id, batch.serialize(id, previous, data));
+                total += stored.get(id).length();
+                assertEquals(data.getBusinessData(), serializer.deserialize(id, stored.get(id), stored::get)
+                        .getBusinessData());
+                previous = id;
+            }
+            sizes.put(serializer, total);
+        }
+        assertTrue(sizes.get(deflate) < sizes.get(json));
+        assertTrue(sizes.get(delta) < sizes.get(deflate));
+    }
+
+    /**
+     * 构造与app-builder对话流程相似的业务数据：多轮对话历史与各节点输出
+     *
+     * @param rounds 对话轮数
+     * @return flowData
+     */
+    private static FlowData businessFlowData(int rounds) {
+        List<Map<String, Object>> histories = new ArrayList<>();
+        for (int i = 0; i < rounds; i++) {
+            Map<String, Object> history = new HashMap<>();
+            history.put("question", "请帮我总结一下第" + i + "轮会议的主要内容，并给出后续的行动项。");
+            history.put("answer", "第" + i + "轮会议主要讨论了模型推理服务的扩容方案、知识库检索的召回率以及"
+                    + "应用发布流程的优化，后续行动项包括完成压测报告、补充评测数据集以及梳理发布检查清单。");
+            histories.add(history);
+        }
+        Map<String, Object> businessData = new HashMap<>();
+        businessData.put("histories", histories);
+        businessData.put("application", "app-builder");
+        businessData.put("node1Output", Map.of("llmOutput", "会议纪要已生成", "usage", Map.of("tokens", 1024)));
+        businessData.put("temp", "临时数据");
+        Map<String, Object> contextData = new HashMap<>();
+        contextData.put("nodeMetaId", "node1");
+        return FlowData.builder()
+                .operator("operator")
+                .startTime(LocalDateTime.of(2026, 10, 18, 0, 0))
+                .businessData(businessData)
+                .contextData(contextData)
+                .passData(new HashMap<>())
+                .build();
+    }
+}
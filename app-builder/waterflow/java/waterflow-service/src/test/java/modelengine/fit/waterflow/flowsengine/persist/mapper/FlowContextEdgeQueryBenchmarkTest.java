@@ -0,0 +1,111 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.persist.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import modelengine.fit.waterflow.DatabaseBaseTest;
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.flowsengine.persist.po.FlowContextPO;
+import modelengine.fitframework.log.Logger;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 边上批次查询的基准测试：历史context增长时，节点每轮拉取批次的耗时应当保持平稳
+ * 默认构建不执行，通过mvn test -P benchmark运行，历史数据量通过-Dwaterflow.benchmark.historyRows调整
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Tag("benchmark")
+public class FlowContextEdgeQueryBenchmarkTest extends DatabaseBaseTest {
+    private static final Logger LOG = Logger.get(FlowContextEdgeQueryBenchmarkTest.class);
+
+    private static final String STREAM_ID = "bench-stream";
+
+    private static final List<String> POS_IDS = Arrays.asList("bench-edge1", "bench-edge2");
+
+    private static final String PENDING_STATUS = FlowNodeStatus.PENDING.toString();
+
+    private static final String INSERT_SQL = "INSERT INTO flow_context (context_id, trace_id, trans_id, root_id, "
+            + "stream_id, flow_data, position_id, joined, status, parallel, parallel_mode, previous, batch_id, "
+            + "to_batch, sent, create_at, update_at, archived_at) "
+            + "SELECT CONCAT(?, X), CONCAT('trace', MOD(X, 100)), 'trans', 'root', ?, ?, "
+            + "CASE WHEN MOD(X, 2) = 0 THEN 'bench-edge1' ELSE 'bench-edge2' END, false, ?, NULL, NULL, NULL, "
+            + "CONCAT(?, X / ?), NULL, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, NULL FROM SYSTEM_RANGE(0, ? - 1)";
+
+    private static final int ROUNDS = 200;
+
+    @Override
+    protected void cleanTable() {
+        executeSqlInFile("handler/flowContext/cleanData.sql");
+    }
+
+    @Test
+    @DisplayName("基准：历史context增长时拉取边上批次的耗时")
+    public void benchmarkNextBatchWithHistoricalContexts() throws SQLException {
+        int historyRows = Integer.getInteger("waterflow.benchmark.historyRows", 100_000);
+        try (SqlSession session = sqlSessionManager.openSession(true)) {
+            FlowContextMapper mapper = session.getMapper(FlowContextMapper.class);
+            // 边上10个待处理批次，每个批次10个context
+            this.insert(session, "pending", PENDING_STATUS, false, 100, 10);
+            double empty = this.measure(mapper);
+            // 同一条边上已经处理完的历史context
+            this.insert(session, "history", FlowNodeStatus.ARCHIVED.toString(), true, historyRows, 10);
+            double full = this.measure(mapper);
+            LOG.info("[benchmark] edge batch query, history=0: {} ms/round, history={}: {} ms/round.",
+                    String.format(Locale.ROOT, "%.3f", empty), historyRows,
+                    String.format(Locale.ROOT, "%.3f", full));
+
+            assertEquals(10, mapper.findNextBatchByPositions(STREAM_ID, POS_IDS, PENDING_STATUS,
+                    Collections.emptyList(), null, null).size());
+        }
+    }
+
+    private void insert(SqlSession session, String prefix, String status, boolean isSent, int rows, int batchSize)
+            throws SQLException {
+        try (PreparedStatement statement = session.getConnection().prepareStatement(INSERT_SQL)) {
+            statement.setString(1, prefix);
+            statement.setString(2, STREAM_ID);
+            statement.setString(3, "{\"businessData\":{\"history\":\"" + prefix + "\"}}");
+            statement.setString(4, status);
+            statement.setString(5, prefix + "-batch");
+            statement.setInt(6, batchSize);
+            statement.setBoolean(7, isSent);
+            statement.setInt(8, rows);
+            statement.executeUpdate();
+        }
+    }
+
+    private double measure(FlowContextMapper mapper) {
+        List<String> traceIds = Collections.emptyList();
+        for (int i = 0; i < ROUNDS / 10; i++) {
+            mapper.findNextBatchByPositions(STREAM_ID, POS_IDS, PENDING_STATUS, traceIds, null, null);
+        }
+        FlowContextPO cursor = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            // 与节点的preprocess一致，按(创建时间, 批次ID)游标轮转拉取批次，拉取到末尾后从头开始
+            List<FlowContextPO> batch = mapper.findNextBatchByPositions(STREAM_ID, POS_IDS, PENDING_STATUS,
+                    traceIds, cursor == null ? null : cursor.getCreateAt(),
+                    cursor == null ? null : cursor.getBatchId());
+            cursor = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+        }
+        return (System.nanoTime() - start) / 1e6 / ROUNDS;
+    }
+}
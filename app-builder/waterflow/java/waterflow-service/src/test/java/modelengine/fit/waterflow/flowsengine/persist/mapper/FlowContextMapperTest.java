@@ -97,6 +97,30 @@ public class FlowContextMapperTest extends DatabaseBaseTest {
         assertEquals("2", result.get(0).getToBatch());
     }
 
+    @Test
+    @DisplayName("测试按创建时间的keyset游标拉取边上下一个未发送的批次")
+    public void testFindNextBatchByPositionsWithCursor() {
+        executeSqlInFile("handler/flowContext/saveEdgeData.sql");
+        List<String> posIds = Arrays.asList("e1", "e2");
+        List<String> traceIds = Collections.singletonList("t1");
+        LocalDateTime b2CreateAt = LocalDateTime.parse("2023-07-29T09:59:30.011");
+        LocalDateTime b1CreateAt = LocalDateTime.parse("2023-07-29T09:59:31.011");
+
+        List<FlowContextPO> first = flowContextMapper.findNextBatchByPositions("edge-stream", posIds, PENDING_STATUS,
+                traceIds, null, null);
+        List<FlowContextPO> second = flowContextMapper.findNextBatchByPositions("edge-stream", posIds, PENDING_STATUS,
+                traceIds, b2CreateAt, "b2");
+
+        // 批次b2先于b1创建，虽然批次ID更大也先被拉取
+        assertEquals(Arrays.asList("e1", "e2"), getContextIds(first));
+        assertEquals(Collections.singletonList("e3"), getContextIds(second));
+        assertTrue(flowContextMapper.findNextBatchByPositions("edge-stream", posIds, PENDING_STATUS, traceIds,
+                b1CreateAt, "b1").isEmpty());
+        assertEquals(Collections.singletonList("e6"), getContextIds(
+                flowContextMapper.findNextBatchByPositions("edge-stream", posIds, PENDING_STATUS,
+                        Collections.emptyList(), b1CreateAt, "b1")));
+    }
+
     @Test
     @DisplayName("测试flow context通过positionId和transId查询成功")
     public void testFindFlowContextByPositionWithTransIdSuccess() {
@@ -498,4 +522,11 @@ public class FlowContextMapperTest extends DatabaseBaseTest {
                 .archivedAt(time)
                 .build();
     }
+
+    private static List<String> getContextIds(List<FlowContextPO> pos) {
+        List<String> ids = new ArrayList<>();
+        pos.forEach(po -> ids.add(po.getContextId()));
+        Collections.sort(ids);
+        return ids;
+    }
 }
@@ -0,0 +1,102 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link CompiledConditionRule}的测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class CompiledConditionRuleTest {
+    private static final String OUTPUT = "businessData.get(\"_internal\").get(\"outputScope\").get(\"node1\")";
+
+    @Test
+    @DisplayName("条件构造器生成的比较规则走快速路径")
+    void shouldEvaluateBuilderRulesWithoutInterpreter() {
+        Map<String, Object> data = businessData();
+
+        assertEquals(true, fastPath(OUTPUT + ".get(\"score\") > 5", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"score\") == 6.0)", data));
+        assertEquals(false, fastPath("(" + OUTPUT + ".get(\"score\") <= 5)", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"name\").trim() == \"abc\")", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"name\").trim() != \"abd\")", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"flag\"))", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"flag\") == true)", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"items\").isEmpty())", data));
+        assertEquals(false, fastPath("(!" + OUTPUT + ".get(\"items\").isEmpty())", data));
+        assertEquals(true, fastPath("(" + OUTPUT + ".get(\"missing\") == null)", data));
+        assertEquals(false, fastPath("(" + OUTPUT + ".get(\"score\") == null)", data));
+    }
+
+    @Test
+    @DisplayName("同一种连接符连接的多个条件走快速路径")
+    void shouldCombineTermsWithSameConnector() {
+        Map<String, Object> data = businessData();
+
+        assertEquals(false,
+                fastPath("(" + OUTPUT + ".get(\"score\") > 5) && (" + OUTPUT + ".get(\"flag\") == false)", data));
+        assertEquals(true,
+                fastPath("(" + OUTPUT + ".get(\"score\") > 7) || (" + OUTPUT + ".get(\"flag\") == true)", data));
+    }
+
+    @Test
+    @DisplayName("不支持的规则交给解释器")
+    void shouldLeaveUnsupportedRulesToInterpreter() {
+        assertFalse(CompiledConditionRule.compile("(" + OUTPUT + ".get(\"name\").len() > 3)").hasFastPath());
+        assertFalse(CompiledConditionRule.compile("(" + OUTPUT + ".get(\"name\").contains((\"a\")))").hasFastPath());
+        assertFalse(CompiledConditionRule.compile("businessData.get(\"a\") && businessData.get(\"b\") "
+                + "|| businessData.get(\"c\")").hasFastPath());
+        assertFalse(CompiledConditionRule.compile("businessData.get(\"a\") == \"x\\\"y\"").hasFastPath());
+        assertFalse(CompiledConditionRule.compile("businessData.get(\"a\") > \"x\"").hasFastPath());
+        assertFalse(CompiledConditionRule.compile("true").hasFastPath());
+    }
+
+    @Test
+    @DisplayName("数据类型与规则不匹配时交给解释器")
+    void shouldFallBackWhenTypesMismatch() {
+        Map<String, Object> data = businessData();
+
+        assertNull(fastPath(OUTPUT + ".get(\"name\") > 5", data));
+        assertNull(fastPath(OUTPUT + ".get(\"score\") == \"6\"", data));
+        assertNull(fastPath(OUTPUT + ".get(\"missing\").get(\"a\") == 1", data));
+        assertNull(fastPath(OUTPUT + ".get(\"score\").trim() == \"6\"", data));
+        assertNull(fastPath("(" + OUTPUT + ".get(\"score\") > 5) && (" + OUTPUT + ".get(\"name\"))", data));
+    }
+
+    private static Boolean fastPath(String code, Map<String, Object> data) {
+        CompiledConditionRule rule = CompiledConditionRule.compile(code);
+        assertTrue(rule.hasFastPath(), code);
+        return rule.tryFastPath(data);
+    }
+
+    private static Map<String, Object> businessData() {
+        Map<String, Object> output = new HashMap<>();
+        output.put("score", 6);
+        output.put("name", " abc ");
+        output.put("flag", true);
+        output.put("items", new ArrayList<>());
+        Map<String, Object> internal = new HashMap<>();
+        internal.put("outputScope", Collections.singletonMap("node1", output));
+        Map<String, Object> businessData = new HashMap<>();
+        businessData.put("_internal", internal);
+        return businessData;
+    }
+}
@@ -0,0 +1,189 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 流程引擎节点线程池隔离测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class FlowExecutorsTest {
+    private static final String SLOW_STREAM = "executorSlowFlow-1.0.0";
+
+    private static final String FAST_STREAM = "executorFastFlow-1.0.0";
+
+    @AfterEach
+    void tearDown() {
+        FlowExecutors.removeThreadPool(SLOW_STREAM);
+        FlowExecutors.removeThreadPool(FAST_STREAM);
+        FlowExecutors.removeThreadPool("common");
+        FlowExecutors.configure(Collections.emptySet(), 16, 0);
+    }
+
+    @Test
+    @DisplayName("解析隔离维度配置")
+    void shouldParseIsolationConfig() {
+        assertTrue(FlowExecutors.Isolation.parse("common").isEmpty());
+        assertTrue(FlowExecutors.Isolation.parse("").isEmpty());
+        assertEquals(EnumSet.of(FlowExecutors.Isolation.FLOW, FlowExecutors.Isolation.NODE_TYPE),
+                FlowExecutors.Isolation.parse("flow, node_type"));
+    }
+
+    @Test
+    @DisplayName("按流程版本隔离时不同流程使用不同线程池")
+    void shouldReturnIsolatedPoolPerFlow() {
+        assertSame(FlowExecutors.getThreadPool(SLOW_STREAM, "tenant", "STATE"),
+                FlowExecutors.getThreadPool(FAST_STREAM, "tenant", "STATE"));
+
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW), 2, 0);
+        assertNotSame(FlowExecutors.getThreadPool(SLOW_STREAM, "tenant", "STATE"),
+                FlowExecutors.getThreadPool(FAST_STREAM, "tenant", "STATE"));
+        assertSame(FlowExecutors.getThreadPool(SLOW_STREAM, "tenant", "STATE"),
+                FlowExecutors.getThreadPool(SLOW_STREAM, "other", "CONDITION"));
+    }
+
+    @Test
+    @DisplayName("线程池名额已满时登记等待者，名额释放后唤醒")
+    void shouldWakeupWaiterWhenReleased() {
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW), 1, 1);
+        PriorityThreadPool pool = FlowExecutors.getThreadPool(SLOW_STREAM, null, null);
+        AtomicInteger woken = new AtomicInteger();
+
+        assertTrue(pool.tryAcquire(() -> true));
+        assertTrue(pool.tryAcquire(() -> true));
+        assertFalse(pool.tryAcquire(() -> woken.incrementAndGet() > 0));
+        assertEquals(2, pool.getAcquired());
+
+        pool.release();
+        assertEquals(1, woken.get());
+        assertEquals(1, pool.getAcquired());
+    }
+
+    @Test
+    @DisplayName("一个流程的线程池被阻塞时其他流程的任务仍然可以执行")
+    void shouldRunOtherFlowsWhenOneFlowBlocked() throws InterruptedException {
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW), 2, 0);
+        PriorityThreadPool slowPool = FlowExecutors.getThreadPool(SLOW_STREAM, null, null);
+        PriorityThreadPool fastPool = FlowExecutors.getThreadPool(FAST_STREAM, null, null);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch slowFinished = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            slowPool.submit(task(i, () -> {
+                await(blocker);
+                slowFinished.countDown();
+            }));
+        }
+
+        CountDownLatch fastFinished = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            fastPool.submit(task(i, fastFinished::countDown));
+        }
+        assertTrue(fastFinished.await(5, TimeUnit.SECONDS));
+        assertEquals(4, slowFinished.getCount());
+
+        blocker.countDown();
+        assertTrue(slowFinished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("隔离线程池个数达到上限后退回到共享线程池")
+    void shouldFallbackToCommonPoolWhenReachMaxPools() {
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW), 1, 0, 1);
+        PriorityThreadPool slowPool = FlowExecutors.getThreadPool(SLOW_STREAM, null, null);
+        PriorityThreadPool fastPool = FlowExecutors.getThreadPool(FAST_STREAM, null, null);
+
+        assertNotSame(slowPool, fastPool);
+        assertSame(fastPool, FlowExecutors.getThreadPool("common", null, null));
+        assertEquals(2, FlowExecutors.getThreadPoolNum());
+    }
+
+    @Test
+    @DisplayName("流程版本下线时只删除该流程版本的线程池")
+    void shouldRemoveOnlyOfflineStreamPools() {
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW, FlowExecutors.Isolation.NODE_TYPE), 1, 0);
+        PriorityThreadPool slowPool = FlowExecutors.getThreadPool(SLOW_STREAM, null, "STATE");
+        PriorityThreadPool prefixedPool = FlowExecutors.getThreadPool(SLOW_STREAM + "1", null, "STATE");
+
+        FlowExecutors.onStreamOffline(SLOW_STREAM);
+
+        assertNotSame(slowPool, FlowExecutors.getThreadPool(SLOW_STREAM, null, "STATE"));
+        assertSame(prefixedPool, FlowExecutors.getThreadPool(SLOW_STREAM + "1", null, "STATE"));
+        FlowExecutors.removeThreadPool(SLOW_STREAM + "1");
+    }
+
+    @Test
+    @DisplayName("流程版本下线时正在使用的线程池继续执行已申请名额的任务，等待者被唤醒后重新获取线程池")
+    void shouldKeepInUsePoolUntilReleasedWhenStreamOffline() throws InterruptedException {
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW), 1, 0);
+        PriorityThreadPool pool = FlowExecutors.getThreadPool(SLOW_STREAM, null, null);
+        AtomicInteger woken = new AtomicInteger();
+        assertTrue(pool.tryAcquire(() -> true));
+
+        FlowExecutors.onStreamOffline(SLOW_STREAM);
+        assertFalse(pool.tryAcquire(() -> woken.incrementAndGet() > 0));
+        assertEquals(1, woken.get());
+
+        CountDownLatch finished = new CountDownLatch(1);
+        pool.submitAcquired(task(0, finished::countDown));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertNotSame(pool, FlowExecutors.getThreadPool(SLOW_STREAM, null, null));
+    }
+
+    @Test
+    @DisplayName("线程池下线时唤醒所有等待名额的调用者")
+    void shouldWakeupWaitersWhenRetired() {
+        FlowExecutors.configure(EnumSet.of(FlowExecutors.Isolation.FLOW), 1, 1);
+        PriorityThreadPool pool = FlowExecutors.getThreadPool(SLOW_STREAM, null, null);
+        AtomicInteger woken = new AtomicInteger();
+        assertTrue(pool.tryAcquire(() -> true));
+        assertTrue(pool.tryAcquire(() -> true));
+        assertFalse(pool.tryAcquire(() -> woken.incrementAndGet() > 0));
+        assertFalse(pool.tryAcquire(() -> woken.incrementAndGet() > 0));
+
+        pool.retire();
+
+        assertEquals(2, woken.get());
+        pool.release();
+        pool.release();
+        assertEquals(0, pool.getAcquired());
+    }
+
+    private static PriorityThreadPool.PriorityTask task(int order, Runnable runner) {
+        return PriorityThreadPool.PriorityTask.builder()
+                .priority(PriorityThreadPool.PriorityTask.PriorityInfo.builder()
+                        .order(order)
+                        .createTime(System.currentTimeMillis())
+                        .build())
+                .runner(runner)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节点主循环共享调度器测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class FlowNodeSchedulerTest {
+    @Test
+    @DisplayName("不同流程版本的任务轮转执行")
+    void shouldRunStreamsInRoundRobin() throws InterruptedException {
+        FlowNodeScheduler scheduler = new FlowNodeScheduler(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(4);
+        scheduler.submit("streamA", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            executed.add("A0");
+            finished.countDown();
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        scheduler.submit("streamA", () -> record(executed, "A1", finished));
+        scheduler.submit("streamA", () -> record(executed, "A2", finished));
+        scheduler.submit("streamB", () -> record(executed, "B1", finished));
+        assertEquals(3, scheduler.getQueueDepth());
+
+        release.countDown();
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("A0", "A1", "B1", "A2"), executed);
+        assertEquals(1, scheduler.getThreadCount());
+        assertEquals(4L, scheduler.getScheduledCount());
+        assertTrue(scheduler.getMaxWaitMillis() >= 0L);
+    }
+
+    @Test
+    @DisplayName("工作线程数不超过上限")
+    void shouldNotExceedMaxWorkerNum() throws InterruptedException {
+        FlowNodeScheduler scheduler = new FlowNodeScheduler(4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            scheduler.submit("stream" + (i % 10), () -> {
+                awaitQuietly(release);
+                finished.countDown();
+            });
+        }
+        assertEquals(4, scheduler.getThreadCount());
+        release.countDown();
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("延迟提交的任务在延迟到期后执行，且延迟期间不占用工作线程")
+    void shouldRunDelayedTaskWithoutHoldingWorker() throws InterruptedException {
+        FlowNodeScheduler scheduler = new FlowNodeScheduler(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        scheduler.submitLater("streamA", finished::countDown, 50L);
+        assertEquals(0, scheduler.getThreadCount());
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertEquals(1L, scheduler.getScheduledCount());
+    }
+
+    private static void record(List<String> executed, String name, CountDownLatch finished) {
+        executed.add(name);
+        finished.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.enums.ProcessType;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 节点主循环唤醒登记表测试类
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+class FlowNodeWakeupsTest {
+    @Test
+    @DisplayName("通知按流程版本和节点ID唤醒登记的节点")
+    void shouldWakeupRegisteredNode() {
+        FlowNodeWakeups wakeups = new FlowNodeWakeups(0L);
+        List<ProcessType> woken = new ArrayList<>();
+        FlowNodeWakeups.Wakeable node = woken::add;
+        wakeups.register("stream1", "node1", node);
+
+        wakeups.wakeup("stream1", "node1", ProcessType.PROCESS);
+        wakeups.wakeup("stream1", "node2", ProcessType.PROCESS);
+        wakeups.wakeup("stream2", "node1", ProcessType.PROCESS);
+
+        assertEquals(Collections.singletonList(ProcessType.PROCESS), woken);
+    }
+
+    @Test
+    @DisplayName("兜底轮询只唤醒活跃过的节点且只唤醒处理过的类型")
+    void shouldPollOnlyActiveTypes() {
+        FlowNodeWakeups wakeups = new FlowNodeWakeups(0L);
+        List<String> woken = new ArrayList<>();
+        FlowNodeWakeups.Wakeable active = type -> woken.add("active-" + type);
+        FlowNodeWakeups.Wakeable idle = type -> woken.add("idle-" + type);
+        wakeups.register("stream1", "active", active);
+        wakeups.register("stream1", "idle", idle);
+        wakeups.touch("stream1", "active", ProcessType.PRE_PROCESS);
+
+        wakeups.poll();
+
+        assertEquals(Collections.singletonList("active-" + ProcessType.PRE_PROCESS), woken);
+    }
+
+    @Test
+    @DisplayName("流程版本下线后移除其所有节点的登记")
+    void shouldRemoveNodesOfStream() {
+        FlowNodeWakeups wakeups = new FlowNodeWakeups(0L);
+        List<ProcessType> woken = new ArrayList<>();
+        FlowNodeWakeups.Wakeable node = woken::add;
+        wakeups.register("stream1", "node1", node);
+        wakeups.register("stream1", "node2", node);
+        wakeups.register("stream10", "node1", node);
+
+        wakeups.remove("stream1");
+        wakeups.wakeup("stream1", "node1", ProcessType.PROCESS);
+
+        assertEquals(1, wakeups.size());
+        assertTrue(woken.isEmpty());
+    }
+}
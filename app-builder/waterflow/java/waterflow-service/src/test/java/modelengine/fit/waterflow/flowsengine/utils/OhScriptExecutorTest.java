@@ -20,8 +20,15 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * OhScript执行测试类
@@ -197,4 +204,65 @@ class OhScriptExecutorTest {
             assertTrue(OhScriptExecutor.evaluateConditionRule(flowData, conditionRule));
         }
     }
+
+    @Nested
+    @DisplayName("条件规则编译缓存测试集合")
+    class CompiledConditionCacheTest {
+        private static final String OUTPUT = "businessData.get(\"_internal\").get(\"outputScope\").get(\"node1\")";
+
+        @Test
+        @DisplayName("所有线程共享同一份编译后的条件规则")
+        void shouldShareCompiledRuleAcrossThreads() throws Exception {
+            String code = "businessData.get(\"shared\") == 1";
+            Set<CompiledConditionRule> rules = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    futures.add(executor.submit(() -> rules.add(OhScriptExecutor.compile(code))));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, rules.size());
+        }
+
+        @Test
+        @DisplayName("快速路径与解释器的判定结果一致")
+        void shouldMatchInterpreterResult() {
+            FlowData flowData = FlowData.builder().businessData(businessData(6)).build();
+            for (String rule : builderRules()) {
+                assertTrue(OhScriptExecutor.compile(rule).hasFastPath(), rule);
+                // 追加 && true 后快速路径无法解析，交给解释器执行
+                assertEquals(OhScriptExecutor.evaluateConditionRule(flowData, "(" + rule + ") && true"),
+                        OhScriptExecutor.evaluateConditionRule(flowData, rule), rule);
+            }
+        }
+
+        private List<String> builderRules() {
+            List<String> rules = new ArrayList<>();
+            rules.add("(" + OUTPUT + ".get(\"score\") > 5) && (" + OUTPUT + ".get(\"flag\") == true)");
+            rules.add("(" + OUTPUT + ".get(\"name\").trim() == \"abc\") || (" + OUTPUT + ".get(\"score\") <= 3)");
+            rules.add("(!" + OUTPUT + ".get(\"items\").isEmpty())");
+            rules.add("(" + OUTPUT + ".get(\"missing\") == null)");
+            rules.add("(" + OUTPUT + ".get(\"score\") != 10)");
+            return rules;
+        }
+
+        private Map<String, Object> businessData(int score) {
+            Map<String, Object> output = new HashMap<>();
+            output.put("score", score % 10);
+            output.put("name", " abc ");
+            output.put("flag", score % 2 == 0);
+            output.put("items", Collections.singletonList(score));
+            Map<String, Object> internal = new HashMap<>();
+            internal.put("outputScope", Collections.singletonMap("node1", output));
+            Map<String, Object> businessData = new HashMap<>();
+            businessData.put("_internal", internal);
+            return businessData;
+        }
+    }
 }
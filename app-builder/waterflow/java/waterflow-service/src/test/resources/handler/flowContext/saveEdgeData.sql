@@ -0,0 +1,41 @@
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at,
+                            update_at,
+                            archived_at)
+VALUES ('e1', 't1', 't1', 't1', 'edge-stream', 'input', 'e1', false, 'PENDING', NULL, NULL, NULL,
+        'b2', NULL, false, '2023-07-29T09:59:30.011', '2023-07-29T09:59:30.011', NULL);
+
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at,
+                            update_at,
+                            archived_at)
+VALUES ('e2', 't1', 't1', 't1', 'edge-stream', 'input', 'e2', false, 'PENDING', NULL, NULL, NULL,
+        'b2', NULL, false, '2023-07-29T09:59:30.011', '2023-07-29T09:59:30.011', NULL);
+
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at,
+                            update_at,
+                            archived_at)
+VALUES ('e3', 't1', 't1', 't1', 'edge-stream', 'input', 'e1', false, 'PENDING', NULL, NULL, NULL,
+        'b1', NULL, false, '2023-07-29T09:59:31.011', '2023-07-29T09:59:31.011', NULL);
+
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at,
+                            update_at,
+                            archived_at)
+VALUES ('e4', 't1', 't1', 't1', 'edge-stream', 'input', 'e1', false, 'PENDING', NULL, NULL, NULL,
+        'b0', NULL, true, '2023-07-29T09:59:30.011', '2023-07-29T09:59:30.011', NULL);
+
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at,
+                            update_at,
+                            archived_at)
+VALUES ('e5', 't1', 't1', 't1', 'edge-stream', 'input', 'e1', false, 'ARCHIVED', NULL, NULL, NULL,
+        'a0', NULL, false, '2023-07-29T09:59:30.011', '2023-07-29T09:59:30.011', NULL);
+
+INSERT INTO `flow_context` (context_id, trace_id, trans_id, root_id, stream_id, flow_data, position_id, joined, status,
+                            parallel, parallel_mode, previous, batch_id, to_batch, sent, create_at,
+                            update_at,
+                            archived_at)
+VALUES ('e6', 't2', 't2', 't2', 'edge-stream', 'input', 'e1', false, 'PENDING', NULL, NULL, NULL,
+        'b3', NULL, false, '2023-07-29T09:59:32.011', '2023-07-29T09:59:32.011', NULL);
\ No newline at end of file
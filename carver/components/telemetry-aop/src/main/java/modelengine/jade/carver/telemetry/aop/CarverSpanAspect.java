@@ -10,6 +10,7 @@ import modelengine.jade.common.localemessage.ExceptionLocaleService;
 import modelengine.jade.service.CarverGlobalOpenTelemetry;
 import modelengine.jade.service.annotations.CarverSpan;
 
+import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
@@ -25,10 +26,15 @@ import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.inspection.Validation;
 
 import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@link CarverSpan} 的切面。
+ * <p>每个方法的操作单元名称、作用域名称与 {@link Tracer} 在首次调用时编译为 {@link SpanPlan} 并缓存，
+ * 嵌套调用通过上下文复用外层的 {@link Tracer}，不再在每次调用时读取注解和拼接方法签名。</p>
  *
  * @author 刘信宏
  * @since 2024-07-23
@@ -36,10 +42,11 @@ import java.util.concurrent.atomic.AtomicReference;
 @Aspect
 @Component
 public class CarverSpanAspect {
-    private static final ContextKey<String> TRACE_CONTEXT_KEY = ContextKey.named("carver-trace-scope-name");
+    private static final ContextKey<Tracer> TRACE_CONTEXT_KEY = ContextKey.named("carver-trace-scope-tracer");
 
     private final SpanEndObserverRepository repository;
     private final ExceptionLocaleService exceptionLocaleService;
+    private final Map<Method, SpanPlan> plans = new ConcurrentHashMap<>();
 
     public CarverSpanAspect(SpanEndObserverRepository repository, ExceptionLocaleService exceptionLocaleService) {
         this.repository = repository;
@@ -79,27 +86,58 @@ public class CarverSpanAspect {
     }
 
     private Scope makeCurrentScope(ProceedingJoinPoint joinPoint, AtomicReference<Span> spanRef) {
-        String traceScopeName = Context.current().get(TRACE_CONTEXT_KEY);
-        if (traceScopeName == null) {
-            traceScopeName = joinPoint.getSignature().toString();
-            Span span = this.getSpan(joinPoint, traceScopeName);
-            Context withContext = Context.current().with(TRACE_CONTEXT_KEY, traceScopeName).with(span);
+        SpanPlan plan = this.plans.computeIfAbsent(joinPoint.getMethod(), method -> SpanPlan.compile(joinPoint));
+        Context current = Context.current();
+        Tracer tracer = current.get(TRACE_CONTEXT_KEY);
+        if (tracer == null) {
+            tracer = plan.tracer();
+            Span span = tracer.spanBuilder(plan.spanName()).startSpan();
+            Context withContext = current.with(TRACE_CONTEXT_KEY, tracer).with(span);
             spanRef.set(span);
             return ContextStorage.get().attach(withContext);
         }
-        Span span = this.getSpan(joinPoint, traceScopeName);
+        Span span = tracer.spanBuilder(plan.spanName()).startSpan();
         spanRef.set(span);
         return span.makeCurrent();
     }
 
-    private Span getSpan(ProceedingJoinPoint joinPoint, String traceScopeName) {
-        Tracer tracer = CarverGlobalOpenTelemetry.get().getTracer(traceScopeName);
-        CarverSpan carverSpanAnnotation = Validation.notNull(joinPoint.getMethod().getAnnotation(CarverSpan.class),
-                "The @CarverSpan annotation cannot be null.");
-        return tracer.spanBuilder(carverSpanAnnotation.value()).startSpan();
-    }
-
     private void notifyAllSpanEndObserver(Span span, Method method, Object[] args, Object result) {
         this.repository.get().forEach(observer -> observer.onSpanEnd(span, method, args, result));
     }
+
+    /**
+     * 表示方法编译后的埋点计划，包含操作单元名称、作用域名称和对应的 {@link Tracer}。
+     */
+    private static class SpanPlan {
+        private final String spanName;
+        private final String traceScopeName;
+        private volatile Map.Entry<OpenTelemetry, Tracer> binding;
+
+        private SpanPlan(String spanName, String traceScopeName) {
+            this.spanName = spanName;
+            this.traceScopeName = traceScopeName;
+        }
+
+        static SpanPlan compile(ProceedingJoinPoint joinPoint) {
+            CarverSpan carverSpanAnnotation = Validation.notNull(joinPoint.getMethod().getAnnotation(CarverSpan.class),
+                    "The @CarverSpan annotation cannot be null.");
+            return new SpanPlan(carverSpanAnnotation.value(), joinPoint.getSignature().toString());
+        }
+
+        String spanName() {
+            return this.spanName;
+        }
+
+        Tracer tracer() {
+            // 全局遥测对象可能被替换，对象变化后需要重新获取 Tracer。
+            OpenTelemetry current = CarverGlobalOpenTelemetry.get();
+            Map.Entry<OpenTelemetry, Tracer> cached = this.binding;
+            if (cached != null && cached.getKey() == current) {
+                return cached.getValue();
+            }
+            Tracer tracer = current.getTracer(this.traceScopeName);
+            this.binding = new AbstractMap.SimpleImmutableEntry<>(current, tracer);
+            return tracer;
+        }
+    }
 }
@@ -9,6 +9,7 @@ package modelengine.jade.carver.telemetry.aop;
 import modelengine.jade.service.annotations.SpanAttr;
 
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * {@link SpanAttr} 表达式的解析器。
@@ -33,4 +34,15 @@ public interface SpanAttrParser {
      * @return 表示属性的键值对的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
      */
     Map<String, String> parse(String expression, Object paramValue);
+
+    /**
+     * 预编译表达式，返回可重复使用的属性提取函数，避免每次调用都重新解析表达式。
+     *
+     * @param expression 表示注解表达式的 {@link String}。
+     * @return 表示根据参数值提取属性键值对的 {@link Function}{@code <}{@link Object}{@code , }{@link Map}{@code <}{@link
+     * String}{@code , }{@link String}{@code >>}。
+     */
+    default Function<Object, Map<String, String>> compile(String expression) {
+        return paramValue -> this.parse(expression, paramValue);
+    }
 }
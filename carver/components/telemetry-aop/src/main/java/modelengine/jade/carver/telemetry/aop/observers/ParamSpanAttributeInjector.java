@@ -17,13 +17,18 @@ import modelengine.jade.service.annotations.SpanAttr;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * 向 span 中注入 {@link SpanAttr} 注解的属性键值对。
+ * <p>每个方法的 {@link SpanAttr} 注解只在首次调用时解析，编译为参数下标与属性提取函数的列表后缓存，后续调用直接按列表提取属性。
+ * 未被采样的 span 不会提取属性。</p>
  *
  * @author 方誉州
  * @since 2024-08-06
@@ -31,6 +36,7 @@ import java.util.Map;
 @Component(name = "ParamSpanAttributeInjector")
 public class ParamSpanAttributeInjector implements SpanEndObserver, SpanAttrObserver {
     private final SpanAttrParserRepository repository;
+    private final Map<Method, List<ParamAttrExtractor>> plans = new ConcurrentHashMap<>();
 
     public ParamSpanAttributeInjector(SpanAttrParserRepository repository) {
         this.repository = repository;
@@ -41,30 +47,49 @@ public class ParamSpanAttributeInjector implements SpanEndObserver, SpanAttrObse
         onAppendSpanAttr(span, method, args, result);
     }
 
-    private void setAttribute(Span span, String[] expressions, Object paramValue) {
-        List<SpanAttrParser> parsers = this.repository.get();
-        for (String expression : expressions) {
-            Map<String, String> attributeMap = parsers.stream()
-                    .filter(parser -> parser.match(expression))
-                    .findFirst()
-                    .map(parser -> parser.parse(expression, paramValue))
-                    .orElseGet(Collections::emptyMap);
-            attributeMap.forEach(span::setAttribute);
-        }
-    }
-
     @Override
     public void onAppendSpanAttr(Span span, Method method, Object[] args, Object result) {
-        if (span == null) {
+        if (span == null || !span.isRecording()) {
             return;
         }
+        for (ParamAttrExtractor extractor : this.plans.computeIfAbsent(method, this::compile)) {
+            extractor.extract(args).forEach(span::setAttribute);
+        }
+    }
+
+    private List<ParamAttrExtractor> compile(Method method) {
+        List<SpanAttrParser> parsers = this.repository.get();
         Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        List<ParamAttrExtractor> extractors = new ArrayList<>();
         for (int index = 0; index < parameterAnnotations.length; index++) {
             int currentIndex = index;
-            Arrays.stream(parameterAnnotations[index])
-                    .filter(annotation -> annotation.annotationType() == SpanAttr.class)
-                    .map(ObjectUtils::<SpanAttr>cast)
-                    .forEach(annotation -> this.setAttribute(span, annotation.value(), args[currentIndex]));
+            for (Annotation annotation : parameterAnnotations[index]) {
+                if (annotation.annotationType() != SpanAttr.class) {
+                    continue;
+                }
+                for (String expression : ObjectUtils.<SpanAttr>cast(annotation).value()) {
+                    parsers.stream()
+                            .filter(parser -> parser.match(expression))
+                            .findFirst()
+                            .map(parser -> new ParamAttrExtractor(currentIndex, parser.compile(expression)))
+                            .ifPresent(extractors::add);
+                }
+            }
+        }
+        return extractors.isEmpty() ? Collections.emptyList() : extractors;
+    }
+
+    private static class ParamAttrExtractor {
+        private final int index;
+        private final Function<Object, Map<String, String>> function;
+
+        ParamAttrExtractor(int index, Function<Object, Map<String, String>> function) {
+            this.index = index;
+            this.function = Objects.requireNonNull(function);
+        }
+
+        Map<String, String> extract(Object[] args) {
+            return this.function.apply(args[this.index]);
         }
     }
-}
\ No newline at end of file
+}
@@ -15,10 +15,10 @@ import modelengine.fitframework.value.ValueFetcher;
 import modelengine.jade.carver.telemetry.aop.SpanAttrParser;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * {@link SpanAttrParser} 的实现, 表示复杂属性值的解析器，支持结构体、列表和键值对。
@@ -74,7 +74,22 @@ public class ComplexSpanAttrParser implements SpanAttrParser {
         if (expression == null) {
             return Collections.emptyMap();
         }
-        Map<String, String> expMap = new HashMap<>();
+        return this.compile(expression).apply(paramValue);
+    }
+
+    /**
+     * 预编译表达式，将表达式拆分为属性键与取值路径，提取时只需按路径取值。
+     *
+     * @param expression 表示注解表达式的 {@link String}。
+     * @return 表示根据参数值提取属性键值对的 {@link Function}{@code <}{@link Object}{@code , }{@link Map}{@code <}{@link
+     * String}{@code , }{@link String}{@code >>}。
+     */
+    @Override
+    public Function<Object, Map<String, String>> compile(String expression) {
+        if (expression == null) {
+            return paramValue -> Collections.emptyMap();
+        }
+        Map<String, String> expMap = new LinkedHashMap<>();
         for (String attr : expression.split(",")) {
             if (attr.isEmpty()) {
                 LOGGER.warn("Split attribute fail, expression is {}.", expression);
@@ -87,10 +102,13 @@ public class ComplexSpanAttrParser implements SpanAttrParser {
             }
             expMap.put(kv[0].trim(), kv[1].trim());
         }
-
-        return expMap.entrySet().stream().peek(pair -> {
-            Object parseRes = this.fetcher.fetch(paramValue, pair.getValue());
-            pair.setValue(parseRes == null ? "" : parseRes.toString());
-        }).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return paramValue -> {
+            Map<String, String> attributes = new LinkedHashMap<>(expMap.size());
+            expMap.forEach((key, path) -> {
+                Object parseRes = this.fetcher.fetch(paramValue, path);
+                attributes.put(key, parseRes == null ? "" : parseRes.toString());
+            });
+            return attributes;
+        };
     }
 }
@@ -74,6 +74,7 @@ public class AppendSpanAttrAspectTest {
         when(this.mockOpenTelemetry.getTracer(any())).thenReturn(this.mockTrace);
         when(this.mockTrace.spanBuilder(any())).thenReturn(this.mockSpanBuilder);
         when(this.mockSpanBuilder.startSpan()).thenReturn(this.mockSpan);
+        when(this.mockSpan.isRecording()).thenReturn(true);
         this.mockCurrent.when(Span::current).thenReturn(this.mockSpan);
         doAnswer(args -> ObjectUtils.<Throwable>cast(args.getArgument(0))
                 .getMessage()).when(this.exceptionLocaleService).localizeMessage(any());
@@ -101,6 +101,7 @@ public class CarverSpanAspectTest {
         when(this.mockOpenTelemetry.getTracer(any())).thenReturn(this.mockTrace);
         when(this.mockTrace.spanBuilder(any())).thenReturn(this.mockSpanBuilder);
         when(this.mockSpanBuilder.startSpan()).thenReturn(this.mockSpan);
+        when(this.mockSpan.isRecording()).thenReturn(true);
         doAnswer(args -> ObjectUtils.<Throwable>cast(args.getArgument(0))
                 .getMessage()).when(this.exceptionLocaleService).localizeMessage(any());
     }
@@ -0,0 +1,146 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.telemetry.aop.observers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.test.annotation.FitTestWithJunit;
+import modelengine.fitframework.test.annotation.Mock;
+import modelengine.fitframework.util.MapBuilder;
+import modelengine.jade.carver.telemetry.aop.CarverSpanAspect;
+import modelengine.jade.carver.telemetry.aop.SpanAttrObserver;
+import modelengine.jade.carver.telemetry.aop.SpanAttrParser;
+import modelengine.jade.carver.telemetry.aop.SpanAttrParserRepository;
+import modelengine.jade.carver.telemetry.aop.SpanEndObserverRepository;
+import modelengine.jade.carver.telemetry.aop.parsers.ComplexSpanAttrParser;
+import modelengine.jade.carver.telemetry.aop.parsers.DefaultSpanAttrParser;
+import modelengine.jade.carver.telemetry.aop.stub.CarverSpanParserDemo;
+import modelengine.jade.common.localemessage.ExceptionLocaleService;
+import modelengine.jade.service.CarverGlobalOpenTelemetry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ParamSpanAttributeInjector} 的测试。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@FitTestWithJunit(includeClasses = {
+        CarverSpanAspect.class, CarverSpanParserDemo.class, SpanAttrParserRepository.class,
+        DefaultSpanAttrParser.class, ComplexSpanAttrParser.class, SpanEndObserverRepository.class,
+        ParamSpanAttributeInjector.class
+})
+public class ParamSpanAttributeInjectorTest {
+    private static final String KV_ATTRIBUTE_KEY = "player:k1.k2,player2:k11.k22";
+
+    @Mock
+    private ExceptionLocaleService exceptionLocaleService;
+
+    @Fit(alias = "ParamSpanAttributeInjector")
+    private SpanAttrObserver observer;
+
+    @Fit
+    private SpanAttrParserRepository parserRepository;
+
+    @Fit
+    private CarverSpanParserDemo carverSpanParserDemo;
+
+    private OpenTelemetrySdk openTelemetry;
+    private MockedStatic<CarverGlobalOpenTelemetry> telemetryScopedMock;
+    private Method method;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        this.openTelemetry = OpenTelemetrySdk.builder().setTracerProvider(SdkTracerProvider.builder().build()).build();
+        this.telemetryScopedMock = mockStatic(CarverGlobalOpenTelemetry.class);
+        this.telemetryScopedMock.when(CarverGlobalOpenTelemetry::get).thenReturn(this.openTelemetry);
+        this.method = CarverSpanParserDemo.class.getMethod("handleKVParser", Object.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.telemetryScopedMock.close();
+        this.openTelemetry.getSdkTracerProvider().close();
+    }
+
+    private static Object kv(String value) {
+        return MapBuilder.<String, Object>get()
+                .put("k1", MapBuilder.<String, Object>get().put("k2", value).build())
+                .put("k11", MapBuilder.<String, Object>get().put("k22", value).build())
+                .build();
+    }
+
+    private Span startSpan() {
+        return this.openTelemetry.getTracer("test").spanBuilder("test").startSpan();
+    }
+
+    @Test
+    @DisplayName("重复调用同一方法时复用编译后的埋点计划，按每次的参数提取属性。")
+    void shouldExtractByArgsWhenReuseCompiledPlan() {
+        Span first = this.startSpan();
+        this.observer.onAppendSpanAttr(first, this.method, new Object[] {kv("v1")}, null);
+        Span second = this.startSpan();
+        this.observer.onAppendSpanAttr(second, this.method, new Object[] {kv("v2")}, null);
+
+        assertThat(((ReadableSpan) first).getAttribute(AttributeKey.stringKey("player"))).isEqualTo("v1");
+        assertThat(((ReadableSpan) second).getAttribute(AttributeKey.stringKey("player"))).isEqualTo("v2");
+        assertThat(((ReadableSpan) second).getAttribute(AttributeKey.stringKey("player2"))).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("未被采样的 span 不提取属性。")
+    void shouldSkipWhenSpanNotRecording() {
+        Span span = mock(Span.class);
+        this.observer.onAppendSpanAttr(span, this.method, new Object[] {kv("v")}, null);
+        verify(span, never()).setAttribute(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("预编译计划提取的属性与逐次解析表达式的结果一致。")
+    void shouldMatchParsedAttributesWhenUseCompiledPlan() {
+        Object kvObj = kv("v");
+        this.carverSpanParserDemo.handleKVParser(kvObj);
+        Span compiled = this.startSpan();
+        this.observer.onAppendSpanAttr(compiled, this.method, new Object[] {kvObj}, null);
+        Span parsed = this.startSpan();
+        parseEveryTime(this.parserRepository.get(), parsed, kvObj);
+
+        assertThat(((ReadableSpan) compiled).getAttribute(AttributeKey.stringKey("player"))).isEqualTo("v");
+        assertThat(((ReadableSpan) compiled).toSpanData().getAttributes()).isEqualTo(
+                ((ReadableSpan) parsed).toSpanData().getAttributes());
+    }
+
+    private static void parseEveryTime(List<SpanAttrParser> parsers, Span span, Object paramValue) {
+        Map<String, String> attributes = parsers.stream()
+                .filter(parser -> parser.match(KV_ATTRIBUTE_KEY))
+                .findFirst()
+                .map(parser -> parser.parse(KV_ATTRIBUTE_KEY, paramValue))
+                .orElseGet(Collections::emptyMap);
+        attributes.forEach(span::setAttribute);
+    }
+}
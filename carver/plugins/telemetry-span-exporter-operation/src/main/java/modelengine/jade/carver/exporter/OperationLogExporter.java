@@ -27,4 +27,9 @@ public interface OperationLogExporter {
      * @param params 表示操作日志参数键值对的 {@link CompositParam}。
      */
     void export(String operation, CompositParam params);
+
+    /**
+     * 上报所有已导出但尚未上报的操作日志。
+     */
+    default void flush() {}
 }
@@ -74,11 +74,13 @@ public class OperationSpanExporter implements CarverSpanExporter {
 
     @Override
     public CompletableResultCode flush() {
+        this.logExporter.flush();
         return CompletableResultCode.ofSuccess();
     }
 
     @Override
     public CompletableResultCode shutdown() {
+        this.logExporter.flush();
         return CompletableResultCode.ofSuccess();
     }
 
@@ -14,6 +14,7 @@ import modelengine.fit.http.entity.Entity;
 import modelengine.fit.http.protocol.HttpRequestMethod;
 import modelengine.fit.http.protocol.HttpResponseStatus;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.conf.Config;
@@ -26,13 +27,30 @@ import modelengine.jade.carver.operation.support.CompositParam;
 import modelengine.jade.carver.operation.support.OperationLogFields;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * {@link OperationLogExporter} 的默认实现。
+ * <p>导出操作日志时只放入有界队列，不阻塞调用线程，队列满时丢弃并计数。后台分发线程将队列中的操作日志聚合成批次，
+ * 交给有界的发送线程池完成本地化和上报。上报失败时按指数退避重试，重试后仍失败的操作日志写入本地缓存。</p>
+ * <p>队列空闲时在发送线程池中按文件顺序重放本地缓存，逐条上报时遇到第一条失败即停止，因此采集服务仍不可用时只会探测一次，
+ * 之后按指数退避推迟下一次重放。</p>
  *
  * @author 刘信宏
  * @since 2024-07-25
@@ -46,49 +64,375 @@ public class DefaultOperationLogExporter implements OperationLogExporter {
             "client.http.secure.trust-store-password",
             "client.http.secure.key-store-file",
             "client.http.secure.key-store-password");
+    private static final long MAX_BACKOFF_MILLIS = 10_000L;
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long DROP_WARN_INTERVAL = 1000L;
 
     private final HttpClassicClientFactory httpClientFactory;
     private final String collectorUri;
     private final OperationLogLocaleService operationLogLocaleService;
     private final Config config;
-    private LazyLoader<HttpClassicClient> httpClient;
+    private final OperationLogExportConfig exportConfig;
+    private final LazyLoader<HttpClassicClient> httpClient;
+    private final BlockingQueue<PendingLog> queue;
+    private final ThreadPoolExecutor senders;
+    private final OperationLogSpool spool;
+    private final OperationLogExportMetrics metrics = new OperationLogExportMetrics();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private final AtomicLong nextReplayNanos = new AtomicLong(System.nanoTime());
+    private final Object finishLock = new Object();
+    private final int batchSize;
+    private volatile Thread dispatcher;
+    private long replayBackoffMillis;
 
     public DefaultOperationLogExporter(HttpClassicClientFactory httpClientFactory,
             @Value("${collector.url}") String collectorUrl, @Fit OperationLogLocaleService operationLogLocaleService,
-            Config config) {
+            Config config, OperationLogExportConfig exportConfig) {
         this.httpClientFactory = httpClientFactory;
         this.collectorUri = collectorUrl;
         this.operationLogLocaleService = operationLogLocaleService;
         this.config = config;
+        this.exportConfig = exportConfig;
         this.httpClient = new LazyLoader<>(this::getHttpClient);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, exportConfig.getQueueSize()));
+        this.batchSize = Math.max(1, exportConfig.getBatchSize());
+        int concurrency = Math.max(1, exportConfig.getConcurrency());
+        this.senders = new ThreadPoolExecutor(concurrency,
+                concurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(concurrency),
+                daemonFactory("operation-log-sender-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.spool = StringUtils.isBlank(exportConfig.getSpoolDir())
+                ? null
+                : new OperationLogSpool(Paths.get(exportConfig.getSpoolDir()), exportConfig.getSpoolMaxBytes());
     }
 
     @Override
     public void export(String operation, CompositParam params) {
-        OperationLogFields fields = this.operationLogLocaleService.getLocaleMessage(operation, params);
-        this.exportHandle(fields);
+        this.startIfNecessary();
+        this.unfinished.incrementAndGet();
+        if (!this.closed.get() && this.queue.offer(new PendingLog(operation, params))) {
+            this.metrics.recordEnqueued();
+            return;
+        }
+        this.finish(1);
+        long dropped = this.metrics.recordQueueDropped();
+        if (dropped % DROP_WARN_INTERVAL == 1) {
+            log.warn("Operation log queue is full, drop operation log. [operation={}, dropped={}]",
+                    operation,
+                    dropped);
+        }
+    }
+
+    /**
+     * 在当前线程上报队列中所有待上报的操作日志，并等待发送线程池中正在上报的批次完成，最多等待
+     * {@link OperationLogExportConfig#getFlushTimeoutMillis()} 毫秒。
+     */
+    @Override
+    public void flush() {
+        List<PendingLog> pending = new ArrayList<>();
+        this.queue.drainTo(pending);
+        for (int from = 0; from < pending.size(); from += this.batchSize) {
+            List<PendingLog> batch = pending.subList(from, Math.min(pending.size(), from + this.batchSize));
+            try {
+                this.sendBatchQuietly(batch);
+            } finally {
+                this.finish(batch.size());
+            }
+        }
+        this.awaitFinished();
+    }
+
+    /**
+     * 关闭导出器，停止分发线程，上报剩余的操作日志后关闭发送线程池。关闭后导出的操作日志会被丢弃。
+     */
+    @Destroy
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        Thread current = this.dispatcher;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(this.exportConfig.getFlushTimeoutMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.flush();
+        this.senders.shutdown();
+        try {
+            if (!this.senders.awaitTermination(this.exportConfig.getFlushTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                this.senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Operation log exporter closed. {}", this.metrics);
+    }
+
+    /**
+     * 获取操作日志导出管道的统计指标。
+     *
+     * @return 表示统计指标的 {@link OperationLogExportMetrics}。
+     */
+    public OperationLogExportMetrics metrics() {
+        return this.metrics;
+    }
+
+    private void startIfNecessary() {
+        if (this.started.get() || this.closed.get() || !this.started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::dispatch, "operation-log-dispatcher");
+        thread.setDaemon(true);
+        this.dispatcher = thread;
+        thread.start();
+    }
+
+    private void dispatch() {
+        long lastReport = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingLog first = this.queue.poll(this.exportConfig.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    this.scheduleReplay();
+                } else {
+                    List<PendingLog> batch = this.collect(first);
+                    this.senders.execute(() -> {
+                        try {
+                            this.sendBatchQuietly(batch);
+                        } finally {
+                            this.finish(batch.size());
+                        }
+                    });
+                }
+                if (System.nanoTime() - lastReport >= REPORT_INTERVAL_NANOS) {
+                    log.info("Operation log export metrics. {}", this.metrics);
+                    lastReport = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch operation logs.", e);
+            }
+        }
+    }
+
+    private List<PendingLog> collect(PendingLog first) {
+        List<PendingLog> batch = new ArrayList<>(this.batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.exportConfig.getFlushIntervalMillis());
+        while (batch.size() < this.batchSize) {
+            this.queue.drainTo(batch, this.batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= this.batchSize || remaining <= 0) {
+                break;
+            }
+            PendingLog next;
+            try {
+                next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void finish(int count) {
+        if (this.unfinished.addAndGet(-count) <= 0) {
+            synchronized (this.finishLock) {
+                this.finishLock.notifyAll();
+            }
+        }
+    }
+
+    private void awaitFinished() {
+        long deadline = System.currentTimeMillis() + this.exportConfig.getFlushTimeoutMillis();
+        synchronized (this.finishLock) {
+            while (this.unfinished.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    log.warn("Timed out waiting for operation logs to be exported. [unfinished={}]",
+                            this.unfinished.get());
+                    return;
+                }
+                try {
+                    this.finishLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sendBatchQuietly(List<PendingLog> batch) {
+        try {
+            this.sendBatch(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to export operation logs. [count={}]", batch.size(), e);
+        }
     }
 
-    private void exportHandle(OperationLogFields fields) {
-        log.info("Operation span. [operation = {}, result = {}, detail = {}]",
-                fields.getName(),
-                fields.getOperationResult(),
-                fields.getDetails());
-        if (StringUtils.isBlank(this.collectorUri)) {
+    private void sendBatch(List<PendingLog> batch) {
+        List<OperationLogFields> records = new ArrayList<>(batch.size());
+        for (PendingLog pending : batch) {
+            OperationLogFields fields = this.operationLogLocaleService.getLocaleMessage(pending.operation,
+                    pending.params);
+            log.info("Operation span. [operation = {}, result = {}, detail = {}]",
+                    fields.getName(),
+                    fields.getOperationResult(),
+                    fields.getDetails());
+            records.add(fields);
+        }
+        if (!this.isExportEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<OperationLogFields> failed = this.deliver(records);
+        this.metrics.recordBatch(records.size(), failed.size(), System.nanoTime() - start);
+        if (failed.isEmpty()) {
             return;
         }
-        HttpClassicClientRequest request =
-                this.httpClient.get().createRequest(HttpRequestMethod.POST, this.collectorUri);
-        request.entity(Entity.createObject(request, fields));
-        try (HttpClassicClientResponse<Object> response = request.exchange()) {
-            if (response.statusCode() != HttpResponseStatus.OK.statusCode()) {
-                log.error("Export operation log failed. [code={}, reason={}]",
-                        response.statusCode(),
-                        response.reasonPhrase());
+        if (this.spool != null && this.spool.append(failed)) {
+            this.metrics.recordSpooled(failed.size());
+        } else {
+            this.metrics.recordSpoolDropped(failed.size());
+            log.error("Drop operation logs after retries. [count={}]", failed.size());
+        }
+    }
+
+    private List<OperationLogFields> deliver(List<OperationLogFields> records) {
+        List<OperationLogFields> pending = records;
+        for (int attempt = 0; ; attempt++) {
+            pending = this.post(pending);
+            if (pending.isEmpty() || attempt >= this.exportConfig.getMaxRetries()) {
+                return pending;
+            }
+            long backoff =
+                    Math.min(MAX_BACKOFF_MILLIS, this.exportConfig.getRetryBackoffMillis() << Math.min(attempt, 16));
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return pending;
+            }
+        }
+    }
+
+    private List<OperationLogFields> post(List<OperationLogFields> records) {
+        if (StringUtils.isNotBlank(this.exportConfig.getBatchUrl())) {
+            return this.send(this.exportConfig.getBatchUrl(), records) ? Collections.emptyList() : records;
+        }
+        return records.stream().filter(fields -> !this.send(this.collectorUri, fields)).collect(Collectors.toList());
+    }
+
+    private List<OperationLogFields> postUntilFailure(List<OperationLogFields> records) {
+        if (StringUtils.isNotBlank(this.exportConfig.getBatchUrl())) {
+            return this.send(this.exportConfig.getBatchUrl(), records) ? Collections.emptyList() : records;
+        }
+        for (int i = 0; i < records.size(); i++) {
+            if (!this.send(this.collectorUri, records.get(i))) {
+                return new ArrayList<>(records.subList(i, records.size()));
             }
-        } catch (IOException e) {
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean send(String uri, Object body) {
+        try {
+            HttpClassicClientRequest request = this.httpClient.get().createRequest(HttpRequestMethod.POST, uri);
+            request.entity(Entity.createObject(request, body));
+            try (HttpClassicClientResponse<Object> response = request.exchange()) {
+                int statusCode = response.statusCode();
+                if (statusCode == HttpResponseStatus.OK.statusCode()) {
+                    return true;
+                }
+                log.error("Export operation log failed. [code={}, reason={}]", statusCode, response.reasonPhrase());
+            }
+        } catch (IOException | RuntimeException e) {
             log.error("Export request Failed", e);
         }
+        return false;
+    }
+
+    private void scheduleReplay() {
+        if (this.spool == null || !this.isExportEnabled() || System.nanoTime() - this.nextReplayNanos.get() < 0
+                || this.senders.getActiveCount() > 0 || !this.replaying.compareAndSet(false, true)) {
+            return;
+        }
+        this.senders.execute(() -> {
+            try {
+                this.replaySpool();
+            } catch (RuntimeException e) {
+                log.error("Failed to replay spooled operation logs.", e);
+                this.delayReplay();
+            } finally {
+                this.replaying.set(false);
+            }
+        });
+    }
+
+    private void replaySpool() {
+        while (this.queue.isEmpty() && !this.closed.get()) {
+            Optional<Path> oldest = this.spool.oldest();
+            if (oldest.isEmpty()) {
+                this.replayBackoffMillis = 0L;
+                return;
+            }
+            Path file = oldest.get();
+            List<OperationLogFields> records;
+            try {
+                records = this.spool.read(file);
+            } catch (IOException e) {
+                log.error("Failed to read spooled operation logs, discard it. [file={}]", file, e);
+                this.spool.delete(file);
+                continue;
+            }
+            long start = System.nanoTime();
+            List<OperationLogFields> failed = this.postUntilFailure(records);
+            if (failed.size() == records.size() && !records.isEmpty()) {
+                this.delayReplay();
+                return;
+            }
+            this.metrics.recordBatch(records.size() - failed.size(), 0, System.nanoTime() - start);
+            this.spool.delete(file);
+            if (failed.isEmpty()) {
+                this.replayBackoffMillis = 0L;
+                continue;
+            }
+            if (this.spool.append(failed)) {
+                this.metrics.recordSpooled(failed.size());
+            } else {
+                this.metrics.recordSpoolDropped(failed.size());
+            }
+            this.delayReplay();
+            return;
+        }
+    }
+
+    private void delayReplay() {
+        this.replayBackoffMillis = this.replayBackoffMillis == 0L
+                ? Math.max(1L, this.exportConfig.getRetryBackoffMillis())
+                : Math.min(MAX_BACKOFF_MILLIS, this.replayBackoffMillis * 2);
+        this.nextReplayNanos.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.replayBackoffMillis));
+    }
+
+    private boolean isExportEnabled() {
+        return StringUtils.isNotBlank(this.collectorUri) || StringUtils.isNotBlank(this.exportConfig.getBatchUrl());
     }
 
     private HttpClassicClient getHttpClient() {
@@ -97,4 +441,23 @@ public class DefaultOperationLogExporter implements OperationLogExporter {
                 .collect(Collectors.toMap(key -> key, key -> this.config.get(key, Object.class)));
         return this.httpClientFactory.create(HttpClassicClientFactory.Config.builder().custom(custom).build());
     }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class PendingLog {
+        private final String operation;
+        private final CompositParam params;
+
+        private PendingLog(String operation, CompositParam params) {
+            this.operation = operation;
+            this.params = params;
+        }
+    }
 }
@@ -0,0 +1,250 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.support;
+
+import modelengine.fitframework.annotation.AcceptConfigValues;
+import modelengine.fitframework.annotation.Component;
+
+/**
+ * 操作日志导出管道的配置参数，未配置的参数使用默认值。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+@AcceptConfigValues("collector.export")
+public class OperationLogExportConfig {
+    /**
+     * 批量上报的地址，配置后整批操作日志以数组形式一次上报，否则逐条上报到 {@code collector.url}。
+     */
+    private String batchUrl = "";
+
+    /**
+     * 待上报操作日志队列的容量，队列满时新的操作日志会被丢弃。
+     */
+    private int queueSize = 2048;
+
+    /**
+     * 每批上报的最大操作日志数量。
+     */
+    private int batchSize = 100;
+
+    /**
+     * 队列空闲时的等待间隔毫秒数，空闲时会重放本地缓存的操作日志。
+     */
+    private long flushIntervalMillis = 1000L;
+
+    /**
+     * 同时上报的最大批次数量。
+     */
+    private int concurrency = 4;
+
+    /**
+     * 上报失败后的最大重试次数。
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 首次重试前的等待毫秒数，之后每次重试翻倍。
+     */
+    private long retryBackoffMillis = 200L;
+
+    /**
+     * 上报失败时本地缓存的目录，为空时不缓存，失败的操作日志会被丢弃。
+     */
+    private String spoolDir = "";
+
+    /**
+     * 本地缓存的最大字节数，超出后失败的操作日志会被丢弃。
+     */
+    private long spoolMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * 刷新或关闭时等待正在上报的批次完成的最大毫秒数。
+     */
+    private long flushTimeoutMillis = 30_000L;
+
+    /**
+     * 获取批量上报的地址。
+     *
+     * @return 表示批量上报地址的 {@link String}。
+     */
+    public String getBatchUrl() {
+        return this.batchUrl;
+    }
+
+    /**
+     * 设置批量上报的地址。
+     *
+     * @param batchUrl 表示批量上报地址的 {@link String}。
+     */
+    public void setBatchUrl(String batchUrl) {
+        this.batchUrl = batchUrl;
+    }
+
+    /**
+     * 获取待上报操作日志队列的容量。
+     *
+     * @return 表示队列容量的 {@code int}。
+     */
+    public int getQueueSize() {
+        return this.queueSize;
+    }
+
+    /**
+     * 设置待上报操作日志队列的容量。
+     *
+     * @param queueSize 表示队列容量的 {@code int}。
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * 获取每批上报的最大操作日志数量。
+     *
+     * @return 表示每批最大数量的 {@code int}。
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * 设置每批上报的最大操作日志数量。
+     *
+     * @param batchSize 表示每批最大数量的 {@code int}。
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 获取队列空闲时的等待间隔毫秒数。
+     *
+     * @return 表示等待间隔毫秒数的 {@code long}。
+     */
+    public long getFlushIntervalMillis() {
+        return this.flushIntervalMillis;
+    }
+
+    /**
+     * 设置队列空闲时的等待间隔毫秒数。
+     *
+     * @param flushIntervalMillis 表示等待间隔毫秒数的 {@code long}。
+     */
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * 获取同时上报的最大批次数量。
+     *
+     * @return 表示最大并发数的 {@code int}。
+     */
+    public int getConcurrency() {
+        return this.concurrency;
+    }
+
+    /**
+     * 设置同时上报的最大批次数量。
+     *
+     * @param concurrency 表示最大并发数的 {@code int}。
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 获取上报失败后的最大重试次数。
+     *
+     * @return 表示最大重试次数的 {@code int}。
+     */
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    /**
+     * 设置上报失败后的最大重试次数。
+     *
+     * @param maxRetries 表示最大重试次数的 {@code int}。
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * 获取首次重试前的等待毫秒数。
+     *
+     * @return 表示首次重试等待毫秒数的 {@code long}。
+     */
+    public long getRetryBackoffMillis() {
+        return this.retryBackoffMillis;
+    }
+
+    /**
+     * 设置首次重试前的等待毫秒数。
+     *
+     * @param retryBackoffMillis 表示首次重试等待毫秒数的 {@code long}。
+     */
+    public void setRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    /**
+     * 获取上报失败时本地缓存的目录。
+     *
+     * @return 表示本地缓存目录的 {@link String}。
+     */
+    public String getSpoolDir() {
+        return this.spoolDir;
+    }
+
+    /**
+     * 设置上报失败时本地缓存的目录。
+     *
+     * @param spoolDir 表示本地缓存目录的 {@link String}。
+     */
+    public void setSpoolDir(String spoolDir) {
+        this.spoolDir = spoolDir;
+    }
+
+    /**
+     * 获取本地缓存的最大字节数。
+     *
+     * @return 表示本地缓存最大字节数的 {@code long}。
+     */
+    public long getSpoolMaxBytes() {
+        return this.spoolMaxBytes;
+    }
+
+    /**
+     * 设置本地缓存的最大字节数。
+     *
+     * @param spoolMaxBytes 表示本地缓存最大字节数的 {@code long}。
+     */
+    public void setSpoolMaxBytes(long spoolMaxBytes) {
+        this.spoolMaxBytes = spoolMaxBytes;
+    }
+
+    /**
+     * 获取刷新或关闭时等待正在上报的批次完成的最大毫秒数。
+     *
+     * @return 表示最大等待毫秒数的 {@code long}。
+     */
+    public long getFlushTimeoutMillis() {
+        return this.flushTimeoutMillis;
+    }
+
+    /**
+     * 设置刷新或关闭时等待正在上报的批次完成的最大毫秒数。
+     *
+     * @param flushTimeoutMillis 表示最大等待毫秒数的 {@code long}。
+     */
+    public void setFlushTimeoutMillis(long flushTimeoutMillis) {
+        this.flushTimeoutMillis = flushTimeoutMillis;
+    }
+}
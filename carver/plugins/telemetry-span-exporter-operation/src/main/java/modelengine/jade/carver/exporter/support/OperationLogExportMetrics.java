@@ -0,0 +1,181 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.support;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 操作日志导出管道的统计指标，包括队列丢弃数、批次大小和上报耗时。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class OperationLogExportMetrics {
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder queueDropped = new LongAdder();
+    private final LongAdder spooled = new LongAdder();
+    private final LongAdder spoolDropped = new LongAdder();
+    private final LongAdder exported = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0L);
+
+    void recordEnqueued() {
+        this.enqueued.increment();
+    }
+
+    /**
+     * 记录队列已满被丢弃的操作日志。
+     *
+     * @return 表示累计丢弃数量的 {@code long}。
+     */
+    long recordQueueDropped() {
+        this.queueDropped.increment();
+        return this.queueDropped.sum();
+    }
+
+    void recordSpooled(int count) {
+        this.spooled.add(count);
+    }
+
+    void recordSpoolDropped(int count) {
+        this.spoolDropped.add(count);
+    }
+
+    void recordBatch(int size, int failedCount, long elapsedNanos) {
+        this.batches.increment();
+        this.maxBatchSize.accumulate(size);
+        this.exported.add(size - failedCount);
+        this.failed.add(failedCount);
+        this.latencyNanos.add(elapsedNanos);
+        this.maxLatencyNanos.accumulate(elapsedNanos);
+    }
+
+    /**
+     * 获取进入队列的操作日志数量。
+     *
+     * @return 表示进入队列的操作日志数量的 {@code long}。
+     */
+    public long getEnqueued() {
+        return this.enqueued.sum();
+    }
+
+    /**
+     * 获取队列已满被丢弃的操作日志数量。
+     *
+     * @return 表示队列丢弃数量的 {@code long}。
+     */
+    public long getQueueDropped() {
+        return this.queueDropped.sum();
+    }
+
+    /**
+     * 获取上报失败后写入本地缓存的操作日志数量。
+     *
+     * @return 表示写入本地缓存数量的 {@code long}。
+     */
+    public long getSpooled() {
+        return this.spooled.sum();
+    }
+
+    /**
+     * 获取上报失败且无法缓存而被丢弃的操作日志数量。
+     *
+     * @return 表示无法缓存而被丢弃的数量的 {@code long}。
+     */
+    public long getSpoolDropped() {
+        return this.spoolDropped.sum();
+    }
+
+    /**
+     * 获取上报成功的操作日志数量。
+     *
+     * @return 表示上报成功数量的 {@code long}。
+     */
+    public long getExported() {
+        return this.exported.sum();
+    }
+
+    /**
+     * 获取重试后仍上报失败的操作日志数量。
+     *
+     * @return 表示上报失败数量的 {@code long}。
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * 获取上报的批次数量。
+     *
+     * @return 表示批次数量的 {@code long}。
+     */
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    /**
+     * 获取平均批次大小。
+     *
+     * @return 表示平均批次大小的 {@code double}，没有批次时为 {@code 0}。
+     */
+    public double getAverageBatchSize() {
+        long count = this.batches.sum();
+        return count == 0 ? 0D : (double) (this.exported.sum() + this.failed.sum()) / count;
+    }
+
+    /**
+     * 获取最大批次大小。
+     *
+     * @return 表示最大批次大小的 {@code long}。
+     */
+    public long getMaxBatchSize() {
+        return this.maxBatchSize.get();
+    }
+
+    /**
+     * 获取每批上报的平均耗时毫秒数，包含重试。
+     *
+     * @return 表示平均耗时毫秒数的 {@code double}，没有批次时为 {@code 0}。
+     */
+    public double getAverageLatencyMillis() {
+        long count = this.batches.sum();
+        return count == 0 ? 0D : (double) this.latencyNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * 获取每批上报的最大耗时毫秒数，包含重试。
+     *
+     * @return 表示最大耗时毫秒数的 {@code double}。
+     */
+    public double getMaxLatencyMillis() {
+        return (double) this.maxLatencyNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "[enqueued=%d, queueDropped=%d, exported=%d, failed=%d, spooled=%d, spoolDropped=%d, batches=%d, "
+                        + "avgBatchSize=%.2f, maxBatchSize=%d, avgLatencyMs=%.2f, maxLatencyMs=%.2f]",
+                this.getEnqueued(),
+                this.getQueueDropped(),
+                this.getExported(),
+                this.getFailed(),
+                this.getSpooled(),
+                this.getSpoolDropped(),
+                this.getBatches(),
+                this.getAverageBatchSize(),
+                this.getMaxBatchSize(),
+                this.getAverageLatencyMillis(),
+                this.getMaxLatencyMillis());
+    }
+}
@@ -0,0 +1,179 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.log.Logger;
+import modelengine.jade.carver.operation.support.OperationLogFields;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 操作日志的本地缓存，在采集服务不可用时暂存上报失败的操作日志。
+ * <p>每批操作日志写为一个文件，每行一条操作日志，字段经过 URL 编码后以制表符分隔。文件先写入临时文件再原子重命名，
+ * 重放时按文件名顺序从最早的文件开始。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+public class OperationLogSpool {
+    private static final Logger log = Logger.get(OperationLogSpool.class);
+    private static final String SUFFIX = ".spool";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String FIELD_DELIMITER = "\t";
+    private static final String NULL_VALUE = "~";
+    private static final List<Function<OperationLogFields, String>> GETTERS = List.of(
+            OperationLogFields::getFunctionModule,
+            OperationLogFields::getLevel,
+            OperationLogFields::getOperator,
+            OperationLogFields::getIpAddr,
+            OperationLogFields::getOperationResult,
+            OperationLogFields::getDetails,
+            OperationLogFields::getName,
+            OperationLogFields::getResourceName,
+            OperationLogFields::getRequestUri);
+
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 使用缓存目录和最大字节数初始化 {@link OperationLogSpool} 的新实例。
+     *
+     * @param directory 表示缓存目录的 {@link Path}。
+     * @param maxBytes 表示缓存最大字节数的 {@code long}。
+     */
+    public OperationLogSpool(Path directory, long maxBytes) {
+        this.directory = notNull(directory, "The spool directory cannot be null.");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 缓存一批操作日志。
+     *
+     * @param records 表示操作日志列表的 {@link List}{@code <}{@link OperationLogFields}{@code >}。
+     * @return 表示是否缓存成功的 {@code boolean}，超出最大字节数或写入失败时为 {@code false}。
+     */
+    public synchronized boolean append(List<OperationLogFields> records) {
+        String content = records.stream().map(OperationLogSpool::encode).collect(Collectors.joining("\n", "", "\n"));
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(this.directory);
+            if (this.size() + bytes.length > this.maxBytes) {
+                return false;
+            }
+            String name = String.format("%019d-%06d", System.currentTimeMillis(), this.sequence.incrementAndGet());
+            Path temp = this.directory.resolve(name + TEMP_SUFFIX);
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
+            Files.move(temp, this.directory.resolve(name + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to spool operation logs. [directory={}]", this.directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * 获取最早的缓存文件。
+     *
+     * @return 表示最早的缓存文件的 {@link Optional}{@code <}{@link Path}{@code >}，没有缓存时为空。
+     */
+    public Optional<Path> oldest() {
+        if (!Files.isDirectory(this.directory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .min(Comparator.comparing(file -> file.getFileName().toString()));
+        } catch (IOException e) {
+            log.error("Failed to list spooled operation logs. [directory={}]", this.directory, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 读取缓存文件中的操作日志。
+     *
+     * @param file 表示缓存文件的 {@link Path}。
+     * @return 表示操作日志列表的 {@link List}{@code <}{@link OperationLogFields}{@code >}。
+     * @throws IOException 当读取文件失败时。
+     */
+    public List<OperationLogFields> read(Path file) throws IOException {
+        List<OperationLogFields> records = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isEmpty()) {
+                records.add(decode(line));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 删除已重放的缓存文件。
+     *
+     * @param file 表示缓存文件的 {@link Path}。
+     */
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("Failed to delete spooled operation logs. [file={}]", file, e);
+        }
+    }
+
+    private long size() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            long total = 0L;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                total += Files.size(file);
+            }
+            return total;
+        }
+    }
+
+    private static String encode(OperationLogFields fields) {
+        return GETTERS.stream().map(getter -> {
+            String value = getter.apply(fields);
+            return value == null ? NULL_VALUE : URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }).collect(Collectors.joining(FIELD_DELIMITER));
+    }
+
+    private static OperationLogFields decode(String line) {
+        String[] values = line.split(FIELD_DELIMITER, -1);
+        String[] decoded = new String[GETTERS.size()];
+        for (int i = 0; i < decoded.length && i < values.length; i++) {
+            decoded[i] = NULL_VALUE.equals(values[i]) ? null : URLDecoder.decode(values[i], StandardCharsets.UTF_8);
+        }
+        return new OperationLogFields(decoded[0],
+                decoded[1],
+                decoded[2],
+                decoded[3],
+                decoded[4],
+                decoded[5],
+                decoded[6],
+                decoded[7],
+                decoded[8]);
+    }
+}
@@ -11,19 +11,29 @@ import static modelengine.jade.carver.operation.enums.OperationLogConstant.SYS_O
 import static modelengine.jade.carver.operation.enums.OperationLogConstant.SYS_OP_OPERATOR_KEY;
 import static modelengine.jade.carver.operation.enums.OperationLogConstant.SYS_OP_RESULT_KEY;
 import static modelengine.jade.carver.operation.enums.OperationLogConstant.SYS_OP_SUCCEED;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.http.client.HttpClassicClient;
 import modelengine.fit.http.client.HttpClassicClientFactory;
 import modelengine.fit.http.client.HttpClassicClientRequest;
 import modelengine.fit.http.client.HttpClassicClientResponse;
+import modelengine.fit.http.protocol.HttpRequestMethod;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.conf.Config;
 import modelengine.fitframework.test.annotation.FitTestWithJunit;
 import modelengine.fitframework.test.annotation.Mock;
 import modelengine.fitframework.util.MapBuilder;
 import modelengine.jade.carver.exporter.support.DefaultOperationLogExporter;
+import modelengine.jade.carver.exporter.support.OperationLogExportConfig;
+import modelengine.jade.carver.exporter.support.OperationLogExportMetrics;
 import modelengine.jade.carver.operation.OperationLogLocaleService;
 import modelengine.jade.carver.operation.support.CompositParam;
 import modelengine.jade.carver.operation.support.OperationLogFields;
@@ -32,9 +42,16 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 /**
  * {@link DefaultOperationLogExporter} 测试类。
@@ -42,7 +59,7 @@ import java.util.Map;
  * @author 方誉州
  * @since 2024-08-05
  */
-@FitTestWithJunit(includeClasses = {DefaultOperationLogExporter.class})
+@FitTestWithJunit(includeClasses = {DefaultOperationLogExporter.class, OperationLogExportConfig.class})
 public class DefaultOperationLogExporterTest {
     private static CompositParam params;
 
@@ -79,13 +96,172 @@ public class DefaultOperationLogExporterTest {
 
     @AfterEach
     void tearDown() {
-        clearInvocations(this.responseMock);
+        clearInvocations(this.responseMock, this.requestMock, this.httpClientMock);
     }
 
     @Test
     void testSuccessWitHttpException() {
         operationLogExporter.export("test", params);
-        Mockito.verify(responseMock, Mockito.times(1)).reasonPhrase();
+        Mockito.verify(responseMock, Mockito.timeout(2000).times(1)).reasonPhrase();
+    }
+
+    @Test
+    void shouldSendOneBatchWhenBatchUrlConfigured() {
+        setMockHttpClient(200);
+        OperationLogExportConfig config = this.exportConfig();
+        config.setBatchUrl("http://localhost:8080/batch");
+        config.setBatchSize(5);
+        config.setFlushIntervalMillis(5000);
+        DefaultOperationLogExporter exporter = this.newExporter("http://localhost:8080/test", config);
+        for (int i = 0; i < 5; i++) {
+            exporter.export("test", params);
+        }
+
+        verify(this.httpClientMock, timeout(2000)).createRequest(HttpRequestMethod.POST, "http://localhost:8080/batch");
+        awaitTrue(() -> exporter.metrics().getBatches() == 1);
+        OperationLogExportMetrics metrics = exporter.metrics();
+        assertThat(metrics.getMaxBatchSize()).isEqualTo(5);
+        assertThat(metrics.getExported()).isEqualTo(5);
+        verify(this.httpClientMock, Mockito.never()).createRequest(any(), eq("http://localhost:8080/test"));
+    }
+
+    @Test
+    void shouldRetryFailedRecordWithBackoff() {
+        setMockHttpClient(200);
+        when(this.responseMock.statusCode()).thenReturn(500, 200);
+        OperationLogExportConfig config = this.exportConfig();
+        config.setMaxRetries(2);
+        DefaultOperationLogExporter exporter = this.newExporter("http://localhost:8080/test", config);
+        exporter.export("test", params);
+
+        verify(this.requestMock, timeout(2000).times(2)).exchange();
+        awaitTrue(() -> exporter.metrics().getExported() == 1);
+        assertThat(exporter.metrics().getFailed()).isZero();
+        assertThat(exporter.metrics().getSpoolDropped()).isZero();
+    }
+
+    @Test
+    void shouldSpoolWhenCollectorDownAndReplayWhenRecovered(@TempDir Path spoolDir) {
+        setMockHttpClient(200);
+        AtomicInteger status = new AtomicInteger(503);
+        when(this.responseMock.statusCode()).thenAnswer(invocation -> status.get());
+        OperationLogExportConfig config = this.exportConfig();
+        config.setSpoolDir(spoolDir.toString());
+        DefaultOperationLogExporter exporter = this.newExporter("http://localhost:8080/test", config);
+        exporter.export("test", params);
+        awaitTrue(() -> exporter.metrics().getSpooled() == 1);
+        assertThat(countFiles(spoolDir)).isEqualTo(1);
+
+        status.set(200);
+        awaitTrue(() -> exporter.metrics().getExported() == 1);
+        awaitTrue(() -> countFiles(spoolDir) == 0);
+    }
+
+    @Test
+    void shouldCountDroppedWhenQueueFull() {
+        setMockHttpClient(200);
+        OperationLogExportConfig config = this.exportConfig();
+        config.setQueueSize(1);
+        config.setBatchSize(1);
+        config.setConcurrency(1);
+        DefaultOperationLogExporter exporter = this.newExporter("", config);
+        when(this.localeServiceMock.getLocaleMessage(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return new OperationLogFields();
+        });
+        for (int i = 0; i < 20; i++) {
+            exporter.export("test", params);
+        }
+        assertThat(exporter.metrics().getQueueDropped()).isPositive();
+        assertThat(exporter.metrics().getEnqueued() + exporter.metrics().getQueueDropped()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldProbeOnceWhenReplayWhileCollectorDown(@TempDir Path spoolDir) throws InterruptedException {
+        setMockHttpClient(503);
+        OperationLogExportConfig config = this.exportConfig();
+        config.setSpoolDir(spoolDir.toString());
+        config.setBatchSize(3);
+        config.setFlushIntervalMillis(300);
+        config.setRetryBackoffMillis(5000);
+        DefaultOperationLogExporter exporter = this.newExporter("http://localhost:8080/test", config);
+        for (int i = 0; i < 3; i++) {
+            exporter.export("test", params);
+        }
+        awaitTrue(() -> exporter.metrics().getSpooled() == 3);
+        clearInvocations(this.requestMock);
+
+        verify(this.requestMock, timeout(2000)).exchange();
+        Thread.sleep(300);
+        verify(this.requestMock, times(1)).exchange();
+        assertThat(countFiles(spoolDir)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWaitInFlightBatchWhenFlush() {
+        setMockHttpClient(200);
+        when(this.localeServiceMock.getLocaleMessage(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return new OperationLogFields();
+        });
+        DefaultOperationLogExporter exporter = this.newExporter("http://localhost:8080/test", this.exportConfig());
+        exporter.export("test", params);
+        verify(this.localeServiceMock, timeout(2000)).getLocaleMessage(any(), any());
+
+        exporter.flush();
+        assertThat(exporter.metrics().getExported()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExportPendingAndDropNewWhenClosed() {
+        setMockHttpClient(200);
+        OperationLogExportConfig config = this.exportConfig();
+        config.setFlushIntervalMillis(5000);
+        config.setBatchSize(10);
+        DefaultOperationLogExporter exporter = this.newExporter("http://localhost:8080/test", config);
+        exporter.export("test", params);
+        exporter.close();
+        assertThat(exporter.metrics().getExported()).isEqualTo(1);
+
+        exporter.export("test", params);
+        assertThat(exporter.metrics().getQueueDropped()).isEqualTo(1);
+    }
+
+    private OperationLogExportConfig exportConfig() {
+        OperationLogExportConfig config = new OperationLogExportConfig();
+        config.setFlushIntervalMillis(50);
+        config.setMaxRetries(0);
+        config.setRetryBackoffMillis(1);
+        return config;
+    }
+
+    private DefaultOperationLogExporter newExporter(String collectorUrl, OperationLogExportConfig config) {
+        return new DefaultOperationLogExporter(this.httpFactoryMock,
+                collectorUrl,
+                this.localeServiceMock,
+                mock(Config.class),
+                config);
+    }
+
+    private static long countFiles(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
     }
 
     private void setMockHttpClient(int statusCode) {
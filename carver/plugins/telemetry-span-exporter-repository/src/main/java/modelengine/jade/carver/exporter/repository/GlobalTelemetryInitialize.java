@@ -13,7 +13,10 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.SpanLimits;
+import io.opentelemetry.sdk.trace.SpanLimitsBuilder;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Initialize;
 import modelengine.fitframework.inspection.Validation;
@@ -30,16 +33,20 @@ import java.time.Duration;
 public class GlobalTelemetryInitialize {
     private final SpanExporterRepository exportersRepository;
     private final SpanProcessorConfig processorConfig;
+    private final TracerProviderConfig tracerConfig;
 
     /**
      * 使用操作单元导出器的容器和配置参数初始化 {@link GlobalTelemetryInitialize} 对象。
      *
      * @param exportersRepository 表示操作单元导出器的容器的 {@link SpanExporterRepository}。
      * @param processorConfig 表示配置参数的 {@link SpanProcessorConfig}。
+     * @param tracerConfig 表示采样与属性限制配置参数的 {@link TracerProviderConfig}。
      */
-    public GlobalTelemetryInitialize(SpanExporterRepository exportersRepository, SpanProcessorConfig processorConfig) {
+    public GlobalTelemetryInitialize(SpanExporterRepository exportersRepository, SpanProcessorConfig processorConfig,
+            TracerProviderConfig tracerConfig) {
         this.exportersRepository = Validation.notNull(exportersRepository, "The exporters repository cannot be null.");
         this.processorConfig = Validation.notNull(processorConfig, "The span processor config cannot be null.");
+        this.tracerConfig = Validation.notNull(tracerConfig, "The tracer provider config cannot be null.");
     }
 
     @Initialize
@@ -51,8 +58,24 @@ public class GlobalTelemetryInitialize {
                 .setExporterTimeout(Duration.ofMillis(this.processorConfig.getExporterTimeoutMillis()))
                 .setScheduleDelay(Duration.ofMillis(this.processorConfig.getScheduleDelayMillis()))
                 .build());
+        if (this.tracerConfig.getSamplingRatio() != null) {
+            Sampler rootSampler = Sampler.traceIdRatioBased(this.tracerConfig.getSamplingRatio());
+            tracerBuilder.setSampler(Sampler.parentBased(rootSampler));
+        }
+        tracerBuilder.setSpanLimits(this.buildSpanLimits());
         SdkTracerProvider sdkTracerProvider = tracerBuilder.build();
         OpenTelemetry openTelemetry = OpenTelemetrySdk.builder().setTracerProvider(sdkTracerProvider).build();
         CarverGlobalOpenTelemetry.set(openTelemetry);
     }
+
+    private SpanLimits buildSpanLimits() {
+        SpanLimitsBuilder builder = SpanLimits.builder();
+        if (this.tracerConfig.getMaxNumberOfAttributes() != null) {
+            builder.setMaxNumberOfAttributes(this.tracerConfig.getMaxNumberOfAttributes());
+        }
+        if (this.tracerConfig.getMaxAttributeValueLength() != null) {
+            builder.setMaxAttributeValueLength(this.tracerConfig.getMaxAttributeValueLength());
+        }
+        return builder.build();
+    }
 }
@@ -0,0 +1,39 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.exporter.repository;
+
+import modelengine.fitframework.annotation.AcceptConfigValues;
+import modelengine.fitframework.annotation.Component;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import lombok.Data;
+
+/**
+ * {@link SdkTracerProvider} 的采样与属性限制配置参数，未配置时使用 OpenTelemetry 的默认值。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+@AcceptConfigValues("tracer-provider")
+@Data
+public class TracerProviderConfig {
+    /**
+     * 根操作单元的采样比例，取值范围为 {@code [0, 1]}，子操作单元跟随父操作单元的采样结果。
+     */
+    private Double samplingRatio;
+
+    /**
+     * 单个操作单元的最大属性数量。
+     */
+    private Integer maxNumberOfAttributes;
+
+    /**
+     * 单个属性值的最大长度，超出部分会被截断。
+     */
+    private Integer maxAttributeValueLength;
+}
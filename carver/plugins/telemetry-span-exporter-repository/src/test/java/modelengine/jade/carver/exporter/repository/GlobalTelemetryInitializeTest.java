@@ -34,7 +34,7 @@ import java.util.Collections;
  * @since 2024-10-28
  */
 @FitTestWithJunit(includeClasses = {GlobalTelemetryInitialize.class, DefaultSpanExporterRepository.class,
-        SpanProcessorConfig.class})
+        SpanProcessorConfig.class, TracerProviderConfig.class})
 public class GlobalTelemetryInitializeTest {
     @Fit
     private SpanExporterRepository repository;
@@ -77,6 +77,14 @@ public interface ToolMapper {
      */
     ToolDo getToolByUniqueName(String uniqueName);
 
+    /**
+     * 基于工具的唯一标识列表批量查询最新版本的工具。
+     *
+     * @param uniqueNames 表示工具唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示工具信息列表的 {@link List}{@code <}{@link ToolDo}{@code >}。
+     */
+    List<ToolDo> getToolsByUniqueNames(List<String> uniqueNames);
+
     /**
      * 查询定义组下所有的工具。
      *
@@ -9,6 +9,7 @@ package modelengine.jade.carver.tool.repository.pgsql.repository;
 import modelengine.fel.tool.Tool;
 import modelengine.fel.tool.model.entity.ToolIdentifier;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -96,6 +97,14 @@ public interface ToolRepositoryInner {
      */
     Optional<Tool.Info> getTool(String uniqueName);
 
+    /**
+     * 基于工具的唯一标识列表批量查询最新版本的工具。
+     *
+     * @param uniqueNames 表示工具唯一标识列表的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示按照唯一标识的顺序排列的工具详细信息的 {@link List}{@code <}{@link Tool.Info}{@code >}，不存在的工具会被忽略。
+     */
+    List<Tool.Info> getTools(Collection<String> uniqueNames);
+
     /**
      * 查询定义组下所有的工具。
      *
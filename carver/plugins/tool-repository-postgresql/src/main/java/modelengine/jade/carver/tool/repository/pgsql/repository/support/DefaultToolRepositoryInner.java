@@ -20,7 +20,13 @@ import modelengine.jade.carver.tool.repository.pgsql.mapper.ToolMapper;
 import modelengine.jade.carver.tool.repository.pgsql.model.entity.ToolDo;
 import modelengine.jade.carver.tool.repository.pgsql.repository.ToolRepositoryInner;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -36,16 +42,20 @@ public class DefaultToolRepositoryInner implements ToolRepositoryInner {
 
     private final ObjectSerializer serializer;
     private final ToolMapper toolMapper;
+    private final ToolInfoCache toolInfoCache;
 
     /**
      * 通过 mapper 接口来初始化 {@link DefaultToolRepositoryInner} 的实例。
      *
      * @param serializer 表示序列化对象的 {@link ObjectSerializer}。
      * @param toolMapper 标识操作工具的 mapper 接口的 {@link ToolMapper}。
+     * @param toolInfoCache 表示最新版本工具信息缓存的 {@link ToolInfoCache}。
      */
-    public DefaultToolRepositoryInner(@Fit(alias = "json") ObjectSerializer serializer, ToolMapper toolMapper) {
+    public DefaultToolRepositoryInner(@Fit(alias = "json") ObjectSerializer serializer, ToolMapper toolMapper,
+            ToolInfoCache toolInfoCache) {
         this.serializer = notNull(serializer, "The serializer cannot be null.");
         this.toolMapper = notNull(toolMapper, "The tool mapper cannot be null.");
+        this.toolInfoCache = notNull(toolInfoCache, "The tool info cache cannot be null.");
     }
 
     @Override
@@ -53,6 +63,7 @@ public class DefaultToolRepositoryInner implements ToolRepositoryInner {
     public void addTool(Tool.Info info) {
         ToolDo toolDo = ToolDo.info2Do(info.definitionGroupName(), info.groupName(), info, this.serializer);
         this.toolMapper.addTool(toolDo);
+        this.toolInfoCache.invalidate(info.uniqueName());
     }
 
     @Override
@@ -62,6 +73,7 @@ public class DefaultToolRepositoryInner implements ToolRepositoryInner {
                 .map(info -> ToolDo.info2Do(info.definitionGroupName(), info.groupName(), info, this.serializer))
                 .collect(Collectors.toList());
         this.toolMapper.addTools(toolDoList);
+        this.invalidate(infos);
     }
 
     @Override
@@ -71,12 +83,14 @@ public class DefaultToolRepositoryInner implements ToolRepositoryInner {
                 .map(info -> ToolDo.info2Do(definitionGroupName, groupName, info, this.serializer))
                 .collect(Collectors.toList());
         this.toolMapper.addTools(toolDoList);
+        this.invalidate(infos);
     }
 
     @Override
     @Transactional
     public void deleteTool(String uniqueName) {
         this.toolMapper.deleteTool(uniqueName);
+        this.toolInfoCache.invalidate(uniqueName);
     }
 
     @Override
@@ -86,24 +100,29 @@ public class DefaultToolRepositoryInner implements ToolRepositoryInner {
             return;
         }
         this.toolMapper.deleteTools(uniqueNames);
+        this.toolInfoCache.invalidate(uniqueNames);
     }
 
     @Override
     @Transactional
     public void deleteTools(String definitionGroupName) {
         this.toolMapper.deleteToolsByDefinitionGroupName(definitionGroupName);
+        this.toolInfoCache.invalidateIf(info -> Objects.equals(info.definitionGroupName(), definitionGroupName));
     }
 
     @Override
     @Transactional
     public void deleteTools(String definitionGroupName, String groupName) {
         this.toolMapper.deleteToolsByGroupName(definitionGroupName, groupName);
+        this.toolInfoCache.invalidateIf(info -> Objects.equals(info.definitionGroupName(), definitionGroupName)
+                && Objects.equals(info.groupName(), groupName));
     }
 
     @Override
     @Transactional
     public String deleteToolByVersion(String uniqueName, String version) {
         this.toolMapper.deleteToolByVersion(uniqueName, version);
+        this.toolInfoCache.invalidate(uniqueName);
         return uniqueName;
     }
 
@@ -111,23 +130,73 @@ public class DefaultToolRepositoryInner implements ToolRepositoryInner {
     @Transactional
     public void setLatest(String uniqueName, String version) {
         this.toolMapper.setLatest(uniqueName, version);
+        this.toolInfoCache.invalidate(uniqueName);
     }
 
     @Override
     @Transactional
     public void setNotLatest(String toolUniqueName) {
         this.toolMapper.setNotLatest(toolUniqueName);
+        this.toolInfoCache.invalidate(toolUniqueName);
     }
 
     @Override
     public Optional<Tool.Info> getTool(String uniqueName) {
+        Optional<Tool.Info> cached = this.toolInfoCache.get(uniqueName);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long version = this.toolInfoCache.version();
         ToolDo toolDo = this.toolMapper.getToolByUniqueName(uniqueName);
         if (toolDo != null) {
-            return Optional.of(ToolDo.do2Info(toolDo, this.serializer));
+            Tool.Info info = ToolDo.do2Info(toolDo, this.serializer);
+            this.toolInfoCache.put(info, version);
+            return Optional.of(info);
         }
         return Optional.empty();
     }
 
+    @Override
+    public List<Tool.Info> getTools(Collection<String> uniqueNames) {
+        if (CollectionUtils.isEmpty(uniqueNames)) {
+            return Collections.emptyList();
+        }
+        Map<String, Tool.Info> infos = new LinkedHashMap<>();
+        List<String> missed = new ArrayList<>();
+        for (String uniqueName : uniqueNames) {
+            if (uniqueName == null || infos.containsKey(uniqueName)) {
+                continue;
+            }
+            Optional<Tool.Info> cached = this.toolInfoCache.get(uniqueName);
+            infos.put(uniqueName, cached.orElse(null));
+            if (cached.isEmpty()) {
+                missed.add(uniqueName);
+            }
+        }
+        if (!missed.isEmpty()) {
+            long version = this.toolInfoCache.version();
+            for (ToolDo toolDo : this.toolMapper.getToolsByUniqueNames(missed)) {
+                Tool.Info info = ToolDo.do2Info(toolDo, this.serializer);
+                this.toolInfoCache.put(info, version);
+                infos.put(info.uniqueName(), info);
+            }
+        }
+        return infos.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * 获取最新版本工具信息缓存的统计信息。
+     *
+     * @return 表示缓存统计信息的 {@link ToolInfoCache.Stats}。
+     */
+    public ToolInfoCache.Stats getCacheStats() {
+        return this.toolInfoCache.stats();
+    }
+
+    private void invalidate(List<Tool.Info> infos) {
+        this.toolInfoCache.invalidate(infos.stream().map(Tool.Info::uniqueName).collect(Collectors.toList()));
+    }
+
     @Override
     public List<Tool.Info> getTools(String definitionGroupName) {
         return this.getToolInfos(this.toolMapper.getToolsByDefinitionGroupName(definitionGroupName));
@@ -0,0 +1,320 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.tool.repository.pgsql.repository.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+
+import modelengine.fel.tool.Tool;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 最新版本工具信息的进程内缓存。
+ * <p>缓存以工具唯一标识为键，保存解析后的 {@link Tool.Info}，按最近最少使用淘汰。不存在的工具不会被缓存。</p>
+ * <p>每次失效都会推进缓存的版本号，读取方在查询数据库前记录版本号，写回时版本号已变化则放弃写回，避免并发的变更被旧数据覆盖。
+ * 写操作在事务中执行时（由 {@link ToolInfoCacheAspect} 调用 {@link #enterTransaction()} 和 {@link #exitTransaction()}），
+ * 失效的工具在事务结束前一直处于待提交状态，不会写回，事务结束后再失效一次，避免在事务提交前读到的旧数据被写回。</p>
+ * <p>缓存只在本节点内失效，不会通知其他节点，其他节点的变更最多在过期时间后可见。</p>
+ * <p>缓存的 {@link Tool.Info} 在调用方之间共享，调用方不能修改其中的内容。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Component
+public class ToolInfoCache {
+    private static final Logger log = Logger.get(ToolInfoCache.class);
+    private static final long STATS_LOG_INTERVAL = 10000L;
+
+    private final int capacity;
+    private final long expireMillis;
+    private final Map<String, Entry> entries;
+    private final Map<String, Integer> pendingNames = new HashMap<>();
+    private final List<Predicate<Tool.Info>> pendingConditions = new ArrayList<>();
+    private final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 通过缓存容量和过期时间来初始化 {@link ToolInfoCache} 的实例。
+     *
+     * @param capacity 表示缓存容量的 {@code int}，为 {@code 0} 时不缓存。
+     * @param expireSeconds 表示缓存过期秒数的 {@code int}。
+     */
+    public ToolInfoCache(@Value("${tool.cache.capacity:1024}") int capacity,
+            @Value("${tool.cache.expire-seconds:300}") int expireSeconds) {
+        this.capacity = greaterThanOrEquals(capacity, 0, "The tool cache capacity cannot be negative.");
+        this.expireMillis =
+                greaterThanOrEquals(expireSeconds, 0, "The tool cache expire seconds cannot be negative.") * 1000L;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return this.size() > ToolInfoCache.this.capacity;
+            }
+        });
+    }
+
+    /**
+     * 获取缓存的当前版本号，需要在查询数据库之前获取，并在写回时传入 {@link #put(Tool.Info, long)}。
+     *
+     * @return 表示缓存当前版本号的 {@code long}。
+     */
+    public long version() {
+        return this.version.get();
+    }
+
+    /**
+     * 查询缓存的工具信息，并统计命中情况。
+     *
+     * @param uniqueName 表示工具唯一标识的 {@link String}。
+     * @return 表示缓存的工具信息的 {@link Optional}{@code <}{@link Tool.Info}{@code >}，未命中时为空。
+     */
+    public Optional<Tool.Info> get(String uniqueName) {
+        this.logStats();
+        Entry entry = uniqueName == null ? null : this.entries.get(uniqueName);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            this.misses.increment();
+            return Optional.empty();
+        }
+        this.hits.increment();
+        return Optional.of(entry.info());
+    }
+
+    /**
+     * 写回从数据库查询到的工具信息，若查询期间缓存发生过失效，或者工具的变更尚未提交，则放弃写回。
+     *
+     * @param info 表示工具信息的 {@link Tool.Info}。
+     * @param version 表示查询数据库之前获取的缓存版本号的 {@code long}。
+     */
+    public void put(Tool.Info info, long version) {
+        if (this.capacity == 0 || info == null || info.uniqueName() == null) {
+            return;
+        }
+        synchronized (this.entries) {
+            long now = System.currentTimeMillis();
+            if (this.version.get() != version || this.isPending(info)) {
+                return;
+            }
+            this.entries.put(info.uniqueName(), new Entry(info, now + this.expireMillis));
+        }
+    }
+
+    /**
+     * 使指定工具的缓存失效。
+     *
+     * @param uniqueName 表示工具唯一标识的 {@link String}。
+     */
+    public void invalidate(String uniqueName) {
+        this.invalidate(Collections.singletonList(uniqueName));
+    }
+
+    /**
+     * 使指定工具列表的缓存失效。
+     *
+     * @param uniqueNames 表示工具唯一标识列表的 {@link Collection}{@code <}{@link String}{@code >}。
+     */
+    public void invalidate(Collection<String> uniqueNames) {
+        Transaction current = this.transaction.get();
+        synchronized (this.entries) {
+            this.version.incrementAndGet();
+            uniqueNames.stream().filter(Objects::nonNull).forEach(uniqueName -> {
+                this.entries.remove(uniqueName);
+                if (current != null && current.names.add(uniqueName)) {
+                    this.pendingNames.merge(uniqueName, 1, Integer::sum);
+                }
+            });
+        }
+    }
+
+    /**
+     * 使满足条件的工具的缓存失效。
+     *
+     * @param predicate 表示失效条件的 {@link Predicate}{@code <}{@link Tool.Info}{@code >}。
+     */
+    public void invalidateIf(Predicate<Tool.Info> predicate) {
+        Transaction current = this.transaction.get();
+        synchronized (this.entries) {
+            this.version.incrementAndGet();
+            this.entries.values().removeIf(entry -> predicate.test(entry.info()));
+            if (current != null) {
+                current.conditions.add(predicate);
+                this.pendingConditions.add(predicate);
+            }
+        }
+    }
+
+    /**
+     * 进入当前线程的写事务，事务可以嵌套。事务结束前失效的工具处于待提交状态，不会被写回。
+     */
+    public void enterTransaction() {
+        Transaction current = this.transaction.get();
+        if (current == null) {
+            current = new Transaction();
+            this.transaction.set(current);
+        }
+        current.depth++;
+    }
+
+    /**
+     * 退出当前线程的写事务，最外层事务结束后再次失效事务中失效过的工具，并解除它们的待提交状态。
+     */
+    public void exitTransaction() {
+        Transaction current = this.transaction.get();
+        if (current == null || --current.depth > 0) {
+            return;
+        }
+        this.transaction.remove();
+        synchronized (this.entries) {
+            this.version.incrementAndGet();
+            current.names.forEach(uniqueName -> {
+                this.entries.remove(uniqueName);
+                this.pendingNames.computeIfPresent(uniqueName, (key, count) -> count > 1 ? count - 1 : null);
+            });
+            current.conditions.forEach(predicate -> {
+                this.entries.values().removeIf(entry -> predicate.test(entry.info()));
+                this.pendingConditions.remove(predicate);
+            });
+        }
+    }
+
+    /**
+     * 清空缓存，不影响尚未结束的事务。
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.version.incrementAndGet();
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * 获取缓存的统计信息。
+     *
+     * @return 表示缓存统计信息的 {@link Stats}。
+     */
+    public Stats stats() {
+        return new Stats(this.hits.sum(), this.misses.sum(), this.entries.size());
+    }
+
+    private boolean isPending(Tool.Info info) {
+        return this.pendingNames.containsKey(info.uniqueName())
+                || this.pendingConditions.stream().anyMatch(predicate -> predicate.test(info));
+    }
+
+    private void logStats() {
+        if (this.lookups.incrementAndGet() % STATS_LOG_INTERVAL == 0) {
+            log.info("Tool info cache stats. [stats={}]", this.stats());
+        }
+    }
+
+    private static class Transaction {
+        private final Set<String> names = new HashSet<>();
+        private final List<Predicate<Tool.Info>> conditions = new ArrayList<>();
+        private int depth;
+    }
+
+    private static class Entry {
+        private final Tool.Info info;
+        private final long expireAt;
+
+        Entry(Tool.Info info, long expireAt) {
+            this.info = info;
+            this.expireAt = expireAt;
+        }
+
+        Tool.Info info() {
+            return this.info;
+        }
+
+        boolean isExpired(long now) {
+            return now >= this.expireAt;
+        }
+    }
+
+    /**
+     * 表示缓存的统计信息。
+     */
+    public static class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final int size;
+
+        /**
+         * 通过命中次数、未命中次数和条目数来初始化 {@link Stats} 的实例。
+         *
+         * @param hitCount 表示命中次数的 {@code long}。
+         * @param missCount 表示未命中次数的 {@code long}。
+         * @param size 表示当前缓存条目数的 {@code int}。
+         */
+        public Stats(long hitCount, long missCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.size = size;
+        }
+
+        /**
+         * 获取命中次数。
+         *
+         * @return 表示命中次数的 {@code long}。
+         */
+        public long getHitCount() {
+            return this.hitCount;
+        }
+
+        /**
+         * 获取未命中次数。
+         *
+         * @return 表示未命中次数的 {@code long}。
+         */
+        public long getMissCount() {
+            return this.missCount;
+        }
+
+        /**
+         * 获取当前缓存条目数。
+         *
+         * @return 表示当前缓存条目数的 {@code int}。
+         */
+        public int getSize() {
+            return this.size;
+        }
+
+        /**
+         * 获取缓存命中率。
+         *
+         * @return 表示缓存命中率的 {@code double}，没有请求时为 {@code 0}。
+         */
+        public double getHitRate() {
+            long total = this.hitCount + this.missCount;
+            return total == 0 ? 0D : (double) this.hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "[hitCount=%d, missCount=%d, hitRate=%.4f, size=%d]", this.hitCount,
+                    this.missCount, this.getHitRate(), this.size);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.tool.repository.pgsql.repository.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Order;
+import modelengine.fitframework.aop.ProceedingJoinPoint;
+import modelengine.fitframework.aop.annotation.Around;
+import modelengine.fitframework.aop.annotation.Aspect;
+
+/**
+ * 在事务提交后使工具信息缓存失效的切面。
+ * <p>切面的优先级最高，包在事务处理之外：事务方法返回时事务已经提交或回滚，此时再失效事务中变更过的工具。
+ * 事务由本插件之外的调用方开启时，失效发生在本插件最外层事务方法返回时。</p>
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@Aspect
+@Component
+@Order(Order.HIGHEST)
+public class ToolInfoCacheAspect {
+    private final ToolInfoCache toolInfoCache;
+
+    /**
+     * 通过工具信息缓存来初始化 {@link ToolInfoCacheAspect} 的实例。
+     *
+     * @param toolInfoCache 表示最新版本工具信息缓存的 {@link ToolInfoCache}。
+     */
+    public ToolInfoCacheAspect(ToolInfoCache toolInfoCache) {
+        this.toolInfoCache = notNull(toolInfoCache, "The tool info cache cannot be null.");
+    }
+
+    /**
+     * 在事务方法执行期间推迟工具信息缓存的失效，方法返回后再次失效。
+     *
+     * @param pjp 表示事务方法连接点的 {@link ProceedingJoinPoint}。
+     * @return 表示事务方法返回值的 {@link Object}。
+     * @throws Throwable 当事务方法抛出异常时。
+     */
+    @Around("@annotation(modelengine.fitframework.transaction.Transactional)")
+    public Object invalidateAfterCommit(ProceedingJoinPoint pjp) throws Throwable {
+        this.toolInfoCache.enterTransaction();
+        try {
+            return pjp.proceed();
+        } finally {
+            this.toolInfoCache.exitTransaction();
+        }
+    }
+}
@@ -159,6 +159,12 @@ public class DefaultToolService implements ToolService {
         return toolData;
     }
 
+    @Override
+    @Fitable(id = FITABLE_ID)
+    public List<ToolData> getToolsByUniqueNames(List<String> toolUniqueNames) {
+        return this.getToolDataList(this.toolRepo.getTools(toolUniqueNames));
+    }
+
     @Override
     @Fitable(id = FITABLE_ID)
     public List<ToolData> getTools(String definitionGroupName, String groupName) {
@@ -27,9 +27,11 @@ import modelengine.jade.carver.tool.repository.pgsql.mapper.DefinitionMapper;
 import modelengine.jade.carver.tool.repository.pgsql.mapper.ToolMapper;
 import modelengine.jade.carver.tool.repository.pgsql.model.entity.DefinitionDo;
 import modelengine.jade.carver.tool.repository.pgsql.model.entity.ToolDo;
+import modelengine.jade.carver.tool.repository.pgsql.repository.support.ToolInfoCache;
 import modelengine.jade.store.service.DefinitionService;
 import modelengine.jade.store.service.ToolService;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -69,6 +71,15 @@ public class ToolIntegrationTest {
     @Mock
     private ToolChangedObserver toolChangedObserver;
 
+    @Fit
+    private ToolInfoCache toolInfoCache;
+
+    @AfterEach
+    void tearDown() {
+        // 每个用例都会重建数据表，清空缓存避免用例之间互相影响。
+        this.toolInfoCache.clear();
+    }
+
     private void mockDefinitionInfo() {
         DefinitionData definitionData = ToolDataBuilder.mockDefinitionData();
         this.definitionService.delete(definitionData.getGroupName(), definitionData.getName());
@@ -234,4 +245,32 @@ public class ToolIntegrationTest {
         assertThat(toolDataList.size()).isEqualTo(2);
         assertThat(toolDataListAfterDelete).isNullOrEmpty();
     }
+
+    @Test
+    @Sql(before = {"sql/create/tool.sql", "sql/create/definition.sql", "sql/insert/tool.sql"})
+    @DisplayName("测试批量查询工具通过唯一标识，按照传入的顺序返回最新版本")
+    void shouldReturnLatestInOrderWhenGetToolsByUniqueNames() {
+        this.toolService.getTool(UNIQUE_NAME_2);
+        List<ToolData> toolDataList =
+                this.toolService.getToolsByUniqueNames(Arrays.asList(UNIQUE_NAME_2, "notExist", UNIQUE_NAME_1));
+
+        assertThat(toolDataList).extracting(ToolData::getUniqueName).containsExactly(UNIQUE_NAME_2, UNIQUE_NAME_1);
+        assertThat(toolDataList.get(1).getVersion()).isEqualTo("2.0.0");
+        assertThat(this.toolInfoCache.stats().getHitCount()).isPositive();
+    }
+
+    @Test
+    @Sql(before = {"sql/create/tool.sql", "sql/create/definition.sql", "sql/insert/tool.sql"})
+    @DisplayName("测试切换工具的最新版本后，缓存失效并返回新的最新版本")
+    void shouldReturnNewLatestWhenUpgradeToolToExistingVersion() {
+        assertThat(this.toolService.getTool(UNIQUE_NAME_1).getVersion()).isEqualTo("2.0.0");
+        ToolData toolData = new ToolData();
+        toolData.setUniqueName(UNIQUE_NAME_1);
+        toolData.setVersion("1.0.0");
+        this.toolService.upgradeTool(toolData);
+
+        assertThat(this.toolService.getTool(UNIQUE_NAME_1).getVersion()).isEqualTo("1.0.0");
+        assertThat(this.toolService.getToolsByUniqueNames(Arrays.asList(UNIQUE_NAME_1))).extracting(
+                ToolData::getVersion).containsExactly("1.0.0");
+    }
 }
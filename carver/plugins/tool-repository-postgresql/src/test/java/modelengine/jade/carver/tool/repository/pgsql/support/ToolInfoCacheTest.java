@@ -0,0 +1,138 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.carver.tool.repository.pgsql.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.tool.Tool;
+import modelengine.jade.carver.tool.repository.pgsql.repository.support.ToolInfoCache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * 表示 {@link ToolInfoCache} 的单元测试。
+ *
+ * @author 高诗意
+ * @since 2026/10/18
+ */
+@DisplayName("测试 ToolInfoCache")
+public class ToolInfoCacheTest {
+    private static Tool.Info info(String uniqueName, String groupName) {
+        return Tool.Info.custom()
+                .namespace("")
+                .name(uniqueName)
+                .description("description")
+                .parameters(new HashMap<>())
+                .uniqueName(uniqueName)
+                .groupName(groupName)
+                .definitionGroupName("defGroup")
+                .extensions(new HashMap<>())
+                .build();
+    }
+
+    @Test
+    @DisplayName("写回后命中缓存，并统计命中率")
+    void shouldHitAfterPut() {
+        ToolInfoCache cache = new ToolInfoCache(16, 60);
+        assertThat(cache.get("a")).isEmpty();
+        cache.put(info("a", "group"), cache.version());
+        assertThat(cache.get("a")).get().extracting(Tool.Info::uniqueName).isEqualTo("a");
+
+        ToolInfoCache.Stats stats = cache.stats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5D);
+    }
+
+    @Test
+    @DisplayName("查询期间发生失效时，放弃写回旧数据")
+    void shouldSkipStalePutWhenInvalidatedDuringLoad() {
+        ToolInfoCache cache = new ToolInfoCache(16, 60);
+        long version = cache.version();
+        cache.invalidate("a");
+        cache.put(info("a", "group"), version);
+        assertThat(cache.get("a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("按唯一标识和按组失效")
+    void shouldInvalidateByNameAndGroup() {
+        ToolInfoCache cache = new ToolInfoCache(16, 60);
+        long version = cache.version();
+        cache.put(info("a", "group1"), version);
+        cache.put(info("b", "group1"), version);
+        cache.put(info("c", "group2"), version);
+
+        cache.invalidate(Arrays.asList("a", null));
+        assertThat(cache.get("a")).isEmpty();
+        cache.invalidateIf(info -> "group1".equals(info.groupName()));
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).isPresent();
+    }
+
+    @Test
+    @DisplayName("超过容量时淘汰最近最少使用的工具，过期的工具不再命中")
+    void shouldEvictEldestAndExpired() {
+        ToolInfoCache cache = new ToolInfoCache(2, 60);
+        cache.put(info("a", "group"), cache.version());
+        cache.put(info("b", "group"), cache.version());
+        cache.get("a");
+        cache.put(info("c", "group"), cache.version());
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("a")).isPresent();
+        assertThat(cache.stats().getSize()).isEqualTo(2);
+
+        ToolInfoCache expired = new ToolInfoCache(2, 0);
+        expired.put(info("a", "group"), expired.version());
+        assertThat(expired.get("a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("事务结束前不写回事务中失效的工具，事务结束后恢复写回")
+    void shouldSkipPutUntilTransactionExit() {
+        ToolInfoCache cache = new ToolInfoCache(16, 60);
+        cache.enterTransaction();
+        cache.enterTransaction();
+        cache.invalidate("a");
+        cache.put(info("a", "group"), cache.version());
+        cache.put(info("b", "group"), cache.version());
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("b")).isPresent();
+
+        cache.exitTransaction();
+        cache.put(info("a", "group"), cache.version());
+        assertThat(cache.get("a")).isEmpty();
+
+        cache.exitTransaction();
+        assertThat(cache.get("b")).isPresent();
+        cache.put(info("a", "group"), cache.version());
+        assertThat(cache.get("a")).isPresent();
+    }
+
+    @Test
+    @DisplayName("事务中按组失效时，事务结束前不写回该组的工具，事务结束后再次失效")
+    void shouldSkipGroupPutUntilTransactionExit() {
+        ToolInfoCache cache = new ToolInfoCache(16, 60);
+        cache.enterTransaction();
+        cache.invalidateIf(info -> "group1".equals(info.groupName()));
+        long version = cache.version();
+        cache.put(info("a", "group1"), version);
+        cache.put(info("b", "group2"), version);
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("b")).isPresent();
+
+        cache.exitTransaction();
+        cache.put(info("a", "group1"), version);
+        assertThat(cache.get("a")).isEmpty();
+        cache.put(info("a", "group1"), cache.version());
+        assertThat(cache.get("a")).isPresent();
+    }
+}
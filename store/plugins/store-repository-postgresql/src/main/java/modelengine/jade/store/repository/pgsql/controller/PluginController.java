@@ -95,6 +95,7 @@ public class PluginController {
      * @param creator 表示插件工具的创建者的 {@link String}。
      * @param isBuiltin 表示插件是否内置的 {@link Boolean}。
      * @param isDeployed 表示插件是否已部署的 {@link Boolean}。
+     * @param afterUniqueName 表示上一页最后一个插件工具唯一标识的 {@link String}，传入时按游标分页。
      * @return 表示格式化的返回消息的 {@link Result}{@code <}{@link List}{@code <}{@link PluginToolData}{@code >}{@code >}。
      */
     @GetMapping("/tools/search")
@@ -107,7 +108,8 @@ public class PluginController {
             @RequestQuery(value = "version", required = false) String version,
             @RequestQuery(value = "creator", required = false) String creator,
             @RequestQuery(value = "isBuiltin", required = false) Boolean isBuiltin,
-            @RequestQuery(value = "isDeployed", defaultValue = "true") Boolean isDeployed) {
+            @RequestQuery(value = "isDeployed", defaultValue = "true") Boolean isDeployed,
+            @RequestQuery(value = "afterUniqueName", required = false) String afterUniqueName) {
         notNegative(pageNum, "The page number cannot be negative.");
         notNegative(pageSize, "The page size cannot be negative.");
         PluginToolQuery pluginToolQuery = new PluginToolQuery.Builder().toolName(name)
@@ -120,6 +122,7 @@ public class PluginController {
                 .creator(creator)
                 .isBuiltin(isBuiltin)
                 .isDeployed(isDeployed)
+                .afterUniqueName(afterUniqueName)
                 .build();
         ListResult<PluginToolData> res = this.pluginToolService.getPluginTools(pluginToolQuery);
         return Result.ok(res.getData(), res.getCount());
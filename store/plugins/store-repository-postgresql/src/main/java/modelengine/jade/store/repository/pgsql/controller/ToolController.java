@@ -70,6 +70,7 @@ public class ToolController {
      * @param pageNum 表示页码的 {@code int}。
      * @param pageSize 表示限制的 {@code int}。
      * @param version 表示工具版本的 {@link String}。
+     * @param afterUniqueName 表示上一页最后一个工具唯一标识的 {@link String}，传入时按游标分页。
      * @return 表示格式化之后的返回消息的 {@link Result}{@code <}{@link List}{@code <}{@link StoreToolData}{@code >}{@code >}。
      */
     @GetMapping
@@ -79,7 +80,8 @@ public class ToolController {
             @RequestQuery(value = "mode", defaultValue = "AND", required = false) String mode,
             @RequestQuery(value = "pageNum", defaultValue = "1") int pageNum,
             @RequestQuery(value = "pageSize", defaultValue = "10") int pageSize,
-            @RequestQuery(value = "version", required = false) String version) {
+            @RequestQuery(value = "version", required = false) String version,
+            @RequestQuery(value = "afterUniqueName", required = false) String afterUniqueName) {
         notNegative(pageNum, "The page number cannot be negative.");
         notNegative(pageSize, "The page size cannot be negative.");
         ToolQuery toolQuery = new ToolQuery.Builder().toolName(name)
@@ -89,6 +91,7 @@ public class ToolController {
                 .offset(calculateOffset(pageNum, pageSize))
                 .limit(pageSize)
                 .version(version)
+                .afterUniqueName(afterUniqueName)
                 .build();
         ListResult<StoreToolData> res = this.storeToolService.getTools(toolQuery);
         return Result.ok(res.getData(), res.getCount());
@@ -147,6 +150,7 @@ public class ToolController {
      * @param pageNum 表示页码的 {@code int}。
      * @param pageSize 表示限制的 {@code int}。
      * @param version 表示工具版本的 {@link String}。
+     * @param afterUniqueName 表示上一页最后一个工具唯一标识的 {@link String}，传入时按游标分页。
      * @return 表示格式化之后的返回消息的 {@link Result}{@code <}{@link List}{@code <}{@link StoreToolData}{@code >}{@code >}。
      */
     @GetMapping("/search")
@@ -156,7 +160,8 @@ public class ToolController {
             @RequestQuery(value = "mode", defaultValue = "AND", required = false) String mode,
             @RequestQuery(value = "pageNum", defaultValue = "1") int pageNum,
             @RequestQuery(value = "pageSize", defaultValue = "10") int pageSize,
-            @RequestQuery(value = "version", required = false) String version) {
+            @RequestQuery(value = "version", required = false) String version,
+            @RequestQuery(value = "afterUniqueName", required = false) String afterUniqueName) {
         notNegative(pageNum, "The page number cannot be negative.");
         notNegative(pageSize, "The page size cannot be negative.");
         ToolQuery toolQuery = new ToolQuery.Builder().toolName(name)
@@ -166,6 +171,7 @@ public class ToolController {
                 .offset(calculateOffset(pageNum, pageSize))
                 .limit(pageSize)
                 .version(version)
+                .afterUniqueName(afterUniqueName)
                 .build();
         ListResult<StoreToolData> res = this.storeToolService.searchTools(toolQuery);
         return Result.ok(res.getData(), res.getCount());
@@ -49,4 +49,12 @@ public interface StoreToolMapper {
      * @return 表示工具总数的 {@code int}。
      */
     int searchToolsCount(ToolQuery toolQuery);
+
+    /**
+     * 获取指定唯一标识的最新版本工具的数量。
+     *
+     * @param uniqueName 表示工具唯一标识的 {@link String}。
+     * @return 表示最新版本工具数量的 {@code int}。
+     */
+    int getLatestToolCount(String uniqueName);
 }
@@ -50,4 +50,12 @@ public interface StoreToolRepository {
      * @return 表示所有工具详细信息的列表的 {@link List}{@code <}{@link ToolData>}{@code >}。
      */
     int searchToolsCount(ToolQuery toolQuery);
+
+    /**
+     * 判断指定唯一标识的最新版本工具是否存在。
+     *
+     * @param uniqueName 表示工具唯一标识的 {@link String}。
+     * @return 表示最新版本工具是否存在的 {@code boolean}。
+     */
+    boolean hasLatestTool(String uniqueName);
 }
@@ -63,4 +63,9 @@ public class DefaultStoreToolRepository implements StoreToolRepository {
     public int searchToolsCount(ToolQuery toolQuery) {
         return storeToolMapper.searchToolsCount(toolQuery);
     }
+
+    @Override
+    public boolean hasLatestTool(String uniqueName) {
+        return this.storeToolMapper.getLatestToolCount(uniqueName) > 0;
+    }
 }
@@ -15,7 +15,10 @@ import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.transaction.Transactional;
 import modelengine.fitframework.util.CollectionUtils;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.carver.ListResult;
+import modelengine.jade.store.code.PluginRetCode;
 import modelengine.jade.store.entity.query.PluginToolQuery;
 import modelengine.jade.store.entity.query.QueryUtils;
 import modelengine.jade.store.entity.transfer.PluginToolData;
@@ -127,6 +130,10 @@ public class DefaultPluginToolService implements PluginToolService {
             return ListResult.empty();
         }
         PluginToolQuery.toUpperCase(pluginToolQuery);
+        if (StringUtils.isNotBlank(pluginToolQuery.getAfterUniqueName())
+                && this.pluginToolRepository.getPluginToolByUniqueName(pluginToolQuery.getAfterUniqueName()) == null) {
+            throw new ModelEngineException(PluginRetCode.PAGE_CURSOR_NOT_EXISTS, pluginToolQuery.getAfterUniqueName());
+        }
         List<PluginToolData> data =
                 this.getPluginToolDataList(this.pluginToolRepository.getPluginTools(pluginToolQuery));
         pluginToolQuery.setLimit(null);
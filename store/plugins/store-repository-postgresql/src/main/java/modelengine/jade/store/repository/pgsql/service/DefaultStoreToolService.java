@@ -16,6 +16,9 @@ import modelengine.fel.tool.model.transfer.ToolData;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fitable;
 import modelengine.fitframework.util.CollectionUtils;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.jade.common.exception.ModelEngineException;
+import modelengine.jade.store.code.PluginRetCode;
 import modelengine.jade.store.entity.query.QueryUtils;
 import modelengine.jade.store.entity.query.ToolQuery;
 import modelengine.jade.store.entity.transfer.StoreToolData;
@@ -26,8 +29,11 @@ import modelengine.jade.store.service.TagService;
 import modelengine.jade.store.service.ToolService;
 
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -118,12 +124,21 @@ public class DefaultStoreToolService implements StoreToolService {
             return ListResult.empty();
         }
         ToolQuery.toUpperCase(toolQuery);
+        if (StringUtils.isNotBlank(toolQuery.getAfterUniqueName())
+                && !this.storeToolRepo.hasLatestTool(toolQuery.getAfterUniqueName())) {
+            throw new ModelEngineException(PluginRetCode.PAGE_CURSOR_NOT_EXISTS, toolQuery.getAfterUniqueName());
+        }
         List<ToolIdentifier> toolIdentifiers = toolQueryFunc.apply(toolQuery);
         if (CollectionUtils.isEmpty(toolIdentifiers)) {
             return ListResult.create(Collections.emptyList(), 0);
         }
         ListResult<ToolData> toolDataResult = this.toolService.getToolsByIdentifier(toolIdentifiers);
-        List<StoreToolData> storeToolDataList = toolDataResult.getData().stream().map(toolData -> {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < toolIdentifiers.size(); i++) {
+            positions.putIfAbsent(toolIdentifiers.get(i).getUniqueName(), i);
+        }
+        List<StoreToolData> storeToolDataList = toolDataResult.getData().stream().sorted(Comparator.comparingInt(
+                toolData -> positions.getOrDefault(toolData.getUniqueName(), Integer.MAX_VALUE))).map(toolData -> {
             Set<String> tags = this.tagService.getTags(toolData.getUniqueName());
             return from(toolData, tags);
         }).collect(Collectors.toList());
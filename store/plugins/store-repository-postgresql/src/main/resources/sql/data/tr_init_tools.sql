@@ -12,9 +12,9 @@ INSERT INTO "public"."store_plugin" ("plugin_id", "plugin_name", "extension", "d
 INSERT INTO "public"."store_plugin_tool" ("tool_name", "plugin_id", "tool_unique_name") VALUES ('代码', '6789dfcef2355b7b4e76dc53626a98a4b863c3e33c12c43221d03907c025bce0', 'e147f301-957a-4335-a155-1e86d1a45ae5') ON CONFLICT ("plugin_id", "tool_unique_name") DO NOTHING;
 
 INSERT INTO "public"."store_tool" ("name", "schema", "runnables", "unique_name", "group_name", "definition_name", "definition_group_name")
-VALUES ('问题优化', '{"name":"问题优化","description":"用户可使用默认模板进行问题优化，或进行自定义优化","parameters":{"type":"object","properties":{"rewriteParam":{"type":"object","properties":{"strategy":{"type":"string","description":"重写策略，有内置和自定义两种","enum":["builtin","custom"]},"args":{"type":"object","description": "输入参数，必须包含 `query`"},"template":{"type":"string","description": "模板，内置模式代表问题背景、自定义模式代表提示词模板"},"model":{"type":"string","description":"模型名"},"temperature":{"type":"number","description":"温度"}},"required":["strategy","args","template","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required": ["rewriteParam","memoryConfig","histories"]},"order":["rewriteParam","memoryConfig","histories"],"return":{"type":"array","items":{"type":"string","description":"重写后的问题"}}}','{"FIT":{"fitableId":"aipp","genericableId":"modelengine.jober.aipp.rewrite.query"}}','6e5f0019-f8a5-4ca3-a73a-6b8512388587', 'query-optimization-group-name', 'query-optimization-def-name', 'query-optimization-def-group-name') ON CONFLICT ("unique_name", "version") DO NOTHING;
+VALUES ('问题优化', '{"name":"问题优化","description":"用户可使用默认模板进行问题优化，或进行自定义优化","parameters":{"type":"object","properties":{"rewriteParam":{"type":"object","properties":{"strategy":{"type":"string","description":"重写策略，有内置和自定义两种","enum":["builtin","custom"]},"args":{"type":"object","description": "输入参数，必须包含 `query`"},"template":{"type":"string","description": "模板，内置模式代表问题背景、自定义模式代表提示词模板"},"model":{"type":"string","description":"模型名"},"temperature":{"type":"number","description":"温度"}},"required":["strategy","args","template","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window","question_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required": ["rewriteParam","memoryConfig","histories"]},"order":["rewriteParam","memoryConfig","histories"],"return":{"type":"array","items":{"type":"string","description":"重写后的问题"}}}','{"FIT":{"fitableId":"aipp","genericableId":"modelengine.jober.aipp.rewrite.query"}}','6e5f0019-f8a5-4ca3-a73a-6b8512388587', 'query-optimization-group-name', 'query-optimization-def-name', 'query-optimization-def-group-name') ON CONFLICT ("unique_name", "version") DO NOTHING;
 INSERT INTO "public"."store_definition" ( "name", "schema", "definition_group_name" )
-VALUES( 'query-optimization-def-name', '{"name":"问题优化","description":"用户可使用默认模板进行问题优化，或进行自定义优化","parameters":{"type":"object","properties":{"rewriteParam":{"type":"object","properties":{"strategy":{"type":"string","description":"重写策略，有内置和自定义两种","enum":["builtin","custom"]},"args":{"type":"object","description": "输入参数，必须包含 `query`"},"template":{"type":"string","description": "模板，内置模式代表问题背景、自定义模式代表提示词模板"},"model":{"type":"string","description":"模型名"},"temperature":{"type":"number","description":"温度"}},"required":["strategy","args","template","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required": ["rewriteParam","memoryConfig","histories"]},"order":["rewriteParam","memoryConfig","histories"],"return":{"type":"array","items":{"type":"string","description":"重写后的问题"}}}', 'query-optimization-def-group-name') ON CONFLICT ("definition_group_name", "name") DO NOTHING;
+VALUES( 'query-optimization-def-name', '{"name":"问题优化","description":"用户可使用默认模板进行问题优化，或进行自定义优化","parameters":{"type":"object","properties":{"rewriteParam":{"type":"object","properties":{"strategy":{"type":"string","description":"重写策略，有内置和自定义两种","enum":["builtin","custom"]},"args":{"type":"object","description": "输入参数，必须包含 `query`"},"template":{"type":"string","description": "模板，内置模式代表问题背景、自定义模式代表提示词模板"},"model":{"type":"string","description":"模型名"},"temperature":{"type":"number","description":"温度"}},"required":["strategy","args","template","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window","question_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required": ["rewriteParam","memoryConfig","histories"]},"order":["rewriteParam","memoryConfig","histories"],"return":{"type":"array","items":{"type":"string","description":"重写后的问题"}}}', 'query-optimization-def-group-name') ON CONFLICT ("definition_group_name", "name") DO NOTHING;
 INSERT INTO "public"."store_tag" ("tool_unique_name", "name")
 VALUES ('6e5f0019-f8a5-4ca3-a73a-6b8512388587', 'FIT') ON CONFLICT ("tool_unique_name", "name") DO NOTHING;
 INSERT INTO "public"."store_tag" ("tool_unique_name", "name")
@@ -36,9 +36,9 @@ INSERT INTO "public"."store_plugin" ("plugin_id", "plugin_name", "extension", "d
 INSERT INTO "public"."store_plugin_tool" ("tool_name", "plugin_id", "tool_unique_name") VALUES ('知识检索', 'a125dfcef2355b7b4e76dc53626a98a4b863c3e33c12c43221d03907c025bce0', '25887d76-e358-4121-800c-31eb3390fdbd') ON CONFLICT ("plugin_id", "tool_unique_name") DO NOTHING;
 
 INSERT INTO "public"."store_tool" ("name", "schema", "runnables", "unique_name", "group_name", "definition_name", "definition_group_name")
-VALUES ('问题分类', '{"name":"问题分类","description":"用户可使用默认模板进行问题分类，或进行自定义优化","parameters":{"type":"object","properties":{"classifyQuestionParam":{"type":"object","properties":{"accessInfo":{"type":"object","description":"模型信息","properties":{"serviceName":{"type":"string","description":"模型名称"},"tag":{"type":"string","description":"模型标签"}},"required":["serviceName","tag"]},"temperature":{"type":"number","description":"温度"},"template":{"type":"string","description":"模板，内置模式代表问题背景、自定义模式代表提示词模板"},"args":{"type":"object","description":"输入参数，必须包含 `query`"},"questionTypeList":{"type":"array","items":{"type":"object","properties":{"id":{"type":"string","description":"问题分类ID"},"questionTypeDesc":{"type":"string","description":"问题分类描述"}},"required":["id","questionTypeDesc"]}}},"required":["accessInfo","temperature","args","questionTypeList"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["classifyQuestionParam","memoryConfig","histories"]},"order":["classifyQuestionParam","memoryConfig","histories"],"return":{"type":"string","description":"分类后返回的类型ID"}}','{"FIT":{"fitableId":"aipp","genericableId":"modelengine.jober.aipp.classify.question"}}','70d1adbd-3421-4cb0-9231-fa357688b706', 'application-question-classification-group-name', 'application-question-classification-def-name', 'application-question-classification-def-group-name') ON CONFLICT ("unique_name", "version") DO NOTHING;
+VALUES ('问题分类', '{"name":"问题分类","description":"用户可使用默认模板进行问题分类，或进行自定义优化","parameters":{"type":"object","properties":{"classifyQuestionParam":{"type":"object","properties":{"accessInfo":{"type":"object","description":"模型信息","properties":{"serviceName":{"type":"string","description":"模型名称"},"tag":{"type":"string","description":"模型标签"}},"required":["serviceName","tag"]},"temperature":{"type":"number","description":"温度"},"template":{"type":"string","description":"模板，内置模式代表问题背景、自定义模式代表提示词模板"},"args":{"type":"object","description":"输入参数，必须包含 `query`"},"questionTypeList":{"type":"array","items":{"type":"object","properties":{"id":{"type":"string","description":"问题分类ID"},"questionTypeDesc":{"type":"string","description":"问题分类描述"}},"required":["id","questionTypeDesc"]}}},"required":["accessInfo","temperature","args","questionTypeList"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window","question_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["classifyQuestionParam","memoryConfig","histories"]},"order":["classifyQuestionParam","memoryConfig","histories"],"return":{"type":"string","description":"分类后返回的类型ID"}}','{"FIT":{"fitableId":"aipp","genericableId":"modelengine.jober.aipp.classify.question"}}','70d1adbd-3421-4cb0-9231-fa357688b706', 'application-question-classification-group-name', 'application-question-classification-def-name', 'application-question-classification-def-group-name') ON CONFLICT ("unique_name", "version") DO NOTHING;
 INSERT INTO "public"."store_definition" ( "name", "schema", "definition_group_name" )
-VALUES( 'application-question-classification-def-name', '{"name":"问题分类","description":"用户可使用默认模板进行问题分类，或进行自定义优化","parameters":{"type":"object","properties":{"classifyQuestionParam":{"type":"object","properties":{"accessInfo":{"type":"object","description":"模型信息","properties":{"serviceName":{"type":"string","description":"模型名称"},"tag":{"type":"string","description":"模型标签"}},"required":["serviceName","tag"]},"temperature":{"type":"number","description":"温度"},"template":{"type":"string","description":"模板，内置模式代表问题背景、自定义模式代表提示词模板"},"args":{"type":"object","description":"输入参数，必须包含 `query`"},"questionTypeList":{"type":"array","items":{"type":"object","properties":{"id":{"type":"string","description":"问题分类ID"},"questionTypeDesc":{"type":"string","description":"问题分类描述"}},"required":["id","questionTypeDesc"]}}},"required":["accessInfo","temperature","args","questionTypeList"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["classifyQuestionParam","memoryConfig","histories"]},"order":["classifyQuestionParam","memoryConfig","histories"],"return":{"type":"string","description":"分类后返回的类型ID"}}', 'application-question-classification-def-group-name') ON CONFLICT ("definition_group_name", "name") DO NOTHING;
+VALUES( 'application-question-classification-def-name', '{"name":"问题分类","description":"用户可使用默认模板进行问题分类，或进行自定义优化","parameters":{"type":"object","properties":{"classifyQuestionParam":{"type":"object","properties":{"accessInfo":{"type":"object","description":"模型信息","properties":{"serviceName":{"type":"string","description":"模型名称"},"tag":{"type":"string","description":"模型标签"}},"required":["serviceName","tag"]},"temperature":{"type":"number","description":"温度"},"template":{"type":"string","description":"模板，内置模式代表问题背景、自定义模式代表提示词模板"},"args":{"type":"object","description":"输入参数，必须包含 `query`"},"questionTypeList":{"type":"array","items":{"type":"object","properties":{"id":{"type":"string","description":"问题分类ID"},"questionTypeDesc":{"type":"string","description":"问题分类描述"}},"required":["id","questionTypeDesc"]}}},"required":["accessInfo","temperature","args","questionTypeList"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window","question_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","enum":["full","question_only"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","serializeAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["classifyQuestionParam","memoryConfig","histories"]},"order":["classifyQuestionParam","memoryConfig","histories"],"return":{"type":"string","description":"分类后返回的类型ID"}}', 'application-question-classification-def-group-name') ON CONFLICT ("definition_group_name", "name") DO NOTHING;
 INSERT INTO "public"."store_tag" ("tool_unique_name", "name")
 VALUES ('70d1adbd-3421-4cb0-9231-fa357688b706', 'FIT') ON CONFLICT ("tool_unique_name", "name") DO NOTHING;
 INSERT INTO "public"."store_tag" ("tool_unique_name", "name")
@@ -49,9 +49,9 @@ INSERT INTO "public"."store_plugin" ("plugin_id", "plugin_name", "extension",  "
 INSERT INTO "public"."store_plugin_tool" ("tool_name", "plugin_id", "tool_unique_name") VALUES ('问题分类', '08e4eb332c227346b98a37e614577a0b44ff7dbcdc1d79a27b4412def29af226', '70d1adbd-3421-4cb0-9231-fa357688b706') ON CONFLICT ("plugin_id", "tool_unique_name") DO NOTHING;
 
 INSERT INTO "public"."store_tool" ("name", "schema", "runnables", "unique_name", "group_name", "definition_name", "definition_group_name")
-VALUES ('文本提取', '{"name":"文本提取","order": ["extractParam", "memoryConfig", "histories"], "description":"从文本中提取结构化数据。","parameters":{"type":"object","properties":{"extractParam":{"type":"object","properties":{"text":{"type":"string","description":"需要提取的文本"},"desc":{"type":"string","description":"提取要求描述"},"outputSchema":{"type":"string","description":"输出结构描述"},"accessInfo":{"type":"object","properties":{"serviceName":{"type":"string"},"tag":{"type":"string"}}},"temperature":{"type":"number","description":"温度"}},"required":["text","outputSchema","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","default":"full","enum":["full"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["extractParam","memoryConfig","histories"]},"return":{"type":"object","properties":{"success":{"type":"boolean","description":"是否提取成功"},"data":{"type":"object"},"required":["success","data"]}}}', '{"FIT":{"fitableId":"aipp","genericableId":"modelengine.jober.aipp.extract"}}','3bca6a3f-9623-4228-b120-1a5e0d41dc14', 'application-text-extraction-group-name', 'application-text-extraction-def-name', 'application-text-extraction-def-group-name') ON CONFLICT ("unique_name", "version") DO NOTHING;
+VALUES ('文本提取', '{"name":"文本提取","order": ["extractParam", "memoryConfig", "histories"], "description":"从文本中提取结构化数据。","parameters":{"type":"object","properties":{"extractParam":{"type":"object","properties":{"text":{"type":"string","description":"需要提取的文本"},"desc":{"type":"string","description":"提取要求描述"},"outputSchema":{"type":"string","description":"输出结构描述"},"accessInfo":{"type":"object","properties":{"serviceName":{"type":"string"},"tag":{"type":"string"}}},"temperature":{"type":"number","description":"温度"}},"required":["text","outputSchema","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window","question_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","default":"full","enum":["full"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["extractParam","memoryConfig","histories"]},"return":{"type":"object","properties":{"success":{"type":"boolean","description":"是否提取成功"},"data":{"type":"object"},"required":["success","data"]}}}', '{"FIT":{"fitableId":"aipp","genericableId":"modelengine.jober.aipp.extract"}}','3bca6a3f-9623-4228-b120-1a5e0d41dc14', 'application-text-extraction-group-name', 'application-text-extraction-def-name', 'application-text-extraction-def-group-name') ON CONFLICT ("unique_name", "version") DO NOTHING;
 INSERT INTO "public"."store_definition" ( "name", "schema", "definition_group_name" )
-VALUES( 'application-text-extraction-def-name', '{"name":"文本提取","order": ["extractParam", "memoryConfig", "histories"], "description":"从文本中提取结构化数据。","parameters":{"type":"object","properties":{"extractParam":{"type":"object","properties":{"text":{"type":"string","description":"需要提取的文本"},"desc":{"type":"string","description":"提取要求描述"},"outputSchema":{"type":"string","description":"输出结构描述"},"accessInfo":{"type":"object","properties":{"serviceName":{"type":"string"},"tag":{"type":"string"}}},"temperature":{"type":"number","description":"温度"}},"required":["text","outputSchema","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","default":"full","enum":["full"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["extractParam","memoryConfig","histories"]},"return":{"type":"object","properties":{"success":{"type":"boolean","description":"是否提取成功"},"data":{"type":"object"},"required":["success","data"]}}}', 'application-text-extraction-def-group-name') ON CONFLICT ("definition_group_name", "name") DO NOTHING;
+VALUES( 'application-text-extraction-def-name', '{"name":"文本提取","order": ["extractParam", "memoryConfig", "histories"], "description":"从文本中提取结构化数据。","parameters":{"type":"object","properties":{"extractParam":{"type":"object","properties":{"text":{"type":"string","description":"需要提取的文本"},"desc":{"type":"string","description":"提取要求描述"},"outputSchema":{"type":"string","description":"输出结构描述"},"accessInfo":{"type":"object","properties":{"serviceName":{"type":"string"},"tag":{"type":"string"}}},"temperature":{"type":"number","description":"温度"}},"required":["text","outputSchema","model","temperature"]},"memoryConfig":{"type":"object","properties":{"windowAlg":{"type":"string","description":"历史记录消费策略","enum":["buffer_window","token_window","question_window"]},"serializeAlg":{"type":"string","description":"历史记录序列化策略","default":"full","enum":["full"]},"property":{"type":"integer","description":"配置参数，对话轮次或者最大 token 数目"}},"required":["windowAlg","property"]},"histories":{"type":"array","items":{"type":"object","properties":{"question":{"type":"string","description":"用户问题"},"answer":{"type":"string","description":"模型输出"}},"required":["question","answer"]}}},"required":["extractParam","memoryConfig","histories"]},"return":{"type":"object","properties":{"success":{"type":"boolean","description":"是否提取成功"},"data":{"type":"object"},"required":["success","data"]}}}', 'application-text-extraction-def-group-name') ON CONFLICT ("definition_group_name", "name") DO NOTHING;
 INSERT INTO "public"."store_tag" ("tool_unique_name", "name")
 VALUES ('3bca6a3f-9623-4228-b120-1a5e0d41dc14', 'FIT') ON CONFLICT ("tool_unique_name", "name") DO NOTHING;
 INSERT INTO "public"."store_tag" ("tool_unique_name", "name")
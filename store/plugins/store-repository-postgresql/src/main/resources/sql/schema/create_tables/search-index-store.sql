@@ -0,0 +1,25 @@
+-- 工具名称的模糊查询（ilike '%name%'）使用三元组索引，索引依赖 pg_trgm 扩展。
+-- 安装扩展需要数据库管理员权限，本脚本不安装扩展：扩展不存在时跳过三元组索引，模糊查询仍按原有的 ilike 方式执行。
+-- 需要索引时由数据库管理员在 app_builder 库中执行 create extension if not exists pg_trgm; 后重新执行本脚本。
+do $$
+begin
+    if exists (select 1 from pg_extension where extname = 'pg_trgm') then
+        create index if not exists idx_store_tool_name_trgm on store_tool using gin ("name" gin_trgm_ops)
+            where "is_latest" = true;
+        create index if not exists idx_store_plugin_tool_name_trgm
+            on store_plugin_tool using gin ("tool_name" gin_trgm_ops);
+        create index if not exists idx_store_plugin_name_trgm on store_plugin using gin ("plugin_name" gin_trgm_ops);
+    else
+        raise notice 'Extension pg_trgm is not installed, skip trigram indexes of store search.';
+    end if;
+end
+$$;
+
+-- 标签过滤按标签名称查找工具。
+create index if not exists idx_store_tag_name_tool on store_tag ("name", "tool_unique_name");
+
+-- 按更新时间排序与游标分页。
+create index if not exists idx_store_tool_latest_updated on store_tool ("updated_time" desc, "unique_name" desc)
+    where "is_latest" = true;
+create index if not exists idx_store_plugin_tool_updated
+    on store_plugin_tool ("updated_time" desc, "tool_unique_name" desc);
@@ -7,6 +7,7 @@
 package modelengine.jade.store.repository.pgsql.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
@@ -17,6 +18,7 @@ import modelengine.fitframework.test.annotation.IntegrationTest;
 import modelengine.fitframework.test.annotation.Mock;
 import modelengine.fitframework.test.annotation.Sql;
 import modelengine.fitframework.util.StringUtils;
+import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.store.entity.query.PluginToolQuery;
 import modelengine.jade.store.entity.transfer.PluginToolData;
 import modelengine.jade.store.service.DefinitionGroupService;
@@ -156,6 +158,66 @@ public class PluginToolIntegrationTest {
         assertThat(deleteUniqueName).isEqualTo("uniqueName1");
     }
 
+    @Test
+    @Sql(before = {
+            "sql/create/pluginTool.sql", "sql/create/tag.sql", "sql/create/plugin.sql", "sql/insert/pluginTool.sql",
+            "sql/insert/tag.sql", "sql/insert/plugin.sql"
+    })
+    @DisplayName("测试按标签包含与排除查询插件工具")
+    void shouldOkWhenGetByTags() {
+        when(this.toolService.getTool(any())).thenReturn(this.mockPluginToolData());
+        PluginToolQuery includeQuery = new PluginToolQuery.Builder().includeTags(new HashSet<>(List.of("FIT")))
+                .mode("AND")
+                .build();
+        List<PluginToolData> included = this.pluginToolService.getPluginTools(includeQuery).getData();
+        assertThat(included).extracting(PluginToolData::getName).containsExactly("name1");
+
+        PluginToolQuery excludeQuery = new PluginToolQuery.Builder().includeTags(new HashSet<>(List.of("HUGGINGFACE")))
+                .excludeTags(new HashSet<>(List.of("FIT")))
+                .mode("OR")
+                .build();
+        assertThat(this.pluginToolService.getPluginTools(excludeQuery).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @Sql(before = {
+            "sql/create/pluginTool.sql", "sql/create/tag.sql", "sql/create/plugin.sql", "sql/insert/pluginTool.sql",
+            "sql/insert/tag.sql", "sql/insert/plugin.sql"
+    })
+    @DisplayName("测试按游标分页查询插件工具，前后两页不重复且覆盖全部结果")
+    void shouldOkWhenGetByCursor() {
+        when(this.toolService.getTool(any())).thenReturn(this.mockPluginToolData());
+        PluginToolQuery firstQuery = new PluginToolQuery.Builder().toolName("name").offset(0).limit(2).build();
+        List<PluginToolData> first = this.pluginToolService.getPluginTools(firstQuery).getData();
+        assertThat(first).hasSize(2);
+
+        String lastName = first.get(first.size() - 1).getName();
+        PluginToolQuery nextQuery = new PluginToolQuery.Builder().toolName("name")
+                .offset(0)
+                .limit(2)
+                .afterUniqueName("uniqueName" + lastName.substring("name".length()))
+                .build();
+        List<PluginToolData> next = this.pluginToolService.getPluginTools(nextQuery).getData();
+        assertThat(next).hasSize(1);
+        assertThat(next.get(0).getName()).isNotIn(first.get(0).getName(), lastName);
+    }
+
+    @Test
+    @Sql(before = {
+            "sql/create/pluginTool.sql", "sql/create/tag.sql", "sql/create/plugin.sql", "sql/insert/pluginTool.sql",
+            "sql/insert/tag.sql", "sql/insert/plugin.sql"
+    })
+    @DisplayName("测试游标对应的插件工具已删除时按游标分页失败")
+    void shouldFailWhenGetByDeletedCursor() {
+        PluginToolQuery query = new PluginToolQuery.Builder().toolName("name")
+                .offset(0)
+                .limit(2)
+                .afterUniqueName("uniqueNameDeleted")
+                .build();
+        assertThatThrownBy(() -> this.pluginToolService.getPluginTools(query)).isInstanceOf(
+                ModelEngineException.class);
+    }
+
     private PluginToolData mockPluginToolData() {
         PluginToolData pluginToolData = new PluginToolData();
         pluginToolData.setModifier("mockModifier");
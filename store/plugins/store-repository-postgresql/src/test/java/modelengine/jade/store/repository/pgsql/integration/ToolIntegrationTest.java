@@ -7,20 +7,24 @@
 package modelengine.jade.store.repository.pgsql.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.when;
 
 import modelengine.fel.tool.model.ListResult;
+import modelengine.fel.tool.model.entity.ToolIdentifier;
 import modelengine.fel.tool.model.transfer.DefinitionGroupData;
 import modelengine.fel.tool.model.transfer.ToolData;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.test.annotation.IntegrationTest;
 import modelengine.fitframework.test.annotation.Mock;
 import modelengine.fitframework.test.annotation.Sql;
+import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.store.entity.query.ToolQuery;
 import modelengine.jade.store.entity.transfer.StoreToolData;
+import modelengine.jade.store.repository.pgsql.repository.StoreToolRepository;
 import modelengine.jade.store.service.DefinitionGroupService;
 import modelengine.jade.store.service.StoreToolService;
 import modelengine.jade.store.service.ToolService;
@@ -34,6 +38,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 表示 工具 的集成测试用例集。
@@ -52,6 +58,9 @@ public class ToolIntegrationTest {
     @Fit
     private StoreToolService storeToolService;
 
+    @Fit
+    private StoreToolRepository storeToolRepo;
+
     @Mock
     private ToolService toolService;
 
@@ -124,6 +133,44 @@ public class ToolIntegrationTest {
         assertThat(existDefGroups.getCount()).isEqualTo(2);
     }
 
+    @Test
+    @Sql(before = {"sql/create/tag.sql", "sql/create/tool.sql", "sql/insert/toolCatalog.sql"})
+    @DisplayName("测试按游标分页与按偏移量分页的结果一致")
+    void shouldOkWhenPageByCursor() {
+        int depth = 6;
+        int pageSize = 3;
+        ToolQuery previousQuery = this.catalogQuery(depth - pageSize, pageSize, null);
+        List<ToolIdentifier> previous = this.storeToolRepo.searchTools(previousQuery);
+        String cursor = previous.get(previous.size() - 1).getUniqueName();
+
+        List<String> byOffset = uniqueNames(this.storeToolRepo.searchTools(this.catalogQuery(depth, pageSize, null)));
+        List<String> byCursor = uniqueNames(this.storeToolRepo.searchTools(this.catalogQuery(0, pageSize, cursor)));
+        assertThat(byCursor).hasSize(pageSize).isEqualTo(byOffset);
+        assertThat(this.storeToolRepo.searchToolsCount(this.catalogQuery(null, null, null))).isEqualTo(15);
+    }
+
+    @Test
+    @Sql(before = {"sql/create/tag.sql", "sql/create/tool.sql", "sql/insert/toolCatalog.sql"})
+    @DisplayName("测试游标对应的工具不存在时按游标分页失败")
+    void shouldFailWhenPageByUnknownCursor() {
+        assertThatThrownBy(() -> this.storeToolService.searchTools(this.catalogQuery(0, 3, "catalog-unknown")))
+                .isInstanceOf(ModelEngineException.class);
+    }
+
+    private ToolQuery catalogQuery(Integer offset, Integer limit, String afterUniqueName) {
+        return new ToolQuery.Builder().toolName("catalog-tool")
+                .includeTags(Set.of("CATALOG"))
+                .mode("AND")
+                .offset(offset)
+                .limit(limit)
+                .afterUniqueName(afterUniqueName)
+                .build();
+    }
+
+    private static List<String> uniqueNames(List<ToolIdentifier> identifiers) {
+        return identifiers.stream().map(ToolIdentifier::getUniqueName).collect(Collectors.toList());
+    }
+
     private ToolData getToolDataResult() {
         ToolData toolData = new ToolData();
         toolData.setUniqueName(UNIQUE_NAME);
@@ -0,0 +1,54 @@
+delete
+from store_tool;
+
+delete
+from store_tag;
+
+INSERT INTO store_tool ("name", "schema", "runnables", "extensions", "unique_name", "version", "is_latest")
+VALUES ('catalog-tool-1', '{}', '{}', '{}', 'catalog-1', '1.0.0', true),
+       ('catalog-tool-2', '{}', '{}', '{}', 'catalog-2', '1.0.0', true),
+       ('catalog-tool-3', '{}', '{}', '{}', 'catalog-3', '1.0.0', true),
+       ('catalog-tool-4', '{}', '{}', '{}', 'catalog-4', '1.0.0', true),
+       ('catalog-tool-5', '{}', '{}', '{}', 'catalog-5', '1.0.0', true),
+       ('catalog-tool-6', '{}', '{}', '{}', 'catalog-6', '1.0.0', true),
+       ('catalog-tool-7', '{}', '{}', '{}', 'catalog-7', '1.0.0', true),
+       ('catalog-tool-8', '{}', '{}', '{}', 'catalog-8', '1.0.0', true),
+       ('catalog-tool-9', '{}', '{}', '{}', 'catalog-9', '1.0.0', true),
+       ('catalog-tool-10', '{}', '{}', '{}', 'catalog-10', '1.0.0', true),
+       ('catalog-tool-11', '{}', '{}', '{}', 'catalog-11', '1.0.0', true),
+       ('catalog-tool-12', '{}', '{}', '{}', 'catalog-12', '1.0.0', true),
+       ('catalog-tool-13', '{}', '{}', '{}', 'catalog-13', '1.0.0', true),
+       ('catalog-tool-14', '{}', '{}', '{}', 'catalog-14', '1.0.0', true),
+       ('catalog-tool-15', '{}', '{}', '{}', 'catalog-15', '1.0.0', true),
+       ('catalog-tool-16', '{}', '{}', '{}', 'catalog-16', '1.0.0', true),
+       ('catalog-tool-17', '{}', '{}', '{}', 'catalog-17', '1.0.0', true),
+       ('catalog-tool-18', '{}', '{}', '{}', 'catalog-18', '1.0.0', true),
+       ('catalog-tool-19', '{}', '{}', '{}', 'catalog-19', '1.0.0', true),
+       ('catalog-tool-20', '{}', '{}', '{}', 'catalog-20', '1.0.0', true),
+       ('catalog-tool-21', '{}', '{}', '{}', 'catalog-21', '1.0.0', true),
+       ('catalog-tool-22', '{}', '{}', '{}', 'catalog-22', '1.0.0', true),
+       ('catalog-tool-23', '{}', '{}', '{}', 'catalog-23', '1.0.0', true),
+       ('catalog-tool-24', '{}', '{}', '{}', 'catalog-24', '1.0.0', true),
+       ('catalog-tool-25', '{}', '{}', '{}', 'catalog-25', '1.0.0', true),
+       ('catalog-tool-26', '{}', '{}', '{}', 'catalog-26', '1.0.0', true),
+       ('catalog-tool-27', '{}', '{}', '{}', 'catalog-27', '1.0.0', true),
+       ('catalog-tool-28', '{}', '{}', '{}', 'catalog-28', '1.0.0', true),
+       ('catalog-tool-29', '{}', '{}', '{}', 'catalog-29', '1.0.0', true),
+       ('catalog-tool-30', '{}', '{}', '{}', 'catalog-30', '1.0.0', true);
+
+INSERT INTO "store_tag" ("tool_unique_name", "name")
+VALUES ('catalog-2', 'CATALOG'),
+       ('catalog-4', 'CATALOG'),
+       ('catalog-6', 'CATALOG'),
+       ('catalog-8', 'CATALOG'),
+       ('catalog-10', 'CATALOG'),
+       ('catalog-12', 'CATALOG'),
+       ('catalog-14', 'CATALOG'),
+       ('catalog-16', 'CATALOG'),
+       ('catalog-18', 'CATALOG'),
+       ('catalog-20', 'CATALOG'),
+       ('catalog-22', 'CATALOG'),
+       ('catalog-24', 'CATALOG'),
+       ('catalog-26', 'CATALOG'),
+       ('catalog-28', 'CATALOG'),
+       ('catalog-30', 'CATALOG');
@@ -94,7 +94,12 @@ public enum PluginRetCode implements RetCode {
     /**
      * 查询插件工具个数超过限制。
      */
-    PLUGIN_TOOL_COUNT_EXCEEDED_LIMIT(130901020, "Query plugin tools amount exceeds limit.");
+    PLUGIN_TOOL_COUNT_EXCEEDED_LIMIT(130901020, "Query plugin tools amount exceeds limit."),
+
+    /**
+     * 游标分页的游标对应的工具不存在或者已删除。
+     */
+    PAGE_CURSOR_NOT_EXISTS(130901021, "The tool of the page cursor does not exist. [afterUniqueName={0}]");
 
     private final int code;
 
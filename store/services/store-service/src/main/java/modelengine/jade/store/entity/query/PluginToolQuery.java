@@ -140,6 +140,7 @@ public class PluginToolQuery extends ToolQuery {
             pluginToolQuery.setOffset(this.offset);
             pluginToolQuery.setLimit(this.limit);
             pluginToolQuery.setVersion(this.version);
+            pluginToolQuery.setAfterUniqueName(this.afterUniqueName);
             pluginToolQuery.setDeployed(this.isDeployed);
             pluginToolQuery.setCreator(this.creator);
             pluginToolQuery.setIsBuiltin(this.isBuiltin);
@@ -56,6 +56,12 @@ public class ToolQuery extends CommonQuery {
      */
     private String appCategory;
 
+    /**
+     * 表示上一页最后一个工具的唯一标识。
+     * <p>构造条件时按需传入，传入时按游标分页，从该工具之后开始查询，忽略偏移量。</p>
+     */
+    private String afterUniqueName;
+
     /**
      * {@link ToolQuery} 的构建器。
      */
@@ -100,6 +106,11 @@ public class ToolQuery extends CommonQuery {
          */
         protected String appCategory;
 
+        /**
+         * 表示上一页最后一个工具的唯一标识。
+         */
+        protected String afterUniqueName;
+
         /**
          * 返回当前构建器的实例。
          *
@@ -197,6 +208,17 @@ public class ToolQuery extends CommonQuery {
             return this.self();
         }
 
+        /**
+         * 向当前构建器中设置上一页最后一个工具的唯一标识。
+         *
+         * @param afterUniqueName 表示上一页最后一个工具的唯一标识的 {@link String}。
+         * @return 表示当前构建器的 {@link B}。
+         */
+        public B afterUniqueName(String afterUniqueName) {
+            this.afterUniqueName = afterUniqueName;
+            return this.self();
+        }
+
         /**
          * 构建对象。
          *
@@ -211,6 +233,7 @@ public class ToolQuery extends CommonQuery {
             toolQuery.setOffset(this.offset);
             toolQuery.setLimit(this.limit);
             toolQuery.setVersion(this.version);
+            toolQuery.setAfterUniqueName(this.afterUniqueName);
             return toolQuery;
         }
     }
@@ -323,6 +346,24 @@ public class ToolQuery extends CommonQuery {
         this.appCategory = appCategory;
     }
 
+    /**
+     * 获取上一页最后一个工具的唯一标识。
+     *
+     * @return 表示上一页最后一个工具的唯一标识的 {@link String}。
+     */
+    public String getAfterUniqueName() {
+        return this.afterUniqueName;
+    }
+
+    /**
+     * 设置上一页最后一个工具的唯一标识。
+     *
+     * @param afterUniqueName 表示上一页最后一个工具的唯一标识的 {@link String}。
+     */
+    public void setAfterUniqueName(String afterUniqueName) {
+        this.afterUniqueName = afterUniqueName;
+    }
+
     /**
      * 将查询条件中的标签及模式转为大写。
      *
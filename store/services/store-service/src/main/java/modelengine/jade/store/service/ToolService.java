@@ -93,6 +93,7 @@ public interface ToolService {
 
     /**
      * 基于工具的唯一标识查询某个工具。
+     * <p>实现可以在节点内缓存查询结果，其他节点上的变更最多在缓存过期时间（{@code tool.cache.expire-seconds}）后可见。</p>
      *
      * @param toolUniqueName 表示工具的唯一标识的 {@link String}。
      * @return 表示工具详细信息的 {@link ToolData}。
@@ -100,6 +101,16 @@ public interface ToolService {
     @Genericable(id = "modelengine.jade.carver.tool.getTool.byUniqueName")
     ToolData getTool(String toolUniqueName);
 
+    /**
+     * 基于工具的唯一标识列表批量查询最新版本的工具。
+     * <p>与 {@link #getTool(String)} 共享节点内的缓存，其他节点上的变更最多在缓存过期时间后可见。</p>
+     *
+     * @param toolUniqueNames 表示工具唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示按照唯一标识的顺序排列的工具详细信息的 {@link List}{@code <}{@link ToolData}{@code >}，不存在的工具会被忽略。
+     */
+    @Genericable(id = "modelengine.jade.carver.tool.getTools.byUniqueNames")
+    List<ToolData> getToolsByUniqueNames(List<String> toolUniqueNames);
+
     /**
      * 查询工具组下所有的工具。
      *